@@ -0,0 +1,264 @@
+package benchmarks;
+
+import controllers.GameTick;
+import controllers.TickView;
+import java.awt.Dimension;
+import java.io.IOException;
+import java.io.Reader;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Random;
+import java.util.TreeMap;
+import metrics.PerformanceMetrics;
+import models.ArenaLayout;
+import models.BallPoolService;
+import models.PaddleModel;
+import models.PongModel;
+import models.balls.BallModel;
+import models.balls.BallType;
+import models.checkpoint.CheckpointService;
+import models.particles.ParticleSystem;
+import models.powerups.PowerUpModel;
+import views.FrameExchange;
+
+/**
+ * Keeps changes from adding garbage to the hot path of the game. Runs a fixed amount of headless game ticks at each
+ * amount of balls listed in a budgets file, measures the bytes the ticking thread allocates per tick with
+ * com.sun.management.ThreadMXBean and counts the garbage collections during the run. Exits with status 1 if any
+ * scenario allocates more per tick than its budget, which fails the build.
+ * <p>
+ * Every tick is a GameTick, the tick the PongController runs, so the flight recorder event, the tick profiler, the
+ * performance metrics, checkpoints and publishing the frame are measured along with the model. The view has no
+ * window: frames are published to a FrameExchange and drawn by nobody, as in the active render mode where the
+ * RenderLoop draws on its own thread, and the performance overlay is hidden, as it is by default.
+ * <p>
+ * The budgets file is a properties file mapping balls.N to the most bytes allocated per tick with N balls in play.
+ * Missed balls are replaced from the pools after the tick, the way the JMH tick benchmark does, so the amount of
+ * balls stays the same and every tick does comparable work.
+ *
+ * @author Samuel Thand
+ */
+public final class AllocationBudgetCheck {
+
+    private static final int WIDTH = 960;
+    private static final int HEIGHT = 540;
+    private static final int WARMUP_TICKS = 5_000;
+    private static final int MEASURED_TICKS = 10_000;
+    private static final String SCENARIO_PREFIX = "balls.";
+
+    /**
+     * Constructor.
+     */
+    private AllocationBudgetCheck() { }
+
+    /**
+     * Runs every scenario of the budgets file, prints the allocation and collections of each and exits with status
+     * 1 if any is over its budget.
+     *
+     * @param args Optionally the budgets file, by default allocation-budgets.properties in the working directory.
+     * @throws IOException If the budgets file cannot be read, or the checkpoints of the scenarios cannot be saved.
+     */
+    public static void main(final String[] args) throws IOException {
+        Path budgetsFile = Paths.get(args.length > 0 ? args[0] : "allocation-budgets.properties");
+        Properties budgets = new Properties();
+        try (Reader reader = Files.newBufferedReader(budgetsFile, StandardCharsets.UTF_8)) {
+            budgets.load(reader);
+        }
+
+        if (!(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean)) {
+            System.err.println("The JVM cannot measure allocated bytes");
+            System.exit(1);
+        }
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        threads.setThreadAllocatedMemoryEnabled(true);
+
+        TreeMap<Integer, Long> scenarios = new TreeMap<>();
+        for (String key : budgets.stringPropertyNames()) {
+            if (key.startsWith(SCENARIO_PREFIX)) {
+                scenarios.put(Integer.parseInt(key.substring(SCENARIO_PREFIX.length())),
+                        Long.parseLong(budgets.getProperty(key).trim()));
+            }
+        }
+
+        Path checkpointDirectory = Files.createTempDirectory("allocation-budget-check");
+        System.out.printf("%d ticks per scenario, budgets from %s%n", MEASURED_TICKS, budgetsFile);
+        int failures = 0;
+        for (Integer balls : scenarios.keySet()) {
+            long budget = scenarios.get(balls);
+            Scenario scenario = new Scenario(balls, checkpointDirectory);
+            for (int i = 0; i < WARMUP_TICKS; i++) {
+                scenario.tick();
+            }
+
+            long collectionsBefore = collections();
+            long allocatedBefore = threads.getThreadAllocatedBytes(Thread.currentThread().getId());
+            for (int i = 0; i < MEASURED_TICKS; i++) {
+                scenario.tick();
+            }
+            long allocated = threads.getThreadAllocatedBytes(Thread.currentThread().getId()) - allocatedBefore;
+            long collections = collections() - collectionsBefore;
+            scenario.close();
+
+            long bytesPerTick = allocated / MEASURED_TICKS;
+            boolean overBudget = bytesPerTick > budget;
+            if (overBudget) {
+                failures++;
+            }
+            System.out.printf("%6d balls: %,10d bytes/tick, budget %,10d, %3d collections  %s%n", balls,
+                    bytesPerTick, budget, collections, overBudget ? "OVER BUDGET" : "ok");
+        }
+        Files.delete(checkpointDirectory);
+
+        if (failures > 0) {
+            System.err.printf("%d of %d scenarios allocate more than their budget in %s%n", failures,
+                    scenarios.size(), budgetsFile);
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Get the collections of all garbage collectors so far.
+     *
+     * @return The amount of collections.
+     */
+    private static long collections() {
+        long total = 0;
+        for (GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+            total += Math.max(collector.getCollectionCount(), 0);
+        }
+        return total;
+    }
+
+    /**
+     * A four player game holding a fixed amount of balls, with the paddles in their starting positions, ticked
+     * without a window.
+     */
+    private static final class Scenario {
+
+        private final int ballCount;
+        private final PongModel model;
+        private final List<BallModel> balls;
+        private final BallPoolService ballPoolService;
+        private final List<BallType> ballTypes;
+        private final Random random;
+        private final CheckpointService checkpointService;
+        private final Path checkpointFile;
+        private final GameTick gameTick;
+
+        /**
+         * Constructor. Creates the game, fills it with balls and starts its timer.
+         *
+         * @param ballCount The amount of balls in play.
+         * @param checkpointDirectory The directory to save the checkpoints of the game in.
+         */
+        Scenario(final int ballCount, final Path checkpointDirectory) {
+            this.ballCount = ballCount;
+            this.model = new PongModel(new Dimension(WIDTH, HEIGHT));
+            this.model.setArenaLayout(ArenaLayout.FOUR_PLAYER);
+            this.model.getArena().resetPaddles();
+            this.model.getStatistics().reset(this.model.getPaddles().size());
+            this.model.getPowerUpManager().reset();
+            this.balls = this.model.getBalls();
+            this.ballPoolService = this.model.getBallPoolService();
+            this.ballTypes = this.model.getBallTypeRegistry().getBallTypes();
+            this.random = new Random(42);
+            this.checkpointFile = checkpointDirectory.resolve("AllocationBudgetCheck-" + ballCount + ".bin");
+            this.checkpointService = new CheckpointService(this.checkpointFile);
+            this.gameTick = new GameTick(this.model, new HeadlessView(), new PerformanceMetrics(),
+                    this.checkpointService, null);
+            replaceMissedBalls();
+            this.model.startGameTimer();
+        }
+
+        /**
+         * Runs a tick of the game, and replaces the balls missed during it.
+         */
+        void tick() {
+            this.gameTick.run(true);
+            replaceMissedBalls();
+        }
+
+        /**
+         * Stops the thread pools of the game, and deletes its checkpoint.
+         *
+         * @throws IOException If the checkpoint cannot be deleted.
+         */
+        void close() throws IOException {
+            this.model.getThreadPoolManager().shutdown();
+            this.checkpointService.close();
+            Files.deleteIfExists(this.checkpointFile);
+        }
+
+        /**
+         * Adds balls of random types at random positions and directions until the game holds the amount of balls
+         * of the scenario. Takes the balls from the pools, and creates them if the pool is empty.
+         */
+        private void replaceMissedBalls() {
+            while (this.balls.size() < this.ballCount) {
+                BallType ballType = this.ballTypes.get(this.random.nextInt(this.ballTypes.size()));
+                BallModel ball = this.ballPoolService.consumeBall(ballType);
+                if (ball == null) {
+                    ball = new BallModel(this.model, ballType);
+                }
+                ball.setX(WIDTH / 4 + this.random.nextInt(WIDTH / 2));
+                ball.setY(HEIGHT / 4 + this.random.nextInt(HEIGHT / 2));
+                ball.setXvelocity(this.random.nextBoolean() ? 3 : -3);
+                ball.setYvelocity(this.random.nextBoolean() ? 3 : -3);
+                this.balls.add(ball);
+            }
+        }
+    }
+
+    /**
+     * A view without a window. Publishes the frames to a FrameExchange the way the GameFrame does, and leaves
+     * drawing them to a render thread, of which there is none.
+     */
+    private static final class HeadlessView implements TickView {
+
+        private final FrameExchange frameExchange;
+
+        /**
+         * Constructor. Creates the frame exchange.
+         */
+        HeadlessView() {
+            this.frameExchange = new FrameExchange();
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void publishFrame(final long tick, final List<PaddleModel> paddles, final List<BallModel> balls,
+                                 final List<PowerUpModel> powerUps, final ParticleSystem particles) {
+            this.frameExchange.getWritableSnapshot().capture(tick, paddles, balls, powerUps, particles);
+            this.frameExchange.publish();
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void repaintGamePanel() { }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public boolean isPerformanceHudVisible() {
+            return false;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void updatePerformanceGauges(final int balls, final Map<BallType, Integer> availableBalls) { }
+    }
+}
@@ -0,0 +1,149 @@
+package benchmarks;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.GraphicsEnvironment;
+import java.awt.Transparency;
+import java.awt.image.BufferedImage;
+import java.util.Arrays;
+import java.util.Random;
+import views.BallSpriteCache;
+
+/**
+ * Compares drawing balls by rasterizing an oval per ball with drawing them as blits of cached sprites. Both ways draw
+ * the same balls, of the three default side lengths, into an offscreen frame compatible with the screen, or a plain
+ * image when running headless.
+ *
+ * @author Samuel Thand
+ */
+public final class BallRenderBenchmark {
+
+    private static final int WIDTH = 960;
+    private static final int HEIGHT = 540;
+    private static final int DEFAULT_BALLS = 2_000;
+    private static final int[] SIDE_LENGTHS = {20, 40, 60};
+    private static final int WARMUP_FRAMES = 300;
+    private static final int MEASURED_FRAMES = 1_000;
+
+    /**
+     * Constructor.
+     */
+    private BallRenderBenchmark() { }
+
+    /**
+     * Runs the benchmark and prints the frame times of both ways of drawing.
+     *
+     * @param args Optionally the amount of balls to draw.
+     */
+    public static void main(final String[] args) {
+        int ballCount = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_BALLS;
+
+        Random random = new Random(42);
+        int[] x = new int[ballCount];
+        int[] y = new int[ballCount];
+        int[] sideLength = new int[ballCount];
+        for (int i = 0; i < ballCount; i++) {
+            sideLength[i] = SIDE_LENGTHS[i % SIDE_LENGTHS.length];
+            x[i] = random.nextInt(WIDTH - sideLength[i]);
+            y[i] = random.nextInt(HEIGHT - sideLength[i]);
+        }
+
+        BufferedImage frame = createFrame();
+        Graphics2D g = frame.createGraphics();
+        GraphicsConfiguration graphicsConfiguration = g.getDeviceConfiguration();
+        BallSpriteCache spriteCache = new BallSpriteCache(new Color[] {Color.black});
+
+        Renderer ovals = () -> {
+            g.setColor(Color.black);
+            for (int i = 0; i < ballCount; i++) {
+                g.fillOval(x[i], y[i], sideLength[i], sideLength[i]);
+            }
+        };
+        Renderer sprites = () -> {
+            for (int i = 0; i < ballCount; i++) {
+                g.drawImage(spriteCache.getSprite(graphicsConfiguration, 0, sideLength[i]), x[i], y[i], null);
+            }
+        };
+
+        System.out.printf("%d balls, %dx%d frame%n", ballCount, WIDTH, HEIGHT);
+        report("fillOval", measure(g, ovals));
+        report("sprites ", measure(g, sprites));
+        g.dispose();
+    }
+
+    /**
+     * Creates the frame to draw into.
+     *
+     * @return An image compatible with the screen, or a plain RGB image when headless.
+     */
+    private static BufferedImage createFrame() {
+        if (GraphicsEnvironment.isHeadless()) {
+            return new BufferedImage(WIDTH, HEIGHT, BufferedImage.TYPE_INT_RGB);
+        }
+        return GraphicsEnvironment.getLocalGraphicsEnvironment().getDefaultScreenDevice()
+                .getDefaultConfiguration().createCompatibleImage(WIDTH, HEIGHT, Transparency.OPAQUE);
+    }
+
+    /**
+     * Measures the frame times of a way of drawing the balls, clearing the frame before each.
+     *
+     * @param g The graphics of the frame.
+     * @param renderer The way of drawing the balls.
+     * @return The sorted frame times in nanoseconds.
+     */
+    private static long[] measure(final Graphics2D g, final Renderer renderer) {
+        for (int i = 0; i < WARMUP_FRAMES; i++) {
+            drawFrame(g, renderer);
+        }
+
+        long[] frameNanos = new long[MEASURED_FRAMES];
+        for (int i = 0; i < MEASURED_FRAMES; i++) {
+            long start = System.nanoTime();
+            drawFrame(g, renderer);
+            frameNanos[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(frameNanos);
+        return frameNanos;
+    }
+
+    /**
+     * Clears the frame and draws the balls.
+     *
+     * @param g The graphics of the frame.
+     * @param renderer The way of drawing the balls.
+     */
+    private static void drawFrame(final Graphics2D g, final Renderer renderer) {
+        g.setColor(Color.white);
+        g.fillRect(0, 0, WIDTH, HEIGHT);
+        renderer.render();
+    }
+
+    /**
+     * Prints the mean, p99 and maximum of frame times.
+     *
+     * @param name The name of the way of drawing.
+     * @param frameNanos The sorted frame times in nanoseconds.
+     */
+    private static void report(final String name, final long[] frameNanos) {
+        long sum = 0;
+        for (long nanos : frameNanos) {
+            sum += nanos;
+        }
+        System.out.printf("%s: mean %.3f ms, p99 %.3f ms, max %.3f ms%n", name,
+                sum / (double) frameNanos.length / 1e6, frameNanos[frameNanos.length * 99 / 100] / 1e6,
+                frameNanos[frameNanos.length - 1] / 1e6);
+    }
+
+    /**
+     * A way of drawing all balls of a frame.
+     */
+    @FunctionalInterface
+    private interface Renderer {
+
+        /**
+         * Draws all balls.
+         */
+        void render();
+    }
+}
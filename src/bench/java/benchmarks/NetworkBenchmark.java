@@ -0,0 +1,174 @@
+package benchmarks;
+
+import constants.Constants;
+import java.awt.Dimension;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import metrics.HistogramWindow;
+import metrics.LatencyHistogram;
+import models.PongModel;
+import models.balls.BallModel;
+import network.GameClient;
+import network.GameHost;
+import network.GameMirror;
+
+/**
+ * Measures what hosting a game for a remote player costs as the amount of balls in play grows. For each amount of
+ * balls, a game is hosted on the loopback address and joined by a client in the same process, the game is filled
+ * with balls, then ticked at the rate of the game loop while the client applies the states it receives.
+ * <p>
+ * Prints the bytes sent per tick and per second, the time the game tick thread spends sending the state, the
+ * states skipped because the client fell behind and the ball records the host still had queued at the end. Once
+ * the client has caught up with the last tick, every ball of the host is compared to the ball of the client,
+ * and balls at another position are counted as stale; they are the balls whose records are still queued.
+ * <p>
+ * The bytes per tick and the time spent sending should not grow with the balls in play. The time spent sending is
+ * mostly the write to the connection, which on a machine with a single processor includes the client thread of
+ * this process waking up to read it.
+ *
+ * @author Samuel Thand
+ */
+public final class NetworkBenchmark {
+
+    private static final int WIDTH = 960;
+    private static final int HEIGHT = 540;
+    private static final int DEFAULT_TICKS = 600;
+    private static final String DEFAULT_BALL_COUNTS = "100,1000,10000";
+    private static final int BALLS_PER_RAMP_TICK = 2;
+    private static final long CATCH_UP_TIMEOUT_MS = 5_000;
+
+    /**
+     * Constructor.
+     */
+    private NetworkBenchmark() { }
+
+    /**
+     * Runs the benchmark for every amount of balls, and prints a line for each.
+     *
+     * @param args Optionally the ticks measured per amount of balls and the amounts of balls, comma separated, by
+     *             default 600 ticks with 100, 1000 and 10000 balls.
+     * @throws IOException If the game cannot be hosted or joined on the loopback address.
+     */
+    public static void main(final String[] args) throws IOException {
+        int ticks = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_TICKS;
+        String[] ballCounts = (args.length > 1 ? args[1] : DEFAULT_BALL_COUNTS).split(",");
+
+        System.out.printf("%d ticks per amount of balls, one tick every %d ms%n", ticks,
+                Constants.GAME_TICK_DELAY_MS);
+        System.out.println("balls,bytesPerTick,kBPerSecond,publishP50Us,publishP99Us,publishMaxUs,tickP50Us,"
+                + "skippedStates,pendingRecords,staleBalls");
+        for (String ballCount : ballCounts) {
+            run(Integer.parseInt(ballCount.trim()), ticks);
+        }
+    }
+
+    /**
+     * Hosts and joins a game with an amount of balls, measures it and prints the results.
+     *
+     * @param targetBalls The amount of balls to keep in play.
+     * @param ticks The amount of ticks to measure.
+     * @throws IOException If the game cannot be hosted or joined on the loopback address.
+     */
+    private static void run(final int targetBalls, final int ticks) throws IOException {
+        PongModel model = new PongModel(new Dimension(WIDTH, HEIGHT));
+        model.setInitialState();
+        model.startGameTimer();
+        GameHost host = new GameHost(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), model);
+        GameClient client = GameClient.connect(new InetSocketAddress(InetAddress.getLoopbackAddress(),
+                host.getPort()), Constants.NETWORK_CONNECT_TIMEOUT_MS);
+        GameMirror mirror = new GameMirror(client.getBounds(), client.getBallTypeCount());
+
+        LatencyHistogram tickNanos = new LatencyHistogram();
+        HistogramWindow tickWindow = new HistogramWindow(tickNanos);
+        LatencyHistogram publishNanos = new LatencyHistogram();
+        HistogramWindow publishWindow = new HistogramWindow(publishNanos);
+        int balls = model.getBalls().size();
+        while (balls < targetBalls) {
+            balls = Math.min(targetBalls, balls + BALLS_PER_RAMP_TICK);
+            runTick(model, host, balls, tickNanos, publishNanos);
+            client.applyReceivedStates(mirror);
+        }
+
+        tickWindow.advance();
+        publishWindow.advance();
+        long skippedBefore = host.getSkippedStates();
+        long bytesBefore = host.getBytesSent();
+        long tickDelayNanos = TimeUnit.MILLISECONDS.toNanos(Constants.GAME_TICK_DELAY_MS);
+        long deadline = System.nanoTime();
+        for (int i = 0; i < ticks; i++) {
+            deadline += tickDelayNanos;
+            runTick(model, host, targetBalls, tickNanos, publishNanos);
+            client.applyReceivedStates(mirror);
+            LockSupport.parkNanos(deadline - System.nanoTime());
+        }
+        tickWindow.advance();
+        publishWindow.advance();
+
+        long catchUpDeadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(CATCH_UP_TIMEOUT_MS);
+        while (mirror.getTick() != model.getTick() && System.nanoTime() < catchUpDeadline) {
+            if (client.applyReceivedStates(mirror) == 0) {
+                LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(1));
+            }
+        }
+        long bytesPerTick = (host.getBytesSent() - bytesBefore) / ticks;
+        System.out.printf("%d,%d,%.1f,%.1f,%.1f,%.1f,%.1f,%d,%d,%d%n", targetBalls, bytesPerTick,
+                bytesPerTick * (1000.0 / Constants.GAME_TICK_DELAY_MS) / 1e3, publishWindow.getPercentile(50) / 1e3,
+                publishWindow.getPercentile(99) / 1e3, publishWindow.getMax() / 1e3,
+                tickWindow.getPercentile(50) / 1e3, host.getSkippedStates() - skippedBefore,
+                mirror.getPendingRecords(), countStaleBalls(model, mirror));
+
+        client.close();
+        host.close();
+        model.getThreadPoolManager().shutdown();
+    }
+
+    /**
+     * Runs one tick of the model the way the game loop does, spawns balls through the factories until the target
+     * amount is in play, then sends the state of the tick.
+     *
+     * @param model The model.
+     * @param host The host of the game.
+     * @param targetBalls The amount of balls to keep in play.
+     * @param tickNanos The histogram of tick durations, sending excluded.
+     * @param publishNanos The histogram of the durations of sending the state.
+     */
+    private static void runTick(final PongModel model, final GameHost host, final int targetBalls,
+                                final LatencyHistogram tickNanos, final LatencyHistogram publishNanos) {
+        long tickStart = System.nanoTime();
+        model.advanceTick();
+        model.movePaddles();
+        model.moveBalls();
+        model.updatePowerUps();
+        model.updateParticles();
+        model.returnMissedBallsToPool();
+        while (model.getBalls().size() < targetBalls) {
+            model.addBonusBalls();
+        }
+        long publishStart = System.nanoTime();
+        host.publishState(model);
+        long publishEnd = System.nanoTime();
+        tickNanos.record(publishStart - tickStart);
+        publishNanos.record(publishEnd - publishStart);
+    }
+
+    /**
+     * Counts the balls of the host the client shows at another position, or not at all.
+     *
+     * @param model The model of the host.
+     * @param mirror The mirror of the client.
+     * @return The amount of stale balls.
+     */
+    private static int countStaleBalls(final PongModel model, final GameMirror mirror) {
+        int stale = 0;
+        for (BallModel ball : model.getBalls()) {
+            BallModel mirrored = mirror.getBall(ball.getId());
+            if (mirrored == null || mirrored.getX() != ball.getX() || mirrored.getY() != ball.getY()) {
+                stale++;
+            }
+        }
+        return stale;
+    }
+}
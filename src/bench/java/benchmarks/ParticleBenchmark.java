@@ -0,0 +1,99 @@
+package benchmarks;
+
+import constants.Constants;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.util.Arrays;
+import models.particles.ParticleSystem;
+import views.ParticleRenderer;
+
+/**
+ * Measures the cost of updating and drawing a large amount of live particles per frame, and compares it to the
+ * time budget of a game tick. The particle system is kept topped up with bursts every frame, the way paddle hits
+ * and misses feed it in the game.
+ *
+ * @author Samuel Thand
+ */
+public final class ParticleBenchmark {
+
+    private static final int WIDTH = 960;
+    private static final int HEIGHT = 540;
+    private static final int DEFAULT_LIVE_PARTICLES = 50_000;
+    private static final int WARMUP_FRAMES = 500;
+    private static final int MEASURED_FRAMES = 2_000;
+
+    /**
+     * Constructor.
+     */
+    private ParticleBenchmark() { }
+
+    /**
+     * Runs the benchmark and prints the frame times.
+     *
+     * @param args Optionally the amount of live particles to keep.
+     */
+    public static void main(final String[] args) {
+        int liveParticles = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_LIVE_PARTICLES;
+
+        ParticleSystem particles = new ParticleSystem(Math.max(liveParticles, Constants.PARTICLE_CAPACITY),
+                Constants.PARTICLE_LIFETIME_TICKS);
+        ParticleRenderer renderer = new ParticleRenderer(WIDTH, HEIGHT,
+                new Color[] {Color.darkGray, Color.red, Color.blue, Color.green, Color.orange});
+        BufferedImage frame = new BufferedImage(WIDTH, HEIGHT, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = frame.createGraphics();
+
+        for (int i = 0; i < WARMUP_FRAMES; i++) {
+            runFrame(particles, renderer, g, liveParticles, i);
+        }
+
+        long[] frameNanos = new long[MEASURED_FRAMES];
+        long liveTotal = 0;
+        for (int i = 0; i < MEASURED_FRAMES; i++) {
+            long start = System.nanoTime();
+            runFrame(particles, renderer, g, liveParticles, i);
+            frameNanos[i] = System.nanoTime() - start;
+            liveTotal += particles.getCount();
+        }
+        g.dispose();
+
+        Arrays.sort(frameNanos);
+        long sum = 0;
+        for (long nanos : frameNanos) {
+            sum += nanos;
+        }
+        double budgetMs = Constants.GAME_TICK_DELAY_MS;
+        double meanMs = sum / (double) MEASURED_FRAMES / 1e6;
+        double p99Ms = frameNanos[MEASURED_FRAMES * 99 / 100] / 1e6;
+        double maxMs = frameNanos[MEASURED_FRAMES - 1] / 1e6;
+
+        System.out.printf("Live particles: %d on average%n", liveTotal / MEASURED_FRAMES);
+        System.out.printf("Update and draw per frame: mean %.3f ms, p99 %.3f ms, max %.3f ms%n", meanMs, p99Ms, maxMs);
+        System.out.printf("Frame budget: %.1f ms, p99 uses %.1f%%%n", budgetMs, 100 * p99Ms / budgetMs);
+    }
+
+    /**
+     * Runs one frame: tops the particles up to the wanted amount with bursts, updates them and draws them.
+     *
+     * @param particles The particle system.
+     * @param renderer The particle renderer.
+     * @param g The graphics of the frame.
+     * @param liveParticles The amount of live particles to keep.
+     * @param frameNumber The number of the frame.
+     */
+    private static void runFrame(final ParticleSystem particles, final ParticleRenderer renderer, final Graphics2D g,
+                                 final int liveParticles, final int frameNumber) {
+        int burst = Constants.PARTICLES_PER_MISS;
+        int bursts = 0;
+        while (particles.getCount() + burst <= liveParticles) {
+            int originX = (frameNumber * 37 + bursts * 101) % WIDTH;
+            int originY = (frameNumber * 53 + bursts * 61) % HEIGHT;
+            particles.emitBurst(originX, originY, burst, bursts % 5, Constants.PARTICLE_SPEED);
+            bursts++;
+        }
+
+        particles.update();
+        renderer.render(g, particles.getCount(), particles.getX(), particles.getY(), particles.getLife(),
+                particles.getKind(), particles.getLifetimeTicks());
+    }
+}
@@ -0,0 +1,142 @@
+package benchmarks;
+
+import java.awt.Color;
+import java.awt.Dimension;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Properties;
+import java.util.Random;
+import models.PongModel;
+import models.balls.BallModel;
+import models.balls.BallType;
+import models.balls.BallTypeRegistry;
+import views.FrameSnapshot;
+import views.RasterRenderer;
+
+/**
+ * Measures drawing a swarm of balls with the RasterRenderer, single threaded and split into more and more bands,
+ * against the frame budget at 60 frames per second. For comparison the same balls are also drawn with one Java2D
+ * fillOval per ball. The frame is a snapshot of a game with the swarm of balls, captured once.
+ *
+ * @author Samuel Thand
+ */
+public final class RasterRenderBenchmark {
+
+    private static final int WIDTH = 960;
+    private static final int HEIGHT = 540;
+    private static final int DEFAULT_BALLS = 100_000;
+    private static final int DEFAULT_SIDE_LENGTH = 6;
+    private static final int WARMUP_FRAMES = 100;
+    private static final int MEASURED_FRAMES = 300;
+    private static final double FRAME_BUDGET_MS = 1000.0 / 60;
+
+    /**
+     * Constructor.
+     */
+    private RasterRenderBenchmark() { }
+
+    /**
+     * Runs the benchmark and prints the frame times of each way of drawing.
+     *
+     * @param args Optionally the amount of balls, and their side length.
+     */
+    public static void main(final String[] args) {
+        int ballCount = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_BALLS;
+        int sideLength = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_SIDE_LENGTH;
+
+        PongModel model = new PongModel(new Dimension(WIDTH, HEIGHT));
+        BallType swarmType = createSwarmType(sideLength);
+        Random random = new Random(42);
+        List<BallModel> balls = new ArrayList<>(ballCount);
+        for (int i = 0; i < ballCount; i++) {
+            BallModel ball = new BallModel(model, swarmType);
+            ball.setX(random.nextInt(WIDTH - sideLength));
+            ball.setY(random.nextInt(HEIGHT - sideLength));
+            balls.add(ball);
+        }
+        FrameSnapshot snapshot = new FrameSnapshot();
+        snapshot.capture(0, model.getPaddles(), balls, Collections.emptyList(), model.getParticleSystem());
+
+        BufferedImage frame = new BufferedImage(WIDTH, HEIGHT, BufferedImage.TYPE_INT_RGB);
+        System.out.printf("%d balls of side length %d, %dx%d frame, budget %.1f ms%n", ballCount, sideLength,
+                WIDTH, HEIGHT, FRAME_BUDGET_MS);
+
+        Graphics2D g = frame.createGraphics();
+        report("fillOval      ", measure(() -> {
+            g.setColor(Color.white);
+            g.fillRect(0, 0, WIDTH, HEIGHT);
+            g.setColor(Color.black);
+            for (int i = 0; i < snapshot.getBallCount(); i++) {
+                g.fillOval(snapshot.getBallX(i), snapshot.getBallY(i), sideLength, sideLength);
+            }
+        }));
+        g.dispose();
+
+        int processors = Runtime.getRuntime().availableProcessors();
+        for (int bands = 1; bands <= processors; bands *= 2) {
+            RasterRenderer renderer = new RasterRenderer(bands);
+            report(String.format("raster %2d band", bands), measure(() -> renderer.draw(frame, snapshot, 100)));
+        }
+    }
+
+    /**
+     * Creates a ball type for the swarm, through the ball type configuration like any other type.
+     *
+     * @param sideLength The side length of the balls.
+     * @return The ball type.
+     */
+    private static BallType createSwarmType(final int sideLength) {
+        Properties configuration = new Properties();
+        configuration.setProperty("ball.types", "swarm,swarmHard");
+        for (String name : new String[] {"swarm", "swarmHard"}) {
+            configuration.setProperty("ball." + name + ".size", String.valueOf(sideLength));
+            configuration.setProperty("ball." + name + ".randomness", "1");
+            configuration.setProperty("ball." + name + ".weight", "1");
+        }
+        configuration.setProperty("ball.swarm.difficulty", "EASY");
+        configuration.setProperty("ball.swarmHard.difficulty", "HARD");
+        return BallTypeRegistry.fromProperties(configuration).getBallType(0);
+    }
+
+    /**
+     * Measures the frame times of a way of drawing.
+     *
+     * @param renderer The way of drawing a frame.
+     * @return The sorted frame times in nanoseconds.
+     */
+    private static long[] measure(final Runnable renderer) {
+        for (int i = 0; i < WARMUP_FRAMES; i++) {
+            renderer.run();
+        }
+
+        long[] frameNanos = new long[MEASURED_FRAMES];
+        for (int i = 0; i < MEASURED_FRAMES; i++) {
+            long start = System.nanoTime();
+            renderer.run();
+            frameNanos[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(frameNanos);
+        return frameNanos;
+    }
+
+    /**
+     * Prints the mean, p99 and maximum of frame times, and if the p99 fits the frame budget.
+     *
+     * @param name The name of the way of drawing.
+     * @param frameNanos The sorted frame times in nanoseconds.
+     */
+    private static void report(final String name, final long[] frameNanos) {
+        long sum = 0;
+        for (long nanos : frameNanos) {
+            sum += nanos;
+        }
+        double p99Ms = frameNanos[frameNanos.length * 99 / 100] / 1e6;
+        System.out.printf("%s: mean %.3f ms, p99 %.3f ms, max %.3f ms%s%n", name,
+                sum / (double) frameNanos.length / 1e6, p99Ms, frameNanos[frameNanos.length - 1] / 1e6,
+                p99Ms <= FRAME_BUDGET_MS ? "" : "  over budget");
+    }
+}
@@ -0,0 +1,167 @@
+package benchmarks;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import metrics.HistogramWindow;
+import metrics.LatencyHistogram;
+import models.results.GameResult;
+import models.results.ResultStore;
+import models.results.ResultTextImporter;
+
+/**
+ * Fills a ResultStore with generated results, then measures the leaderboard queries: the top 10 and top 100, the
+ * results of a day, and the personal best of a player, with a delta of recently appended results merged in.
+ * Also measures importing a text results file.
+ *
+ * @author Samuel Thand
+ */
+public final class ResultStoreBenchmark {
+
+    private static final int DEFAULT_RESULTS = 10_000_000;
+    private static final int IMPORTED_LINES = 1_000_000;
+    private static final int DELTA_RESULTS = 1_000;
+    private static final int PLAYERS = 10_000;
+    private static final int DAYS = 3 * 365;
+    private static final int BATCH_SIZE = 65536;
+    private static final int QUERIES = 2_000;
+    private static final ZoneId ZONE = ZoneOffset.UTC;
+    private static final LocalDate FIRST_DAY = LocalDate.of(2020, 1, 1);
+    private static final long MILLIS_PER_DAY = 86_400_000L;
+
+    /**
+     * Constructor.
+     */
+    private ResultStoreBenchmark() { }
+
+    /**
+     * Runs the benchmark and prints the load time and query latencies.
+     *
+     * @param args Optionally the amount of results in the store.
+     * @throws IOException If the temporary store cannot be written.
+     */
+    public static void main(final String[] args) throws IOException {
+        int resultCount = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_RESULTS;
+        Path directory = Files.createTempDirectory("pong-result-store");
+        Random random = new Random(42);
+        long firstMillis = FIRST_DAY.atStartOfDay(ZONE).toInstant().toEpochMilli();
+
+        try (ResultStore store = ResultStore.open(directory.resolve("store"))) {
+            long start = System.nanoTime();
+            List<GameResult> batch = new ArrayList<>(BATCH_SIZE);
+            for (int i = 0; i < resultCount; i++) {
+                long timestamp = firstMillis + (long) i * DAYS * MILLIS_PER_DAY / resultCount;
+                batch.add(randomResult(random, timestamp));
+                if (batch.size() == BATCH_SIZE || i == resultCount - 1) {
+                    store.appendAll(batch);
+                    batch.clear();
+                }
+            }
+            long appended = System.nanoTime();
+            store.rebuildIndexes();
+            long indexed = System.nanoTime();
+            System.out.printf("%,d results: appended in %.2f s, indexed in %.2f s%n", resultCount,
+                    (appended - start) / 1e9, (indexed - appended) / 1e9);
+
+            long lastMillis = firstMillis + DAYS * MILLIS_PER_DAY;
+            for (int i = 0; i < DELTA_RESULTS; i++) {
+                store.append(randomResult(random, lastMillis + i * 1000L));
+            }
+            System.out.printf("%,d results appended since indexing%n", DELTA_RESULTS);
+
+            measure("top 10", () -> store.topResults(10));
+            measure("top 100", () -> store.topResults(100));
+            measure("day", () -> store.resultsOn(FIRST_DAY.plusDays(random.nextInt(DAYS)), ZONE));
+            measure("personal best", () -> store.personalBest("player" + random.nextInt(PLAYERS)));
+
+            System.out.println("Best: " + store.topResults(1));
+        }
+
+        measureImport(directory, random);
+    }
+
+    /**
+     * Writes a text results file in the format of ResultAndDateWriter, and measures importing it.
+     *
+     * @param directory The directory to write in.
+     * @param random The random source.
+     * @throws IOException If the file or store cannot be written.
+     */
+    private static void measureImport(final Path directory, final Random random) throws IOException {
+        Path textFile = directory.resolve("PongResults.txt");
+        try (BufferedWriter writer = Files.newBufferedWriter(textFile, StandardCharsets.UTF_8)) {
+            for (int i = 0; i < IMPORTED_LINES; i++) {
+                LocalDate day = FIRST_DAY.plusDays((long) i * DAYS / IMPORTED_LINES);
+                writer.write(String.format("%d_%02d_%02d Result: Level %d Time survived: %d seconds%n",
+                        day.getYear(), day.getMonthValue(), day.getDayOfMonth(), 1 + random.nextInt(40),
+                        random.nextInt(600)));
+            }
+        }
+
+        try (ResultStore store = ResultStore.open(directory.resolve("imported"))) {
+            ResultTextImporter importer = new ResultTextImporter("player", ZONE);
+            long start = System.nanoTime();
+            long imported = importer.importFile(textFile, store);
+            System.out.printf("Imported %,d text results in %.2f s, skipped %d lines%n", imported,
+                    (System.nanoTime() - start) / 1e9, importer.getSkippedLines());
+        }
+    }
+
+    /**
+     * Creates a random result.
+     *
+     * @param random The random source.
+     * @param timestamp The end time of the game.
+     * @return The result.
+     */
+    private static GameResult randomResult(final Random random, final long timestamp) {
+        return new GameResult(timestamp, random.nextInt(600), 1 + random.nextInt(40),
+                "player" + random.nextInt(PLAYERS));
+    }
+
+    /**
+     * Runs a query repeatedly and prints the p50, p99 and maximum latency.
+     *
+     * @param name The name of the query.
+     * @param query The query.
+     * @throws IOException If the query fails.
+     */
+    private static void measure(final String name, final Query query) throws IOException {
+        for (int i = 0; i < QUERIES; i++) {
+            query.run();
+        }
+
+        LatencyHistogram latencies = new LatencyHistogram();
+        HistogramWindow window = new HistogramWindow(latencies);
+        for (int i = 0; i < QUERIES; i++) {
+            long start = System.nanoTime();
+            query.run();
+            latencies.record(System.nanoTime() - start);
+        }
+        window.advance();
+        System.out.printf("%-14s: p50 %8.2f us, p99 %8.2f us, max %8.2f us%n", name,
+                window.getPercentile(50) / 1e3, window.getPercentile(99) / 1e3, window.getMax() / 1e3);
+    }
+
+    /**
+     * A query of the store.
+     */
+    @FunctionalInterface
+    private interface Query {
+
+        /**
+         * Runs the query.
+         *
+         * @throws IOException If the query fails.
+         */
+        void run() throws IOException;
+    }
+}
@@ -0,0 +1,153 @@
+package benchmarks;
+
+import constants.Constants;
+import controllers.writers.ResultWriterService;
+import controllers.writers.RollingPolicy;
+import controllers.writers.SyncPolicy;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import metrics.HistogramWindow;
+import metrics.LatencyHistogram;
+
+/**
+ * Measures writing results through the ResultWriterService with each sync policy: the records written per second,
+ * and the time the caller is held up per result. For comparison the results are also written the way they used to
+ * be, opening the results file and starting a thread for every result, and with the results file rolled into small
+ * segments, to show that rolling and compressing segments does not hold up the caller. Every run writes into a new
+ * temporary file.
+ *
+ * @author Samuel Thand
+ */
+public final class ResultWriterBenchmark {
+
+    private static final int DEFAULT_RESULTS = 50_000;
+    private static final byte[] RESULT = "2022_12_24 Result: Level 7 Time survived: 95 seconds\n"
+            .getBytes(StandardCharsets.UTF_8);
+    private static final long SEGMENT_BYTES = 256 * 1024;
+    private static final int RETAINED_SEGMENTS = 5;
+
+    /**
+     * Constructor.
+     */
+    private ResultWriterBenchmark() { }
+
+    /**
+     * Runs the benchmark and prints the throughput and caller latencies of each way of writing.
+     *
+     * @param args Optionally the amount of results to write.
+     * @throws IOException If a temporary file cannot be created.
+     * @throws InterruptedException If interrupted while waiting for the writes.
+     */
+    public static void main(final String[] args) throws IOException, InterruptedException {
+        int results = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_RESULTS;
+        Path directory = Files.createTempDirectory("pong-results");
+
+        System.out.printf("%d results of %d bytes%n", results, RESULT.length);
+        measureThreadPerResult(directory.resolve("thread-per-result.txt"), results);
+        for (SyncPolicy policy : SyncPolicy.values()) {
+            measureService(directory.resolve(policy + ".txt"), policy, RollingPolicy.NONE, results);
+        }
+
+        Path rolledDirectory = Files.createDirectories(directory.resolve("rolled"));
+        measureService(rolledDirectory.resolve("PongResults.txt"), SyncPolicy.BATCH,
+                new RollingPolicy(SEGMENT_BYTES, false, RETAINED_SEGMENTS, 0), results);
+        try (Stream<Path> files = Files.list(rolledDirectory)) {
+            System.out.println("Rolled into " + SEGMENT_BYTES / 1024 + " KiB segments, retaining "
+                    + RETAINED_SEGMENTS + ": " + files.map(Path::getFileName).sorted().collect(Collectors.toList()));
+        }
+    }
+
+    /**
+     * Writes results through a ResultWriterService, and prints the throughput and caller latencies.
+     *
+     * @param file The file to write.
+     * @param policy The sync policy.
+     * @param rollingPolicy The rolling policy.
+     * @param results The amount of results to write.
+     */
+    private static void measureService(final Path file, final SyncPolicy policy, final RollingPolicy rollingPolicy,
+                                       final int results) {
+        LatencyHistogram callerNanos = new LatencyHistogram();
+        HistogramWindow callerWindow = new HistogramWindow(callerNanos);
+        ResultWriterService service = new ResultWriterService(file, policy, Constants.RESULTS_QUEUE_CAPACITY,
+                Constants.RESULTS_BATCH_SIZE, rollingPolicy);
+
+        long start = System.nanoTime();
+        CompletableFuture<Void> last = null;
+        for (int i = 0; i < results; i++) {
+            long callStart = System.nanoTime();
+            last = service.write(RESULT);
+            callerNanos.record(System.nanoTime() - callStart);
+        }
+        last.join();
+        long elapsed = System.nanoTime() - start;
+        service.close();
+
+        String name = (rollingPolicy.isRolling() ? "rolled, sync " : "service, sync ") + policy;
+        report(name, results, elapsed, callerWindow);
+    }
+
+    /**
+     * Writes results by opening the file and starting a thread for every result, and prints the throughput and
+     * caller latencies.
+     *
+     * @param file The file to write.
+     * @param results The amount of results to write.
+     * @throws InterruptedException If interrupted while waiting for the writes.
+     */
+    private static void measureThreadPerResult(final Path file, final int results) throws InterruptedException {
+        LatencyHistogram callerNanos = new LatencyHistogram();
+        HistogramWindow callerWindow = new HistogramWindow(callerNanos);
+        List<Thread> writers = new ArrayList<>(results);
+
+        long start = System.nanoTime();
+        for (int i = 0; i < results; i++) {
+            long callStart = System.nanoTime();
+            try {
+                FileOutputStream outputStream = new FileOutputStream(file.toFile(), true);
+                Thread writer = new Thread(() -> {
+                    try (outputStream) {
+                        outputStream.write(RESULT);
+                    } catch (IOException e) {
+                        e.printStackTrace();
+                    }
+                });
+                writer.start();
+                writers.add(writer);
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+            callerNanos.record(System.nanoTime() - callStart);
+        }
+        for (Thread writer : writers) {
+            writer.join();
+        }
+        long elapsed = System.nanoTime() - start;
+
+        report("thread per result", results, elapsed, callerWindow);
+    }
+
+    /**
+     * Prints the results written per second, and the p50, p99 and maximum time the caller was held up.
+     *
+     * @param name The name of the way of writing.
+     * @param results The amount of results written.
+     * @param elapsedNanos The time until all results were written.
+     * @param window The window over the times the caller was held up.
+     */
+    private static void report(final String name, final int results, final long elapsedNanos,
+                               final HistogramWindow window) {
+        window.advance();
+        System.out.printf("%-22s: %,10.0f results/s, caller p50 %7.2f us, p99 %8.2f us, max %9.2f us%n", name,
+                results / (elapsedNanos / 1e9), window.getPercentile(50) / 1e3, window.getPercentile(99) / 1e3,
+                window.getMax() / 1e3);
+    }
+}
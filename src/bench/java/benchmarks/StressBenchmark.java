@@ -0,0 +1,216 @@
+package benchmarks;
+
+import constants.Constants;
+import java.awt.Dimension;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import metrics.HistogramWindow;
+import metrics.LatencyHistogram;
+import models.PongModel;
+
+/**
+ * Finds where the game engine breaks down under the amount of balls in play. Starts a game the way the game loop
+ * does, then raises the amount of balls in play at a fixed rate per tick, spawning them through the ball factories,
+ * until the 99th percentile of the tick durations of a step of ticks goes over the tick budget. Missed balls are
+ * replaced the same way, so the amount of balls in play follows the target.
+ * <p>
+ * For every step the ticks per second the model could sustain, the tick percentiles, the allocation rate of the
+ * whole JVM and the spawn latency are recorded. The spawn latency is the time from asking the factories for balls
+ * until they are in play, which includes waiting for the producers to refill empty pools. The scaling curve is
+ * written as stress.csv, to diff between builds, and as stress.html with a chart of the tick percentiles.
+ *
+ * @author Samuel Thand
+ */
+public final class StressBenchmark {
+
+    private static final int WIDTH = 960;
+    private static final int HEIGHT = 540;
+    private static final int DEFAULT_BALLS_PER_TICK = 2;
+    private static final int DEFAULT_TICKS_PER_STEP = 120;
+    private static final int WARMUP_BALLS = 100;
+    private static final int WARMUP_TICKS = 1_000;
+    private static final int MAX_STEPS = 500;
+    private static final String CSV_HEADER = "step,balls,ticksPerSecond,tickP50Us,tickP99Us,tickMaxUs,"
+            + "allocatedMBPerSecond,spawnP99Us,spawnMaxUs";
+
+    /**
+     * Constructor.
+     */
+    private StressBenchmark() { }
+
+    /**
+     * Runs the benchmark, prints every step and writes the report.
+     *
+     * @param args Optionally the balls added every tick, the ticks measured every step and the directory of the
+     *             report, by default target/stress.
+     * @throws IOException If the report cannot be written.
+     */
+    public static void main(final String[] args) throws IOException {
+        int ballsPerTick = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_BALLS_PER_TICK;
+        int ticksPerStep = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_TICKS_PER_STEP;
+        Path directory = args.length > 2 ? Paths.get(args[2]) : Paths.get("target", "stress");
+        long budgetNanos = TimeUnit.MILLISECONDS.toNanos(Constants.GAME_TICK_DELAY_MS);
+
+        PongModel model = new PongModel(new Dimension(WIDTH, HEIGHT));
+        model.setInitialState();
+        model.startGameTimer();
+
+        LatencyHistogram tickNanos = new LatencyHistogram();
+        HistogramWindow tickWindow = new HistogramWindow(tickNanos);
+        LatencyHistogram spawnNanos = new LatencyHistogram();
+        HistogramWindow spawnWindow = new HistogramWindow(spawnNanos);
+        for (int i = 0; i < WARMUP_TICKS; i++) {
+            runTick(model, WARMUP_BALLS, tickNanos, spawnNanos);
+        }
+
+        System.out.printf("%d balls per tick, %d ticks per step, tick budget %d ms%n", ballsPerTick, ticksPerStep,
+                Constants.GAME_TICK_DELAY_MS);
+        System.out.println(CSV_HEADER);
+        List<String> rows = new ArrayList<>();
+        int targetBalls = WARMUP_BALLS;
+        for (int step = 1; step <= MAX_STEPS; step++) {
+            tickWindow.advance();
+            spawnWindow.advance();
+            long allocatedBefore = allocatedBytes();
+            long stepStart = System.nanoTime();
+            long tickTotalNanos = 0;
+            for (int i = 0; i < ticksPerStep; i++) {
+                targetBalls += ballsPerTick;
+                tickTotalNanos += runTick(model, targetBalls, tickNanos, spawnNanos);
+            }
+            double stepSeconds = (System.nanoTime() - stepStart) / 1e9;
+            long allocated = allocatedBytes() - allocatedBefore;
+            tickWindow.advance();
+            spawnWindow.advance();
+
+            long tickP99 = tickWindow.getPercentile(99);
+            String row = String.format(Locale.ROOT, "%d,%d,%.1f,%.1f,%.1f,%.1f,%.2f,%.1f,%.1f", step, targetBalls,
+                    ticksPerStep / (tickTotalNanos / 1e9), tickWindow.getPercentile(50) / 1e3, tickP99 / 1e3,
+                    tickWindow.getMax() / 1e3, allocated / 1e6 / stepSeconds, spawnWindow.getPercentile(99) / 1e3,
+                    spawnWindow.getMax() / 1e3);
+            rows.add(row);
+            System.out.println(row);
+            if (tickP99 > budgetNanos) {
+                System.out.printf("Tick p99 over the budget at %d balls%n", targetBalls);
+                break;
+            }
+        }
+        model.getThreadPoolManager().shutdown();
+
+        Files.createDirectories(directory);
+        Path csv = directory.resolve("stress.csv");
+        Path html = directory.resolve("stress.html");
+        List<String> lines = new ArrayList<>(rows.size() + 1);
+        lines.add(CSV_HEADER);
+        lines.addAll(rows);
+        Files.write(csv, lines, StandardCharsets.UTF_8);
+        Files.writeString(html, toHtml(rows, ballsPerTick, ticksPerStep, budgetNanos), StandardCharsets.UTF_8);
+        System.out.println("Report written to " + csv.toAbsolutePath() + " and " + html.toAbsolutePath());
+    }
+
+    /**
+     * Runs one tick of the model the way the game loop does, then spawns balls through the factories until the
+     * target amount of balls is in play.
+     *
+     * @param model The model.
+     * @param targetBalls The amount of balls to keep in play.
+     * @param tickNanos The histogram of tick durations.
+     * @param spawnNanos The histogram of spawn latencies.
+     * @return The duration of the tick in nanoseconds, spawning included.
+     */
+    private static long runTick(final PongModel model, final int targetBalls, final LatencyHistogram tickNanos,
+                                final LatencyHistogram spawnNanos) {
+        long tickStart = System.nanoTime();
+        model.advanceTick();
+        model.movePaddles();
+        model.moveBalls();
+        model.updatePowerUps();
+        model.updateParticles();
+        model.returnMissedBallsToPool();
+        while (model.getBalls().size() < targetBalls) {
+            long spawnStart = System.nanoTime();
+            model.addBonusBalls();
+            spawnNanos.record(System.nanoTime() - spawnStart);
+        }
+        long nanos = System.nanoTime() - tickStart;
+        tickNanos.record(nanos);
+        return nanos;
+    }
+
+    /**
+     * Get the bytes allocated so far by the live threads of the JVM.
+     *
+     * @return The allocated bytes, or 0 if the JVM does not measure them.
+     */
+    private static long allocatedBytes() {
+        if (!(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean)) {
+            return 0;
+        }
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long total = 0;
+        for (long allocated : threads.getThreadAllocatedBytes(threads.getAllThreadIds())) {
+            total += Math.max(allocated, 0);
+        }
+        return total;
+    }
+
+    /**
+     * Formats the steps as a page with a table and a chart of the tick p50 and p99 against the balls in play.
+     *
+     * @param rows The steps, as rows of the CSV report.
+     * @param ballsPerTick The balls added every tick.
+     * @param ticksPerStep The ticks measured every step.
+     * @param budgetNanos The tick budget.
+     * @return The page.
+     */
+    private static String toHtml(final List<String> rows, final int ballsPerTick, final int ticksPerStep,
+                                 final long budgetNanos) {
+        int chartWidth = 800;
+        int chartHeight = 300;
+        double budgetUs = budgetNanos / 1e3;
+        double maxBalls = 1;
+        double maxUs = budgetUs;
+        for (String row : rows) {
+            String[] columns = row.split(",");
+            maxBalls = Math.max(maxBalls, Double.parseDouble(columns[1]));
+            maxUs = Math.max(maxUs, Double.parseDouble(columns[4]));
+        }
+
+        StringBuilder p50 = new StringBuilder();
+        StringBuilder p99 = new StringBuilder();
+        StringBuilder table = new StringBuilder();
+        for (String row : rows) {
+            String[] columns = row.split(",");
+            double x = Double.parseDouble(columns[1]) / maxBalls * chartWidth;
+            p50.append(String.format(Locale.ROOT, "%.1f,%.1f ", x,
+                    chartHeight - Double.parseDouble(columns[3]) / maxUs * chartHeight));
+            p99.append(String.format(Locale.ROOT, "%.1f,%.1f ", x,
+                    chartHeight - Double.parseDouble(columns[4]) / maxUs * chartHeight));
+            table.append("<tr><td>").append(String.join("</td><td>", columns)).append("</td></tr>\n");
+        }
+        double budgetY = chartHeight - budgetUs / maxUs * chartHeight;
+
+        return "<!DOCTYPE html>\n<html><head><meta charset=\"utf-8\"><title>Ball-count stress</title>\n"
+                + "<style>body{font-family:sans-serif}table{border-collapse:collapse}"
+                + "td,th{border:1px solid #ccc;padding:2px 8px;text-align:right}</style></head><body>\n"
+                + String.format(Locale.ROOT, "<h1>Ball-count stress</h1>\n<p>%d balls per tick, %d ticks per step,"
+                        + " tick budget %.0f us. Up to %.0f balls, up to %.0f us.</p>\n", ballsPerTick,
+                        ticksPerStep, budgetUs, maxBalls, maxUs)
+                + String.format(Locale.ROOT, "<svg width=\"%d\" height=\"%d\" style=\"border:1px solid #ccc\">\n"
+                        + "<line x1=\"0\" y1=\"%.1f\" x2=\"%d\" y2=\"%.1f\" stroke=\"red\" stroke-dasharray=\"4\"/>\n"
+                        + "<polyline fill=\"none\" stroke=\"gray\" points=\"%s\"/>\n"
+                        + "<polyline fill=\"none\" stroke=\"blue\" points=\"%s\"/>\n</svg>\n", chartWidth,
+                        chartHeight, budgetY, chartWidth, budgetY, p50, p99)
+                + "<p>Blue: tick p99, gray: tick p50, red: tick budget.</p>\n<table>\n<tr><th>"
+                + String.join("</th><th>", CSV_HEADER.split(",")) + "</th></tr>\n" + table
+                + "</table>\n</body></html>\n";
+    }
+}
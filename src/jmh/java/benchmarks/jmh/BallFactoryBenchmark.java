@@ -0,0 +1,84 @@
+package benchmarks.jmh;
+
+import java.awt.Dimension;
+import java.util.concurrent.TimeUnit;
+import models.BallPoolService;
+import models.PongModel;
+import models.balls.AbstractBallFactory;
+import models.balls.BallModel;
+import models.balls.BallType;
+import models.balls.EasyBallFactory;
+import models.balls.HardBallFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the latency of spawning a ball with the EasyBallFactory and HardBallFactory, which hand the consuming
+ * of the ball from its pool to the consumer thread pool and wait for it. The pools are kept stocked by returning
+ * every spawned ball, so the factories never wait for a producer.
+ *
+ * @author Samuel Thand
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BallFactoryBenchmark {
+
+    private static final int BALLS_PER_TYPE = 16;
+
+    @Param({"easy", "hard"})
+    private String difficulty;
+
+    private PongModel model;
+    private BallPoolService ballPoolService;
+    private AbstractBallFactory factory;
+
+    /**
+     * Creates a game and a factory of the benchmarked difficulty, and stocks the pools of every ball type.
+     */
+    @Setup
+    public void setUp() {
+        this.model = new PongModel(new Dimension(960, 540));
+        this.ballPoolService = this.model.getBallPoolService();
+        for (BallType ballType : this.model.getBallTypeRegistry().getBallTypes()) {
+            for (int i = 0; i < BALLS_PER_TYPE; i++) {
+                this.ballPoolService.produceBall(ballType);
+            }
+        }
+        this.factory = "hard".equals(this.difficulty) ? new HardBallFactory(this.model)
+                : new EasyBallFactory(this.model);
+    }
+
+    /**
+     * Stops the thread pools of the game.
+     */
+    @TearDown
+    public void tearDown() {
+        this.model.getThreadPoolManager().shutdown();
+    }
+
+    /**
+     * Spawns a ball of a random type, and returns it to its pool.
+     *
+     * @return The spawned ball.
+     */
+    @Benchmark
+    public BallModel spawn() {
+        BallModel ball = this.factory.createBallOfRandomSize();
+        this.ballPoolService.returnEntity(ball);
+        return ball;
+    }
+}
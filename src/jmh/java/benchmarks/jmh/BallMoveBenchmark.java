@@ -0,0 +1,126 @@
+package benchmarks.jmh;
+
+import java.awt.Dimension;
+import java.util.concurrent.TimeUnit;
+import models.ArenaLayout;
+import models.PaddleModel;
+import models.PongModel;
+import models.balls.BallModel;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures BallModel.moveBall through each of its branches: flying freely, bouncing on a wall, hitting a paddle and
+ * being missed. Each invocation places the ball where the branch is taken, so the few setter calls doing so are
+ * part of every measurement.
+ *
+ * @author Samuel Thand
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BallMoveBenchmark {
+
+    private static final int WIDTH = 960;
+    private static final int HEIGHT = 540;
+
+    private PongModel model;
+    private BallModel ball;
+    private PaddleModel leftPaddle;
+
+    /**
+     * Creates a two player game with its paddles in their starting positions, and a ball outside of it.
+     */
+    @Setup
+    public void setUp() {
+        this.model = new PongModel(new Dimension(WIDTH, HEIGHT));
+        this.model.setArenaLayout(ArenaLayout.TWO_PLAYER);
+        this.model.getArena().resetPaddles();
+        this.model.getStatistics().reset(this.model.getPaddles().size());
+        this.ball = new BallModel(this.model, this.model.getBallTypeRegistry().getBallType(0));
+        this.leftPaddle = this.model.getPaddles().get(0);
+    }
+
+    /**
+     * Stops the thread pools of the game.
+     */
+    @TearDown
+    public void tearDown() {
+        this.model.getThreadPoolManager().shutdown();
+    }
+
+    /**
+     * A ball in the middle of the game, touching nothing.
+     *
+     * @return The ball.
+     */
+    @Benchmark
+    public BallModel freeFlight() {
+        place(WIDTH / 2, HEIGHT / 2, 3, 3);
+        this.ball.moveBall();
+        return this.ball;
+    }
+
+    /**
+     * A ball bouncing on the top wall.
+     *
+     * @return The ball.
+     */
+    @Benchmark
+    public BallModel wallBounce() {
+        place(WIDTH / 2, 1, 3, -3);
+        this.ball.moveBall();
+        return this.ball;
+    }
+
+    /**
+     * A ball hitting the paddle on the left side.
+     *
+     * @return The ball.
+     */
+    @Benchmark
+    public BallModel paddleHit() {
+        place(this.leftPaddle.getWidth() + 1, this.leftPaddle.getY() + this.leftPaddle.getHeight() / 2, -3, 1);
+        this.ball.moveBall();
+        return this.ball;
+    }
+
+    /**
+     * A ball leaving the game through the left side.
+     *
+     * @return The ball.
+     */
+    @Benchmark
+    public BallModel miss() {
+        place(0, 1, -this.ball.getSideLength() - 1, 0);
+        this.ball.moveBall();
+        return this.ball;
+    }
+
+    /**
+     * Places the ball.
+     *
+     * @param x The X of the ball.
+     * @param y The Y of the ball.
+     * @param xVelocity The X velocity of the ball.
+     * @param yVelocity The Y velocity of the ball.
+     */
+    private void place(final int x, final int y, final int xVelocity, final int yVelocity) {
+        this.ball.setX(x);
+        this.ball.setY(y);
+        this.ball.setXvelocity(xVelocity);
+        this.ball.setYvelocity(yVelocity);
+    }
+}
@@ -0,0 +1,108 @@
+package benchmarks.jmh;
+
+import constants.Constants;
+import java.awt.Dimension;
+import java.util.concurrent.TimeUnit;
+import models.BallPoolService;
+import models.PongModel;
+import models.balls.BallModel;
+import models.balls.BallType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the BallPoolService: consuming a ball and returning it on a single thread, and producing, consuming
+ * and returning balls of the same type from several threads at once, the way the producer threads and the game
+ * tick thread share the pools.
+ *
+ * @author Samuel Thand
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BallPoolBenchmark {
+
+    private PongModel model;
+    private BallPoolService ballPoolService;
+    private BallType ballType;
+
+    /**
+     * Creates a game, and fills the pool of one ball type halfway.
+     */
+    @Setup
+    public void setUp() {
+        this.model = new PongModel(new Dimension(960, 540));
+        this.ballPoolService = this.model.getBallPoolService();
+        this.ballType = this.model.getBallTypeRegistry().getBallType(0);
+        for (int i = 0; i < Constants.BALLPOOL_CAPACITY / 2; i++) {
+            this.ballPoolService.produceBall(this.ballType);
+        }
+    }
+
+    /**
+     * Stops the thread pools of the game.
+     */
+    @TearDown
+    public void tearDown() {
+        this.model.getThreadPoolManager().shutdown();
+    }
+
+    /**
+     * Consumes a ball and returns it, on a single thread.
+     *
+     * @return The consumed ball.
+     */
+    @Benchmark
+    public BallModel consumeAndReturn() {
+        return consumeAndReturnBall();
+    }
+
+    /**
+     * Produces a ball, contending with the consuming threads. A ball produced into a full pool is discarded.
+     */
+    @Benchmark
+    @Group("contended")
+    @GroupThreads(2)
+    public void produce() {
+        this.ballPoolService.produceBall(this.ballType);
+    }
+
+    /**
+     * Consumes a ball and returns it, contending with the producing threads and each other.
+     *
+     * @return The consumed ball, or null if the pool was empty.
+     */
+    @Benchmark
+    @Group("contended")
+    @GroupThreads(2)
+    public BallModel consumeAndReturnContended() {
+        return consumeAndReturnBall();
+    }
+
+    /**
+     * Consumes a ball and returns it to its pool.
+     *
+     * @return The consumed ball, or null if the pool was empty.
+     */
+    private BallModel consumeAndReturnBall() {
+        BallModel ball = this.ballPoolService.consumeBall(this.ballType);
+        if (ball != null) {
+            this.ballPoolService.returnEntity(ball);
+        }
+        return ball;
+    }
+}
@@ -0,0 +1,63 @@
+package benchmarks.jmh;
+
+import java.util.concurrent.TimeUnit;
+import models.PaddleModel;
+import models.Side;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures PaddleModel.movePaddle for a paddle sweeping back and forth along its lane, so both moving within the
+ * lane and stopping at its ends are measured.
+ *
+ * @author Samuel Thand
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PaddleMoveBenchmark {
+
+    private static final int LANE_LENGTH = 540;
+    private static final int PADDLE_LENGTH = 135;
+    private static final int SPEED = 8;
+
+    private PaddleModel paddle;
+
+    /**
+     * Creates a paddle on the left side at the start of its lane, moving along it.
+     */
+    @Setup
+    public void setUp() {
+        this.paddle = new PaddleModel(Side.LEFT, 1);
+        this.paddle.setLane(0, LANE_LENGTH);
+        this.paddle.setWidth(10);
+        this.paddle.setHeight(PADDLE_LENGTH);
+        this.paddle.setVelocity(SPEED);
+    }
+
+    /**
+     * Moves the paddle, and turns it around once it reaches an end of its lane.
+     *
+     * @return The paddle.
+     */
+    @Benchmark
+    public PaddleModel movePaddle() {
+        this.paddle.movePaddle();
+        int position = this.paddle.getPosition();
+        if (position == 0 || position == LANE_LENGTH - PADDLE_LENGTH) {
+            this.paddle.setVelocity(-this.paddle.getVelocity());
+        }
+        return this.paddle;
+    }
+}
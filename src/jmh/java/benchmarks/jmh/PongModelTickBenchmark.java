@@ -0,0 +1,111 @@
+package benchmarks.jmh;
+
+import java.awt.Dimension;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import models.ArenaLayout;
+import models.BallPoolService;
+import models.PongModel;
+import models.balls.BallModel;
+import models.balls.BallType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures a full tick of the model, as run by the game loop of the PongController, at several amounts of balls in
+ * play. Missed balls are replaced by balls from the pools within the tick, so the amount of balls stays the same.
+ *
+ * @author Samuel Thand
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PongModelTickBenchmark {
+
+    private static final int WIDTH = 960;
+    private static final int HEIGHT = 540;
+
+    @Param({"10", "100", "1000", "10000"})
+    private int ballCount;
+
+    private PongModel model;
+    private List<BallModel> balls;
+    private BallPoolService ballPoolService;
+    private List<BallType> ballTypes;
+    private Random random;
+
+    /**
+     * Creates a four player game with the paddles in their starting positions, and fills it with balls.
+     */
+    @Setup
+    public void setUp() {
+        this.model = new PongModel(new Dimension(WIDTH, HEIGHT));
+        this.model.setArenaLayout(ArenaLayout.FOUR_PLAYER);
+        this.model.getArena().resetPaddles();
+        this.model.getStatistics().reset(this.model.getPaddles().size());
+        this.model.getPowerUpManager().reset();
+        this.balls = this.model.getBalls();
+        this.ballPoolService = this.model.getBallPoolService();
+        this.ballTypes = this.model.getBallTypeRegistry().getBallTypes();
+        this.random = new Random(42);
+        replaceMissedBalls();
+    }
+
+    /**
+     * Stops the thread pools of the game.
+     */
+    @TearDown
+    public void tearDown() {
+        this.model.getThreadPoolManager().shutdown();
+    }
+
+    /**
+     * Runs a tick of the model.
+     *
+     * @return The model.
+     */
+    @Benchmark
+    public PongModel tick() {
+        this.model.advanceTick();
+        this.model.movePaddles();
+        this.model.moveBalls();
+        this.model.updatePowerUps();
+        this.model.updateParticles();
+        this.model.returnMissedBallsToPool();
+        replaceMissedBalls();
+        return this.model;
+    }
+
+    /**
+     * Adds balls of random types at random positions and directions until the game holds the amount of balls
+     * benchmarked. Takes the balls from the pools, and creates them if the pool is empty.
+     */
+    private void replaceMissedBalls() {
+        while (this.balls.size() < this.ballCount) {
+            BallType ballType = this.ballTypes.get(this.random.nextInt(this.ballTypes.size()));
+            BallModel ball = this.ballPoolService.consumeBall(ballType);
+            if (ball == null) {
+                ball = new BallModel(this.model, ballType);
+            }
+            ball.setX(WIDTH / 4 + this.random.nextInt(WIDTH / 2));
+            ball.setY(HEIGHT / 4 + this.random.nextInt(HEIGHT / 2));
+            ball.setXvelocity(this.random.nextBoolean() ? 3 : -3);
+            ball.setYvelocity(this.random.nextBoolean() ? 3 : -3);
+            this.balls.add(ball);
+        }
+    }
+}
@@ -1,8 +1,18 @@
 import controllers.PongController;
+import controllers.RemoteController;
+import controllers.writers.ResultWriterService;
 import java.awt.Dimension;
 import java.awt.EventQueue;
 import java.awt.Toolkit;
+import java.io.IOException;
+import metrics.MetricsEndpoint;
+import metrics.PerformanceMetrics;
 import models.PongModel;
+import models.checkpoint.CheckpointService;
+import network.GameClient;
+import network.GameHost;
+import network.GameMirror;
+import network.NetworkMode;
 import views.GameFrame;
 
 /**
@@ -19,22 +29,83 @@ final class UltimateSurvivalPong {
 
     /**
      * The starting point of Ultimate Survival Pong.
-     * Instantiates the model, view and controller, and displays the GUI.
+     * Instantiates the model, starts its warm-up in the background while the view is built, then
+     * instantiates the view and controller, displays the GUI and offers to resume an unfinished game. The
+     * results of games and the checkpoint still being written when the application exits are written before it does.
+     * Serves the metrics of the game over HTTP if a metrics port is given, and hosts the game for a remote player
+     * or joins a hosted game if the network mode says so.
      *
      * @param args Java command line arguments.
      */
     public static void main(final String[] args) {
 
-        Dimension bounds = determineFrameSize();
+        PerformanceMetrics metrics = new PerformanceMetrics();
+        if (NetworkMode.fromSystemProperties() == NetworkMode.CLIENT) {
+            joinGame(metrics);
+            return;
+        }
 
-        GameFrame view = new GameFrame(bounds);
+        Dimension bounds = determineFrameSize();
+        ResultWriterService results = ResultWriterService.fromSystemProperties();
+        Runtime.getRuntime().addShutdownHook(new Thread(results::close, "result-writer-shutdown"));
+        CheckpointService checkpoints = CheckpointService.fromSystemProperties();
+        Runtime.getRuntime().addShutdownHook(new Thread(checkpoints::close, "checkpoint-writer-shutdown"));
         PongModel model = new PongModel(bounds);
-        new PongController(model, view);
+        Runtime.getRuntime().addShutdownHook(new Thread(model.getEventJournal()::close, "event-journal-shutdown"));
+        model.warmUp();
+        GameHost host = GameHost.fromSystemProperties(model);
+        if (host != null) {
+            Runtime.getRuntime().addShutdownHook(new Thread(host::close, "network-host-shutdown"));
+        }
+        GameFrame view = new GameFrame(bounds, metrics);
+        PongController controller = new PongController(model, view, metrics, results, checkpoints, host);
+        MetricsEndpoint endpoint = MetricsEndpoint.fromSystemProperties(metrics, model, results);
+        if (endpoint != null) {
+            Runtime.getRuntime().addShutdownHook(new Thread(endpoint::close, "metrics-endpoint-shutdown"));
+        }
+
+        EventQueue.invokeLater(() -> {
+            view.pack();
+            view.setLocationRelativeTo(null);
+            view.setVisible(true);
+            controller.offerResume();
+        });
+    }
+
+    /**
+     * Joins the game hosted at the network address and port as the remote player, and displays it in a view the
+     * size of the hosted game. Exits if the host cannot be joined.
+     *
+     * @param metrics The performance measurements of the view.
+     */
+    private static void joinGame(final PerformanceMetrics metrics) {
+        GameClient client;
+        GameMirror mirror;
+        try {
+            client = GameClient.fromSystemProperties();
+        } catch (IOException e) {
+            System.err.println("Joining the game failed: " + e.getMessage());
+            System.exit(1);
+            return;
+        }
+        try {
+            mirror = new GameMirror(client.getBounds(), client.getBallTypeCount());
+        } catch (IllegalArgumentException e) {
+            client.close();
+            System.err.println("Joining the game failed: " + e.getMessage());
+            System.exit(1);
+            return;
+        }
+        Runtime.getRuntime().addShutdownHook(new Thread(client::close, "network-client-shutdown"));
+        System.out.println("Joined the game, controlling paddle " + client.getRemotePaddleNumber());
 
+        GameFrame view = new GameFrame(client.getBounds(), metrics);
+        RemoteController controller = new RemoteController(client, mirror, view);
         EventQueue.invokeLater(() -> {
             view.pack();
             view.setLocationRelativeTo(null);
             view.setVisible(true);
+            controller.start();
         });
     }
 
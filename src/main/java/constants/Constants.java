@@ -9,19 +9,28 @@ public interface Constants {
 
     int GAME_TICK_DELAY_MS = 17;
 
-    int BIG_BALL_SIDE_LENGTH = 60;
-    int MEDIUM_BALL_SIDE_LENGTH = 40;
-    int SMALL_BALL_SIDE_LENGTH = 20;
-
-    int EASY_BALL_RANDOMNESS_FACTOR = 1;
-    int HARD_BALL_RANDOMNESS_FACTOR = 2;
-
     int PADDLE_SPEED = 8;
     int PADDLE_WIDTH_FRACTION = 50;
     int PADDLE_HEIGHT_FRACTION = 4;
 
     int BALLPOOL_MINIMUM_BALLS = 10;
     int BALLPOOL_NEW_BALLS_BATCH_AMOUNT = 5;
+    int BALLPOOL_CAPACITY = 256;
+
+    int POWER_UP_POOL_CAPACITY = 8;
+    int POWER_UP_POOL_MINIMUM = 2;
+    int MAX_ACTIVE_POWER_UPS = 4;
+    int POWER_UP_SPAWN_INTERVAL_TICKS = 600;
+    int POWER_UP_LIFETIME_TICKS = 900;
+    int POWER_UP_SPEED = 3;
+    int POWER_UP_SIDE_LENGTH = 24;
+    int PADDLE_GROWTH_PERCENT = 150;
+
+    int PARTICLE_CAPACITY = 65536;
+    int PARTICLE_LIFETIME_TICKS = 40;
+    int PARTICLES_PER_PADDLE_HIT = 24;
+    int PARTICLES_PER_MISS = 48;
+    int PARTICLE_SPEED = 4;
 
     int TIME_BETWEEN_LEVELS = 15;
     int AMOUNT_OF_EASY_LEVELS = 5;
@@ -32,4 +41,44 @@ public interface Constants {
     int MENU_CHOICE_WRITE_RESULT_AND_DATE = 1;
     int MENU_CHOICE_WRITE_RESULT = 2;
     int MENU_CHOICE_DONT_WRITE = 3;
+
+    String RESULTS_SYNC_PROPERTY = "pong.results.sync";
+    int RESULTS_QUEUE_CAPACITY = 1024;
+    int RESULTS_BATCH_SIZE = 256;
+    int RESULTS_SYNC_INTERVAL_MS = 1000;
+    String RESULTS_MAX_SEGMENT_BYTES_PROPERTY = "pong.results.maxSegmentBytes";
+    String RESULTS_ROLL_DAILY_PROPERTY = "pong.results.rollDaily";
+    String RESULTS_RETAIN_SEGMENTS_PROPERTY = "pong.results.retainSegments";
+    String RESULTS_RETAIN_DAYS_PROPERTY = "pong.results.retainDays";
+    int RESULT_STORE_DELTA_LIMIT = 65536;
+
+    String JOURNAL_DIRECTORY_PROPERTY = "pong.journal.dir";
+    int JOURNAL_RECORDS_PER_SEGMENT = 65536;
+
+    String CHECKPOINT_FILE_PROPERTY = "pong.checkpoint.file";
+    int CHECKPOINT_INTERVAL_TICKS = 300;
+
+    String METRICS_PORT_PROPERTY = "pong.metrics.port";
+
+    String NETWORK_MODE_PROPERTY = "pong.network.mode";
+    String NETWORK_ADDRESS_PROPERTY = "pong.network.address";
+    String NETWORK_PORT_PROPERTY = "pong.network.port";
+    int DEFAULT_NETWORK_PORT = 7500;
+    int NETWORK_FRAME_QUEUE_CAPACITY = 8;
+    int NETWORK_CONNECT_TIMEOUT_MS = 5000;
+
+    String BALL_TYPES_PROPERTY = "pong.ballTypes";
+
+    String RENDER_MODE_PROPERTY = "pong.renderMode";
+    String TARGET_FPS_PROPERTY = "pong.targetFps";
+    int DEFAULT_TARGET_FPS = 60;
+    int HUD_GAUGE_INTERVAL_TICKS = 30;
+    int TICK_PROFILER_CAPACITY = 1024;
+    String RENDER_SCALE_PROPERTY = "pong.renderScale";
+    int MIN_RENDER_SCALE_PERCENT = 50;
+    int RENDER_SCALE_STEP_PERCENT = 10;
+    String FIELD_RENDERER_PROPERTY = "pong.fieldRenderer";
+    String RASTER_BANDS_PROPERTY = "pong.raster.bands";
+    int DIRTY_REGION_MAX_RECTANGLES = 64;
+    int DIRTY_REGION_FULL_REPAINT_PERCENT = 50;
 }
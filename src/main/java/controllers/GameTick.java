@@ -0,0 +1,107 @@
+package controllers;
+
+import constants.Constants;
+import metrics.PerformanceMetrics;
+import metrics.TickPhase;
+import metrics.TickProfiler;
+import metrics.jfr.GameTickEvent;
+import models.PongModel;
+import models.checkpoint.CheckpointService;
+import network.GameHost;
+
+/**
+ * A tick of the game loop. Advances the model, hands the frame to the view, captures checkpoints and records the
+ * tick in the performance metrics, timing every phase in the TickProfiler. Run by the PongController on every tick
+ * of its timer, and by the allocation budget check without a window, so both run the same phases.
+ *
+ * @author Samuel Thand
+ */
+public final class GameTick {
+
+    private final PongModel model;
+    private final TickView view;
+    private final PerformanceMetrics performanceMetrics;
+    private final CheckpointService checkpointService;
+    private final GameHost gameHost;
+
+    /**
+     * Constructor. Initializes instance fields.
+     *
+     * @param model The model of the game
+     * @param view The view updated by the ticks
+     * @param performanceMetrics The performance measurements to record the ticks in
+     * @param checkpointService The service saving checkpoints of the game in progress
+     * @param gameHost The host of the game for a remote player, or null if the game is not hosted
+     */
+    public GameTick(final PongModel model, final TickView view, final PerformanceMetrics performanceMetrics,
+                    final CheckpointService checkpointService, final GameHost gameHost) {
+        this.model = model;
+        this.view = view;
+        this.performanceMetrics = performanceMetrics;
+        this.checkpointService = checkpointService;
+        this.gameHost = gameHost;
+    }
+
+    /**
+     * Runs a tick of the game. When the game is hosted, the remote paddle follows the input of the remote player and
+     * the state of the game is sent to them. Emits a GameTickEvent when a flight recording enables it.
+     *
+     * @param checkpointIsAllowed If a checkpoint may be captured, false once the game loop is stopped
+     */
+    public void run(final boolean checkpointIsAllowed) {
+        GameTickEvent tickEvent = new GameTickEvent();
+        tickEvent.begin();
+        TickProfiler profiler = this.performanceMetrics.getTickProfiler();
+        long tickStart = System.nanoTime();
+        profiler.beginTick(tickStart);
+        this.model.advanceTick();
+        this.model.updateElapsedSeconds();
+        profiler.endPhase(TickPhase.ELAPSED_TIME);
+        if (this.gameHost != null) {
+            this.gameHost.applyRemoteInput(this.model.getPaddles());
+        }
+        this.model.movePaddles();
+        profiler.endPhase(TickPhase.PADDLES);
+        this.model.moveBalls();
+        profiler.endPhase(TickPhase.BALLS);
+        this.model.updatePowerUps();
+        profiler.endPhase(TickPhase.POWER_UPS);
+        this.model.updateParticles();
+        profiler.endPhase(TickPhase.PARTICLES);
+        this.model.returnMissedBallsToPool();
+        profiler.endPhase(TickPhase.MISSED_BALLS);
+
+        this.view.publishFrame(this.model.getTick(), this.model.getPaddles(), this.model.getBalls(),
+                this.model.getPowerUps(), this.model.getParticleSystem());
+        profiler.endPhase(TickPhase.PUBLISH_FRAME);
+        if (this.gameHost != null) {
+            this.gameHost.publishState(this.model);
+        }
+        profiler.endPhase(TickPhase.NETWORK);
+        long tickNanos = System.nanoTime() - tickStart;
+        tickEvent.end();
+        if (tickEvent.shouldCommit()) {
+            tickEvent.tick = this.model.getTick();
+            tickEvent.ballCount = this.model.getBalls().size();
+            tickEvent.commit();
+        }
+        this.performanceMetrics.getTickNanos().record(tickNanos);
+        this.performanceMetrics.setBallsInPlay(this.model.getBalls().size());
+        this.model.getStatistics().recordTick(tickNanos);
+        boolean checkpointIsDue = this.model.getTick() % Constants.CHECKPOINT_INTERVAL_TICKS == 0;
+        if (checkpointIsDue && checkpointIsAllowed) {
+            this.checkpointService.capture(this.model);
+        }
+        profiler.endPhase(TickPhase.CHECKPOINT);
+        this.view.repaintGamePanel();
+        profiler.endPhase(TickPhase.REPAINT);
+
+        boolean gaugesAreDue = this.model.getTick() % Constants.HUD_GAUGE_INTERVAL_TICKS == 0;
+        if (gaugesAreDue && this.view.isPerformanceHudVisible()) {
+            this.view.updatePerformanceGauges(this.model.getBalls().size(),
+                    this.model.getBallPoolService().getAmountOfAvailableBalls());
+        }
+        profiler.endPhase(TickPhase.GAUGES);
+        profiler.endTick();
+    }
+}
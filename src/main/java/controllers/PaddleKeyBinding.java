@@ -0,0 +1,65 @@
+package controllers;
+
+import models.PaddleModel;
+
+/**
+ * Binds two keys to a paddle, one moving it towards the start of its side and one towards the end.
+ * Keeps track of which of the keys are pressed.
+ *
+ * @author Samuel Thand
+ */
+final class PaddleKeyBinding {
+
+    private final int decreaseKeyCode;
+    private final int increaseKeyCode;
+    private final PaddleModel paddle;
+    private boolean decreaseIsPressed;
+    private boolean increaseIsPressed;
+
+    /**
+     * Constructor. Initializes instance fields.
+     *
+     * @param decreaseKeyCode The key code moving the paddle towards the start of its side.
+     * @param increaseKeyCode The key code moving the paddle towards the end of its side.
+     * @param paddle The paddle controlled by the keys.
+     */
+    PaddleKeyBinding(final int decreaseKeyCode, final int increaseKeyCode, final PaddleModel paddle) {
+        this.decreaseKeyCode = decreaseKeyCode;
+        this.increaseKeyCode = increaseKeyCode;
+        this.paddle = paddle;
+    }
+
+    /**
+     * Handles a key press, and starts moving the paddle if the key is bound to it.
+     *
+     * @param keyCode The code of the pressed key.
+     */
+    void keyPressed(final int keyCode) {
+        if (keyCode == this.decreaseKeyCode) {
+            this.decreaseIsPressed = true;
+            this.paddle.setVelocity(-this.paddle.getPaddleSpeed());
+        } else if (keyCode == this.increaseKeyCode) {
+            this.increaseIsPressed = true;
+            this.paddle.setVelocity(this.paddle.getPaddleSpeed());
+        }
+    }
+
+    /**
+     * Handles a key release, and stops the paddle if the key is bound to it and the other key is not pressed.
+     *
+     * @param keyCode The code of the released key.
+     */
+    void keyReleased(final int keyCode) {
+        if (keyCode == this.decreaseKeyCode) {
+            this.decreaseIsPressed = false;
+            if (!this.increaseIsPressed) {
+                this.paddle.setVelocity(0);
+            }
+        } else if (keyCode == this.increaseKeyCode) {
+            this.increaseIsPressed = false;
+            if (!this.decreaseIsPressed) {
+                this.paddle.setVelocity(0);
+            }
+        }
+    }
+}
@@ -1,16 +1,29 @@
 package controllers;
 
 import constants.Constants;
+import controllers.writers.AbstractResultWriter;
 import controllers.writers.ResultAndDateWriter;
 import controllers.writers.ResultWriter;
+import controllers.writers.ResultWriterService;
+import java.awt.EventQueue;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
 import java.awt.event.KeyAdapter;
 import java.awt.event.KeyEvent;
+import java.lang.management.ManagementFactory;
 import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
 import javax.swing.Timer;
+import metrics.PerformanceMetrics;
+import models.ArenaLayout;
 import models.PaddleModel;
 import models.PongModel;
+import models.Side;
+import models.checkpoint.CheckpointService;
+import models.checkpoint.GameCheckpoint;
+import network.GameHost;
 import views.GameFrame;
 
 /**
@@ -25,10 +38,14 @@ public final class PongController extends KeyAdapter implements ActionListener,
     private final PongModel model;
     private final GameFrame view;
     private final Timer actionTimer;
-    private boolean wIsPressed;
-    private boolean sIsPressed;
-    private boolean upIsPressed;
-    private boolean downIsPressed;
+    private final List<PaddleKeyBinding> keyBindings;
+    private final PerformanceMetrics performanceMetrics;
+    private final ResultWriterService resultWriterService;
+    private final CheckpointService checkpointService;
+    private final GameHost gameHost;
+    private final GameTick tick;
+    private long gameStartNanos;
+    private boolean firstFrameIsDue;
 
     /**
      * Constructor. Takes the model and view for the application, and assigns it to the corresponding fields.
@@ -37,11 +54,24 @@ public final class PongController extends KeyAdapter implements ActionListener,
      *
      * @param model The model of the application
      * @param view The view of the application
+     * @param performanceMetrics The performance measurements to record the game ticks in
+     * @param resultWriterService The service writing the results of games
+     * @param checkpointService The service saving checkpoints of the game in progress
+     * @param gameHost The host of the game for a remote player, or null if the game is not hosted
      */
-    public PongController(final PongModel model, final GameFrame view) {
+    public PongController(final PongModel model, final GameFrame view, final PerformanceMetrics performanceMetrics,
+                          final ResultWriterService resultWriterService, final CheckpointService checkpointService,
+                          final GameHost gameHost) {
         this.model = model;
         this.view = view;
+        this.performanceMetrics = performanceMetrics;
+        this.resultWriterService = resultWriterService;
+        this.checkpointService = checkpointService;
+        this.gameHost = gameHost;
+        this.tick = new GameTick(model, view, performanceMetrics, checkpointService, gameHost);
         this.actionTimer = new Timer(Constants.GAME_TICK_DELAY_MS, this);
+        this.keyBindings = new ArrayList<>();
+        this.firstFrameIsDue = true;
         this.view.setKeyListener(this);
 
         setPlayButtonListener();
@@ -55,28 +85,84 @@ public final class PongController extends KeyAdapter implements ActionListener,
     }
 
     /**
-     * Starts the game. Makes the play button unclickable, calls the setInitialGameState() method, adds this controller as an observer,
-     * starts the game timer in the model and starts the Swing timer member.
+     * Offers to resume the game left unfinished by the previous run, if it left a checkpoint. Called once the view
+     * is shown.
+     */
+    public void offerResume() {
+        GameCheckpoint checkpoint = this.checkpointService.load();
+        if (checkpoint == null || !this.view.displayResumeMessage(checkpoint.getLevel(),
+                checkpoint.getElapsedSeconds())) {
+            return;
+        }
+
+        try {
+            this.gameStartNanos = System.nanoTime();
+            this.view.setPlayButtonClickable(false);
+            this.model.restore(checkpoint);
+        } catch (IllegalArgumentException e) {
+            this.view.setPlayButtonClickable(true);
+            this.view.displayErrorMessage("The game could not be resumed: " + e.getMessage());
+            return;
+        }
+        beginGame();
+    }
+
+    /**
+     * Starts the game. Makes the play button unclickable, sets the arena layout chosen in the view and
+     * calls the setInitialGameState() method, then begins the game.
      */
     private void startGame() {
+        this.gameStartNanos = System.nanoTime();
         this.view.setPlayButtonClickable(false);
+        this.model.setArenaLayout(this.view.isFourPlayerSelected() ? ArenaLayout.FOUR_PLAYER : ArenaLayout.TWO_PLAYER);
         setInitialModelState();
+        beginGame();
+    }
+
+    /**
+     * Begins a started or resumed game. Binds the paddle keys, adds this controller as an observer,
+     * starts the game timer in the model, resets the frame statistics and the tick profiler and starts the Swing
+     * timer member.
+     */
+    private void beginGame() {
+        bindPaddleKeys();
         this.model.addObserver(this);
         this.model.startGameTimer();
+        this.view.getFrameStatistics().reset();
+        this.performanceMetrics.getTickProfiler().reset();
         this.actionTimer.start();
     }
 
     /**
-     * Sets the initial game state by calling the model.setInitialState() method, and creating paddles in the view.
+     * Sets the initial game state by calling the model.setInitialState() method.
      */
     private void setInitialModelState() {
         this.model.setInitialState();
-        this.view.createPaddle1(this.model.getPaddle1().getDimensionsAndPosition());
-        this.view.createPaddle2(this.model.getPaddle2().getDimensionsAndPosition());
     }
 
     /**
-     * The main game loop triggered by the actionTimer. Calls the relevant methods in the model and view to drive the game.
+     * Binds keys to the first paddle on each side of the arena. Red uses W and S, blue the up and down arrows,
+     * green Z and X and orange N and M. When the game is hosted, the remote paddle is left to the remote player.
+     */
+    private void bindPaddleKeys() {
+        this.keyBindings.clear();
+        Set<Side> boundSides = EnumSet.noneOf(Side.class);
+        for (PaddleModel paddle : this.model.getPaddles()) {
+            boolean isRemote = this.gameHost != null && paddle.getNumber() == GameHost.REMOTE_PADDLE_NUMBER;
+            if (boundSides.add(paddle.getSide()) && !isRemote) {
+                this.keyBindings.add(switch (paddle.getSide()) {
+                    case LEFT -> new PaddleKeyBinding(KeyEvent.VK_W, KeyEvent.VK_S, paddle);
+                    case RIGHT -> new PaddleKeyBinding(KeyEvent.VK_UP, KeyEvent.VK_DOWN, paddle);
+                    case TOP -> new PaddleKeyBinding(KeyEvent.VK_Z, KeyEvent.VK_X, paddle);
+                    case BOTTOM -> new PaddleKeyBinding(KeyEvent.VK_N, KeyEvent.VK_M, paddle);
+                });
+            }
+        }
+    }
+
+    /**
+     * The main game loop triggered by the actionTimer. Ends the game once it is over, and runs a GameTick to drive
+     * the model and view. Checkpoints are only captured while the game loop runs.
      *
      * @param gameTick Each tick of the game
      */
@@ -87,23 +173,33 @@ public final class PongController extends KeyAdapter implements ActionListener,
             gameOver();
         }
 
-        this.model.updateElapsedSeconds();
-        this.model.movePaddles();
-        this.model.moveBalls();
-        this.model.returnMissedBallsToPool();
+        this.tick.run(this.actionTimer.isRunning());
+
+        if (this.firstFrameIsDue) {
+            this.firstFrameIsDue = false;
+            recordFirstFrame();
+        }
+    }
 
-        PaddleModel paddle1 = this.model.getPaddle1();
-        PaddleModel paddle2 = this.model.getPaddle2();
-        this.view.updatePaddles(paddle1.getX(), paddle1.getY(), paddle2.getX(), paddle2.getY());
-        this.view.updateBalls(new ArrayList<>(model.getBalls()));
-        this.view.repaintGamePanel();
+    /**
+     * Records the time from starting the game, and from launching the application, until the first frame of the
+     * game was handed to the view, in the performance metrics. Only done for the first game of the application,
+     * as the time since launch means nothing for later games.
+     */
+    private void recordFirstFrame() {
+        long sinceStartMillis = (System.nanoTime() - this.gameStartNanos) / 1_000_000;
+        long sinceLaunchMillis = ManagementFactory.getRuntimeMXBean().getUptime();
+        this.performanceMetrics.setFirstFrame(sinceStartMillis, sinceLaunchMillis);
     }
 
     /**
-     * Stops the game loop, resets the state of the model and calls displayLoseMessage().
+     * Stops the game loop, discards the checkpoint of the game, finishes the game statistics and calls
+     * displayLoseMessage().
      */
     private void gameOver() {
         this.actionTimer.stop();
+        this.checkpointService.discard();
+        this.model.getStatistics().finish();
         this.view.setPlayButtonClickable(true);
         this.model.removeObserver(this);
         displayLoseMessage();
@@ -124,83 +220,56 @@ public final class PongController extends KeyAdapter implements ActionListener,
      */
     private void displayLoseMessage() {
         switch (view.displayGameOverMessage()) {
-            case Constants.MENU_CHOICE_WRITE_RESULT_AND_DATE -> this.model.writeResult(new ResultAndDateWriter());
-            case Constants.MENU_CHOICE_WRITE_RESULT -> this.model.writeResult(new ResultWriter());
+            case Constants.MENU_CHOICE_WRITE_RESULT_AND_DATE ->
+                    writeResult(new ResultAndDateWriter(this.resultWriterService));
+            case Constants.MENU_CHOICE_WRITE_RESULT -> writeResult(new ResultWriter(this.resultWriterService));
             default -> { }
         }
     }
 
     /**
-     * Handles key presses from the user, changes the key state instance fields
-     * and controls the paddles.
+     * Writes the result of the game in the background, and tells the user if it could not be written.
+     *
+     * @param resultWriter The resultWriter used for writing the result.
+     */
+    private void writeResult(final AbstractResultWriter resultWriter) {
+        this.model.writeResult(resultWriter).whenComplete((written, failure) -> {
+            if (failure != null) {
+                EventQueue.invokeLater(() -> this.view.displayErrorMessage(
+                        "The result could not be written: " + failure.getMessage()));
+            }
+        });
+    }
+
+    /**
+     * Handles key presses from the user, controls the paddles through their key bindings, toggles the
+     * performance overlay on F3 and reports the tick phases of the recent ticks to the error stream on F4, along with
+     * the other diagnostics of the game.
      *
      * @param keyPress The key press
      */
     @Override
     public void keyPressed(final KeyEvent keyPress) {
-        PaddleModel paddle1 = this.model.getPaddle1();
-        PaddleModel paddle2 = this.model.getPaddle2();
-
-        int keyCode = keyPress.getKeyCode();
-        switch (KeyEvent.getKeyText(keyCode)) {
-            case "Up" -> {
-                this.upIsPressed = true;
-                paddle2.setYvelocity(-paddle2.getPaddleSpeed());
-            }
-            case "Down" -> {
-                this.downIsPressed = true;
-                paddle2.setYvelocity(paddle2.getPaddleSpeed());
-            }
-            case "W" -> {
-                this.wIsPressed = true;
-                paddle1.setYvelocity(-paddle1.getPaddleSpeed());
-            }
-            case "S" -> {
-                this.sIsPressed = true;
-                paddle1.setYvelocity(paddle1.getPaddleSpeed());
-            }
-            default -> { }
+        if (keyPress.getKeyCode() == KeyEvent.VK_F3) {
+            this.view.togglePerformanceHud();
+        }
+        if (keyPress.getKeyCode() == KeyEvent.VK_F4) {
+            System.err.print(this.performanceMetrics.getTickProfiler().report());
+        }
+        for (PaddleKeyBinding keyBinding : this.keyBindings) {
+            keyBinding.keyPressed(keyPress.getKeyCode());
         }
     }
 
     /**
-     * Handles key releases from the user, changes the key state instance fields
-     * and controls the paddles.
+     * Handles key releases from the user, and controls the paddles through their key bindings.
      *
      * @param keyRelease The key release
      */
     @Override
     public void keyReleased(final KeyEvent keyRelease) {
-        PaddleModel paddle1 = this.model.getPaddle1();
-        PaddleModel paddle2 = this.model.getPaddle2();
-
-        int keyCode = keyRelease.getKeyCode();
-        switch (KeyEvent.getKeyText(keyCode)) {
-            case "Up" -> {
-                this.upIsPressed = false;
-                if (!downIsPressed) {
-                    paddle2.setYvelocity(0);
-                }
-            }
-            case "Down" -> {
-                this.downIsPressed = false;
-                if (!upIsPressed) {
-                    paddle2.setYvelocity(0);
-                }
-            }
-            case "W" -> {
-                this.wIsPressed = false;
-                if (!sIsPressed) {
-                    paddle1.setYvelocity(0);
-                }
-            }
-            case "S" -> {
-                this.sIsPressed = false;
-                if (!wIsPressed) {
-                    paddle1.setYvelocity(0);
-                }
-            }
-            default -> { }
+        for (PaddleKeyBinding keyBinding : this.keyBindings) {
+            keyBinding.keyReleased(keyRelease.getKeyCode());
         }
     }
 }
@@ -0,0 +1,108 @@
+package controllers;
+
+import constants.Constants;
+import java.awt.event.ActionEvent;
+import java.awt.event.ActionListener;
+import java.awt.event.KeyAdapter;
+import java.awt.event.KeyEvent;
+import java.util.Collections;
+import javax.swing.Timer;
+import network.GameClient;
+import network.GameMirror;
+import views.GameFrame;
+
+/**
+ * The controller of a game joined as the remote player. The game runs on the host; this controller sends the keys
+ * of the remote paddle to it, and shows the states it sends in the view. The remote paddle is controlled with the
+ * up and down arrows. Power-ups and particle effects are not sent by the host, so they are not shown.
+ *
+ * @author Samuel Thand
+ */
+public final class RemoteController extends KeyAdapter implements ActionListener {
+
+    private final GameClient client;
+    private final GameMirror mirror;
+    private final GameFrame view;
+    private final Timer actionTimer;
+    private boolean decreaseIsPressed;
+    private boolean increaseIsPressed;
+
+    /**
+     * Constructor. Initializes instance fields, and passes itself as a keyListener in the view.
+     *
+     * @param client The connection to the host.
+     * @param mirror The mirror of the hosted game.
+     * @param view The view of the application.
+     */
+    public RemoteController(final GameClient client, final GameMirror mirror, final GameFrame view) {
+        this.client = client;
+        this.mirror = mirror;
+        this.view = view;
+        this.actionTimer = new Timer(Constants.GAME_TICK_DELAY_MS, this);
+        this.view.setKeyListener(this);
+    }
+
+    /**
+     * Starts showing the hosted game. The game is started from the host, so the play button is not clickable.
+     */
+    public void start() {
+        this.view.setPlayButtonClickable(false);
+        this.actionTimer.start();
+    }
+
+    /**
+     * Applies the states received since the last tick to the mirror, and shows it in the view. Stops and tells the
+     * user if the connection to the host is lost.
+     *
+     * @param gameTick Each tick of the timer
+     */
+    @Override
+    public void actionPerformed(final ActionEvent gameTick) {
+        if (!this.client.isConnected()) {
+            this.actionTimer.stop();
+            this.view.displayErrorMessage("The connection to the host was lost");
+            return;
+        }
+        if (this.client.applyReceivedStates(this.mirror) == 0) {
+            return;
+        }
+
+        this.view.publishFrame(this.mirror.getTick(), this.mirror.getPaddles(), this.mirror.getBalls(),
+                Collections.emptyList(), this.mirror.getParticleSystem());
+        this.view.updateGameTime(this.mirror.getElapsedSeconds());
+        this.view.updateCurrentLevel(this.mirror.getLevel());
+        this.view.repaintGamePanel();
+    }
+
+    /**
+     * Handles key presses from the user, sends the keys of the remote paddle to the host and toggles the
+     * performance overlay on F3.
+     *
+     * @param keyPress The key press
+     */
+    @Override
+    public void keyPressed(final KeyEvent keyPress) {
+        switch (keyPress.getKeyCode()) {
+            case KeyEvent.VK_F3 -> this.view.togglePerformanceHud();
+            case KeyEvent.VK_UP -> this.decreaseIsPressed = true;
+            case KeyEvent.VK_DOWN -> this.increaseIsPressed = true;
+            default -> { }
+        }
+        this.client.setKeys(this.decreaseIsPressed, this.increaseIsPressed);
+    }
+
+    /**
+     * Handles key releases from the user, and sends the keys of the remote paddle to the host.
+     *
+     * @param keyRelease The key release
+     */
+    @Override
+    public void keyReleased(final KeyEvent keyRelease) {
+        switch (keyRelease.getKeyCode()) {
+            case KeyEvent.VK_UP -> this.decreaseIsPressed = false;
+            case KeyEvent.VK_DOWN -> this.increaseIsPressed = false;
+            default -> { }
+        }
+        this.client.setKeys(this.decreaseIsPressed, this.increaseIsPressed);
+    }
+}
@@ -0,0 +1,50 @@
+package controllers;
+
+import java.util.List;
+import java.util.Map;
+import models.PaddleModel;
+import models.balls.BallModel;
+import models.balls.BallType;
+import models.particles.ParticleSystem;
+import models.powerups.PowerUpModel;
+
+/**
+ * Lays out the functionality of the view a tick of the game loop updates. Implemented by the GameFrame, and by views
+ * without a window driving the game loop headless.
+ *
+ * @author Samuel Thand
+ */
+public interface TickView {
+
+    /**
+     * Hands the state of the game at the end of a tick to the renderer.
+     *
+     * @param tick The tick of the game.
+     * @param paddles The paddles in the game.
+     * @param balls The balls in the game.
+     * @param powerUps The power-ups in the game.
+     * @param particles The particle system of the game.
+     */
+    void publishFrame(long tick, List<PaddleModel> paddles, List<BallModel> balls, List<PowerUpModel> powerUps,
+                      ParticleSystem particles);
+
+    /**
+     * Repaint the game panel with the latest published frame.
+     */
+    void repaintGamePanel();
+
+    /**
+     * Check if the performance overlay is shown.
+     *
+     * @return The overlay is visible.
+     */
+    boolean isPerformanceHudVisible();
+
+    /**
+     * Updates the ball count and pool levels shown by the performance overlay.
+     *
+     * @param balls The amount of balls in the game.
+     * @param availableBalls The amount of balls available in the pool of each ball type.
+     */
+    void updatePerformanceGauges(int balls, Map<BallType, Integer> availableBalls);
+}
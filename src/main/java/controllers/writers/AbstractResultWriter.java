@@ -1,84 +1,57 @@
 package controllers.writers;
 
-import java.io.File;
-import java.io.FileNotFoundException;
-import java.io.FileOutputStream;
-import java.io.IOException;
 import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+import models.GameStatistics;
 
 /**
  * Provides functionality for writing the results of a game to a text file. Provides an implementation for
- * opening a file stream, and writing of the data. Defers the implementation of constructing a result string to concrete
- * subclasses. Is a part of the implementation of the template method design pattern.
+ * appending the statistics of the game to a result line, encoding it and handing it over to the
+ * ResultWriterService appending it to the file. Defers the implementation of formatting the result itself to
+ * concrete subclasses. Is a part of the implementation of the template method design pattern.
  *
  * @author Samuel Thand
  */
 public abstract class AbstractResultWriter {
 
-    private final String filePath;
+    private static final int RESULT_LINE_CAPACITY = 256;
 
-    /**
-     * Constructor. Initializes a file path for writing, and stores it in filePath.
-     */
-    AbstractResultWriter() {
-        this.filePath = System.getProperty("user.dir") + "/_Resources/PongResults.txt";
-    }
+    private final ResultWriterService writerService;
 
     /**
-     * Writes a string to a file using an output stream.
+     * Constructor. Initializes instance fields.
      *
-     * @param level The level reached during the game.
-     * @param time The time survived during the game.
-     * @throws FileNotFoundException If a file is not found.
+     * @param writerService The service appending results to the results file.
      */
-    public final void write(final int level, final int time) throws FileNotFoundException {
-        var outputStream = openFileOutputStream();
-        var resultString = constructResultString(level, time);
-        writeData(outputStream, resultString);
+    AbstractResultWriter(final ResultWriterService writerService) {
+        this.writerService = writerService;
     }
 
     /**
-     * Opens a FileOutputStream to filePath, creates required directories if they don't exist.
+     * Writes the result and statistics of a game to the results file, as a line of the result followed by the
+     * statistics. Returns as soon as the result is handed over, the file is written by the writer thread of the
+     * service.
      *
-     * @return The FileOutputStream
-     * @throws FileNotFoundException If a file is not found.
+     * @param level The level reached during the game.
+     * @param time The time survived during the game.
+     * @param statistics The statistics of the game.
+     * @return A future completed once the result is written, or completed exceptionally if it could not be.
      */
-    @SuppressWarnings("ResultOfMethodCallIgnored")
-    FileOutputStream openFileOutputStream() throws FileNotFoundException {
-        File resultsFile = new File(filePath);
-        resultsFile.getParentFile().mkdirs();
-        return new FileOutputStream(filePath, true);
+    public final CompletableFuture<Void> write(final int level, final int time, final GameStatistics statistics) {
+        StringBuilder line = new StringBuilder(RESULT_LINE_CAPACITY);
+        appendResult(line, level, time);
+        line.append(' ');
+        statistics.appendTo(line);
+        line.append('\n');
+        return this.writerService.write(line.toString().getBytes(StandardCharsets.UTF_8));
     }
 
     /**
-     * Construct a result string from the reached level and survived time.
+     * Appends the result formatted from the reached level and survived time to a result line.
      *
+     * @param line The result line.
      * @param level The level reached during the game.
      * @param time The time survived during the game.
-     * @return The result String
      */
-    abstract String constructResultString(int level, int time);
-
-    /**
-     * Appends a result String with a newline, converts it to UTF_8 bytes, and calls write() on the outputStream
-     * using a dedicated writing Thread.
-     *
-     * @param outputStream The outputStream used for writing.
-     * @param resultString The result String.
-     */
-    void writeData(final FileOutputStream outputStream, String resultString) {
-        resultString = resultString + "\n";
-        byte[] resultBytes = resultString.getBytes(StandardCharsets.UTF_8);
-
-        Thread writerThread = new Thread(() -> {
-            try {
-                outputStream.write(resultBytes);
-                outputStream.close();
-            } catch (IOException e) {
-                e.printStackTrace();
-            }
-        });
-
-        writerThread.start();
-    }
+    abstract void appendResult(StringBuilder line, int level, int time);
 }
@@ -1,29 +1,33 @@
 package controllers.writers;
 
 import java.time.LocalDate;
-import java.util.stream.Collectors;
+import java.time.format.DateTimeFormatter;
 
 /**
- * Concrete implementation of AbstractResultWriter. Defines an implementation of constructResultString.
- * Is a part of the implementation of the template method design pattern.
+ * Concrete implementation of AbstractResultWriter. Defines an implementation of appendResult, which prefixes the
+ * result with the current day as yyyy_MM_dd. Is a part of the implementation of the template method design pattern.
  *
  * @author Samuel Thand
  */
 public class ResultAndDateWriter extends AbstractResultWriter {
 
+    private static final DateTimeFormatter DAY = DateTimeFormatter.ofPattern("yyyy_MM_dd");
+
+    /**
+     * Constructor. Initializes instance fields.
+     *
+     * @param writerService The service appending results to the results file.
+     */
+    public ResultAndDateWriter(final ResultWriterService writerService) {
+        super(writerService);
+    }
+
     /**
      * {@inheritDoc}
-     * Contains an implementation of the Streams API.
      */
     @Override
-    String constructResultString(final int level, final int time) {
-        String date = LocalDate.now().toString()
-                .chars()
-                .mapToObj(character -> (char) character)
-                .map(character -> character.equals('-') ? '_' : character)
-                .map(Object::toString)
-                .collect(Collectors.joining());
-
-        return date + " Result: Level " + level + " Time survived: " + time + " seconds";
+    void appendResult(final StringBuilder line, final int level, final int time) {
+        DAY.formatTo(LocalDate.now(), line);
+        line.append(" Result: Level ").append(level).append(" Time survived: ").append(time).append(" seconds");
     }
 }
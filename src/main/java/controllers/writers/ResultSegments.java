@@ -0,0 +1,260 @@
+package controllers.writers;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * The closed segments of a rolled results file. A segment is closed by renaming the results file to the name of the
+ * segment, PongResults-yyyy_MM_dd-NNN.txt after the day it was written and its number within that day, which takes
+ * no time. The segment is then compressed to a .gz file by a background thread, which also deletes the segments
+ * the RollingPolicy no longer retains, so the writer of the results file never waits on either.
+ *
+ * @author Samuel Thand
+ */
+final class ResultSegments {
+
+    private static final DateTimeFormatter DAY = DateTimeFormatter.ofPattern("yyyy_MM_dd");
+    private static final String COMPRESSED_SUFFIX = ".gz";
+    private static final long SHUTDOWN_TIMEOUT_SECONDS = 30;
+
+    private final Path directory;
+    private final String baseName;
+    private final String extension;
+    private final Pattern segmentName;
+    private final RollingPolicy policy;
+    private final ExecutorService compressor;
+
+    /**
+     * Constructor. Initializes instance fields and starts the background thread.
+     *
+     * @param resultsFile The results file that is rolled.
+     * @param policy The rolling policy.
+     */
+    ResultSegments(final Path resultsFile, final RollingPolicy policy) {
+        Path absoluteFile = resultsFile.toAbsolutePath();
+        String fileName = absoluteFile.getFileName().toString();
+        int dot = fileName.lastIndexOf('.');
+        this.directory = absoluteFile.getParent();
+        this.baseName = dot > 0 ? fileName.substring(0, dot) : fileName;
+        this.extension = dot > 0 ? fileName.substring(dot) : "";
+        this.segmentName = segmentNamePattern(this.baseName, this.extension);
+        this.policy = policy;
+        this.compressor = Executors.newSingleThreadExecutor(task -> {
+            Thread thread = new Thread(task, "result-segment-compressor");
+            thread.setDaemon(true);
+            thread.setPriority(Thread.MIN_PRIORITY);
+            return thread;
+        });
+    }
+
+    /**
+     * Closes the results file as the next segment of a day, and has it compressed in the background.
+     *
+     * @param resultsFile The results file, which must not be open.
+     * @param day The day the results file was written.
+     * @return The segment the results file was renamed to.
+     * @throws IOException If the results file cannot be renamed.
+     */
+    Path close(final Path resultsFile, final LocalDate day) throws IOException {
+        int number = 1;
+        for (Segment segment : listSegments()) {
+            if (segment.day.equals(day)) {
+                number = Math.max(number, segment.number + 1);
+            }
+        }
+
+        Path segment = this.directory.resolve(String.format("%s-%s-%03d%s", this.baseName, day.format(DAY), number,
+                this.extension));
+        Files.move(resultsFile, segment, StandardCopyOption.ATOMIC_MOVE);
+        this.compressor.execute(this::compressAndRetain);
+        return segment;
+    }
+
+    /**
+     * Lists the closed segments of a results file, oldest first, whether or not the results file is rolled.
+     *
+     * @param resultsFile The results file.
+     * @return The paths of the segments.
+     * @throws IOException If the directory of the results file cannot be read.
+     */
+    static List<Path> listSegmentFiles(final Path resultsFile) throws IOException {
+        Path absoluteFile = resultsFile.toAbsolutePath();
+        String fileName = absoluteFile.getFileName().toString();
+        int dot = fileName.lastIndexOf('.');
+        Pattern segmentName = segmentNamePattern(dot > 0 ? fileName.substring(0, dot) : fileName,
+                dot > 0 ? fileName.substring(dot) : "");
+        List<Path> files = new ArrayList<>();
+        if (Files.isDirectory(absoluteFile.getParent())) {
+            for (Segment segment : listSegments(absoluteFile.getParent(), segmentName)) {
+                files.add(segment.path);
+            }
+        }
+        return files;
+    }
+
+    /**
+     * Creates the pattern matching the names of the segments of a results file, compressed or not.
+     *
+     * @param baseName The name of the results file without its extension.
+     * @param extension The extension of the results file, including the dot.
+     * @return The pattern.
+     */
+    private static Pattern segmentNamePattern(final String baseName, final String extension) {
+        return Pattern.compile(Pattern.quote(baseName) + "-(\\d{4}_\\d{2}_\\d{2})-(\\d+)" + Pattern.quote(extension)
+                + "(" + Pattern.quote(COMPRESSED_SUFFIX) + ")?");
+    }
+
+    /**
+     * Has the segments left uncompressed by an earlier run compressed in the background.
+     */
+    void sweep() {
+        this.compressor.execute(this::compressAndRetain);
+    }
+
+    /**
+     * Stops the background thread, waiting a while for the compression in progress to finish.
+     */
+    void shutdown() {
+        this.compressor.shutdown();
+        try {
+            this.compressor.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Compresses every uncompressed segment, then deletes the segments no longer retained.
+     */
+    private void compressAndRetain() {
+        try {
+            for (Segment segment : listSegments()) {
+                if (!segment.compressed) {
+                    compress(segment.path);
+                }
+            }
+            deleteUnretained();
+        } catch (IOException e) {
+            System.err.println("Compressing result segments in " + this.directory + " failed: " + e);
+        }
+    }
+
+    /**
+     * Compresses a segment into a .gz file next to it, and deletes the segment. The .gz file is written under a
+     * temporary name and then renamed, so it is either complete or missing.
+     *
+     * @param segment The segment.
+     * @throws IOException If the segment cannot be compressed.
+     */
+    private void compress(final Path segment) throws IOException {
+        Path compressed = segment.resolveSibling(segment.getFileName() + COMPRESSED_SUFFIX);
+        Path temporary = segment.resolveSibling(compressed.getFileName() + ".tmp");
+        try (InputStream in = Files.newInputStream(segment);
+             OutputStream out = new GZIPOutputStream(Files.newOutputStream(temporary))) {
+            in.transferTo(out);
+        }
+        Files.move(temporary, compressed, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        Files.delete(segment);
+    }
+
+    /**
+     * Deletes the oldest segments beyond the retained amount, and the segments older than the retained days.
+     *
+     * @throws IOException If the segments cannot be listed.
+     */
+    private void deleteUnretained() throws IOException {
+        List<Segment> segments = listSegments();
+        int retainSegments = this.policy.getRetainSegments();
+        LocalDate oldestRetainedDay = LocalDate.now().minusDays(this.policy.getRetainDays());
+
+        for (int i = 0; i < segments.size(); i++) {
+            Segment segment = segments.get(i);
+            boolean tooMany = retainSegments > 0 && i < segments.size() - retainSegments;
+            boolean tooOld = this.policy.getRetainDays() > 0 && segment.day.isBefore(oldestRetainedDay);
+            if (tooMany || tooOld) {
+                Files.deleteIfExists(segment.path);
+            }
+        }
+    }
+
+    /**
+     * Lists the closed segments, oldest first.
+     *
+     * @return The segments.
+     * @throws IOException If the directory cannot be read.
+     */
+    private List<Segment> listSegments() throws IOException {
+        return listSegments(this.directory, this.segmentName);
+    }
+
+    /**
+     * Lists the segments in a directory, oldest first.
+     *
+     * @param directory The directory.
+     * @param segmentName The pattern of the names of the segments.
+     * @return The segments.
+     * @throws IOException If the directory cannot be read.
+     */
+    private static List<Segment> listSegments(final Path directory, final Pattern segmentName) throws IOException {
+        List<Segment> segments = new ArrayList<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory)) {
+            for (Path file : files) {
+                Matcher matcher = segmentName.matcher(file.getFileName().toString());
+                if (!matcher.matches()) {
+                    continue;
+                }
+                try {
+                    segments.add(new Segment(file, LocalDate.parse(matcher.group(1), DAY),
+                            Integer.parseInt(matcher.group(2)), matcher.group(3) != null));
+                } catch (DateTimeParseException | NumberFormatException e) {
+                    System.err.println("Skipping unrecognized result segment " + file);
+                }
+            }
+        }
+        segments.sort(Comparator.comparing((Segment segment) -> segment.day).thenComparingInt(segment -> segment.number));
+        return segments;
+    }
+
+    /**
+     * A closed segment found in the directory.
+     */
+    private static final class Segment {
+
+        private final Path path;
+        private final LocalDate day;
+        private final int number;
+        private final boolean compressed;
+
+        /**
+         * Constructor. Initializes instance fields.
+         *
+         * @param path The path of the segment.
+         * @param day The day the segment was written.
+         * @param number The number of the segment within its day.
+         * @param compressed If the segment is compressed.
+         */
+        Segment(final Path path, final LocalDate day, final int number, final boolean compressed) {
+            this.path = path;
+            this.day = day;
+            this.number = number;
+            this.compressed = compressed;
+        }
+    }
+}
@@ -1,18 +1,27 @@
 package controllers.writers;
 
 /**
- * Concrete implementation of AbstractResultWriter. Defines an implementation of constructResultString.
+ * Concrete implementation of AbstractResultWriter. Defines an implementation of appendResult.
  * Is a part of the implementation of the template method design pattern.
  *
  * @author Samuel Thand
  */
 public class ResultWriter extends AbstractResultWriter {
 
+    /**
+     * Constructor. Initializes instance fields.
+     *
+     * @param writerService The service appending results to the results file.
+     */
+    public ResultWriter(final ResultWriterService writerService) {
+        super(writerService);
+    }
+
     /**
      * {@inheritDoc}
      */
     @Override
-    String constructResultString(final int level, final int time) {
-        return "Result: Level " + level + " Time survived: " + time + " seconds";
+    void appendResult(final StringBuilder line, final int level, final int time) {
+        line.append("Result: Level ").append(level).append(" Time survived: ").append(time).append(" seconds");
     }
 }
@@ -0,0 +1,569 @@
+package controllers.writers;
+
+import constants.Constants;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import metrics.LatencyHistogram;
+import models.results.GameResult;
+import models.results.ResultStore;
+import models.results.ResultTextImporter;
+
+/**
+ * Appends results to the results file from a single writer thread, which opens the file on the first write and
+ * keeps it open for as long as the service runs. Results are handed over through a bounded queue, so callers never
+ * touch the file, and are written in the order they were handed over. Whatever has queued up while a write was in
+ * progress is written together with one gathering write, and forced to the disk according to the SyncPolicy.
+ * Closing the service writes everything handed over before it was closed. Handing a result over and closing
+ * exclude each other, so a result is either queued ahead of the close and written, or refused.
+ * <p>
+ * With a RollingPolicy the results file is closed as a segment before a write that would take it past the size
+ * limit, or before the first write of a new day. Closing a segment only renames the file; compressing it and
+ * deleting old segments happens on another thread, so writes never wait on either. A batch is never split between
+ * segments, so a segment may exceed the size limit by less than one batch.
+ * <p>
+ * With a result store, every written batch is also appended to the ResultStore, together with the bytes of the
+ * results file it covers. The store is opened by the writer thread, which first imports whatever the store lacks
+ * of the results file and its segments, so the store holds every result written, once, even if appending a batch
+ * failed or a run ended between writing a batch and storing it.
+ * <p>
+ * The amount of results waiting to be written, and how long each waited from being handed over until it was
+ * written, can be read from any thread without holding up the writer.
+ *
+ * @author Samuel Thand
+ */
+public class ResultWriterService implements AutoCloseable {
+
+    private static final PendingResult CLOSE = new PendingResult(null, null);
+
+    private final Path file;
+    private final SyncPolicy syncPolicy;
+    private final RollingPolicy rollingPolicy;
+    private final ResultSegments segments;
+    private final Path storeDirectory;
+    private final List<GameResult> storedBatch;
+    private ResultStore store;
+    private ResultTextImporter importer;
+    private FileChannel channel;
+    private final BlockingQueue<PendingResult> queue;
+    private final int batchSize;
+    private final List<PendingResult> batch;
+    private final ByteBuffer[] batchBuffers;
+    private final long syncIntervalNanos;
+    private final Thread writerThread;
+    private final AtomicLong handedOver;
+    private final ReadWriteLock handOverLock;
+    private volatile long completed;
+    private final LatencyHistogram writeLagNanos;
+    private volatile boolean closed;
+    private boolean unsynced;
+    private long lastSyncNanos;
+    private long segmentBytes;
+    private LocalDate segmentDay;
+
+    /**
+     * Constructor. Creates a service that never rolls the results file.
+     *
+     * @param file The results file.
+     * @param syncPolicy When written results are forced to the disk.
+     * @param queueCapacity The amount of results that may wait to be written before callers are held up.
+     * @param batchSize The most results written together.
+     */
+    public ResultWriterService(final Path file, final SyncPolicy syncPolicy, final int queueCapacity,
+                               final int batchSize) {
+        this(file, syncPolicy, queueCapacity, batchSize, RollingPolicy.NONE);
+    }
+
+    /**
+     * Constructor. Initializes instance fields and starts the writer thread, and if the results file is rolled,
+     * has the segments left uncompressed by an earlier run compressed.
+     *
+     * @param file The results file.
+     * @param syncPolicy When written results are forced to the disk.
+     * @param queueCapacity The amount of results that may wait to be written before callers are held up.
+     * @param batchSize The most results written together.
+     * @param rollingPolicy When the results file is closed as a segment, and how many segments are kept.
+     */
+    public ResultWriterService(final Path file, final SyncPolicy syncPolicy, final int queueCapacity,
+                               final int batchSize, final RollingPolicy rollingPolicy) {
+        this(file, syncPolicy, queueCapacity, batchSize, rollingPolicy, null);
+    }
+
+    /**
+     * Constructor. Initializes instance fields and starts the writer thread, and if the results file is rolled,
+     * has the segments left uncompressed by an earlier run compressed.
+     *
+     * @param file The results file.
+     * @param syncPolicy When written results are forced to the disk.
+     * @param queueCapacity The amount of results that may wait to be written before callers are held up.
+     * @param batchSize The most results written together.
+     * @param rollingPolicy When the results file is closed as a segment, and how many segments are kept.
+     * @param storeDirectory The directory of the result store the written results are appended to, or null for
+     *                       none.
+     */
+    public ResultWriterService(final Path file, final SyncPolicy syncPolicy, final int queueCapacity,
+                               final int batchSize, final RollingPolicy rollingPolicy, final Path storeDirectory) {
+        this.file = file;
+        this.storeDirectory = storeDirectory;
+        this.storedBatch = new ArrayList<>(batchSize);
+        this.syncPolicy = syncPolicy;
+        this.rollingPolicy = rollingPolicy;
+        this.segments = rollingPolicy.isRolling() ? new ResultSegments(file, rollingPolicy) : null;
+        this.batchSize = batchSize;
+        this.batch = new ArrayList<>(batchSize);
+        this.batchBuffers = new ByteBuffer[batchSize];
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.syncIntervalNanos = TimeUnit.MILLISECONDS.toNanos(Constants.RESULTS_SYNC_INTERVAL_MS);
+        this.lastSyncNanos = System.nanoTime();
+        this.handedOver = new AtomicLong();
+        this.handOverLock = new ReentrantReadWriteLock();
+        this.writeLagNanos = new LatencyHistogram();
+
+        this.writerThread = new Thread(this::writeResults, "result-writer");
+        this.writerThread.setDaemon(true);
+        this.writerThread.start();
+        if (this.segments != null) {
+            this.segments.sweep();
+        }
+    }
+
+    /**
+     * Creates a service appending to the results file and the result store in the _Resources directory of the
+     * working directory, with the sync and rolling policies read from the system properties.
+     *
+     * @return The result writer service.
+     */
+    public static ResultWriterService fromSystemProperties() {
+        return new ResultWriterService(defaultResultsFile(), SyncPolicy.fromSystemProperties(),
+                Constants.RESULTS_QUEUE_CAPACITY, Constants.RESULTS_BATCH_SIZE, RollingPolicy.fromSystemProperties(),
+                defaultStoreDirectory());
+    }
+
+    /**
+     * Get the path of the result store in the _Resources directory of the working directory.
+     *
+     * @return The path of the directory of the result store.
+     */
+    public static Path defaultStoreDirectory() {
+        return Paths.get(System.getProperty("user.dir"), "_Resources", "results");
+    }
+
+    /**
+     * Lists the closed segments of a results file, oldest first, followed by the results file if it exists.
+     *
+     * @param file The results file.
+     * @return The paths of the files holding results.
+     * @throws IOException If the directory of the results file cannot be read.
+     */
+    public static List<Path> listResultFiles(final Path file) throws IOException {
+        List<Path> files = ResultSegments.listSegmentFiles(file);
+        if (Files.exists(file)) {
+            files.add(file);
+        }
+        return files;
+    }
+
+    /**
+     * Get the path of the results file in the _Resources directory of the working directory.
+     *
+     * @return The path of the results file.
+     */
+    public static Path defaultResultsFile() {
+        return Paths.get(System.getProperty("user.dir"), "_Resources", "PongResults.txt");
+    }
+
+    /**
+     * Hands a result over to be written. Only waits if the queue of results is full, or while the service is being
+     * closed. Results are handed over concurrently, holding the shared side of the hand-over lock.
+     *
+     * @param record The bytes of the result, which must not be changed afterwards.
+     * @return A future completed once the result is written, and forced to the disk if the sync policy is batch,
+     *         or completed exceptionally if it could not be written or the service is closed.
+     */
+    public CompletableFuture<Void> write(final byte[] record) {
+        CompletableFuture<Void> written = new CompletableFuture<>();
+        this.handOverLock.readLock().lock();
+        try {
+            if (this.closed) {
+                written.completeExceptionally(new IllegalStateException("The result writer service is closed"));
+                return written;
+            }
+            this.queue.put(new PendingResult(ByteBuffer.wrap(record), written));
+            this.handedOver.incrementAndGet();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            written.completeExceptionally(e);
+        } finally {
+            this.handOverLock.readLock().unlock();
+        }
+        return written;
+    }
+
+    /**
+     * Stops taking results, waits for the results handed over so far to be written and forced to the disk, and
+     * closes the results file. Then waits a while for a segment being compressed. Results being handed over are
+     * queued before the close, as it holds the exclusive side of the hand-over lock while queueing it.
+     */
+    @Override
+    public synchronized void close() {
+        if (this.closed) {
+            return;
+        }
+
+        this.handOverLock.writeLock().lock();
+        try {
+            this.closed = true;
+            this.queue.put(CLOSE);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            this.handOverLock.writeLock().unlock();
+        }
+        try {
+            this.writerThread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (this.segments != null) {
+            this.segments.shutdown();
+        }
+    }
+
+    /**
+     * Get the path of the results file.
+     *
+     * @return The path of the results file.
+     */
+    public Path getFile() {
+        return this.file;
+    }
+
+    /**
+     * Get the amount of results handed over that are not written yet.
+     *
+     * @return The amount of pending results.
+     */
+    public long getPendingResults() {
+        return Math.max(this.handedOver.get() - this.completed, 0);
+    }
+
+    /**
+     * Get the histogram of the time from handing a result over until it was written, or failed to be.
+     *
+     * @return The write lag histogram.
+     */
+    public LatencyHistogram getWriteLagNanos() {
+        return this.writeLagNanos;
+    }
+
+    /**
+     * The writer thread. Opens the result store, then takes batches of results from the queue and writes them,
+     * until the service is closed. While results are waiting for a periodic sync, the queue is only waited on until
+     * the sync is due.
+     */
+    private void writeResults() {
+        openResultStore();
+        boolean closing = false;
+        while (!closing) {
+            PendingResult next;
+            try {
+                if (this.syncPolicy == SyncPolicy.PERIODIC && this.unsynced) {
+                    long untilSync = this.lastSyncNanos + this.syncIntervalNanos - System.nanoTime();
+                    next = this.queue.poll(untilSync, TimeUnit.NANOSECONDS);
+                } else {
+                    next = this.queue.take();
+                }
+            } catch (InterruptedException e) {
+                break;
+            }
+
+            if (next == null) {
+                sync();
+                continue;
+            }
+
+            this.batch.add(next);
+            this.queue.drainTo(this.batch, this.batchSize - 1);
+            int end = this.batch.indexOf(CLOSE);
+            closing = end >= 0;
+            writeBatch(closing ? end : this.batch.size());
+            if (closing) {
+                failPending(end + 1);
+            }
+            this.batch.clear();
+        }
+
+        if (this.syncPolicy != SyncPolicy.NEVER && this.unsynced) {
+            sync();
+        }
+        if (this.channel != null) {
+            try {
+                this.channel.close();
+            } catch (IOException e) {
+                System.err.println("Closing " + this.file + " failed: " + e);
+            }
+        }
+        this.queue.drainTo(this.batch);
+        failPending(0);
+        this.batch.clear();
+        closeResultStore();
+    }
+
+    /**
+     * Opens the result store, and imports the results it lacks from the results file and its segments. Without a
+     * result store, or if it cannot be opened, results are only written to the results file.
+     */
+    private void openResultStore() {
+        if (this.storeDirectory == null) {
+            return;
+        }
+        try {
+            this.store = ResultStore.open(this.storeDirectory);
+            this.importer = new ResultTextImporter(System.getProperty("user.name"), ZoneId.systemDefault());
+            for (Path resultFile : listResultFiles(this.file)) {
+                this.importer.importFile(resultFile, this.store);
+            }
+        } catch (IOException | RuntimeException e) {
+            System.err.println("The result store in " + this.storeDirectory + " is not updated: " + e);
+            closeResultStore();
+        }
+    }
+
+    /**
+     * Appends the first results of the batch, just written to the end of the results file, to the result store,
+     * parsed from their lines as an import would. If the store lacks earlier results of the file, because appending
+     * them failed, the file is imported from where the store left off instead. A failure is reported, and made up
+     * for by the next import.
+     *
+     * @param count The amount of written results.
+     * @param batchBytes The size of the written results.
+     */
+    private void storeBatch(final int count, final long batchBytes) {
+        if (this.store == null) {
+            return;
+        }
+        String source = ResultTextImporter.sourceName(this.file);
+        try {
+            if (this.store.getImportedBytes(source) != this.segmentBytes - batchBytes) {
+                this.importer.importFile(this.file, this.store);
+                return;
+            }
+            for (int i = 0; i < count; i++) {
+                ByteBuffer record = this.batch.get(i).record.duplicate().rewind();
+                GameResult result = this.importer.parse(StandardCharsets.UTF_8.decode(record).toString());
+                if (result != null) {
+                    this.storedBatch.add(result);
+                }
+            }
+            this.store.appendAll(this.storedBatch, source, this.segmentBytes);
+        } catch (IOException e) {
+            System.err.println("Storing results in " + this.storeDirectory + " failed: " + e);
+        } finally {
+            this.storedBatch.clear();
+        }
+    }
+
+    /**
+     * Closes the result store, if open.
+     */
+    private void closeResultStore() {
+        if (this.store == null) {
+            return;
+        }
+        try {
+            this.store.close();
+        } catch (IOException e) {
+            System.err.println("Closing the result store in " + this.storeDirectory + " failed: " + e);
+        }
+        this.store = null;
+    }
+
+    /**
+     * Writes the first results of the batch with one gathering write, forces them to the disk if the sync policy
+     * says so, and completes their futures. A periodic sync that is due is done here, so it also happens while
+     * results keep coming. The results file is opened first if it is not open yet, and rolled if the batch belongs
+     * in a new segment. If either fails the writes of the batch fail, to be tried again for the next batch.
+     *
+     * @param count The amount of results to write.
+     */
+    private void writeBatch(final int count) {
+        long remaining = 0;
+        for (int i = 0; i < count; i++) {
+            this.batchBuffers[i] = this.batch.get(i).record;
+            remaining += this.batchBuffers[i].remaining();
+        }
+
+        try {
+            if (this.channel == null) {
+                this.channel = openResultsFile();
+            }
+            if (this.segments != null && isSegmentFull(remaining)) {
+                rollResultsFile();
+                this.channel = openResultsFile();
+            }
+            long batchBytes = remaining;
+            while (remaining > 0) {
+                remaining -= this.channel.write(this.batchBuffers, 0, count);
+            }
+            this.segmentBytes += batchBytes;
+            this.unsynced = true;
+            boolean periodicSyncIsDue = this.syncPolicy == SyncPolicy.PERIODIC
+                    && System.nanoTime() - this.lastSyncNanos >= this.syncIntervalNanos;
+            if (this.syncPolicy == SyncPolicy.BATCH || periodicSyncIsDue) {
+                this.channel.force(false);
+                this.unsynced = false;
+                this.lastSyncNanos = System.nanoTime();
+            }
+            storeBatch(count, batchBytes);
+            for (int i = 0; i < count; i++) {
+                this.batch.get(i).written.complete(null);
+            }
+        } catch (IOException e) {
+            for (int i = 0; i < count; i++) {
+                this.batch.get(i).written.completeExceptionally(e);
+            }
+        } finally {
+            Arrays.fill(this.batchBuffers, 0, count, null);
+            long now = System.nanoTime();
+            for (int i = 0; i < count; i++) {
+                this.writeLagNanos.record(now - this.batch.get(i).handedOverNanos);
+            }
+            this.completed += count;
+        }
+    }
+
+    /**
+     * Opens the results file for appending, creating it and its directories if they don't exist.
+     *
+     * @return The channel of the results file.
+     * @throws IOException If the results file cannot be opened.
+     */
+    private FileChannel openResultsFile() throws IOException {
+        Path directory = this.file.toAbsolutePath().getParent();
+        if (directory != null) {
+            Files.createDirectories(directory);
+        }
+        FileChannel opened = FileChannel.open(this.file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.APPEND);
+        this.segmentBytes = opened.size();
+        this.segmentDay = this.segmentBytes > 0
+                ? LocalDate.ofInstant(Instant.ofEpochMilli(Files.getLastModifiedTime(this.file).toMillis()),
+                        ZoneId.systemDefault())
+                : LocalDate.now();
+        return opened;
+    }
+
+    /**
+     * Check if a batch belongs in a new segment, because it would take the results file past the size limit or
+     * because the day has changed since the results file was started. An empty results file is never full.
+     *
+     * @param batchBytes The size of the batch.
+     * @return The results file should be rolled.
+     */
+    private boolean isSegmentFull(final long batchBytes) {
+        if (this.segmentBytes == 0) {
+            return false;
+        }
+        long maxSegmentBytes = this.rollingPolicy.getMaxSegmentBytes();
+        return maxSegmentBytes > 0 && this.segmentBytes + batchBytes > maxSegmentBytes
+                || this.rollingPolicy.isRollDaily() && !LocalDate.now().equals(this.segmentDay);
+    }
+
+    /**
+     * Forces and closes the results file, and closes it as a segment. The next write opens a new results file. The
+     * results file is let go of even if forcing or closing it fails, so the next write reopens it rather than
+     * writing to a closed channel.
+     *
+     * @throws IOException If the results file cannot be closed or renamed.
+     */
+    private void rollResultsFile() throws IOException {
+        FileChannel rolled = this.channel;
+        this.channel = null;
+        try {
+            if (this.syncPolicy != SyncPolicy.NEVER) {
+                rolled.force(false);
+                this.unsynced = false;
+                this.lastSyncNanos = System.nanoTime();
+            }
+        } finally {
+            rolled.close();
+        }
+        Path segment = this.segments.close(this.file, this.segmentDay);
+        if (this.store != null) {
+            try {
+                this.store.renameSource(ResultTextImporter.sourceName(this.file),
+                        ResultTextImporter.sourceName(segment));
+            } catch (IOException e) {
+                System.err.println("Renaming " + this.file + " in the result store failed: " + e);
+            }
+        }
+    }
+
+    /**
+     * Forces the written results to the disk.
+     */
+    private void sync() {
+        try {
+            this.channel.force(false);
+        } catch (IOException e) {
+            System.err.println("Forcing " + this.file + " to the disk failed: " + e);
+        }
+        this.unsynced = false;
+        this.lastSyncNanos = System.nanoTime();
+    }
+
+    /**
+     * Completes the futures of results handed over after the service was closed exceptionally.
+     *
+     * @param from The index in the batch of the first such result.
+     */
+    private void failPending(final int from) {
+        for (int i = from; i < this.batch.size(); i++) {
+            PendingResult pending = this.batch.get(i);
+            if (pending != CLOSE) {
+                pending.written.completeExceptionally(
+                        new IllegalStateException("The result writer service is closed"));
+            }
+        }
+    }
+
+    /**
+     * A result waiting to be written, and the future completed once it is.
+     */
+    private static final class PendingResult {
+
+        private final ByteBuffer record;
+        private final CompletableFuture<Void> written;
+        private final long handedOverNanos;
+
+        /**
+         * Constructor. Initializes instance fields, and notes the time the result is handed over.
+         *
+         * @param record The bytes of the result.
+         * @param written The future to complete once the result is written.
+         */
+        PendingResult(final ByteBuffer record, final CompletableFuture<Void> written) {
+            this.record = record;
+            this.written = written;
+            this.handedOverNanos = System.nanoTime();
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package controllers.writers;
+
+import constants.Constants;
+
+/**
+ * When the ResultWriterService closes the results file as a segment and starts a new one, and how many closed
+ * segments are kept. A segment is closed once the next write would take it past a size, or when the first write
+ * of a new day arrives. Closed segments are compressed, and deleted once there are too many or they are too old.
+ *
+ * @author Samuel Thand
+ */
+public final class RollingPolicy {
+
+    /**
+     * Never closes the results file, which grows without bound.
+     */
+    public static final RollingPolicy NONE = new RollingPolicy(0, false, 0, 0);
+
+    private final long maxSegmentBytes;
+    private final boolean rollDaily;
+    private final int retainSegments;
+    private final int retainDays;
+
+    /**
+     * Constructor. Initializes instance fields.
+     *
+     * @param maxSegmentBytes The most bytes in a segment, or 0 for no limit.
+     * @param rollDaily If a new segment is started every day.
+     * @param retainSegments The most closed segments kept, or 0 for no limit.
+     * @param retainDays The most days a closed segment is kept, or 0 for no limit.
+     */
+    public RollingPolicy(final long maxSegmentBytes, final boolean rollDaily, final int retainSegments,
+                         final int retainDays) {
+        this.maxSegmentBytes = maxSegmentBytes;
+        this.rollDaily = rollDaily;
+        this.retainSegments = retainSegments;
+        this.retainDays = retainDays;
+    }
+
+    /**
+     * Reads the rolling policy from the system properties named by
+     * {@link Constants#RESULTS_MAX_SEGMENT_BYTES_PROPERTY}, {@link Constants#RESULTS_ROLL_DAILY_PROPERTY},
+     * {@link Constants#RESULTS_RETAIN_SEGMENTS_PROPERTY} and {@link Constants#RESULTS_RETAIN_DAYS_PROPERTY}.
+     * Without them the results file is never rolled.
+     *
+     * @return The rolling policy.
+     */
+    public static RollingPolicy fromSystemProperties() {
+        return new RollingPolicy(Long.getLong(Constants.RESULTS_MAX_SEGMENT_BYTES_PROPERTY, 0),
+                Boolean.getBoolean(Constants.RESULTS_ROLL_DAILY_PROPERTY),
+                Integer.getInteger(Constants.RESULTS_RETAIN_SEGMENTS_PROPERTY, 0),
+                Integer.getInteger(Constants.RESULTS_RETAIN_DAYS_PROPERTY, 0));
+    }
+
+    /**
+     * Check if the results file is ever closed as a segment.
+     *
+     * @return The results file is rolled.
+     */
+    public boolean isRolling() {
+        return this.maxSegmentBytes > 0 || this.rollDaily;
+    }
+
+    /**
+     * Get the most bytes in a segment.
+     *
+     * @return The size limit, or 0 for no limit.
+     */
+    public long getMaxSegmentBytes() {
+        return this.maxSegmentBytes;
+    }
+
+    /**
+     * Check if a new segment is started every day.
+     *
+     * @return Segments are rolled daily.
+     */
+    public boolean isRollDaily() {
+        return this.rollDaily;
+    }
+
+    /**
+     * Get the most closed segments kept.
+     *
+     * @return The segment limit, or 0 for no limit.
+     */
+    public int getRetainSegments() {
+        return this.retainSegments;
+    }
+
+    /**
+     * Get the most days a closed segment is kept.
+     *
+     * @return The age limit in days, or 0 for no limit.
+     */
+    public int getRetainDays() {
+        return this.retainDays;
+    }
+}
@@ -0,0 +1,43 @@
+package controllers.writers;
+
+import constants.Constants;
+
+/**
+ * When the ResultWriterService forces written results from the operating system to the disk.
+ *
+ * @author Samuel Thand
+ */
+public enum SyncPolicy {
+
+    /**
+     * Never forced, the operating system writes the results to the disk when it sees fit.
+     */
+    NEVER,
+
+    /**
+     * Forced after every batch of results, before the writes of the batch are completed.
+     */
+    BATCH,
+
+    /**
+     * Forced at most once every {@link Constants#RESULTS_SYNC_INTERVAL_MS} milliseconds, and when the service
+     * is closed.
+     */
+    PERIODIC;
+
+    /**
+     * Reads the sync policy from the system property named by {@link Constants#RESULTS_SYNC_PROPERTY}, either
+     * "never", "batch" or "periodic". Defaults to batch.
+     *
+     * @return The sync policy.
+     */
+    public static SyncPolicy fromSystemProperties() {
+        String policy = System.getProperty(Constants.RESULTS_SYNC_PROPERTY, BATCH.name());
+        try {
+            return valueOf(policy.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            System.err.println("Unknown results sync policy " + policy + ", using " + BATCH);
+            return BATCH;
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package metrics;
+
+/**
+ * The values recorded in a LatencyHistogram between two points in time. Each call to {@link #advance()} copies the
+ * counts of the histogram and keeps the difference from the previous copy, which percentiles and the maximum are then
+ * read from. Only the reading side copies, so the recording side pays nothing for it. A window is not thread safe,
+ * it belongs to the single reader advancing it.
+ *
+ * @author Samuel Thand
+ */
+public final class HistogramWindow {
+
+    private final LatencyHistogram histogram;
+    private long[] previous;
+    private long[] current;
+    private final long[] window;
+    private long count;
+
+    /**
+     * Constructor. The first window starts now.
+     *
+     * @param histogram The histogram to read.
+     */
+    public HistogramWindow(final LatencyHistogram histogram) {
+        this.histogram = histogram;
+        this.previous = new long[LatencyHistogram.BUCKET_COUNT];
+        this.current = new long[LatencyHistogram.BUCKET_COUNT];
+        this.window = new long[LatencyHistogram.BUCKET_COUNT];
+        histogram.copyCounts(this.previous);
+    }
+
+    /**
+     * Ends the current window and starts the next one.
+     */
+    public void advance() {
+        this.histogram.copyCounts(this.current);
+        long total = 0;
+        for (int i = 0; i < LatencyHistogram.BUCKET_COUNT; i++) {
+            long difference = this.current[i] - this.previous[i];
+            this.window[i] = difference;
+            total += difference;
+        }
+        this.count = total;
+
+        long[] swap = this.previous;
+        this.previous = this.current;
+        this.current = swap;
+    }
+
+    /**
+     * Get the amount of values recorded in the last window.
+     *
+     * @return The amount of values.
+     */
+    public long getCount() {
+        return this.count;
+    }
+
+    /**
+     * Get a percentile of the values recorded in the last window.
+     *
+     * @param percentile The percentile, from 0 to 100.
+     * @return The highest value of the bucket holding the percentile, or 0 if nothing was recorded.
+     */
+    public long getPercentile(final double percentile) {
+        if (this.count == 0) {
+            return 0;
+        }
+
+        long rank = Math.max(1, (long) Math.ceil(this.count * percentile / 100));
+        long seen = 0;
+        for (int i = 0; i < LatencyHistogram.BUCKET_COUNT; i++) {
+            seen += this.window[i];
+            if (seen >= rank) {
+                return LatencyHistogram.highestValueOf(i);
+            }
+        }
+        return getMax();
+    }
+
+    /**
+     * Get the maximum of the values recorded in the last window.
+     *
+     * @return The highest value of the highest bucket used, or 0 if nothing was recorded.
+     */
+    public long getMax() {
+        for (int i = LatencyHistogram.BUCKET_COUNT - 1; i >= 0; i--) {
+            if (this.window[i] > 0) {
+                return LatencyHistogram.highestValueOf(i);
+            }
+        }
+        return 0;
+    }
+}
@@ -0,0 +1,82 @@
+package metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A lock-free histogram of durations in nanoseconds. Values are counted in log-linear buckets, eight per power of
+ * two, so any recorded value is known to within 12.5 percent while the whole range of a long fits in a few hundred
+ * buckets. Recording is a single atomic increment and never allocates, so any thread may record at any rate.
+ * Readers copy the counts and compare them with an earlier copy to get the distribution over a window of time.
+ *
+ * @author Samuel Thand
+ */
+public final class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 3;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+    /**
+     * The amount of buckets of every histogram.
+     */
+    public static final int BUCKET_COUNT = (Long.SIZE - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+    private final AtomicLongArray counts;
+
+    /**
+     * Constructor. Creates an empty histogram.
+     */
+    public LatencyHistogram() {
+        this.counts = new AtomicLongArray(BUCKET_COUNT);
+    }
+
+    /**
+     * Records a duration. Negative durations are recorded as 0.
+     *
+     * @param nanos The duration in nanoseconds.
+     */
+    public void record(final long nanos) {
+        this.counts.incrementAndGet(bucketOf(Math.max(nanos, 0)));
+    }
+
+    /**
+     * Copies the counts of all buckets. The copy is not atomic over all buckets, values recorded while copying may or
+     * may not be included.
+     *
+     * @param into The array to copy into, of length {@link #BUCKET_COUNT}.
+     */
+    public void copyCounts(final long[] into) {
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            into[i] = this.counts.get(i);
+        }
+    }
+
+    /**
+     * Get the bucket a value is counted in.
+     *
+     * @param value The value, not negative.
+     * @return The index of the bucket.
+     */
+    static int bucketOf(final long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int exponent = Long.SIZE - 1 - Long.numberOfLeadingZeros(value);
+        int subBucket = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + subBucket;
+    }
+
+    /**
+     * Get the highest value counted in a bucket.
+     *
+     * @param bucket The index of the bucket.
+     * @return The highest value of the bucket.
+     */
+    public static long highestValueOf(final int bucket) {
+        if (bucket < SUB_BUCKETS) {
+            return bucket;
+        }
+        int exponent = bucket / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+        int subBucket = bucket % SUB_BUCKETS;
+        return ((long) (SUB_BUCKETS + subBucket + 1) << (exponent - SUB_BUCKET_BITS)) - 1;
+    }
+}
@@ -0,0 +1,267 @@
+package metrics;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import constants.Constants;
+import controllers.writers.ResultWriterService;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import models.BallPoolService;
+import models.PongModel;
+import models.ThreadPoolManager;
+import models.balls.BallType;
+
+/**
+ * Serves the metrics of the running game in the Prometheus text format at /metrics, from an HTTP server bound to
+ * the loopback address. Only started when the metrics port system property is set, for machines running the game
+ * unattended. The metrics are read when scraped, on the thread of the server: histograms and counters are read
+ * without locks, so the game tick thread is never held up by a scrape. The ball pool levels are read from the
+ * pools themselves, which briefly locks each pool on the thread of the server.
+ *
+ * @author Samuel Thand
+ */
+public final class MetricsEndpoint implements AutoCloseable {
+
+    private static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+    private static final int FIRST_BOUNDARY_EXPONENT = 10;
+    private static final int LAST_BOUNDARY_EXPONENT = 30;
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final PerformanceMetrics metrics;
+    private final BallPoolService ballPoolService;
+    private final ThreadPoolManager threadPoolManager;
+    private final ResultWriterService results;
+    private final long[] counts;
+
+    /**
+     * Constructor. Initializes instance fields and starts the server.
+     *
+     * @param port The port to listen on, or 0 for any free port.
+     * @param metrics The performance metrics of the game.
+     * @param model The model of the game.
+     * @param results The result writer service.
+     * @throws IOException If the server cannot listen on the port.
+     */
+    public MetricsEndpoint(final int port, final PerformanceMetrics metrics, final PongModel model,
+                           final ResultWriterService results) throws IOException {
+        this.metrics = metrics;
+        this.ballPoolService = model.getBallPoolService();
+        this.threadPoolManager = model.getThreadPoolManager();
+        this.results = results;
+        this.counts = new long[LatencyHistogram.BUCKET_COUNT];
+        this.executor = Executors.newSingleThreadExecutor(task -> {
+            Thread thread = new Thread(task, "metrics-endpoint");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        this.server.createContext("/metrics", this::handle);
+        this.server.setExecutor(this.executor);
+        this.server.start();
+    }
+
+    /**
+     * Starts an endpoint on the port given by the metrics port system property, if it is set.
+     *
+     * @param metrics The performance metrics of the game.
+     * @param model The model of the game.
+     * @param results The result writer service.
+     * @return The endpoint, or null if the property is not set or the server cannot be started.
+     */
+    public static MetricsEndpoint fromSystemProperties(final PerformanceMetrics metrics, final PongModel model,
+                                                       final ResultWriterService results) {
+        Integer port = Integer.getInteger(Constants.METRICS_PORT_PROPERTY);
+        if (port == null) {
+            return null;
+        }
+        try {
+            return new MetricsEndpoint(port, metrics, model, results);
+        } catch (IOException e) {
+            System.err.println("Starting the metrics endpoint on port " + port + " failed: " + e);
+            return null;
+        }
+    }
+
+    /**
+     * Stops the server.
+     */
+    @Override
+    public void close() {
+        this.server.stop(0);
+        this.executor.shutdown();
+    }
+
+    /**
+     * Get the port the server listens on.
+     *
+     * @return The port.
+     */
+    public int getPort() {
+        return this.server.getAddress().getPort();
+    }
+
+    /**
+     * Answers a request for the metrics. Only GET and HEAD are allowed.
+     *
+     * @param exchange The request and its response.
+     * @throws IOException If the response cannot be sent.
+     */
+    private void handle(final HttpExchange exchange) throws IOException {
+        try (exchange) {
+            String method = exchange.getRequestMethod();
+            if (!"GET".equals(method) && !"HEAD".equals(method)) {
+                exchange.getResponseHeaders().set("Allow", "GET, HEAD");
+                exchange.sendResponseHeaders(405, -1);
+                return;
+            }
+
+            byte[] body = scrape().getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", CONTENT_TYPE);
+            if ("HEAD".equals(method)) {
+                exchange.sendResponseHeaders(200, -1);
+                return;
+            }
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        }
+    }
+
+    /**
+     * Reads every metric and formats them in the Prometheus text format. Called from the thread of the server only,
+     * which is the only user of the counts array.
+     *
+     * @return The metrics.
+     */
+    private String scrape() {
+        StringBuilder text = new StringBuilder(4096);
+
+        appendHistogram(text, "pong_tick_duration_seconds", "Time spent simulating a game tick.",
+                this.metrics.getTickNanos());
+        appendHistogram(text, "pong_frame_duration_seconds", "Time spent drawing a frame.",
+                this.metrics.getFrameNanos());
+
+        long firstFrameAfterLaunchMillis = this.metrics.getFirstFrameAfterLaunchMillis();
+        if (firstFrameAfterLaunchMillis >= 0) {
+            appendHeader(text, "pong_first_frame_after_launch_seconds", "gauge",
+                    "Time from launching the application until the first frame of its first game.");
+            text.append("pong_first_frame_after_launch_seconds ").append(firstFrameAfterLaunchMillis / 1e3)
+                    .append('\n');
+            appendHeader(text, "pong_first_frame_after_start_seconds", "gauge",
+                    "Time from starting the first game of the application until its first frame.");
+            text.append("pong_first_frame_after_start_seconds ")
+                    .append(this.metrics.getFirstFrameAfterStartMillis() / 1e3).append('\n');
+        }
+
+        appendHeader(text, "pong_balls_in_play", "gauge", "Balls in play at the end of the last tick.");
+        text.append("pong_balls_in_play ").append(this.metrics.getBallsInPlay()).append('\n');
+
+        appendHeader(text, "pong_ball_pool_available", "gauge", "Balls available in the pool of each ball type.");
+        for (Map.Entry<BallType, Integer> pool : this.ballPoolService.getAmountOfAvailableBalls().entrySet()) {
+            text.append("pong_ball_pool_available{type=\"");
+            appendLabelValue(text, pool.getKey().getName());
+            text.append("\"} ").append(pool.getValue()).append('\n');
+        }
+
+        appendHeader(text, "pong_executor_queue_depth", "gauge", "Tasks waiting for a thread in each thread pool.");
+        text.append("pong_executor_queue_depth{pool=\"producer\"} ")
+                .append(this.threadPoolManager.getProducerQueueDepth()).append('\n');
+        text.append("pong_executor_queue_depth{pool=\"consumer\"} ")
+                .append(this.threadPoolManager.getConsumerQueueDepth()).append('\n');
+
+        appendHeader(text, "pong_results_pending", "gauge", "Results handed over that are not written yet.");
+        text.append("pong_results_pending ").append(this.results.getPendingResults()).append('\n');
+        appendHistogram(text, "pong_results_write_lag_seconds",
+                "Time from handing a result over until it was written.", this.results.getWriteLagNanos());
+
+        appendHeader(text, "pong_gc_collections_total", "counter", "Collections of each garbage collector.");
+        for (GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+            text.append("pong_gc_collections_total{gc=\"");
+            appendLabelValue(text, collector.getName());
+            text.append("\"} ").append(Math.max(collector.getCollectionCount(), 0)).append('\n');
+        }
+        appendHeader(text, "pong_gc_collection_seconds_total", "counter",
+                "Time spent collecting by each garbage collector.");
+        for (GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+            text.append("pong_gc_collection_seconds_total{gc=\"");
+            appendLabelValue(text, collector.getName());
+            text.append("\"} ").append(Math.max(collector.getCollectionTime(), 0) / 1e3).append('\n');
+        }
+        return text.toString();
+    }
+
+    /**
+     * Appends a histogram of durations. The buckets of the LatencyHistogram are summed into buckets ending at each
+     * power of two nanoseconds from about a microsecond to about a second, which are exact boundaries of its
+     * buckets. The sum of the durations is not kept by a LatencyHistogram, so it is left out.
+     *
+     * @param text The text to append to.
+     * @param name The name of the metric.
+     * @param help The description of the metric.
+     * @param histogram The histogram.
+     */
+    private void appendHistogram(final StringBuilder text, final String name, final String help,
+                                 final LatencyHistogram histogram) {
+        histogram.copyCounts(this.counts);
+        appendHeader(text, name, "histogram", help);
+
+        long cumulative = 0;
+        int bucket = 0;
+        for (int exponent = FIRST_BOUNDARY_EXPONENT; exponent <= LAST_BOUNDARY_EXPONENT; exponent++) {
+            long boundary = (1L << exponent) - 1;
+            while (bucket < LatencyHistogram.BUCKET_COUNT && LatencyHistogram.highestValueOf(bucket) <= boundary) {
+                cumulative += this.counts[bucket++];
+            }
+            text.append(name).append("_bucket{le=\"").append((boundary + 1) / 1e9).append("\"} ")
+                    .append(cumulative).append('\n');
+        }
+        while (bucket < LatencyHistogram.BUCKET_COUNT) {
+            cumulative += this.counts[bucket++];
+        }
+        text.append(name).append("_bucket{le=\"+Inf\"} ").append(cumulative).append('\n');
+        text.append(name).append("_count ").append(cumulative).append('\n');
+    }
+
+    /**
+     * Appends the HELP and TYPE lines of a metric.
+     *
+     * @param text The text to append to.
+     * @param name The name of the metric.
+     * @param type The Prometheus type of the metric.
+     * @param help The description of the metric.
+     */
+    private static void appendHeader(final StringBuilder text, final String name, final String type,
+                                     final String help) {
+        text.append("# HELP ").append(name).append(' ').append(help).append('\n');
+        text.append("# TYPE ").append(name).append(' ').append(type).append('\n');
+    }
+
+    /**
+     * Appends a label value, escaping backslashes, double quotes and line feeds.
+     *
+     * @param text The text to append to.
+     * @param value The label value.
+     */
+    private static void appendLabelValue(final StringBuilder text, final String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '\\' || c == '"') {
+                text.append('\\').append(c);
+            } else if (c == '\n') {
+                text.append("\\n");
+            } else {
+                text.append(c);
+            }
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package metrics;
+
+import constants.Constants;
+
+/**
+ * The performance measurements of the running game, shared by the controller recording ticks and the view
+ * recording frames. Every measurement may be read from any thread without holding up the threads recording it.
+ *
+ * @author Samuel Thand
+ */
+public final class PerformanceMetrics {
+
+    private final LatencyHistogram tickNanos;
+    private final LatencyHistogram frameNanos;
+    private final TickProfiler tickProfiler;
+    private volatile int ballsInPlay;
+    private volatile long firstFrameAfterStartMillis;
+    private volatile long firstFrameAfterLaunchMillis;
+
+    /**
+     * Constructor. Creates empty histograms and an empty tick profiler.
+     */
+    public PerformanceMetrics() {
+        this.tickNanos = new LatencyHistogram();
+        this.frameNanos = new LatencyHistogram();
+        this.tickProfiler = new TickProfiler(Constants.TICK_PROFILER_CAPACITY);
+        this.firstFrameAfterStartMillis = -1;
+        this.firstFrameAfterLaunchMillis = -1;
+    }
+
+    /**
+     * Get the histogram of the time spent simulating each game tick.
+     *
+     * @return The tick duration histogram.
+     */
+    public LatencyHistogram getTickNanos() {
+        return this.tickNanos;
+    }
+
+    /**
+     * Get the histogram of the time spent drawing each frame.
+     *
+     * @return The frame duration histogram.
+     */
+    public LatencyHistogram getFrameNanos() {
+        return this.frameNanos;
+    }
+
+    /**
+     * Get the profiler of the phases of the game ticks. Unlike the other measurements, it must be recorded and
+     * read from the game loop.
+     *
+     * @return The tick profiler.
+     */
+    public TickProfiler getTickProfiler() {
+        return this.tickProfiler;
+    }
+
+    /**
+     * Get the amount of balls in play at the end of the last tick.
+     *
+     * @return The amount of balls in play.
+     */
+    public int getBallsInPlay() {
+        return this.ballsInPlay;
+    }
+
+    /**
+     * Set the amount of balls in play at the end of a tick.
+     *
+     * @param ballsInPlay The amount of balls in play.
+     */
+    public void setBallsInPlay(final int ballsInPlay) {
+        this.ballsInPlay = ballsInPlay;
+    }
+
+    /**
+     * Get the time from starting the first game of the application until its first frame was handed to the view.
+     *
+     * @return The time in milliseconds, or -1 if no game has shown a frame yet.
+     */
+    public long getFirstFrameAfterStartMillis() {
+        return this.firstFrameAfterStartMillis;
+    }
+
+    /**
+     * Get the time from launching the application until the first frame of its first game was handed to the view.
+     *
+     * @return The time in milliseconds, or -1 if no game has shown a frame yet.
+     */
+    public long getFirstFrameAfterLaunchMillis() {
+        return this.firstFrameAfterLaunchMillis;
+    }
+
+    /**
+     * Set the times until the first frame of the first game of the application. Only recorded once per launch.
+     *
+     * @param afterStartMillis The time from starting the game until its first frame.
+     * @param afterLaunchMillis The time from launching the application until the first frame.
+     */
+    public void setFirstFrame(final long afterStartMillis, final long afterLaunchMillis) {
+        this.firstFrameAfterStartMillis = afterStartMillis;
+        this.firstFrameAfterLaunchMillis = afterLaunchMillis;
+    }
+}
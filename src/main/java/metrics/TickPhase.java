@@ -0,0 +1,84 @@
+package metrics;
+
+/**
+ * The phases of a tick of the game loop, in the order they run, as timed by the TickProfiler.
+ *
+ * @author Samuel Thand
+ */
+public enum TickPhase {
+
+    /**
+     * Advancing the tick and the elapsed time, including the level change the elapsed time may cause.
+     */
+    ELAPSED_TIME("elapsed time"),
+
+    /**
+     * Moving the paddles.
+     */
+    PADDLES("paddles"),
+
+    /**
+     * Moving the balls and checking their collisions.
+     */
+    BALLS("balls"),
+
+    /**
+     * Updating the power-ups.
+     */
+    POWER_UPS("power-ups"),
+
+    /**
+     * Updating the particle effects.
+     */
+    PARTICLES("particles"),
+
+    /**
+     * Returning the missed balls to their pools.
+     */
+    MISSED_BALLS("missed balls"),
+
+    /**
+     * Publishing the frame to the view.
+     */
+    PUBLISH_FRAME("publish frame"),
+
+    /**
+     * Sending the state of the game to the remote player, when hosting.
+     */
+    NETWORK("network"),
+
+    /**
+     * Recording the tick metrics, and capturing a checkpoint when one is due.
+     */
+    CHECKPOINT("checkpoint"),
+
+    /**
+     * Requesting the repaint of the game panel, or drawing the frame in the active render mode.
+     */
+    REPAINT("repaint"),
+
+    /**
+     * Updating the gauges of the performance overlay when they are due.
+     */
+    GAUGES("gauges");
+
+    private final String label;
+
+    /**
+     * Constructor. Initializes instance fields.
+     *
+     * @param label The name of the phase in reports.
+     */
+    TickPhase(final String label) {
+        this.label = label;
+    }
+
+    /**
+     * Get the name of the phase in reports.
+     *
+     * @return The label.
+     */
+    public String getLabel() {
+        return this.label;
+    }
+}
@@ -0,0 +1,125 @@
+package metrics;
+
+import java.util.Arrays;
+
+/**
+ * Times every phase of the ticks of the game loop into preallocated ring buffers holding the last ticks, so the
+ * phase eating the tick budget can be found. Timing a phase is one System.nanoTime() call and an array store, and
+ * never allocates. Every phase is timed on every tick, also when it has nothing to do, so the buffers of all phases
+ * hold the same ticks. Recorded from the game loop only; reports are meant to be taken from the same thread, a
+ * report taken from another thread may include a tick being recorded.
+ *
+ * @author Samuel Thand
+ */
+public final class TickProfiler {
+
+    private static final TickPhase[] PHASES = TickPhase.values();
+
+    private final long[][] phaseNanos;
+    private final int mask;
+    private long ticks;
+    private long phaseStart;
+
+    /**
+     * Constructor. Allocates the ring buffers.
+     *
+     * @param capacity The amount of ticks kept, rounded up to a power of two.
+     */
+    public TickProfiler(final int capacity) {
+        int size = Integer.highestOneBit(Math.max(capacity - 1, 1)) << 1;
+        this.phaseNanos = new long[PHASES.length][size];
+        this.mask = size - 1;
+    }
+
+    /**
+     * Starts timing a tick, with its first phase.
+     *
+     * @param tickStart The System.nanoTime() the tick started at.
+     */
+    public void beginTick(final long tickStart) {
+        this.phaseStart = tickStart;
+    }
+
+    /**
+     * Ends a phase of the tick, and starts timing the next one.
+     *
+     * @param phase The phase that ended.
+     */
+    public void endPhase(final TickPhase phase) {
+        long now = System.nanoTime();
+        this.phaseNanos[phase.ordinal()][(int) this.ticks & this.mask] = now - this.phaseStart;
+        this.phaseStart = now;
+    }
+
+    /**
+     * Ends the tick, after all of its phases ended.
+     */
+    public void endTick() {
+        this.ticks++;
+    }
+
+    /**
+     * Forgets the ticks recorded so far, for a new game.
+     */
+    public void reset() {
+        this.ticks = 0;
+    }
+
+    /**
+     * Get the amount of ticks the percentiles are taken over.
+     *
+     * @return The amount of ticks in the ring buffers.
+     */
+    public int getTickCount() {
+        return (int) Math.min(this.ticks, this.mask + 1);
+    }
+
+    /**
+     * Reports the p50, p90, p99 and maximum duration of every phase over the ticks in the ring buffers, and the
+     * share of the mean tick each phase takes. Allocates a copy of each buffer to sort.
+     *
+     * @return The report, one line per phase.
+     */
+    public String report() {
+        int count = getTickCount();
+        long[][] sorted = new long[PHASES.length][];
+        double totalNanos = 0;
+        for (TickPhase phase : PHASES) {
+            sorted[phase.ordinal()] = Arrays.copyOf(this.phaseNanos[phase.ordinal()], count);
+            Arrays.sort(sorted[phase.ordinal()]);
+            for (long nanos : sorted[phase.ordinal()]) {
+                totalNanos += nanos;
+            }
+        }
+
+        StringBuilder report = new StringBuilder(String.format("Tick phases over the last %d ticks, in us:%n",
+                count));
+        report.append(String.format("%-14s %9s %9s %9s %9s %6s%n", "phase", "p50", "p90", "p99", "max", "share"));
+        for (TickPhase phase : PHASES) {
+            long[] nanos = sorted[phase.ordinal()];
+            double sum = 0;
+            for (long value : nanos) {
+                sum += value;
+            }
+            report.append(String.format("%-14s %9.1f %9.1f %9.1f %9.1f %5.1f%%%n", phase.getLabel(),
+                    percentile(nanos, 50) / 1e3, percentile(nanos, 90) / 1e3, percentile(nanos, 99) / 1e3,
+                    percentile(nanos, 100) / 1e3, totalNanos == 0 ? 0 : 100 * sum / totalNanos));
+        }
+        return report.toString();
+    }
+
+    /**
+     * Get a percentile of sorted durations.
+     *
+     * @param sorted The durations, sorted.
+     * @param percentile The percentile, from 0 to 100.
+     * @return The duration at the percentile, or 0 if there are none.
+     */
+    private static long percentile(final long[] sorted, final int percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(sorted.length * percentile / 100.0) - 1;
+        return sorted[Math.max(index, 0)];
+    }
+}
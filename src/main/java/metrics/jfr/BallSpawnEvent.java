@@ -0,0 +1,32 @@
+package metrics.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+/**
+ * A JDK Flight Recorder event spanning the creation of a ball by a ball factory, including any wait for its pool
+ * to be refilled and the hand-over to the consumer thread pool.
+ *
+ * @author Samuel Thand
+ */
+@Name("pong.BallSpawn")
+@Label("Ball Spawn")
+@Category({"Pong", "Balls"})
+@Description("A ball factory created a ball")
+public final class BallSpawnEvent extends Event {
+
+    @Label("Ball Type")
+    public String ballType;
+
+    @Label("Level")
+    public int level;
+
+    @Label("Pool Wait")
+    @Description("The time spent waiting for the empty pool of the type to be refilled")
+    @Timespan(Timespan.NANOSECONDS)
+    public long poolWait;
+}
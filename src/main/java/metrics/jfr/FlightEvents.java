@@ -0,0 +1,29 @@
+package metrics.jfr;
+
+import jdk.jfr.FlightRecorder;
+
+/**
+ * The JDK Flight Recorder events of the game.
+ *
+ * @author Samuel Thand
+ */
+public final class FlightEvents {
+
+    /**
+     * Constructor.
+     */
+    private FlightEvents() { }
+
+    /**
+     * Registers the events of the game with the flight recorder. The first use of an event initializes the flight
+     * recorder, which takes a few hundred milliseconds even when nothing is recorded, so this is done in the
+     * background at startup rather than on the first game tick.
+     */
+    public static void register() {
+        FlightRecorder.register(GameTickEvent.class);
+        FlightRecorder.register(LevelChangeEvent.class);
+        FlightRecorder.register(BallSpawnEvent.class);
+        FlightRecorder.register(PoolStarvationEvent.class);
+        FlightRecorder.register(ProducerBatchEvent.class);
+    }
+}
@@ -0,0 +1,28 @@
+package metrics.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A JDK Flight Recorder event spanning one tick of the game loop, from advancing the model to publishing the frame.
+ *
+ * @author Samuel Thand
+ */
+@Name("pong.GameTick")
+@Label("Game Tick")
+@Category({"Pong", "Game Loop"})
+@Description("One tick of the game loop")
+@StackTrace(false)
+public final class GameTickEvent extends Event {
+
+    @Label("Tick")
+    public long tick;
+
+    @Label("Balls")
+    @Description("The balls in play at the end of the tick")
+    public int ballCount;
+}
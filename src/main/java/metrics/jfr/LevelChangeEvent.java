@@ -0,0 +1,31 @@
+package metrics.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A JDK Flight Recorder event marking the game reaching a level, including level 1 at the start of a game and the
+ * level a game is resumed at.
+ *
+ * @author Samuel Thand
+ */
+@Name("pong.LevelChange")
+@Label("Level Change")
+@Category({"Pong", "Game Loop"})
+@Description("The game reached a level")
+@StackTrace(false)
+public final class LevelChangeEvent extends Event {
+
+    @Label("Tick")
+    public long tick;
+
+    @Label("Level")
+    public int level;
+
+    @Label("Hard Mode")
+    public boolean hardMode;
+}
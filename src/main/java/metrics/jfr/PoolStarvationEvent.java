@@ -0,0 +1,27 @@
+package metrics.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * A JDK Flight Recorder event spanning a ball factory waiting for the empty pool of a ball type to be refilled by
+ * the producer threads.
+ *
+ * @author Samuel Thand
+ */
+@Name("pong.PoolStarvation")
+@Label("Pool Starvation")
+@Category({"Pong", "Balls"})
+@Description("A ball factory waited for an empty ball pool")
+public final class PoolStarvationEvent extends Event {
+
+    @Label("Ball Type")
+    public String ballType;
+
+    @Label("Sleeps")
+    @Description("The times the factory slept before the pool had a ball")
+    public int sleeps;
+}
@@ -0,0 +1,26 @@
+package metrics.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * A JDK Flight Recorder event spanning the game waiting for the producer tasks it issued to complete.
+ *
+ * @author Samuel Thand
+ */
+@Name("pong.ProducerBatch")
+@Label("Producer Batch")
+@Category({"Pong", "Balls"})
+@Description("The game waited for its producer tasks to complete")
+public final class ProducerBatchEvent extends Event {
+
+    @Label("Tasks")
+    @Description("The producer tasks waited for")
+    public int tasks;
+
+    @Label("Failed Tasks")
+    public int failedTasks;
+}
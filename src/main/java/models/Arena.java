@@ -0,0 +1,232 @@
+package models;
+
+import constants.Constants;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The arena of the game. Places the paddles of an ArenaLayout along the sides of the game, each paddle in its own
+ * equally sized lane, and provides the collision broad phase between balls and paddles. Since every paddle stays
+ * within its lane, the paddles a ball can hit are found from the position of the ball alone, so the cost of a paddle
+ * hit check does not grow with the amount of paddles.
+ *
+ * @author Samuel Thand
+ */
+public class Arena {
+
+    private final ArenaLayout layout;
+    private final int width;
+    private final int height;
+    private final int paddleThickness;
+    private final List<PaddleModel> paddles;
+    private final PaddleModel[][] paddlesBySide;
+    private final int[] laneOrigins;
+    private final int[] laneLengths;
+
+    /**
+     * Constructor. Creates the paddles of a layout and assigns each of them a lane.
+     *
+     * @param layout The layout of the paddles.
+     * @param width The width of the game.
+     * @param height The height of the game.
+     * @throws IllegalArgumentException If a side has so many paddles that their lanes would be shorter than a
+     *                                  paddle is thick.
+     */
+    public Arena(final ArenaLayout layout, final int width, final int height) {
+        this.layout = layout;
+        this.width = width;
+        this.height = height;
+        this.paddleThickness = width / Constants.PADDLE_WIDTH_FRACTION;
+        this.paddlesBySide = new PaddleModel[Side.values().length][];
+        this.laneOrigins = new int[Side.values().length];
+        this.laneLengths = new int[Side.values().length];
+
+        List<PaddleModel> allPaddles = new ArrayList<>();
+        for (Side side : Side.values()) {
+            int paddleCount = layout.getPaddleCount(side);
+            PaddleModel[] sidePaddles = new PaddleModel[paddleCount];
+            for (int i = 0; i < paddleCount; i++) {
+                sidePaddles[i] = new PaddleModel(side, allPaddles.size() + 1);
+                allPaddles.add(sidePaddles[i]);
+            }
+            this.paddlesBySide[side.ordinal()] = sidePaddles;
+        }
+        this.paddles = Collections.unmodifiableList(allPaddles);
+
+        for (Side side : Side.values()) {
+            assignLanes(side);
+        }
+    }
+
+    /**
+     * Divides a side into equally sized lanes, one for each paddle on the side. Sides guarded by paddles leave
+     * their corners to the perpendicular sides. Every lane must be at least as long as a paddle is thick, so no
+     * paddle is shorter than it is thick and no lane is empty.
+     *
+     * @param side The side to divide.
+     * @throws IllegalArgumentException If the lanes of the side would be shorter than a paddle is thick.
+     */
+    private void assignLanes(final Side side) {
+        PaddleModel[] sidePaddles = this.paddlesBySide[side.ordinal()];
+        if (sidePaddles.length == 0) {
+            return;
+        }
+
+        Side startCorner = side.movesAlongY() ? Side.TOP : Side.LEFT;
+        Side endCorner = side.movesAlongY() ? Side.BOTTOM : Side.RIGHT;
+        int sideLength = side.movesAlongY() ? this.height : this.width;
+        int laneOrigin = isGoal(startCorner) ? this.paddleThickness : 0;
+        int laneExtent = sideLength - laneOrigin - (isGoal(endCorner) ? this.paddleThickness : 0);
+        int laneLength = laneExtent / sidePaddles.length;
+        if (laneLength < Math.max(1, this.paddleThickness)) {
+            throw new IllegalArgumentException("The " + side + " side is too short for " + sidePaddles.length
+                    + " paddles");
+        }
+
+        this.laneOrigins[side.ordinal()] = laneOrigin;
+        this.laneLengths[side.ordinal()] = laneLength;
+        for (int i = 0; i < sidePaddles.length; i++) {
+            int laneStart = laneOrigin + i * laneLength;
+            sidePaddles[i].setLane(laneStart, laneStart + laneLength);
+        }
+    }
+
+    /**
+     * Moves all paddles to the middle of their lanes, and sets their dimensions.
+     */
+    public void resetPaddles() {
+        for (PaddleModel paddle : this.paddles) {
+            Side side = paddle.getSide();
+            int sideLength = side.movesAlongY() ? this.height : this.width;
+            int laneLength = this.laneLengths[side.ordinal()];
+            int paddleLength = Math.min(sideLength / Constants.PADDLE_HEIGHT_FRACTION, laneLength);
+            int laneStart = this.laneOrigins[side.ordinal()] + (paddle.getNumber() - firstNumberOn(side)) * laneLength;
+            int position = laneStart + laneLength / 2 - paddleLength / 2;
+
+            paddle.setVelocity(0);
+            switch (side) {
+                case LEFT -> placePaddle(paddle, 0, position, this.paddleThickness, paddleLength);
+                case RIGHT -> placePaddle(paddle, this.width - this.paddleThickness, position,
+                        this.paddleThickness, paddleLength);
+                case TOP -> placePaddle(paddle, position, 0, paddleLength, this.paddleThickness);
+                case BOTTOM -> placePaddle(paddle, position, this.height - this.paddleThickness,
+                        paddleLength, this.paddleThickness);
+                default -> throw new IllegalStateException("Unexpected value: " + side);
+            }
+        }
+    }
+
+    /**
+     * Get the number of the first paddle on a side.
+     *
+     * @param side The side.
+     * @return The number of the first paddle on the side.
+     */
+    private int firstNumberOn(final Side side) {
+        return this.paddlesBySide[side.ordinal()][0].getNumber();
+    }
+
+    /**
+     * Sets the position and dimensions of a paddle.
+     *
+     * @param paddle The paddle.
+     * @param x The new X.
+     * @param y The new Y.
+     * @param paddleWidth The new width.
+     * @param paddleHeight The new height.
+     */
+    private static void placePaddle(final PaddleModel paddle, final int x, final int y, final int paddleWidth,
+                                    final int paddleHeight) {
+        paddle.setX(x);
+        paddle.setY(y);
+        paddle.setWidth(paddleWidth);
+        paddle.setHeight(paddleHeight);
+    }
+
+    /**
+     * Check if a side is a goal, meaning it is guarded by paddles and balls leaving through it are missed.
+     * Balls bounce on sides without paddles.
+     *
+     * @param side The side.
+     * @return The side is a goal.
+     */
+    public boolean isGoal(final Side side) {
+        return this.layout.getPaddleCount(side) > 0;
+    }
+
+    /**
+     * Finds the paddle on a side hit by a ball heading towards the side. Balls whose leading edge has not reached
+     * the front line of the paddles on the side are culled without looking at any paddle, for the others only the
+     * paddles in the lanes covered by the ball are tested.
+     *
+     * @param side The side the ball is heading towards.
+     * @param ballX The X of the ball.
+     * @param ballY The Y of the ball.
+     * @param ballSideLength The side length of the ball.
+     * @return The paddle hit by the ball, or null if no paddle is hit.
+     */
+    public PaddleModel findPaddleHit(final Side side, final int ballX, final int ballY, final int ballSideLength) {
+        PaddleModel[] sidePaddles = this.paddlesBySide[side.ordinal()];
+        if (sidePaddles.length == 0) {
+            return null;
+        }
+
+        boolean ballReachesPaddles = switch (side) {
+            case LEFT -> ballX <= this.paddleThickness;
+            case RIGHT -> ballX + ballSideLength > this.width - this.paddleThickness;
+            case TOP -> ballY <= this.paddleThickness;
+            case BOTTOM -> ballY + ballSideLength > this.height - this.paddleThickness;
+        };
+        if (!ballReachesPaddles) {
+            return null;
+        }
+
+        int ballPosition = side.movesAlongY() ? ballY : ballX;
+        int halfSideLength = ballSideLength / 2;
+        int firstLane = laneAt(side, ballPosition - halfSideLength);
+        int lastLane = laneAt(side, ballPosition + halfSideLength);
+
+        for (int lane = firstLane; lane <= lastLane; lane++) {
+            PaddleModel paddle = sidePaddles[lane];
+            int paddlePosition = paddle.getPosition();
+            boolean ballIsWithinPaddle = paddlePosition - halfSideLength <= ballPosition
+                    && ballPosition - halfSideLength < paddlePosition + paddle.getLength();
+            if (ballIsWithinPaddle) {
+                return paddle;
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Get the index of the lane covering a position along a side, clamped to the lanes of the side.
+     *
+     * @param side The side.
+     * @param position The position along the side.
+     * @return The index of the lane.
+     */
+    private int laneAt(final Side side, final int position) {
+        int lane = (position - this.laneOrigins[side.ordinal()]) / this.laneLengths[side.ordinal()];
+        return Math.max(0, Math.min(lane, this.paddlesBySide[side.ordinal()].length - 1));
+    }
+
+    /**
+     * Get all paddles in the arena, ordered by number.
+     *
+     * @return The paddles.
+     */
+    public List<PaddleModel> getPaddles() {
+        return this.paddles;
+    }
+
+    /**
+     * Get the layout of the arena.
+     *
+     * @return The layout.
+     */
+    public ArenaLayout getLayout() {
+        return this.layout;
+    }
+}
@@ -0,0 +1,71 @@
+package models;
+
+/**
+ * The layout of the paddles in the game, the amount of paddles guarding each side.
+ *
+ * @author Samuel Thand
+ */
+public final class ArenaLayout {
+
+    public static final ArenaLayout TWO_PLAYER = new ArenaLayout(1, 1, 0, 0);
+    public static final ArenaLayout FOUR_PLAYER = new ArenaLayout(1, 1, 1, 1);
+
+    private final int[] paddleCounts;
+
+    /**
+     * Constructor. Initializes the amount of paddles on each side.
+     *
+     * @param left The amount of paddles on the left side.
+     * @param right The amount of paddles on the right side.
+     * @param top The amount of paddles on the top side.
+     * @param bottom The amount of paddles on the bottom side.
+     */
+    private ArenaLayout(final int left, final int right, final int top, final int bottom) {
+        this.paddleCounts = new int[Side.values().length];
+        this.paddleCounts[Side.LEFT.ordinal()] = left;
+        this.paddleCounts[Side.RIGHT.ordinal()] = right;
+        this.paddleCounts[Side.TOP.ordinal()] = top;
+        this.paddleCounts[Side.BOTTOM.ordinal()] = bottom;
+    }
+
+    /**
+     * Creates a layout with an arbitrary amount of paddles on each side. Whether the paddles fit on the sides
+     * depends on the size of the game, which an Arena checks when it is built from the layout.
+     *
+     * @param left The amount of paddles on the left side.
+     * @param right The amount of paddles on the right side.
+     * @param top The amount of paddles on the top side.
+     * @param bottom The amount of paddles on the bottom side.
+     * @return The layout.
+     */
+    public static ArenaLayout of(final int left, final int right, final int top, final int bottom) {
+        boolean hasNegativeCount = left < 0 || right < 0 || top < 0 || bottom < 0;
+        if (hasNegativeCount || left + right + top + bottom == 0) {
+            throw new IllegalArgumentException("A layout needs at least one paddle, and no negative paddle counts");
+        }
+        return new ArenaLayout(left, right, top, bottom);
+    }
+
+    /**
+     * Get the amount of paddles on a side.
+     *
+     * @param side The side.
+     * @return The amount of paddles on the side.
+     */
+    public int getPaddleCount(final Side side) {
+        return this.paddleCounts[side.ordinal()];
+    }
+
+    /**
+     * Get the total amount of paddles in this layout.
+     *
+     * @return The amount of paddles.
+     */
+    public int getTotalPaddleCount() {
+        int total = 0;
+        for (int count : this.paddleCounts) {
+            total += count;
+        }
+        return total;
+    }
+}
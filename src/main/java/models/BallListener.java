@@ -0,0 +1,26 @@
+package models;
+
+import models.balls.BallModel;
+
+/**
+ * Listens to the balls of a game changing course, the only times their movement is not a straight line. Between
+ * two calls about a ball, it moves by its velocity every tick the balls move.
+ *
+ * @author Samuel Thand
+ */
+public interface BallListener {
+
+    /**
+     * A ball was added to the game, or bounced off a wall or paddle.
+     *
+     * @param ball The ball.
+     */
+    void ballChanged(BallModel ball);
+
+    /**
+     * A ball was removed from the game.
+     *
+     * @param ball The ball.
+     */
+    void ballRemoved(BallModel ball);
+}
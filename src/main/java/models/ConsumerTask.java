@@ -1,36 +1,37 @@
 package models;
 
 import java.util.concurrent.Callable;
-import models.balls.AbstractBallModel;
 
 /**
- * A task that consumes a ball from the BallPoolService. Is a part of the producer/consumer design pattern.
+ * A task that consumes an entity from an EntityPoolService. Is a part of the producer/consumer design pattern.
+ *
+ * @param <E> The type of the consumed entity.
  */
-public class ConsumerTask implements Callable<AbstractBallModel> {
+public class ConsumerTask<E> implements Callable<E> {
 
-    private final BallPoolService ballPoolService;
-    private final Class<? extends AbstractBallModel> ballType;
+    private final EntityPoolService<E> poolService;
+    private final int kind;
 
     /**
      * Constructor. Initializes instance fields.
      *
-     * @param ballPoolService The ballPoolService to consumer a ball from.
-     * @param ballType The ball type for this task.
+     * @param poolService The poolService to consume an entity from.
+     * @param kind The kind of entity for this task.
      */
-    public ConsumerTask(final BallPoolService ballPoolService, final Class<? extends AbstractBallModel> ballType) {
-        this.ballPoolService = ballPoolService;
-        this.ballType = ballType;
+    public ConsumerTask(final EntityPoolService<E> poolService, final int kind) {
+        this.poolService = poolService;
+        this.kind = kind;
     }
 
     /**
      * {@inheritDoc}
      *
-     * Consumes a ball from the ballPoolService.
+     * Consumes an entity from the poolService.
      *
-     * @return A ball of this ballType.
+     * @return An entity of this kind.
      */
     @Override
-    public AbstractBallModel call() {
-        return this.ballPoolService.consumeBall(this.ballType);
+    public E call() {
+        return this.poolService.consume(this.kind);
     }
 }
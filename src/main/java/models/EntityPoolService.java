@@ -0,0 +1,147 @@
+package models;
+
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.function.IntFunction;
+import java.util.function.ToIntFunction;
+
+/**
+ * Entity retainer service. Keeps initialized entities of different kinds in pools, ready for use in the game.
+ * Provides a public interface for consuming, producing and returning entities into the pools. The pools are indexed
+ * by a small integer kind, and are bounded queues backed by preallocated arrays, so consuming and returning entities
+ * never allocates. Also counts the entities of each kind that producer tasks are going to produce, so pools are not
+ * refilled again while an earlier refill is still under way. Is an implementation of the Object Pool design
+ * pattern, and the pools are a part of the producer/consumer design pattern.
+ *
+ * @param <E> The type of the pooled entities.
+ * @author Samuel Thand
+ */
+public class EntityPoolService<E> {
+
+    private final ArrayBlockingQueue<E>[] pools;
+    private final IntFunction<E> entityFactory;
+    private final ToIntFunction<E> kindOfEntity;
+    private final AtomicIntegerArray inProduction;
+
+    /**
+     * Constructor. Initializes instance fields and a pool for each kind of entity.
+     *
+     * @param kinds The amount of kinds of entities, the kinds are numbered from 0.
+     * @param capacity The maximum amount of entities kept in the pool of each kind.
+     * @param entityFactory Creates a new entity of a kind.
+     * @param kindOfEntity Gets the kind of an entity.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public EntityPoolService(final int kinds, final int capacity, final IntFunction<E> entityFactory,
+                             final ToIntFunction<E> kindOfEntity) {
+        this.pools = new ArrayBlockingQueue[kinds];
+        this.entityFactory = entityFactory;
+        this.kindOfEntity = kindOfEntity;
+        this.inProduction = new AtomicIntegerArray(kinds);
+        for (int kind = 0; kind < kinds; kind++) {
+            this.pools[kind] = new ArrayBlockingQueue<>(capacity);
+        }
+    }
+
+    /**
+     * Get an entity of the desired kind from the pools.
+     *
+     * @param kind The kind of the desired entity.
+     * @return The requested entity, or null if the pool is empty.
+     */
+    public E consume(final int kind) {
+        return this.pools[kind].poll();
+    }
+
+    /**
+     * Produce a new entity of the desired kind, and place it in its belonging pool. The entity is discarded
+     * if the pool is full.
+     *
+     * @param kind The kind of the desired entity.
+     */
+    public void produce(final int kind) {
+        this.pools[kind].offer(this.entityFactory.apply(kind));
+    }
+
+    /**
+     * Notes that an entity of a kind is going to be produced, by a producer task that has not run yet.
+     *
+     * @param kind The kind of the entity.
+     */
+    public void beginProduction(final int kind) {
+        this.inProduction.incrementAndGet(kind);
+    }
+
+    /**
+     * Produces an entity whose production was begun, and places it in its pool.
+     *
+     * @param kind The kind of the entity.
+     */
+    public void completeProduction(final int kind) {
+        try {
+            produce(kind);
+        } finally {
+            this.inProduction.decrementAndGet(kind);
+        }
+    }
+
+    /**
+     * Return an entity to its pool. The entity is discarded if the pool is full.
+     *
+     * @param entity The entity to return.
+     */
+    public void returnEntity(final E entity) {
+        this.pools[this.kindOfEntity.applyAsInt(entity)].offer(entity);
+    }
+
+    /**
+     * Return entities to their respective pools.
+     *
+     * @param entities The entities to return.
+     */
+    public void returnEntities(final List<E> entities) {
+        for (int i = 0; i < entities.size(); i++) {
+            returnEntity(entities.get(i));
+        }
+    }
+
+    /**
+     * Check if the pool for a kind of entity is empty.
+     *
+     * @param kind The kind of entity that the pool contains.
+     * @return The pool is empty.
+     */
+    public boolean isPoolEmpty(final int kind) {
+        return this.pools[kind].isEmpty();
+    }
+
+    /**
+     * Get the amount of available entities of a kind.
+     *
+     * @param kind The kind of the entities.
+     * @return The amount of available entities.
+     */
+    public int getAmountAvailable(final int kind) {
+        return this.pools[kind].size();
+    }
+
+    /**
+     * Get the amount of entities of a kind that producer tasks are going to produce.
+     *
+     * @param kind The kind of the entities.
+     * @return The amount of entities in production.
+     */
+    public int getAmountInProduction(final int kind) {
+        return this.inProduction.get(kind);
+    }
+
+    /**
+     * Get the amount of kinds of entities in this service.
+     *
+     * @return The amount of kinds.
+     */
+    public int getKindCount() {
+        return this.pools.length;
+    }
+}
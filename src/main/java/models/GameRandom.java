@@ -0,0 +1,81 @@
+package models;
+
+import java.util.Random;
+
+/**
+ * The source of randomness of the game, shared by everything in the game that moves randomly. Unlike a plain
+ * Random its whole state is a single long that can be read and restored, so a checkpoint of the game continues
+ * with the same random sequence it would have had. Generates with the SplitMix64 algorithm. Only used from the
+ * game tick thread, so not thread safe.
+ *
+ * @author Samuel Thand
+ */
+public final class GameRandom extends Random {
+
+    private static final long serialVersionUID = 1L;
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+    private long state;
+
+    /**
+     * Constructor. Seeds the generator from the current time.
+     */
+    public GameRandom() {
+        super(System.nanoTime());
+    }
+
+    /**
+     * Constructor. Seeds the generator.
+     *
+     * @param seed The seed.
+     */
+    public GameRandom(final long seed) {
+        super(seed);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void setSeed(final long seed) {
+        this.state = seed;
+    }
+
+    /**
+     * Get the state of the generator.
+     *
+     * @return The state.
+     */
+    public long getState() {
+        return this.state;
+    }
+
+    /**
+     * Set the state of the generator, continuing the sequence of the generator the state was read from.
+     *
+     * @param state The state.
+     */
+    public void setState(final long state) {
+        this.state = state;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected int next(final int bits) {
+        return (int) (nextLong() >>> (Long.SIZE - bits));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long nextLong() {
+        this.state += GOLDEN_GAMMA;
+        long z = this.state;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,212 @@
+package models;
+
+import java.util.Arrays;
+import java.util.List;
+import metrics.HistogramWindow;
+import metrics.LatencyHistogram;
+import models.balls.BallType;
+
+/**
+ * The statistics of the current game: the paddle hits of each player, the wall bounces, the misses of each ball
+ * type, the most balls in play at once, the longest rally and the tick durations. The counters are primitive
+ * fields and arrays sized at the start of a game, so recording is a few increments that never allocate. Recorded
+ * from the game loop only, so not thread safe.
+ *
+ * @author Samuel Thand
+ */
+public final class GameStatistics {
+
+    private final List<BallType> ballTypes;
+    private final long[] missesByType;
+    private final LatencyHistogram tickNanos;
+    private final HistogramWindow tickWindow;
+    private long[] paddleHits;
+    private long wallBounces;
+    private int peakBalls;
+    private int longestRally;
+    private long maxTickNanos;
+
+    /**
+     * Constructor. Initializes instance fields.
+     *
+     * @param ballTypes The ball types of the game, ordered by id.
+     */
+    public GameStatistics(final List<BallType> ballTypes) {
+        this.ballTypes = ballTypes;
+        this.missesByType = new long[ballTypes.size()];
+        this.tickNanos = new LatencyHistogram();
+        this.tickWindow = new HistogramWindow(this.tickNanos);
+        this.paddleHits = new long[0];
+    }
+
+    /**
+     * Clears the statistics for a new game.
+     *
+     * @param paddleCount The amount of paddles in the new game.
+     */
+    public void reset(final int paddleCount) {
+        if (this.paddleHits.length != paddleCount) {
+            this.paddleHits = new long[paddleCount];
+        } else {
+            Arrays.fill(this.paddleHits, 0);
+        }
+        Arrays.fill(this.missesByType, 0);
+        this.wallBounces = 0;
+        this.peakBalls = 0;
+        this.longestRally = 0;
+        this.maxTickNanos = 0;
+        this.tickWindow.advance();
+    }
+
+    /**
+     * Ends the statistics of the game, so the tick durations can be read. Called at game over.
+     */
+    public void finish() {
+        this.tickWindow.advance();
+    }
+
+    /**
+     * Records a ball hitting a paddle.
+     *
+     * @param paddleNumber The number of the paddle hit.
+     * @param rally The paddle hits of the ball so far, including this one.
+     */
+    public void recordPaddleHit(final int paddleNumber, final int rally) {
+        this.paddleHits[paddleNumber - 1]++;
+        if (rally > this.longestRally) {
+            this.longestRally = rally;
+        }
+    }
+
+    /**
+     * Records a ball bouncing on a wall.
+     */
+    public void recordWallBounce() {
+        this.wallBounces++;
+    }
+
+    /**
+     * Records a ball being missed.
+     *
+     * @param ballTypeId The id of the type of the ball.
+     */
+    public void recordMiss(final int ballTypeId) {
+        this.missesByType[ballTypeId]++;
+    }
+
+    /**
+     * Records the amount of balls in play.
+     *
+     * @param balls The amount of balls in play.
+     */
+    public void recordBallsInPlay(final int balls) {
+        if (balls > this.peakBalls) {
+            this.peakBalls = balls;
+        }
+    }
+
+    /**
+     * Records the time spent simulating a tick.
+     *
+     * @param nanos The duration of the tick in nanoseconds.
+     */
+    public void recordTick(final long nanos) {
+        this.tickNanos.record(nanos);
+        if (nanos > this.maxTickNanos) {
+            this.maxTickNanos = nanos;
+        }
+    }
+
+    /**
+     * Appends the statistics to a result line, as space separated key=value pairs. Paddle hits are listed in
+     * paddle number order, misses as type:count for every ball type, and tick durations in microseconds.
+     *
+     * @param line The result line.
+     */
+    public void appendTo(final StringBuilder line) {
+        line.append("paddleHits=");
+        for (int i = 0; i < this.paddleHits.length; i++) {
+            if (i > 0) {
+                line.append(',');
+            }
+            line.append(this.paddleHits[i]);
+        }
+        line.append(" wallBounces=").append(this.wallBounces);
+        line.append(" misses=");
+        for (int i = 0; i < this.missesByType.length; i++) {
+            if (i > 0) {
+                line.append(',');
+            }
+            line.append(this.ballTypes.get(i).getName()).append(':').append(this.missesByType[i]);
+        }
+        line.append(" peakBalls=").append(this.peakBalls);
+        line.append(" longestRally=").append(this.longestRally);
+        line.append(" tickMaxUs=").append(this.maxTickNanos / 1000);
+        line.append(" tickP99Us=").append(getTickP99Nanos() / 1000);
+    }
+
+    /**
+     * Get the paddle hits of a player.
+     *
+     * @param paddleNumber The number of the paddle of the player.
+     * @return The paddle hits.
+     */
+    public long getPaddleHits(final int paddleNumber) {
+        return this.paddleHits[paddleNumber - 1];
+    }
+
+    /**
+     * Get the wall bounces of the game.
+     *
+     * @return The wall bounces.
+     */
+    public long getWallBounces() {
+        return this.wallBounces;
+    }
+
+    /**
+     * Get the misses of balls of a type.
+     *
+     * @param ballTypeId The id of the ball type.
+     * @return The misses.
+     */
+    public long getMisses(final int ballTypeId) {
+        return this.missesByType[ballTypeId];
+    }
+
+    /**
+     * Get the most balls that were in play at once.
+     *
+     * @return The peak amount of balls.
+     */
+    public int getPeakBalls() {
+        return this.peakBalls;
+    }
+
+    /**
+     * Get the most paddle hits of a single ball before it was missed.
+     *
+     * @return The longest rally.
+     */
+    public int getLongestRally() {
+        return this.longestRally;
+    }
+
+    /**
+     * Get the longest tick of the game.
+     *
+     * @return The longest tick in nanoseconds.
+     */
+    public long getMaxTickNanos() {
+        return this.maxTickNanos;
+    }
+
+    /**
+     * Get the 99th percentile of the tick durations of the game, once it is finished.
+     *
+     * @return The 99th percentile in nanoseconds, to within the precision of a LatencyHistogram.
+     */
+    public long getTickP99Nanos() {
+        return Math.min(this.tickWindow.getPercentile(99), this.maxTickNanos);
+    }
+}
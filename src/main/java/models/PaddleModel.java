@@ -6,7 +6,8 @@ import java.util.ArrayList;
 import java.util.Arrays;
 
 /**
- * The abstract model of a paddle. Contains all information about a paddle existing in the application.
+ * The model of a paddle. Contains all information about a paddle existing in the application. A paddle guards a side
+ * of the game, and moves along that side within its lane.
  *
  * @author Samuel Thand
  */
@@ -15,17 +16,22 @@ public class PaddleModel {
     private int y;
     private int width;
     private int height;
-    private int yVelocity;
+    private int velocity;
+    private int laneStart;
+    private int laneEnd;
     private final int paddleSpeed;
-    private final PongModel model;
+    private final int number;
+    private final Side side;
 
     /**
      * Constructor. Initializes instance fields.
      *
-     * @param model The model of the game.
+     * @param side The side of the game this paddle guards.
+     * @param number The number of this paddle, starting at 1.
      */
-    public PaddleModel(final PongModel model) {
-        this.model = model;
+    public PaddleModel(final Side side, final int number) {
+        this.side = side;
+        this.number = number;
         this.paddleSpeed = Constants.PADDLE_SPEED;
     }
 
@@ -65,6 +71,33 @@ public class PaddleModel {
         return height;
     }
 
+    /**
+     * Get the position of this paddle along its side.
+     *
+     * @return The Y of this paddle if it moves along the Y axis, else the X.
+     */
+    public int getPosition() {
+        return this.side.movesAlongY() ? this.y : this.x;
+    }
+
+    /**
+     * Get the length of this paddle along its side.
+     *
+     * @return The height of this paddle if it moves along the Y axis, else the width.
+     */
+    public int getLength() {
+        return this.side.movesAlongY() ? this.height : this.width;
+    }
+
+    /**
+     * Get the velocity of this paddle along its side.
+     *
+     * @return velocity of this paddle.
+     */
+    public int getVelocity() {
+        return this.velocity;
+    }
+
     /**
      * Get the speed of this paddle.
      *
@@ -74,6 +107,24 @@ public class PaddleModel {
         return this.paddleSpeed;
     }
 
+    /**
+     * Get the side of the game this paddle guards.
+     *
+     * @return The side of this paddle.
+     */
+    public Side getSide() {
+        return this.side;
+    }
+
+    /**
+     * Get the number of this paddle.
+     *
+     * @return The number of this paddle, starting at 1.
+     */
+    public int getNumber() {
+        return this.number;
+    }
+
     /**
      * Get the dimensions and position of this paddle as a list.
      *
@@ -120,34 +171,73 @@ public class PaddleModel {
     }
 
     /**
-     * Set the Y velocity of this paddle.
+     * Set the length of this paddle along its side, keeping it within its lane.
      *
-     * @param yVelocity The new Y velocity.
+     * @param length The new length, at most the length of the lane.
      */
-    public void setYvelocity(final int yVelocity) {
-        this.yVelocity = yVelocity;
+    public void setLength(final int length) {
+        int clampedLength = Math.min(length, this.laneEnd - this.laneStart);
+        if (this.side.movesAlongY()) {
+            this.height = clampedLength;
+        } else {
+            this.width = clampedLength;
+        }
+        setPosition(Math.max(this.laneStart, Math.min(getPosition(), this.laneEnd - clampedLength)));
     }
 
     /**
-     * Move this paddle.
+     * Set the lane of this paddle, the part of its side it is allowed to move within.
+     *
+     * @param laneStart The start of the lane along the side.
+     * @param laneEnd The end of the lane along the side, exclusive.
+     */
+    public void setLane(final int laneStart, final int laneEnd) {
+        this.laneStart = laneStart;
+        this.laneEnd = laneEnd;
+    }
+
+    /**
+     * Set the velocity of this paddle along its side.
+     *
+     * @param velocity The new velocity.
+     */
+    public void setVelocity(final int velocity) {
+        this.velocity = velocity;
+    }
+
+    /**
+     * Move this paddle along its side, stopping at the ends of its lane.
      */
     public void movePaddle() {
-        int nextY = this.y + yVelocity;
-        int roof = 0;
-        int floor = this.model.getBounds().get(Bound.Y);
+        int position = getPosition();
+        int nextPosition = position + this.velocity;
+        int laneMaximum = this.laneEnd - getLength();
 
-        boolean paddleIsMoving = nextY != this.y;
-        boolean paddleHitsRoof = nextY < roof;
-        boolean paddleHitsFloor = nextY > floor - this.height;
+        boolean paddleIsMoving = nextPosition != position;
+        boolean paddleHitsLaneStart = nextPosition < this.laneStart;
+        boolean paddleHitsLaneEnd = nextPosition > laneMaximum;
 
         if (paddleIsMoving) {
-            if (paddleHitsRoof) {
-                this.y = roof;
-            } else if (paddleHitsFloor) {
-                this.y = floor - this.height;
+            if (paddleHitsLaneStart) {
+                setPosition(this.laneStart);
+            } else if (paddleHitsLaneEnd) {
+                setPosition(laneMaximum);
             } else {
-                this.y = this.y + yVelocity;
+                setPosition(nextPosition);
             }
         }
     }
+
+    /**
+     * Set the position of this paddle along its side.
+     *
+     * @param position The new position.
+     */
+    private void setPosition(final int position) {
+        if (this.side.movesAlongY()) {
+            this.y = position;
+        } else {
+            this.x = position;
+        }
+    }
 }
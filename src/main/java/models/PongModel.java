@@ -4,21 +4,33 @@ import constants.Constants;
 import controllers.Observer;
 import controllers.writers.AbstractResultWriter;
 import java.awt.Dimension;
-import java.io.FileNotFoundException;
 import java.util.AbstractMap;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Future;
-import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
-import models.balls.AbstractBallModel;
+import metrics.jfr.FlightEvents;
+import metrics.jfr.LevelChangeEvent;
+import metrics.jfr.ProducerBatchEvent;
+import models.balls.BallModel;
+import models.balls.BallType;
+import models.balls.BallTypeRegistry;
 import models.balls.EasyBallFactory;
 import models.balls.HardBallFactory;
+import models.checkpoint.GameCheckpoint;
+import models.journal.EventJournal;
+import models.journal.EventType;
+import models.particles.ParticleSystem;
+import models.powerups.PowerUpManager;
+import models.powerups.PowerUpModel;
 
 /**
  * The model of the game. Contains all data for the game and executes operations on this data. Acts as the Subject
@@ -31,22 +43,25 @@ public class PongModel implements Subject {
     private int currentLevel;
     private int elapsedSeconds;
     private long gameTimer;
+    private long tick;
+    private long ballMoves;
     private boolean hardMode;
-    private final int paddleWidth;
-    private final int paddleHeight;
-    private final int paddle1InitialX;
-    private final int paddle2InitialX;
-    private final int paddlesInitialY;
     private final Map<Bound, Integer> bounds;
     private final EasyBallFactory easyBallFactory;
     private final HardBallFactory hardBallFactory;
-    private final PaddleModel paddle1;
-    private final PaddleModel paddle2;
-    private final List<AbstractBallModel> balls;
+    private Arena arena;
+    private final List<BallModel> balls;
+    private final BallTypeRegistry ballTypeRegistry;
     private final BallPoolService ballPoolService;
     private final ThreadPoolManager threadPoolManager;
-    private final List<Future<?>> completedProducerTasks;
+    private final Queue<Future<?>> pendingProducerTasks;
     private final ArrayList<Observer> observers;
+    private final EventJournal eventJournal;
+    private final PowerUpManager powerUpManager;
+    private final ParticleSystem particleSystem;
+    private final GameStatistics statistics;
+    private final GameRandom random;
+    private BallListener ballListener;
 
     /**
      * Constructor. Initializes instance fields, all components needed for the game.
@@ -58,86 +73,190 @@ public class PongModel implements Subject {
                         new AbstractMap.SimpleImmutableEntry<>(Bound.X, bounds.width),
                         new AbstractMap.SimpleImmutableEntry<>(Bound.Y, bounds.height))
                 .collect(Collectors.toUnmodifiableMap(Map.Entry::getKey, Map.Entry::getValue));
-        this.paddleWidth = this.bounds.get(Bound.X) / Constants.PADDLE_WIDTH_FRACTION;
-        this.paddleHeight = this.bounds.get(Bound.Y) / Constants.PADDLE_HEIGHT_FRACTION;
-        this.paddle1InitialX = 0;
-        this.paddle2InitialX = this.bounds.get(Bound.X) - this.paddleWidth;
-        this.paddlesInitialY = this.bounds.get(Bound.Y) / 2 - this.paddleHeight / 2;
-        this.paddle1 = new PaddleModel(this);
-        this.paddle2 = new PaddleModel(this);
+        this.arena = new Arena(ArenaLayout.TWO_PLAYER, this.bounds.get(Bound.X), this.bounds.get(Bound.Y));
         this.balls = Collections.synchronizedList(new LinkedList<>());
-        this.ballPoolService = new BallPoolService(this);
-        this.completedProducerTasks = new LinkedList<>();
-        this.threadPoolManager = new ThreadPoolManager(this.completedProducerTasks);
+        this.random = new GameRandom();
+        this.ballTypeRegistry = BallTypeRegistry.fromSystemProperties();
+        this.ballPoolService = new BallPoolService(this, this.ballTypeRegistry);
+        this.statistics = new GameStatistics(this.ballTypeRegistry.getBallTypes());
+        this.pendingProducerTasks = new ConcurrentLinkedQueue<>();
+        this.threadPoolManager = new ThreadPoolManager(this.pendingProducerTasks);
         this.easyBallFactory = new EasyBallFactory(this);
         this.hardBallFactory = new HardBallFactory(this);
         this.observers = new ArrayList<>();
+        this.eventJournal = EventJournal.fromSystemProperties();
+        this.powerUpManager = new PowerUpManager(this);
+        this.particleSystem = new ParticleSystem(Constants.PARTICLE_CAPACITY, Constants.PARTICLE_LIFETIME_TICKS);
     }
 
     /**
-     * Sets the initial state of the game. If balls are being created, waits for them to be completed
-     * before adding to game.
+     * Starts filling the ball and power-up pools and registering the flight recorder events in the background,
+     * without waiting for them. Called at startup, so all of it is done by the time the first game is started.
+     */
+    public void warmUp() {
+        ensureBallSupply();
+        this.powerUpManager.ensurePowerUpSupply();
+        this.threadPoolManager.execute(FlightEvents::register);
+    }
+
+    /**
+     * Sets the initial state of the game. If balls are being created, including by the warm-up, waits for them to
+     * be completed before adding to game.
      */
     public void setInitialState() {
         resetState();
-        if (ensureBallSupply()) {
-            awaitProducerFutures();
-        }
+        ensureBallSupply();
+        this.powerUpManager.ensurePowerUpSupply();
+        awaitProducerFutures();
         addBallsToGame();
     }
 
     /**
-     * Moves the paddles to their starting positions, resets the level to 1 and
-     * disables hard mode.
+     * Moves the paddles to their starting positions, resets the level to 1 and the elapsed time to 0, clears the
+     * statistics and disables hard mode.
      */
     private void resetState() {
-        this.paddle1.setX(paddle1InitialX);
-        this.paddle1.setY(paddlesInitialY);
-        this.paddle1.setWidth(this.paddleWidth);
-        this.paddle1.setHeight(this.paddleHeight);
-
-        this.paddle2.setX(paddle2InitialX);
-        this.paddle2.setY(paddlesInitialY);
-        this.paddle2.setWidth(this.paddleWidth);
-        this.paddle2.setHeight(this.paddleHeight);
+        this.arena.resetPaddles();
+        this.powerUpManager.reset();
+        this.particleSystem.clear();
+        this.statistics.reset(this.arena.getPaddles().size());
 
         this.currentLevel = 1;
+        this.elapsedSeconds = 0;
         this.hardMode = false;
+        recordLevelChange();
     }
 
     /**
-     * Ensures that there is a minimum amount of balls of each type in the ball pools.
+     * Sets the state of the game to a checkpoint of an unfinished game. Refills the ball pools with the types of
+     * the balls in the checkpoint, and waits for them before adding the balls to the game. Active power-ups and
+     * the statistics of the game so far are not part of checkpoints, and start over from the tick of the
+     * checkpoint.
      *
-     * @return If any producer tasks were issued.
+     * @param checkpoint The checkpoint.
      */
-    private boolean ensureBallSupply() {
-        AtomicBoolean tasksWereIssued = new AtomicBoolean(false);
-        ballPoolService.getAmountOfAvailableBalls().forEach((ballType, pool) -> {
-            if (pool < Constants.BALLPOOL_MINIMUM_BALLS) {
-                for (int i = 0; i < Constants.BALLPOOL_NEW_BALLS_BATCH_AMOUNT; i++) {
-                    threadPoolManager.execute(new ProducerTask(ballPoolService, ballType));
-                }
+    public void restore(final GameCheckpoint checkpoint) {
+        if (checkpoint.getBallTypeCount() != this.ballTypeRegistry.size()) {
+            throw new IllegalArgumentException("The checkpoint was saved with " + checkpoint.getBallTypeCount()
+                    + " ball types, the game has " + this.ballTypeRegistry.size());
+        }
 
-                if (!tasksWereIssued.get()) {
-                    tasksWereIssued.set(true);
-                }
+        setArenaLayout(checkpoint.getLayout());
+        this.tick = checkpoint.getTick();
+        this.powerUpManager.reset();
+        this.particleSystem.clear();
+        this.statistics.reset(this.arena.getPaddles().size());
+        for (BallModel ball : this.balls) {
+            notifyBallRemoved(ball);
+        }
+        this.ballPoolService.returnBalls(this.balls);
+        this.balls.clear();
+
+        this.currentLevel = checkpoint.getLevel();
+        this.elapsedSeconds = checkpoint.getElapsedSeconds();
+        this.hardMode = checkpoint.isHardMode();
+        this.random.setState(checkpoint.getRandomState());
+        recordLevelChange();
+        for (int i = 0; i < this.arena.getPaddles().size(); i++) {
+            checkpoint.restorePaddle(i, this.arena.getPaddles().get(i));
+        }
+
+        refillBallPools(checkpoint);
+        this.powerUpManager.ensurePowerUpSupply();
+        awaitProducerFutures();
+        for (int i = 0; i < checkpoint.getBallCount(); i++) {
+            BallType ballType = this.ballTypeRegistry.getBallType(checkpoint.getBallTypeId(i));
+            BallModel ball = this.ballPoolService.consumeBall(ballType);
+            if (ball == null) {
+                ball = new BallModel(this, ballType);
+            }
+            checkpoint.restoreBall(i, ball);
+            addBallToGame(ball);
+        }
+        ensureBallSupply();
+    }
+
+    /**
+     * Issues producer tasks for the balls of each type a checkpoint needs beyond those available in the pools or
+     * in production, as far as the pools can hold them.
+     *
+     * @param checkpoint The checkpoint.
+     */
+    private void refillBallPools(final GameCheckpoint checkpoint) {
+        int[] neededBalls = new int[this.ballTypeRegistry.size()];
+        for (int i = 0; i < checkpoint.getBallCount(); i++) {
+            neededBalls[checkpoint.getBallTypeId(i)]++;
+        }
+
+        for (BallType ballType : this.ballTypeRegistry.getBallTypes()) {
+            int needed = Math.min(neededBalls[ballType.getId()], Constants.BALLPOOL_CAPACITY);
+            int missing = needed - this.ballPoolService.getAmountOfAvailableBalls(ballType)
+                    - this.ballPoolService.getAmountOfBallsInProduction(ballType);
+            for (int i = 0; i < missing; i++) {
+                this.threadPoolManager.execute(new ProducerTask(this.ballPoolService, ballType.getId()));
             }
-        });
+        }
+    }
 
-        return tasksWereIssued.get();
+    /**
+     * Ensures that there is a minimum amount of balls of each type in the ball pools, counting the balls already
+     * in production, so a refill under way is not issued again.
+     */
+    private void ensureBallSupply() {
+        for (BallType ballType : this.ballTypeRegistry.getBallTypes()) {
+            int suppliedBalls = ballPoolService.getAmountOfAvailableBalls(ballType)
+                    + ballPoolService.getAmountOfBallsInProduction(ballType);
+            if (suppliedBalls < Constants.BALLPOOL_MINIMUM_BALLS) {
+                for (int i = 0; i < Constants.BALLPOOL_NEW_BALLS_BATCH_AMOUNT; i++) {
+                    threadPoolManager.execute(new ProducerTask(ballPoolService, ballType.getId()));
+                }
+            }
+        }
     }
 
     /**
-     * Waits for all producer tasks to be completed.
+     * Waits for all producer tasks issued so far to be completed, and forgets them. Emits a ProducerBatchEvent
+     * when a flight recording enables it.
      */
     private void awaitProducerFutures() {
-        for (Future<?> future : completedProducerTasks) {
+        if (this.pendingProducerTasks.isEmpty()) {
+            return;
+        }
+
+        ProducerBatchEvent batchEvent = new ProducerBatchEvent();
+        batchEvent.begin();
+        int tasks = 0;
+        int failedTasks = 0;
+        Future<?> future;
+        while ((future = this.pendingProducerTasks.poll()) != null) {
+            tasks++;
             try {
                 future.get();
             } catch (InterruptedException | ExecutionException e) {
+                failedTasks++;
                 e.printStackTrace();
             }
         }
+        batchEvent.end();
+        if (batchEvent.shouldCommit()) {
+            batchEvent.tasks = tasks;
+            batchEvent.failedTasks = failedTasks;
+            batchEvent.commit();
+        }
+    }
+
+    /**
+     * Journals the current level, and emits a LevelChangeEvent when a flight recording enables it.
+     */
+    private void recordLevelChange() {
+        this.eventJournal.append(EventType.LEVEL_CHANGE, this.tick, this.currentLevel, 0, 0, 0, 0);
+        LevelChangeEvent levelEvent = new LevelChangeEvent();
+        if (levelEvent.shouldCommit()) {
+            levelEvent.tick = this.tick;
+            levelEvent.level = this.currentLevel;
+            levelEvent.hardMode = this.hardMode;
+            levelEvent.commit();
+        }
     }
 
     /**
@@ -146,29 +265,103 @@ public class PongModel implements Subject {
     private void addBallsToGame() {
         if (this.hardMode) {
             this.hardBallFactory.setLevel(this.currentLevel);
-            balls.add(this.hardBallFactory.createBallOfRandomSize());
-            balls.add(this.hardBallFactory.createBallOfRandomSize());
+            addBallToGame(this.hardBallFactory.createBallOfRandomSize());
+            addBallToGame(this.hardBallFactory.createBallOfRandomSize());
         } else {
             this.easyBallFactory.setLevel(this.currentLevel);
-            balls.add(this.easyBallFactory.createBallOfRandomSize());
+            addBallToGame(this.easyBallFactory.createBallOfRandomSize());
         }
     }
 
     /**
-     * Moves the balls in the game.
+     * Adds bonus balls to the game, the same amount as at the start of a level.
+     */
+    public void addBonusBalls() {
+        ensureBallSupply();
+        addBallsToGame();
+    }
+
+    /**
+     * Adds a ball to the game, records its spawn in the event journal and the statistics and tells the ball
+     * listener.
+     *
+     * @param ball The ball to add.
+     */
+    private void addBallToGame(final BallModel ball) {
+        this.balls.add(ball);
+        this.statistics.recordBallsInPlay(this.balls.size());
+        this.eventJournal.append(EventType.SPAWN, this.tick, ball.getType().getId(), ball.getX(), ball.getY(),
+                ball.getXvelocity(), ball.getYvelocity());
+        notifyBallChanged(ball);
+    }
+
+    /**
+     * Set the listener told about balls changing course, or null for none.
+     *
+     * @param ballListener The ball listener.
+     */
+    public void setBallListener(final BallListener ballListener) {
+        this.ballListener = ballListener;
+    }
+
+    /**
+     * Tells the ball listener, if any, that a ball was added to the game or bounced.
+     *
+     * @param ball The ball.
+     */
+    public void notifyBallChanged(final BallModel ball) {
+        if (this.ballListener != null) {
+            this.ballListener.ballChanged(ball);
+        }
+    }
+
+    /**
+     * Tells the ball listener, if any, that a ball was removed from the game.
+     *
+     * @param ball The ball.
+     */
+    private void notifyBallRemoved(final BallModel ball) {
+        if (this.ballListener != null) {
+            this.ballListener.ballRemoved(ball);
+        }
+    }
+
+    /**
+     * Moves the balls in the game, and counts the ball moves. While slow motion is active, the balls only move every
+     * other tick.
      */
     public void moveBalls() {
-        for (AbstractBallModel ball : this.balls) {
+        if (this.powerUpManager.isSlowMotionActive() && this.tick % 2 == 1) {
+            return;
+        }
+
+        this.ballMoves++;
+        for (BallModel ball : this.balls) {
             ball.moveBall();
         }
     }
 
+    /**
+     * Updates the power-ups in the game.
+     */
+    public void updatePowerUps() {
+        this.powerUpManager.update();
+    }
+
+    /**
+     * Updates the particle effects in the game.
+     */
+    public void updateParticles() {
+        this.particleSystem.update();
+    }
+
     /**
      * Move the paddles in the game.
      */
     public void movePaddles() {
-        this.paddle1.movePaddle();
-        this.paddle2.movePaddle();
+        for (PaddleModel paddle : this.arena.getPaddles()) {
+            paddle.movePaddle();
+        }
     }
 
     /**
@@ -192,17 +385,22 @@ public class PongModel implements Subject {
         if (shouldBeHardMode) {
             this.hardMode = true;
         }
+        recordLevelChange();
 
         ensureBallSupply();
+        this.powerUpManager.ensurePowerUpSupply();
         addBallsToGame();
     }
 
     /**
-     * Returns all missed to the ballPoolService.
+     * Returns all missed to the ballPoolService, and tells the ball listener they were removed.
      */
     public void returnMissedBallsToPool() {
-        ArrayList<AbstractBallModel> missedBalls = collectMissedBalls();
+        ArrayList<BallModel> missedBalls = collectMissedBalls();
         balls.removeAll(missedBalls);
+        for (BallModel ball : missedBalls) {
+            notifyBallRemoved(ball);
+        }
         ballPoolService.returnBalls(missedBalls);
     }
 
@@ -211,17 +409,44 @@ public class PongModel implements Subject {
      *
      * @return The missed balls
      */
-    private ArrayList<AbstractBallModel> collectMissedBalls() {
+    private ArrayList<BallModel> collectMissedBalls() {
         return this.balls.stream()
-                .filter(AbstractBallModel::wasMissed)
+                .filter(BallModel::wasMissed)
                 .collect(Collectors.toCollection(ArrayList::new));
     }
 
     /**
-     * Marks the starting time of the game and stores it in gameTimer.
+     * Advances the game to its next tick. Called once at the start of every game tick.
+     */
+    public void advanceTick() {
+        this.tick++;
+    }
+
+    /**
+     * Get the current tick of the game.
+     *
+     * @return The current tick.
+     */
+    public long getTick() {
+        return this.tick;
+    }
+
+    /**
+     * Get the amount of ticks the balls have moved in since the model was created. Ticks skipped by slow motion are
+     * not counted, so a ball not changing course moves by its velocity times the growth of this count.
+     *
+     * @return The ball moves.
+     */
+    public long getBallMoves() {
+        return this.ballMoves;
+    }
+
+    /**
+     * Marks the starting time of the game and stores it in gameTimer. A resumed game is started as long ago as
+     * the elapsed time it was resumed with.
      */
     public void startGameTimer() {
-        this.gameTimer = System.currentTimeMillis();
+        this.gameTimer = System.currentTimeMillis() - this.elapsedSeconds * 1000L;
     }
 
     /**
@@ -275,16 +500,13 @@ public class PongModel implements Subject {
     }
 
     /**
-     * Writes the result of a game to a file.
+     * Writes the result and statistics of a game to a file.
      *
      * @param resultWriter The resultWriter used for writing the results.
+     * @return A future completed once the result is written, or completed exceptionally if it could not be.
      */
-    public void writeResult(final AbstractResultWriter resultWriter) {
-        try {
-            resultWriter.write(this.currentLevel, this.elapsedSeconds);
-        } catch (FileNotFoundException e) {
-            e.printStackTrace();
-        }
+    public CompletableFuture<Void> writeResult(final AbstractResultWriter resultWriter) {
+        return resultWriter.write(this.currentLevel, this.elapsedSeconds, this.statistics);
     }
 
     /**
@@ -305,6 +527,15 @@ public class PongModel implements Subject {
         return this.currentLevel;
     }
 
+    /**
+     * Check if the game is in hard mode.
+     *
+     * @return The game is in hard mode.
+     */
+    public boolean isHardMode() {
+        return this.hardMode;
+    }
+
     /**
      * Check if it is game over.
      *
@@ -315,21 +546,33 @@ public class PongModel implements Subject {
     }
 
     /**
-     * Get paddle1 of the game.
+     * Set the layout of the paddles for the next game. Must not be called while a game is running.
+     *
+     * @param layout The layout of the paddles.
+     * @throws IllegalArgumentException If the paddles of the layout do not fit on the sides of the game.
+     */
+    public void setArenaLayout(final ArenaLayout layout) {
+        if (this.arena.getLayout() != layout) {
+            this.arena = new Arena(layout, this.bounds.get(Bound.X), this.bounds.get(Bound.Y));
+        }
+    }
+
+    /**
+     * Get the arena of the game.
      *
-     * @return paddle1.
+     * @return The arena.
      */
-    public PaddleModel getPaddle1() {
-        return paddle1;
+    public Arena getArena() {
+        return arena;
     }
 
     /**
-     * Get paddle2 of the game.
+     * Get the paddles of the game, ordered by number.
      *
-     * @return paddle1.
+     * @return The paddles.
      */
-    public PaddleModel getPaddle2() {
-        return paddle2;
+    public List<PaddleModel> getPaddles() {
+        return this.arena.getPaddles();
     }
 
     /**
@@ -337,10 +580,55 @@ public class PongModel implements Subject {
      *
      * @return The balls in the game.
      */
-    public List<AbstractBallModel> getBalls() {
+    public List<BallModel> getBalls() {
         return balls;
     }
 
+    /**
+     * Get the power-ups active in the game.
+     *
+     * @return The active power-ups.
+     */
+    public List<PowerUpModel> getPowerUps() {
+        return this.powerUpManager.getActivePowerUps();
+    }
+
+    /**
+     * Get the power-up manager of the game.
+     *
+     * @return The power-up manager.
+     */
+    public PowerUpManager getPowerUpManager() {
+        return powerUpManager;
+    }
+
+    /**
+     * Get the source of randomness of the game.
+     *
+     * @return The random source.
+     */
+    public GameRandom getRandom() {
+        return random;
+    }
+
+    /**
+     * Get the statistics of the current game.
+     *
+     * @return The statistics.
+     */
+    public GameStatistics getStatistics() {
+        return statistics;
+    }
+
+    /**
+     * Get the particle system of the game.
+     *
+     * @return The particle system.
+     */
+    public ParticleSystem getParticleSystem() {
+        return particleSystem;
+    }
+
     /**
      * Get the threadPoolManager.
      *
@@ -359,6 +647,24 @@ public class PongModel implements Subject {
         return bounds;
     }
 
+    /**
+     * Get the event journal of the game.
+     *
+     * @return The event journal.
+     */
+    public EventJournal getEventJournal() {
+        return eventJournal;
+    }
+
+    /**
+     * Get the registry of the ball types in the game.
+     *
+     * @return The ballTypeRegistry.
+     */
+    public BallTypeRegistry getBallTypeRegistry() {
+        return ballTypeRegistry;
+    }
+
     /**
      * Get the ballPoolService of the game.
      *
@@ -1,38 +1,32 @@
 package models;
 
-import java.lang.reflect.InvocationTargetException;
-import models.balls.AbstractBallModel;
-
 /**
- * A task that produces a ball for the BallPoolService. Is a part of the producer/consumer design pattern.
+ * A task that produces an entity for an EntityPoolService. Is a part of the producer/consumer design pattern.
  */
 public class ProducerTask implements Runnable {
 
-    private final BallPoolService ballPoolService;
-    private final Class<? extends AbstractBallModel> ballType;
+    private final EntityPoolService<?> poolService;
+    private final int kind;
 
     /**
-     * Constructor. Initializes instance fields.
+     * Constructor. Initializes instance fields, and counts the entity as in production until the task has run.
      *
-     * @param ballPoolService The ballPoolService to consumer a ball from.
-     * @param ballType The ball type for this task.
+     * @param poolService The poolService to produce an entity for.
+     * @param kind The kind of entity for this task.
      */
-    public ProducerTask(final BallPoolService ballPoolService, final Class<? extends AbstractBallModel> ballType) {
-        this.ballPoolService = ballPoolService;
-        this.ballType = ballType;
+    public ProducerTask(final EntityPoolService<?> poolService, final int kind) {
+        this.poolService = poolService;
+        this.kind = kind;
+        this.poolService.beginProduction(kind);
     }
 
     /**
      * {@inheritDoc}
      *
-     * Produces a ball for the ballPoolService
+     * Produces an entity for the poolService
      */
     @Override
     public void run() {
-        try {
-            this.ballPoolService.produceBall(this.ballType);
-        } catch (InvocationTargetException | InstantiationException | IllegalAccessException e) {
-            e.printStackTrace();
-        }
+        this.poolService.completeProduction(this.kind);
     }
 }
@@ -0,0 +1,19 @@
+package models;
+
+/**
+ * The four sides of the game. Paddles guard a side, and a ball leaving the game through a side with paddles is missed.
+ *
+ * @author Samuel Thand
+ */
+public enum Side {
+    LEFT, RIGHT, TOP, BOTTOM;
+
+    /**
+     * Check if paddles on this side move along the Y axis.
+     *
+     * @return Paddles on this side move along the Y axis.
+     */
+    public boolean movesAlongY() {
+        return this == LEFT || this == RIGHT;
+    }
+}
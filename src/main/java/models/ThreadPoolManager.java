@@ -1,7 +1,7 @@
 package models;
 
 import constants.Constants;
-import java.util.List;
+import java.util.Queue;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.Callable;
 import java.util.concurrent.Executor;
@@ -18,21 +18,22 @@ public class ThreadPoolManager implements Executor {
 
     private final ThreadPoolExecutor producerThreadPool;
     private final ThreadPoolExecutor consumerThreadPool;
-    private final List<Future<?>> completedVoidTasks;
+    private final Queue<Future<?>> pendingVoidTasks;
 
     /**
-     * Constructor. Creates two ThreadPoolExecutors and initializes completedVoidTasks.
+     * Constructor. Creates two ThreadPoolExecutors and initializes pendingVoidTasks.
      *
-     * @param completedVoidTasks The list where completed tasks are stored.
+     * @param pendingVoidTasks The queue where the futures of scheduled Runnable tasks are stored, until they are
+     *                         waited for. Must be thread safe if tasks are scheduled from more than one thread.
      */
-    public ThreadPoolManager(final List<Future<?>> completedVoidTasks) {
+    public ThreadPoolManager(final Queue<Future<?>> pendingVoidTasks) {
         BlockingQueue<Runnable> producerTaskQueue = new LinkedBlockingQueue<>();
         BlockingQueue<Runnable> consumerTaskQueue = new LinkedBlockingQueue<>();
         this.producerThreadPool = new ThreadPoolExecutor(Constants.THREAD_POOL_CORE_SIZE, Constants.THREAD_POOL_MAX_THREADS,
                 1, TimeUnit.SECONDS, producerTaskQueue);
         this.consumerThreadPool = new ThreadPoolExecutor(Constants.THREAD_POOL_CORE_SIZE, Constants.THREAD_POOL_MAX_THREADS,
                 1, TimeUnit.SECONDS, consumerTaskQueue);
-        this.completedVoidTasks = completedVoidTasks;
+        this.pendingVoidTasks = pendingVoidTasks;
     }
 
     /**
@@ -45,16 +46,43 @@ public class ThreadPoolManager implements Executor {
     @Override
     public void execute(final Runnable task) {
         Future<?> futureCompletion = this.producerThreadPool.submit(task);
-        completedVoidTasks.add(futureCompletion);
+        pendingVoidTasks.add(futureCompletion);
     }
 
     /**
      * Schedule a Callable task to be executed by a thread pool.
      *
      * @param task The task to be executed by a thread pool.
+     * @param <T> The type of the result of the task.
      * @return The future result of the task.
      */
-    public Future<?> executeCallable(final Callable<?> task) {
+    public <T> Future<T> executeCallable(final Callable<T> task) {
         return this.consumerThreadPool.submit(task);
     }
+
+    /**
+     * Get the amount of producer tasks waiting for a thread. Does not lock.
+     *
+     * @return The depth of the producer task queue.
+     */
+    public int getProducerQueueDepth() {
+        return this.producerThreadPool.getQueue().size();
+    }
+
+    /**
+     * Get the amount of consumer tasks waiting for a thread. Does not lock.
+     *
+     * @return The depth of the consumer task queue.
+     */
+    public int getConsumerQueueDepth() {
+        return this.consumerThreadPool.getQueue().size();
+    }
+
+    /**
+     * Shuts both thread pools down. Tasks already scheduled are still executed, new tasks are rejected.
+     */
+    public void shutdown() {
+        this.producerThreadPool.shutdown();
+        this.consumerThreadPool.shutdown();
+    }
 }
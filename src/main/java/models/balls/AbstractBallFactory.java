@@ -1,19 +1,25 @@
 package models.balls;
 
 import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import metrics.jfr.BallSpawnEvent;
+import metrics.jfr.PoolStarvationEvent;
 import models.BallPoolService;
 import models.Bound;
+import models.ConsumerTask;
 import models.PongModel;
 import models.ThreadPoolManager;
 
 /**
- * A factory that creates AbstractBallModels for the game. Provides an implementation for setting the level of the factory,
- * and randomizing ball creation. Defers implementations of the actual ball creation methods, allowing concrete subclasses
- * to create multiple balls of the same variant. Is a part of the implementation of the Abstract Factory, and Factory Method
- * design patterns.
+ * A factory that creates BallModels for the game. Provides an implementation for setting the level of the factory,
+ * randomizing the type of created balls and consuming them from the ball pools. Defers the choice of difficulty tier
+ * to concrete subclasses, allowing each of them to create balls of the same variant. Is a part of the implementation
+ * of the Abstract Factory, and Factory Method design patterns.
  *
  * @author Samuel Thand
  */
+@SuppressWarnings("BusyWait")
 public abstract class AbstractBallFactory {
 
    protected final PongModel model;
@@ -23,11 +29,12 @@ public abstract class AbstractBallFactory {
    protected final int middleX;
    protected final int middleY;
    protected final BallPoolService ballPoolService;
+   protected final BallTypeRegistry ballTypeRegistry;
    protected final ThreadPoolManager threadPoolManager;
 
    /**
     * Constructor. Initializes instance fields. Calculates the starting positions of the balls,
-    * middleX and middleY, and gets the BallPoolService and ThreadPool from the model.
+    * middleX and middleY, and gets the BallPoolService, BallTypeRegistry and ThreadPool from the model.
     *
     * @param model The game model
     */
@@ -35,10 +42,11 @@ public abstract class AbstractBallFactory {
       this.model = model;
       this.level = 1;
       this.waitInterval = 1000;
-      this.random = new Random();
+      this.random = this.model.getRandom();
       this.middleX = this.model.getBounds().get(Bound.X) / 2;
       this.middleY = this.model.getBounds().get(Bound.Y) / 2;
       this.ballPoolService = this.model.getBallPoolService();
+      this.ballTypeRegistry = this.model.getBallTypeRegistry();
       this.threadPoolManager = this.model.getThreadPoolManager();
    }
 
@@ -52,37 +60,80 @@ public abstract class AbstractBallFactory {
    }
 
    /**
-    * Creates a ball of a random size.
+    * Creates a ball of a random type within the difficulty tier of this factory, picked by the spawn weights
+    * of the types.
     *
-    * @return A ball of a random size.
+    * @return A ball of a random type.
     */
-   public AbstractBallModel createBallOfRandomSize() {
-      return switch (random.nextInt(3)) {
-         case 0 -> createBigBall();
-         case 1 -> createMediumBall();
-         case 2 -> createSmallBall();
-         default -> throw new IllegalStateException("Unexpected value: " + random.nextInt(2));
-      };
+   public BallModel createBallOfRandomSize() {
+      return createBall(this.ballTypeRegistry.pickRandomType(getDifficulty(), this.random));
    }
 
    /**
-    * Creates a big ball.
+    * Creates a ball of a type. Waits until the pool of the type has a ball available, consumes it and places it
+    * in the middle of the game, moving in a random diagonal direction with a speed given by the level. Emits a
+    * BallSpawnEvent, and a PoolStarvationEvent if the pool was empty, when a flight recording enables them.
     *
-    * @return A big ball.
+    * @param ballType The type of the ball.
+    * @return A ball of the type.
     */
-   protected abstract AbstractBallModel createBigBall();
+   public BallModel createBall(final BallType ballType) {
+      BallSpawnEvent spawnEvent = new BallSpawnEvent();
+      spawnEvent.begin();
+      int xVelocity = this.level * (random.nextBoolean() ? 1 : -1);
+      int yVelocity = this.level * (random.nextBoolean() ? 1 : -1);
 
-   /**
-    * Creates a medium ball.
-    *
-    * @return A medium ball.
-    */
-   protected abstract AbstractBallModel createMediumBall();
+      long poolWait = 0;
+      if (ballPoolService.isBallPoolEmpty(ballType)) {
+         long waitStart = System.nanoTime();
+         PoolStarvationEvent starvationEvent = new PoolStarvationEvent();
+         starvationEvent.begin();
+         int sleeps = 0;
+         while (ballPoolService.isBallPoolEmpty(ballType)) {
+            try {
+               Thread.sleep(this.waitInterval);
+            } catch (InterruptedException e) {
+               e.printStackTrace();
+            }
+            sleeps++;
+         }
+         poolWait = System.nanoTime() - waitStart;
+         starvationEvent.end();
+         if (starvationEvent.shouldCommit()) {
+            starvationEvent.ballType = ballType.getName();
+            starvationEvent.sleeps = sleeps;
+            starvationEvent.commit();
+         }
+      }
+
+      Future<BallModel> futureBall = threadPoolManager.executeCallable(
+              new ConsumerTask<>(this.ballPoolService, ballType.getId()));
+
+      BallModel ball = null;
+      try {
+         ball = futureBall.get();
+         ball.setX(this.middleX);
+         ball.setY(this.middleY);
+         ball.setXvelocity(xVelocity);
+         ball.setYvelocity(yVelocity);
+      } catch (InterruptedException | ExecutionException | NullPointerException e) {
+         e.printStackTrace();
+      }
+
+      spawnEvent.end();
+      if (spawnEvent.shouldCommit()) {
+         spawnEvent.ballType = ballType.getName();
+         spawnEvent.level = this.level;
+         spawnEvent.poolWait = poolWait;
+         spawnEvent.commit();
+      }
+      return ball;
+   }
 
    /**
-    * Creates a small ball.
+    * Get the difficulty tier of the balls created by this factory.
     *
-    * @return A medium ball.
+    * @return The difficulty tier.
     */
-   protected abstract AbstractBallModel createSmallBall();
+   protected abstract BallDifficulty getDifficulty();
 }
@@ -0,0 +1,10 @@
+package models.balls;
+
+/**
+ * The difficulty tiers balls are spawned in. Easy balls are spawned during the easy levels, hard balls after them.
+ *
+ * @author Samuel Thand
+ */
+public enum BallDifficulty {
+    EASY, HARD
+}
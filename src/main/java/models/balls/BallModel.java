@@ -0,0 +1,384 @@
+package models.balls;
+
+import constants.Constants;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import models.Arena;
+import models.Bound;
+import models.GameRandom;
+import models.PaddleModel;
+import models.PongModel;
+import models.Side;
+import models.journal.EventType;
+
+/**
+ * The model of a ball. Contains all information about a ball existing in the application. The data shared by all
+ * balls of the same kind is held by their BallType.
+ *
+ * @author Samuel Thand
+ */
+public class BallModel {
+
+    private static final AtomicInteger NEXT_ID = new AtomicInteger();
+
+    private final int id;
+    private int x;
+    private int y;
+    private final BallType type;
+    private final int sideLength;
+    private final int randomnessFactor;
+    private int yVelocity;
+    private int xVelocity;
+    private final Map<Bound, Integer> bounds;
+    private boolean wasMissed;
+    private int rally;
+    private final PongModel model;
+    private final GameRandom random;
+
+    /**
+     * Constructor. Initializes instance fields, and gives this ball the next free id.
+     *
+     * @param model The model of the game.
+     * @param type The type of this ball.
+     */
+    public BallModel(final PongModel model, final BallType type) {
+        this.id = NEXT_ID.getAndIncrement();
+        this.model = model;
+        this.type = type;
+        this.sideLength = type.getSideLength();
+        this.randomnessFactor = type.getRandomnessFactor();
+        this.bounds = this.model.getBounds();
+        this.random = model.getRandom();
+    }
+
+    /**
+     * Get the id of this ball, unique among all balls and kept while it is pooled and reused.
+     *
+     * @return The id.
+     */
+    public int getId() {
+        return id;
+    }
+
+    /**
+     * Get the X of this ball.
+     *
+     * @return X of this ball.
+     */
+    public int getX() {
+        return x;
+    }
+
+    /**
+     * Get the Y of this ball.
+     *
+     * @return Y of this ball.
+     */
+    public int getY() {
+        return y;
+    }
+
+    /**
+     * Get the type of this ball.
+     *
+     * @return The type of this ball.
+     */
+    public BallType getType() {
+        return type;
+    }
+
+    /**
+     * Get the sideLength of this ball.
+     *
+     * @return sideLength of this ball.
+     */
+    public int getSideLength() {
+        return sideLength;
+    }
+
+    /**
+     * Get the X velocity of this ball.
+     *
+     * @return X velocity of this ball.
+     */
+    public int getXvelocity() {
+        return xVelocity;
+    }
+
+    /**
+     * Get the Y velocity of this ball.
+     *
+     * @return Y velocity of this ball.
+     */
+    public int getYvelocity() {
+        return yVelocity;
+    }
+
+    /**
+     * Check if this ball was missed.
+     *
+     * @return This ball was missed.
+     */
+    public boolean wasMissed() {
+        return wasMissed;
+    }
+
+    /**
+     * Get the paddle hits of this ball since it was last missed.
+     *
+     * @return The rally of this ball.
+     */
+    public int getRally() {
+        return rally;
+    }
+
+    /**
+     * Set the paddle hits of this ball since it was last missed.
+     *
+     * @param rally The new rally.
+     */
+    public void setRally(final int rally) {
+        this.rally = rally;
+    }
+
+    /**
+     * Set the X of this ball.
+     *
+     * @param x The new X
+     */
+    public void setX(final int x) {
+        this.x = x;
+    }
+
+    /**
+     * Set the Y of this ball.
+     *
+     * @param y The new y
+     */
+    public void setY(final int y) {
+        this.y = y;
+    }
+
+    /**
+     * Set the X velocity of this ball.
+     *
+     * @param xVelocity The new X velocity
+     */
+    public void setXvelocity(final int xVelocity) {
+        this.xVelocity = xVelocity;
+    }
+
+    /**
+     * Set the Y velocity of this ball.
+     *
+     * @param yVelocity The new Y velocity
+     */
+    public void setYvelocity(final int yVelocity) {
+        this.yVelocity = yVelocity;
+    }
+
+    /**
+     * Moves this ball. A ball leaving the game through a side guarded by paddles is missed, on the other sides
+     * it bounces.
+     */
+    public void moveBall() {
+        int nextX = this.x + xVelocity;
+        int nextY = this.y + yVelocity;
+        Arena arena = this.model.getArena();
+
+        this.wasMissed = detectMiss(arena, nextX, nextY);
+        if (this.wasMissed) {
+            return;
+        }
+
+        if (!(this.x == nextX)) {
+            detectXbounce(arena, nextX);
+        }
+
+        if (!(this.y == nextY)) {
+            detectYbounce(arena, nextY);
+        }
+
+        detectPaddleHit(arena);
+    }
+
+    /**
+     * Detects if the ball is outside the bounds of a side guarded by paddles, meaning it was missed.
+     *
+     * @param arena The arena of the game.
+     * @param nextX The next X position for the ball.
+     * @param nextY The next Y position for the ball.
+     * @return The ball was missed.
+     */
+    private boolean detectMiss(final Arena arena, final int nextX, final int nextY) {
+        boolean miss = arena.isGoal(Side.LEFT) && nextX < -this.sideLength
+                || arena.isGoal(Side.RIGHT) && nextX > this.bounds.get(Bound.X)
+                || arena.isGoal(Side.TOP) && nextY < -this.sideLength
+                || arena.isGoal(Side.BOTTOM) && nextY > this.bounds.get(Bound.Y);
+
+        if (miss) {
+            recordEvent(EventType.MISS, this.type.getId());
+            this.model.getStatistics().recordMiss(this.type.getId());
+            this.rally = 0;
+            int halfSideLength = this.sideLength / 2;
+            int missX = Math.max(0, Math.min(this.x + halfSideLength, this.bounds.get(Bound.X) - 1));
+            int missY = Math.max(0, Math.min(this.y + halfSideLength, this.bounds.get(Bound.Y) - 1));
+            emitParticles(missX, missY, Constants.PARTICLES_PER_MISS, 0);
+        }
+
+        return miss;
+    }
+
+    /**
+     * Moves the ball along the X axis, and detects if it bounces on the left or right wall of the game.
+     * Balls only bounce on walls without paddles.
+     *
+     * @param arena The arena of the game.
+     * @param nextX The next X position for the ball.
+     */
+    private void detectXbounce(final Arena arena, final int nextX) {
+        int rightWall = this.bounds.get(Bound.X);
+
+        if (nextX < 0 && !arena.isGoal(Side.LEFT)) {
+            setX(0);
+            setXvelocity(-this.xVelocity);
+            randomiseYvelocity();
+            recordWallBounce();
+        } else if (nextX + this.sideLength > rightWall && !arena.isGoal(Side.RIGHT)) {
+            setX(rightWall - this.sideLength);
+            setXvelocity(-this.xVelocity);
+            randomiseYvelocity();
+            recordWallBounce();
+        } else {
+            setX(nextX);
+        }
+    }
+
+    /**
+     * Moves the ball along the Y axis, and detects if it bounces on the top or floor of the game.
+     * Balls only bounce on walls without paddles.
+     *
+     * @param arena The arena of the game.
+     * @param nextY The next Y position for the ball.
+     */
+    private void detectYbounce(final Arena arena, final int nextY) {
+        int floor = this.bounds.get(Bound.Y);
+
+        if (nextY < 0 && !arena.isGoal(Side.TOP)) {
+            setY(0);
+            setYvelocity(-this.yVelocity);
+            randomiseXvelocity();
+            recordWallBounce();
+        } else if (nextY + this.sideLength > floor && !arena.isGoal(Side.BOTTOM)) {
+            setY(floor - this.sideLength);
+            setYvelocity(-this.yVelocity);
+            randomiseXvelocity();
+            recordWallBounce();
+        } else {
+            setY(nextY);
+        }
+    }
+
+    /**
+     * Randomizes the X velocity of this ball.
+     */
+    private void randomiseXvelocity() {
+        int randomness = (random.nextInt(2) - 1) * this.randomnessFactor;
+        setXvelocity(this.xVelocity + randomness);
+    }
+
+    /**
+     * Detects if the ball has hit a paddle. Only the sides the ball is heading towards are checked.
+     *
+     * @param arena The arena of the game.
+     */
+    private void detectPaddleHit(final Arena arena) {
+        if (this.xVelocity < 0) {
+            detectPaddleHit(arena, Side.LEFT);
+        } else if (this.xVelocity > 0) {
+            detectPaddleHit(arena, Side.RIGHT);
+        }
+
+        if (this.yVelocity < 0) {
+            detectPaddleHit(arena, Side.TOP);
+        } else if (this.yVelocity > 0) {
+            detectPaddleHit(arena, Side.BOTTOM);
+        }
+    }
+
+    /**
+     * Detects if the ball has hit a paddle on a side, and bounces it off the front of the paddle.
+     *
+     * @param arena The arena of the game.
+     * @param side The side the ball is heading towards.
+     */
+    private void detectPaddleHit(final Arena arena, final Side side) {
+        PaddleModel paddle = arena.findPaddleHit(side, this.x, this.y, this.sideLength);
+        if (paddle == null) {
+            return;
+        }
+
+        switch (side) {
+            case LEFT -> setX(paddle.getX() + paddle.getWidth());
+            case RIGHT -> setX(paddle.getX() - this.sideLength);
+            case TOP -> setY(paddle.getY() + paddle.getHeight());
+            case BOTTOM -> setY(paddle.getY() - this.sideLength);
+            default -> throw new IllegalStateException("Unexpected value: " + side);
+        }
+
+        if (side.movesAlongY()) {
+            setXvelocity(-this.xVelocity);
+            randomiseYvelocity();
+        } else {
+            setYvelocity(-this.yVelocity);
+            randomiseXvelocity();
+        }
+        recordEvent(EventType.PADDLE_HIT, paddle.getNumber());
+        this.rally++;
+        this.model.getStatistics().recordPaddleHit(paddle.getNumber(), this.rally);
+        int halfSideLength = this.sideLength / 2;
+        emitParticles(this.x + halfSideLength, this.y + halfSideLength, Constants.PARTICLES_PER_PADDLE_HIT,
+                paddle.getNumber());
+    }
+
+    /**
+     * Emits a burst of particles in the particle system of the game.
+     *
+     * @param originX The X of the burst.
+     * @param originY The Y of the burst.
+     * @param amount The amount of particles.
+     * @param particleKind The kind of the particles, 0 for a miss, else the number of the paddle hit.
+     */
+    private void emitParticles(final int originX, final int originY, final int amount, final int particleKind) {
+        this.model.getParticleSystem().emitBurst(originX, originY, amount, particleKind, Constants.PARTICLE_SPEED);
+    }
+
+    /**
+     * Records a wall bounce of this ball in the event journal and the statistics of the game.
+     */
+    private void recordWallBounce() {
+        recordEvent(EventType.WALL_BOUNCE, this.type.getId());
+        this.model.getStatistics().recordWallBounce();
+    }
+
+    /**
+     * Records an event involving this ball in the event journal of the game, and tells the ball listener of the
+     * game that this ball changed.
+     *
+     * @param type The type of the event.
+     * @param subject The subject of the event.
+     */
+    private void recordEvent(final EventType type, final int subject) {
+        this.model.getEventJournal().append(type, this.model.getTick(), subject, this.x, this.y,
+                this.xVelocity, this.yVelocity);
+        this.model.notifyBallChanged(this);
+    }
+
+    /**
+     * Randomizes the Y velocity of this ball.
+     */
+    private void randomiseYvelocity() {
+        int randomness = (random.nextInt(2) - 1) * this.randomnessFactor;
+        setYvelocity(this.yVelocity + randomness);
+    }
+}
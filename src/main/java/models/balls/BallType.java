@@ -0,0 +1,101 @@
+package models.balls;
+
+/**
+ * The definition of a kind of ball. Holds the data shared by all balls of the same kind, and is shared between them
+ * as a flyweight. Ball types are defined in the ball type configuration, and loaded by the BallTypeRegistry.
+ *
+ * @author Samuel Thand
+ */
+public final class BallType {
+
+    private final int id;
+    private final String name;
+    private final int sideLength;
+    private final int randomnessFactor;
+    private final BallDifficulty difficulty;
+    private final int spawnWeight;
+
+    /**
+     * Constructor. Initializes instance fields.
+     *
+     * @param id The id of the type, its index in the BallTypeRegistry.
+     * @param name The name of the type.
+     * @param sideLength The side length of balls of this type.
+     * @param randomnessFactor The randomness applied to the velocity of balls of this type when they bounce.
+     * @param difficulty The difficulty tier balls of this type are spawned in.
+     * @param spawnWeight The relative chance of spawning a ball of this type within its difficulty tier.
+     */
+    BallType(final int id, final String name, final int sideLength, final int randomnessFactor,
+             final BallDifficulty difficulty, final int spawnWeight) {
+        this.id = id;
+        this.name = name;
+        this.sideLength = sideLength;
+        this.randomnessFactor = randomnessFactor;
+        this.difficulty = difficulty;
+        this.spawnWeight = spawnWeight;
+    }
+
+    /**
+     * Get the id of this type.
+     *
+     * @return The id of this type.
+     */
+    public int getId() {
+        return id;
+    }
+
+    /**
+     * Get the name of this type.
+     *
+     * @return The name of this type.
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Get the side length of balls of this type.
+     *
+     * @return The side length.
+     */
+    public int getSideLength() {
+        return sideLength;
+    }
+
+    /**
+     * Get the randomness factor of balls of this type.
+     *
+     * @return The randomness factor.
+     */
+    public int getRandomnessFactor() {
+        return randomnessFactor;
+    }
+
+    /**
+     * Get the difficulty tier of this type.
+     *
+     * @return The difficulty tier.
+     */
+    public BallDifficulty getDifficulty() {
+        return difficulty;
+    }
+
+    /**
+     * Get the spawn weight of this type.
+     *
+     * @return The spawn weight.
+     */
+    public int getSpawnWeight() {
+        return spawnWeight;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @return The name of this type.
+     */
+    @Override
+    public String toString() {
+        return name;
+    }
+}
@@ -0,0 +1,223 @@
+package models.balls;
+
+import constants.Constants;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Random;
+
+/**
+ * The registry of all ball types in the game. Loads the ball types from a properties configuration, assigns each type
+ * a small integer id, and picks random types by their spawn weights within a difficulty tier.
+ *
+ * <p>The configuration lists the names of the types in {@code ball.types}, and defines each type by the properties
+ * {@code ball.<name>.size}, {@code ball.<name>.randomness}, {@code ball.<name>.difficulty} and
+ * {@code ball.<name>.weight}.
+ *
+ * @author Samuel Thand
+ */
+public final class BallTypeRegistry {
+
+    private static final String DEFAULT_CONFIGURATION = "/balltypes.properties";
+
+    private final List<BallType> ballTypes;
+    private final Map<BallDifficulty, BallType[]> typesByDifficulty;
+    private final Map<BallDifficulty, int[]> cumulativeWeightsByDifficulty;
+
+    /**
+     * Constructor. Initializes the ball types, and the spawn weights of each difficulty tier.
+     *
+     * @param ballTypes The ball types, ordered by id.
+     */
+    private BallTypeRegistry(final List<BallType> ballTypes) {
+        this.ballTypes = Collections.unmodifiableList(ballTypes);
+        this.typesByDifficulty = new EnumMap<>(BallDifficulty.class);
+        this.cumulativeWeightsByDifficulty = new EnumMap<>(BallDifficulty.class);
+
+        for (BallDifficulty difficulty : BallDifficulty.values()) {
+            BallType[] types = ballTypes.stream()
+                    .filter(type -> type.getDifficulty() == difficulty)
+                    .toArray(BallType[]::new);
+            int[] cumulativeWeights = new int[types.length];
+            int totalWeight = 0;
+            for (int i = 0; i < types.length; i++) {
+                totalWeight += types[i].getSpawnWeight();
+                cumulativeWeights[i] = totalWeight;
+            }
+
+            this.typesByDifficulty.put(difficulty, types);
+            this.cumulativeWeightsByDifficulty.put(difficulty, cumulativeWeights);
+        }
+    }
+
+    /**
+     * Loads the ball types from the configuration file given by the ball types system property, or from the default
+     * configuration if the property is not set or the file cannot be read.
+     *
+     * @return The registry of the loaded ball types.
+     */
+    public static BallTypeRegistry fromSystemProperties() {
+        String configurationPath = System.getProperty(Constants.BALL_TYPES_PROPERTY);
+        if (configurationPath != null) {
+            try (Reader reader = Files.newBufferedReader(Path.of(configurationPath), StandardCharsets.UTF_8)) {
+                Properties configuration = new Properties();
+                configuration.load(reader);
+                return fromProperties(configuration);
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+        }
+
+        return loadDefault();
+    }
+
+    /**
+     * Loads the ball types from the default configuration on the classpath.
+     *
+     * @return The registry of the default ball types.
+     */
+    public static BallTypeRegistry loadDefault() {
+        try (InputStream inputStream = BallTypeRegistry.class.getResourceAsStream(DEFAULT_CONFIGURATION)) {
+            if (inputStream == null) {
+                throw new IllegalStateException("Missing ball type configuration: " + DEFAULT_CONFIGURATION);
+            }
+            Properties configuration = new Properties();
+            configuration.load(inputStream);
+            return fromProperties(configuration);
+        } catch (IOException e) {
+            throw new IllegalStateException("Unreadable ball type configuration: " + DEFAULT_CONFIGURATION, e);
+        }
+    }
+
+    /**
+     * Creates a registry from a ball type configuration.
+     *
+     * @param configuration The ball type configuration.
+     * @return The registry of the configured ball types.
+     * @throws IllegalArgumentException If the configuration is incomplete or contains invalid values.
+     */
+    public static BallTypeRegistry fromProperties(final Properties configuration) {
+        String typeNames = requireProperty(configuration, "ball.types");
+        List<BallType> ballTypes = new ArrayList<>();
+
+        for (String name : typeNames.split(",")) {
+            String trimmedName = name.trim();
+            String prefix = "ball." + trimmedName + ".";
+            int sideLength = requirePositive(configuration, prefix + "size");
+            int randomnessFactor = Integer.parseInt(requireProperty(configuration, prefix + "randomness").trim());
+            int spawnWeight = requirePositive(configuration, prefix + "weight");
+            BallDifficulty difficulty = BallDifficulty.valueOf(
+                    requireProperty(configuration, prefix + "difficulty").trim());
+
+            ballTypes.add(new BallType(ballTypes.size(), trimmedName, sideLength, randomnessFactor, difficulty,
+                    spawnWeight));
+        }
+
+        for (BallDifficulty difficulty : BallDifficulty.values()) {
+            boolean tierIsEmpty = ballTypes.stream().noneMatch(type -> type.getDifficulty() == difficulty);
+            if (tierIsEmpty) {
+                throw new IllegalArgumentException("No ball types configured for difficulty " + difficulty);
+            }
+        }
+
+        return new BallTypeRegistry(ballTypes);
+    }
+
+    /**
+     * Get a configuration property, which is required to exist.
+     *
+     * @param configuration The ball type configuration.
+     * @param key The key of the property.
+     * @return The value of the property.
+     */
+    private static String requireProperty(final Properties configuration, final String key) {
+        String value = configuration.getProperty(key);
+        if (value == null) {
+            throw new IllegalArgumentException("Missing ball type property: " + key);
+        }
+        return value;
+    }
+
+    /**
+     * Get a configuration property, which is required to be a positive integer.
+     *
+     * @param configuration The ball type configuration.
+     * @param key The key of the property.
+     * @return The value of the property.
+     */
+    private static int requirePositive(final Properties configuration, final String key) {
+        int value = Integer.parseInt(requireProperty(configuration, key).trim());
+        if (value <= 0) {
+            throw new IllegalArgumentException("Ball type property must be positive: " + key);
+        }
+        return value;
+    }
+
+    /**
+     * Get the ball type with an id.
+     *
+     * @param id The id of the ball type.
+     * @return The ball type.
+     */
+    public BallType getBallType(final int id) {
+        return this.ballTypes.get(id);
+    }
+
+    /**
+     * Get all ball types, ordered by id.
+     *
+     * @return The ball types.
+     */
+    public List<BallType> getBallTypes() {
+        return this.ballTypes;
+    }
+
+    /**
+     * Get the amount of ball types.
+     *
+     * @return The amount of ball types.
+     */
+    public int size() {
+        return this.ballTypes.size();
+    }
+
+    /**
+     * Get the ball types of a difficulty tier.
+     *
+     * @param difficulty The difficulty tier.
+     * @return The ball types of the tier.
+     */
+    public List<BallType> getBallTypes(final BallDifficulty difficulty) {
+        return Arrays.asList(this.typesByDifficulty.get(difficulty));
+    }
+
+    /**
+     * Pick a random ball type of a difficulty tier, where each type is picked with a chance proportional to its
+     * spawn weight.
+     *
+     * @param difficulty The difficulty tier.
+     * @param random The source of randomness.
+     * @return The picked ball type.
+     */
+    public BallType pickRandomType(final BallDifficulty difficulty, final Random random) {
+        BallType[] types = this.typesByDifficulty.get(difficulty);
+        int[] cumulativeWeights = this.cumulativeWeightsByDifficulty.get(difficulty);
+        int pick = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+
+        int index = 0;
+        while (cumulativeWeights[index] <= pick) {
+            index++;
+        }
+        return types[index];
+    }
+}
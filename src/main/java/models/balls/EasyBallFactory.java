@@ -1,17 +1,14 @@
 package models.balls;
 
-import java.util.concurrent.ExecutionException;
-import models.ConsumerTask;
 import models.PongModel;
 
 /**
- * Concrete implementation of the AbstractBallFactory, creates balls. Defines an implementation for the abstract ball creation methods
- * in AbstractBallFactory. Is a part of the implementation of the Abstract Factory, and Factory Method
+ * Concrete implementation of the AbstractBallFactory, creates easy balls. Defines the difficulty tier of the balls
+ * created by AbstractBallFactory. Is a part of the implementation of the Abstract Factory, and Factory Method
  * design patterns.
  *
  * @author Samuel Thand
  */
-@SuppressWarnings("BusyWait")
 public class EasyBallFactory extends AbstractBallFactory {
 
     /**
@@ -26,102 +23,10 @@ public class EasyBallFactory extends AbstractBallFactory {
     /**
      * {@inheritDoc}
      *
-     * @return An easy big ball
+     * @return The easy difficulty tier.
      */
     @Override
-    protected EasyBigBallModel createBigBall() {
-        int xVelocity = this.level * (random.nextBoolean() ? 1 : -1);
-        int yVelocity = this.level * (random.nextBoolean() ? 1 : -1);
-
-        while (ballPoolService.isBallPoolEmpty(EasyBigBallModel.class)) {
-            try {
-                Thread.sleep(this.waitInterval);
-            } catch (InterruptedException e) {
-                e.printStackTrace();
-            }
-        }
-
-        var futureBall = threadPoolManager.executeCallable(new ConsumerTask(this.ballPoolService, EasyBigBallModel.class));
-
-        EasyBigBallModel ball = null;
-        try {
-            ball = (EasyBigBallModel) futureBall.get();
-            ball.setX(this.middleX);
-            ball.setY(this.middleY);
-            ball.setXvelocity(xVelocity);
-            ball.setYvelocity(yVelocity);
-        } catch (InterruptedException | ExecutionException | NullPointerException e) {
-            e.printStackTrace();
-        }
-
-        return ball;
-    }
-
-    /**
-     * {@inheritDoc}
-     *
-     * @return An easy medium ball
-     */
-    @Override
-    protected EasyMediumBallModel createMediumBall() {
-        int xVelocity = this.level * (random.nextBoolean() ? 1 : -1);
-        int yVelocity = this.level * (random.nextBoolean() ? 1 : -1);
-
-        while (ballPoolService.isBallPoolEmpty(EasyMediumBallModel.class)) {
-            try {
-                Thread.sleep(this.waitInterval);
-            } catch (InterruptedException e) {
-                e.printStackTrace();
-            }
-        }
-
-        var futureBall = threadPoolManager.executeCallable(new ConsumerTask(this.ballPoolService, EasyMediumBallModel.class));
-
-        EasyMediumBallModel ball = null;
-        try {
-            ball = (EasyMediumBallModel) futureBall.get();
-            ball.setX(this.middleX);
-            ball.setY(this.middleY);
-            ball.setXvelocity(xVelocity);
-            ball.setYvelocity(yVelocity);
-        } catch (InterruptedException | ExecutionException | NullPointerException e) {
-            e.printStackTrace();
-        }
-
-        return ball;
-    }
-
-    /**
-     * {@inheritDoc}
-     *
-     * @return An easy small ball
-     */
-    @Override
-    protected EasySmallBallModel createSmallBall() {
-        int xVelocity = this.level * (random.nextBoolean() ? 1 : -1);
-        int yVelocity = this.level * (random.nextBoolean() ? 1 : -1);
-
-        while (ballPoolService.isBallPoolEmpty(EasySmallBallModel.class)) {
-            try {
-                Thread.sleep(this.waitInterval);
-            } catch (InterruptedException e) {
-                e.printStackTrace();
-            }
-        }
-
-        var futureBall = threadPoolManager.executeCallable(new ConsumerTask(this.ballPoolService, EasySmallBallModel.class));
-
-        EasySmallBallModel ball = null;
-        try {
-            ball = (EasySmallBallModel) futureBall.get();
-            ball.setX(this.middleX);
-            ball.setY(this.middleY);
-            ball.setXvelocity(xVelocity);
-            ball.setYvelocity(yVelocity);
-        } catch (InterruptedException | ExecutionException | NullPointerException e) {
-            e.printStackTrace();
-        }
-
-        return ball;
+    protected BallDifficulty getDifficulty() {
+        return BallDifficulty.EASY;
     }
 }
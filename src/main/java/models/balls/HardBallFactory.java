@@ -1,17 +1,14 @@
 package models.balls;
 
-import java.util.concurrent.ExecutionException;
-import models.ConsumerTask;
 import models.PongModel;
 
 /**
- * Concrete implementation of the AbstractBallFactory, creates balls. Defines an implementation for the abstract ball creation methods
- * in AbstractBallFactory. Is a part of the implementation of the Abstract Factory, and Factory Method
+ * Concrete implementation of the AbstractBallFactory, creates hard balls. Defines the difficulty tier of the balls
+ * created by AbstractBallFactory. Is a part of the implementation of the Abstract Factory, and Factory Method
  * design patterns.
  *
  * @author Samuel Thand
  */
-@SuppressWarnings("BusyWait")
 public class HardBallFactory extends AbstractBallFactory {
 
     /**
@@ -26,102 +23,10 @@ public class HardBallFactory extends AbstractBallFactory {
     /**
      * {@inheritDoc}
      *
-     * @return A hard big ball
+     * @return The hard difficulty tier.
      */
     @Override
-    protected HardBigBallModel createBigBall() {
-        int xVelocity = this.level * (random.nextBoolean() ? 1 : -1);
-        int yVelocity = this.level * (random.nextBoolean() ? 1 : -1);
-
-        while (ballPoolService.isBallPoolEmpty(HardBigBallModel.class)) {
-            try {
-                Thread.sleep(this.waitInterval);
-            } catch (InterruptedException e) {
-                e.printStackTrace();
-            }
-        }
-
-        var futureBall = threadPoolManager.executeCallable(new ConsumerTask(this.ballPoolService, HardBigBallModel.class));
-
-        HardBigBallModel ball = null;
-        try {
-            ball = (HardBigBallModel) futureBall.get();
-            ball.setX(this.middleX);
-            ball.setY(this.middleY);
-            ball.setXvelocity(xVelocity);
-            ball.setYvelocity(yVelocity);
-        } catch (InterruptedException | ExecutionException | NullPointerException e) {
-            e.printStackTrace();
-        }
-
-        return ball;
-    }
-
-    /**
-     * {@inheritDoc}
-     *
-     * @return A hard medium ball
-     */
-    @Override
-    protected HardMediumBallModel createMediumBall() {
-        int xVelocity = this.level * (random.nextBoolean() ? 1 : -1);
-        int yVelocity = this.level * (random.nextBoolean() ? 1 : -1);
-
-        while (ballPoolService.isBallPoolEmpty(HardMediumBallModel.class)) {
-            try {
-                Thread.sleep(this.waitInterval);
-            } catch (InterruptedException e) {
-                e.printStackTrace();
-            }
-        }
-
-        var futureBall = threadPoolManager.executeCallable(new ConsumerTask(this.ballPoolService, HardMediumBallModel.class));
-
-        HardMediumBallModel ball = null;
-        try {
-            ball = (HardMediumBallModel) futureBall.get();
-            ball.setX(this.middleX);
-            ball.setY(this.middleY);
-            ball.setXvelocity(xVelocity);
-            ball.setYvelocity(yVelocity);
-        } catch (InterruptedException | ExecutionException | NullPointerException e) {
-            e.printStackTrace();
-        }
-
-        return ball;
-    }
-
-    /**
-     * {@inheritDoc}
-     *
-     * @return A hard small ball
-     */
-    @Override
-    protected HardSmallBallModel createSmallBall() {
-        int xVelocity = this.level * (random.nextBoolean() ? 1 : -1);
-        int yVelocity = this.level * (random.nextBoolean() ? 1 : -1);
-
-        while (ballPoolService.isBallPoolEmpty(HardSmallBallModel.class)) {
-            try {
-                Thread.sleep(this.waitInterval);
-            } catch (InterruptedException e) {
-                e.printStackTrace();
-            }
-        }
-
-        var futureBall = threadPoolManager.executeCallable(new ConsumerTask(this.ballPoolService, HardSmallBallModel.class));
-
-        HardSmallBallModel ball = null;
-        try {
-            ball = (HardSmallBallModel) futureBall.get();
-            ball.setX(this.middleX);
-            ball.setY(this.middleY);
-            ball.setXvelocity(xVelocity);
-            ball.setYvelocity(yVelocity);
-        } catch (InterruptedException | ExecutionException | NullPointerException e) {
-            e.printStackTrace();
-        }
-
-        return ball;
+    protected BallDifficulty getDifficulty() {
+        return BallDifficulty.HARD;
     }
 }
@@ -0,0 +1,201 @@
+package models.checkpoint;
+
+import constants.Constants;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32;
+import models.PongModel;
+
+/**
+ * Saves checkpoints of the game in progress to a checkpoint file, and loads them to resume the game. A checkpoint
+ * is captured on the game tick thread into one of two preallocated buffers, and written by a background thread, so
+ * the tick loop never waits on the disk. If both buffers are still being written the checkpoint is skipped. The
+ * file is written under a temporary name and renamed over the previous checkpoint, so it always holds a whole
+ * checkpoint.
+ *
+ * @author Samuel Thand
+ */
+public final class CheckpointService implements AutoCloseable {
+
+    private static final int BUFFER_COUNT = 2;
+    private static final int INITIAL_BUFFER_SIZE = 64 * 1024;
+    private static final long SHUTDOWN_TIMEOUT_SECONDS = 5;
+
+    private final Path file;
+    private final Path temporaryFile;
+    private final BlockingQueue<ByteBuffer> freeBuffers;
+    private final ExecutorService writer;
+    private final CRC32 crc;
+    private final ByteBuffer checksum;
+
+    /**
+     * Constructor. Initializes instance fields, allocates the buffers and starts the writer thread.
+     *
+     * @param file The checkpoint file.
+     */
+    public CheckpointService(final Path file) {
+        this.file = file;
+        this.temporaryFile = file.resolveSibling(file.getFileName() + ".tmp");
+        this.freeBuffers = new ArrayBlockingQueue<>(BUFFER_COUNT);
+        for (int i = 0; i < BUFFER_COUNT; i++) {
+            this.freeBuffers.add(ByteBuffer.allocateDirect(INITIAL_BUFFER_SIZE).order(ByteOrder.LITTLE_ENDIAN));
+        }
+        this.writer = Executors.newSingleThreadExecutor(task -> {
+            Thread thread = new Thread(task, "checkpoint-writer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.crc = new CRC32();
+        this.checksum = ByteBuffer.allocateDirect(GameCheckpoint.CHECKSUM_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    /**
+     * Creates a service saving checkpoints to the file given by the checkpoint file system property, or to
+     * PongCheckpoint.bin in the _Resources directory of the working directory.
+     *
+     * @return The checkpoint service.
+     */
+    public static CheckpointService fromSystemProperties() {
+        String checkpointFile = System.getProperty(Constants.CHECKPOINT_FILE_PROPERTY);
+        return new CheckpointService(checkpointFile != null ? Paths.get(checkpointFile)
+                : Paths.get(System.getProperty("user.dir"), "_Resources", "PongCheckpoint.bin"));
+    }
+
+    /**
+     * Captures a checkpoint of the game and hands it over to be written. Must be called from the game tick thread.
+     *
+     * @param model The model of the game.
+     * @return If the checkpoint was captured, false if it was skipped because the writer is behind.
+     */
+    public boolean capture(final PongModel model) {
+        ByteBuffer buffer = this.freeBuffers.poll();
+        if (buffer == null) {
+            return false;
+        }
+
+        int size = GameCheckpoint.sizeOf(model);
+        if (buffer.capacity() < size) {
+            buffer = ByteBuffer.allocateDirect(Math.max(size, 2 * buffer.capacity())).order(ByteOrder.LITTLE_ENDIAN);
+        }
+        GameCheckpoint.capture(model, buffer);
+
+        ByteBuffer captured = buffer;
+        try {
+            this.writer.execute(() -> write(captured));
+        } catch (RejectedExecutionException e) {
+            this.freeBuffers.offer(captured);
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Deletes the checkpoint file once the checkpoints handed over so far are written, since the game it belongs
+     * to is over.
+     */
+    public void discard() {
+        try {
+            this.writer.execute(this::delete);
+        } catch (RejectedExecutionException e) {
+            delete();
+        }
+    }
+
+    /**
+     * Loads the checkpoint left by an unfinished game.
+     *
+     * @return The checkpoint, or null if there is none or it cannot be read.
+     */
+    public GameCheckpoint load() {
+        try {
+            return GameCheckpoint.read(this.file);
+        } catch (NoSuchFileException e) {
+            return null;
+        } catch (IOException e) {
+            System.err.println("Ignoring checkpoint " + this.file + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Stops taking checkpoints, and waits a while for the checkpoints handed over so far to be written.
+     */
+    @Override
+    public void close() {
+        this.writer.shutdown();
+        try {
+            this.writer.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Get the path of the checkpoint file.
+     *
+     * @return The path of the checkpoint file.
+     */
+    public Path getFile() {
+        return this.file;
+    }
+
+    /**
+     * Writes a captured checkpoint with its checksum to the temporary file, forces it to the disk and renames it
+     * over the checkpoint file. Then gives the buffer back for the next checkpoint.
+     *
+     * @param buffer The captured checkpoint.
+     */
+    private void write(final ByteBuffer buffer) {
+        try {
+            this.crc.reset();
+            this.crc.update(buffer.duplicate());
+            this.checksum.clear();
+            this.checksum.putInt(0, (int) this.crc.getValue());
+
+            Path directory = this.file.toAbsolutePath().getParent();
+            if (directory != null) {
+                Files.createDirectories(directory);
+            }
+            try (FileChannel channel = FileChannel.open(this.temporaryFile, StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+                ByteBuffer[] parts = {buffer, this.checksum};
+                long remaining = buffer.remaining() + this.checksum.remaining();
+                while (remaining > 0) {
+                    remaining -= channel.write(parts);
+                }
+                channel.force(false);
+            }
+            Files.move(this.temporaryFile, this.file, StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            System.err.println("Writing checkpoint " + this.file + " failed: " + e);
+        } finally {
+            this.freeBuffers.offer(buffer);
+        }
+    }
+
+    /**
+     * Deletes the checkpoint file.
+     */
+    private void delete() {
+        try {
+            Files.deleteIfExists(this.file);
+        } catch (IOException e) {
+            System.err.println("Deleting checkpoint " + this.file + " failed: " + e);
+        }
+    }
+}
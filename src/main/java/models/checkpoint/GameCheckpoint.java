@@ -0,0 +1,277 @@
+package models.checkpoint;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.zip.CRC32;
+import models.ArenaLayout;
+import models.PaddleModel;
+import models.PongModel;
+import models.Side;
+import models.balls.BallModel;
+import models.powerups.PowerUpManager;
+
+/**
+ * A checkpoint of a game in progress, from which the game can be resumed: the tick, level, elapsed time, hard mode
+ * and random state of the game, and every paddle and ball with its velocity. Power-ups are not part of a checkpoint,
+ * so paddles are captured at their length without the paddle growth effect. Captured into a binary buffer on the
+ * game tick thread, which is a plain copy of a few ints per entity, and read back from a checkpoint file.
+ *
+ * <p>Layout, all values little endian: a header of {@link #HEADER_SIZE} bytes (magic, version, tick, random state,
+ * elapsed seconds, level, hard mode, the paddle counts of the left, right, top and bottom sides, the amount of ball
+ * types, paddles and balls), followed by paddles of {@link #PADDLE_SIZE} bytes (x, y, width, height and velocity),
+ * balls of {@link #BALL_SIZE} bytes (type id, x, y, x velocity, y velocity and rally), and a CRC32 of everything
+ * before it.
+ *
+ * @author Samuel Thand
+ */
+public final class GameCheckpoint {
+
+    static final int MAGIC = 0x50434B50;
+    static final int VERSION = 1;
+    static final int HEADER_SIZE = 64;
+    static final int PADDLE_SIZE = 20;
+    static final int BALL_SIZE = 24;
+    static final int CHECKSUM_SIZE = 4;
+    private static final int PADDLE_INTS = PADDLE_SIZE / Integer.BYTES;
+    private static final int BALL_INTS = BALL_SIZE / Integer.BYTES;
+
+    private final long tick;
+    private final long randomState;
+    private final int elapsedSeconds;
+    private final int level;
+    private final boolean hardMode;
+    private final ArenaLayout layout;
+    private final int ballTypeCount;
+    private final int paddleCount;
+    private final int ballCount;
+    private final int[] paddles;
+    private final int[] balls;
+
+    /**
+     * Constructor. Reads a checkpoint from a buffer holding a whole checkpoint file.
+     *
+     * @param buffer The buffer, little endian.
+     * @throws IOException If the buffer does not hold a valid checkpoint.
+     */
+    private GameCheckpoint(final ByteBuffer buffer) throws IOException {
+        if (buffer.remaining() < HEADER_SIZE + CHECKSUM_SIZE || buffer.getInt(0) != MAGIC) {
+            throw new IOException("Not a checkpoint");
+        }
+        if (buffer.getInt(4) != VERSION) {
+            throw new IOException("Unsupported checkpoint version " + buffer.getInt(4));
+        }
+
+        this.tick = buffer.getLong(8);
+        this.randomState = buffer.getLong(16);
+        this.elapsedSeconds = buffer.getInt(24);
+        this.level = buffer.getInt(28);
+        this.hardMode = buffer.getInt(32) != 0;
+        try {
+            this.layout = ArenaLayout.of(buffer.getInt(36), buffer.getInt(40), buffer.getInt(44), buffer.getInt(48));
+        } catch (IllegalArgumentException e) {
+            throw new IOException("Invalid arena layout in checkpoint", e);
+        }
+        this.ballTypeCount = buffer.getInt(52);
+        this.paddleCount = buffer.getInt(56);
+        this.ballCount = buffer.getInt(60);
+
+        long size = HEADER_SIZE + (long) this.paddleCount * PADDLE_SIZE + (long) this.ballCount * BALL_SIZE;
+        boolean sizeMatches = this.paddleCount == this.layout.getTotalPaddleCount() && this.ballCount >= 0
+                && size + CHECKSUM_SIZE == buffer.remaining();
+        if (!sizeMatches) {
+            throw new IOException("Truncated or inconsistent checkpoint");
+        }
+        CRC32 crc = new CRC32();
+        crc.update(buffer.duplicate().limit((int) size));
+        if ((int) crc.getValue() != buffer.getInt((int) size)) {
+            throw new IOException("Checkpoint checksum mismatch");
+        }
+
+        this.paddles = new int[this.paddleCount * PADDLE_INTS];
+        this.balls = new int[this.ballCount * BALL_INTS];
+        buffer.position(HEADER_SIZE);
+        buffer.asIntBuffer().get(this.paddles).get(this.balls);
+        for (int i = 0; i < this.ballCount; i++) {
+            int ballTypeId = getBallTypeId(i);
+            if (ballTypeId < 0 || ballTypeId >= this.ballTypeCount) {
+                throw new IOException("Invalid ball type " + ballTypeId + " in checkpoint");
+            }
+        }
+    }
+
+    /**
+     * Reads a checkpoint file.
+     *
+     * @param file The checkpoint file.
+     * @return The checkpoint.
+     * @throws IOException If the file cannot be read or does not hold a valid checkpoint.
+     */
+    public static GameCheckpoint read(final Path file) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(file)).order(ByteOrder.LITTLE_ENDIAN);
+        return new GameCheckpoint(buffer);
+    }
+
+    /**
+     * Get the size of a checkpoint of a game without the checksum.
+     *
+     * @param model The model of the game.
+     * @return The size in bytes.
+     */
+    static int sizeOf(final PongModel model) {
+        return HEADER_SIZE + model.getPaddles().size() * PADDLE_SIZE + model.getBalls().size() * BALL_SIZE;
+    }
+
+    /**
+     * Captures a checkpoint of a game into a buffer, without the checksum. Must be called from the game tick
+     * thread.
+     *
+     * @param model The model of the game.
+     * @param buffer The buffer, little endian and with room for {@link #sizeOf(PongModel)} bytes. Is flipped
+     *               afterwards, ready to be written.
+     */
+    static void capture(final PongModel model, final ByteBuffer buffer) {
+        List<PaddleModel> modelPaddles = model.getPaddles();
+        List<BallModel> modelBalls = model.getBalls();
+        ArenaLayout arenaLayout = model.getArena().getLayout();
+
+        buffer.clear();
+        buffer.putInt(MAGIC).putInt(VERSION).putLong(model.getTick()).putLong(model.getRandom().getState())
+                .putInt((int) model.getElapsedSeconds()).putInt(model.getCurrentLevel())
+                .putInt(model.isHardMode() ? 1 : 0)
+                .putInt(arenaLayout.getPaddleCount(Side.LEFT)).putInt(arenaLayout.getPaddleCount(Side.RIGHT))
+                .putInt(arenaLayout.getPaddleCount(Side.TOP)).putInt(arenaLayout.getPaddleCount(Side.BOTTOM))
+                .putInt(model.getBallTypeRegistry().size()).putInt(modelPaddles.size()).putInt(modelBalls.size());
+
+        PowerUpManager powerUpManager = model.getPowerUpManager();
+        for (int i = 0; i < modelPaddles.size(); i++) {
+            PaddleModel paddle = modelPaddles.get(i);
+            int baseLength = powerUpManager.getBaseLength(paddle);
+            boolean movesAlongY = paddle.getSide().movesAlongY();
+            buffer.putInt(paddle.getX()).putInt(paddle.getY())
+                    .putInt(movesAlongY ? paddle.getWidth() : baseLength)
+                    .putInt(movesAlongY ? baseLength : paddle.getHeight())
+                    .putInt(paddle.getVelocity());
+        }
+        for (BallModel ball : modelBalls) {
+            buffer.putInt(ball.getType().getId()).putInt(ball.getX()).putInt(ball.getY())
+                    .putInt(ball.getXvelocity()).putInt(ball.getYvelocity()).putInt(ball.getRally());
+        }
+        buffer.flip();
+    }
+
+    /**
+     * Restores a paddle to its state in the checkpoint.
+     *
+     * @param index The index of the paddle, its number minus 1.
+     * @param paddle The paddle to restore.
+     */
+    public void restorePaddle(final int index, final PaddleModel paddle) {
+        int offset = index * PADDLE_INTS;
+        paddle.setX(this.paddles[offset]);
+        paddle.setY(this.paddles[offset + 1]);
+        paddle.setWidth(this.paddles[offset + 2]);
+        paddle.setHeight(this.paddles[offset + 3]);
+        paddle.setVelocity(this.paddles[offset + 4]);
+    }
+
+    /**
+     * Get the id of the type of a ball in the checkpoint.
+     *
+     * @param index The index of the ball.
+     * @return The id of the ball type.
+     */
+    public int getBallTypeId(final int index) {
+        return this.balls[index * BALL_INTS];
+    }
+
+    /**
+     * Restores a ball of the right type to the state of a ball in the checkpoint.
+     *
+     * @param index The index of the ball.
+     * @param ball The ball to restore.
+     */
+    public void restoreBall(final int index, final BallModel ball) {
+        int offset = index * BALL_INTS;
+        ball.setX(this.balls[offset + 1]);
+        ball.setY(this.balls[offset + 2]);
+        ball.setXvelocity(this.balls[offset + 3]);
+        ball.setYvelocity(this.balls[offset + 4]);
+        ball.setRally(this.balls[offset + 5]);
+    }
+
+    /**
+     * Get the tick of the game.
+     *
+     * @return The tick.
+     */
+    public long getTick() {
+        return this.tick;
+    }
+
+    /**
+     * Get the state of the random source of the game.
+     *
+     * @return The random state.
+     */
+    public long getRandomState() {
+        return this.randomState;
+    }
+
+    /**
+     * Get the elapsed seconds of the game.
+     *
+     * @return The elapsed seconds.
+     */
+    public int getElapsedSeconds() {
+        return this.elapsedSeconds;
+    }
+
+    /**
+     * Get the level of the game.
+     *
+     * @return The level.
+     */
+    public int getLevel() {
+        return this.level;
+    }
+
+    /**
+     * Check if the game was in hard mode.
+     *
+     * @return The game was in hard mode.
+     */
+    public boolean isHardMode() {
+        return this.hardMode;
+    }
+
+    /**
+     * Get the layout of the paddles of the game.
+     *
+     * @return The layout.
+     */
+    public ArenaLayout getLayout() {
+        return this.layout;
+    }
+
+    /**
+     * Get the amount of ball types the game had, which must match the ball types it is resumed with.
+     *
+     * @return The amount of ball types.
+     */
+    public int getBallTypeCount() {
+        return this.ballTypeCount;
+    }
+
+    /**
+     * Get the amount of balls in the checkpoint.
+     *
+     * @return The amount of balls.
+     */
+    public int getBallCount() {
+        return this.ballCount;
+    }
+}
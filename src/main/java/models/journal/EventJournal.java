@@ -0,0 +1,263 @@
+package models.journal;
+
+import constants.Constants;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A durable journal of gameplay events. Events are stored as fixed size binary records in memory-mapped segment files,
+ * which are rotated when full. The next segment is mapped and paged in on a background thread before it is needed,
+ * so appending an event is only a few absolute writes into the mapped buffer. The journal has a single writer,
+ * the game tick thread. A full segment is forced to disk in the background when the journal moves on from it, and
+ * the current segment when the journal is closed.
+ *
+ * <p>Segment layout, all values little endian: a header of {@link #HEADER_SIZE} bytes (magic, version, record size,
+ * records per segment and creation time), followed by records of {@link #RECORD_SIZE} bytes (tick, x, y, x velocity,
+ * y velocity, subject and event type code). The type code is written last, a code of 0 marks the end of the journal.
+ *
+ * @author Samuel Thand
+ */
+public class EventJournal {
+
+    static final int MAGIC = 0x504A4E4C;
+    static final int VERSION = 1;
+    static final int HEADER_SIZE = 32;
+    static final int RECORD_SIZE = 32;
+    static final String SEGMENT_NAME_FORMAT = "segment-%06d.jnl";
+    private static final int PAGE_SIZE = 4096;
+
+    private volatile boolean enabled;
+    private final Path directory;
+    private final Object segmentLock;
+    private final int recordsPerSegment;
+    private final ExecutorService segmentPreparer;
+    private CompletableFuture<MappedByteBuffer> nextSegment;
+    private MappedByteBuffer segment;
+    private int segmentIndex;
+    private int recordOffset;
+    private int segmentEnd;
+
+    /**
+     * Constructor. Creates a disabled journal, which ignores all events.
+     */
+    private EventJournal() {
+        this.enabled = false;
+        this.directory = null;
+        this.segmentLock = new Object();
+        this.recordsPerSegment = 0;
+        this.segmentPreparer = null;
+    }
+
+    /**
+     * Constructor. Creates an enabled journal writing segments into a directory, and maps the first segment.
+     *
+     * @param directory The directory of the journal segments.
+     * @param recordsPerSegment The amount of records stored in each segment.
+     * @throws IOException If the directory or first segment cannot be created.
+     */
+    public EventJournal(final Path directory, final int recordsPerSegment) throws IOException {
+        this.enabled = true;
+        this.directory = directory;
+        this.segmentLock = new Object();
+        this.recordsPerSegment = recordsPerSegment;
+        this.segmentPreparer = Executors.newSingleThreadExecutor(task -> {
+            Thread thread = new Thread(task, "event-journal-segments");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        Files.createDirectories(directory);
+        this.segment = mapSegment(0);
+        this.recordOffset = HEADER_SIZE;
+        this.segmentEnd = HEADER_SIZE + recordsPerSegment * RECORD_SIZE;
+        prepareNextSegment();
+    }
+
+    /**
+     * Creates a journal from the system properties. The journal is enabled if the journal directory property is set,
+     * each run of the game writes its segments into a subdirectory named by the launch time.
+     *
+     * @return The journal, a disabled journal if journaling is not requested or the directory cannot be created.
+     */
+    public static EventJournal fromSystemProperties() {
+        String journalDirectory = System.getProperty(Constants.JOURNAL_DIRECTORY_PROPERTY);
+        if (journalDirectory == null) {
+            return disabled();
+        }
+
+        try {
+            Path sessionDirectory = Path.of(journalDirectory, String.valueOf(System.currentTimeMillis()));
+            return new EventJournal(sessionDirectory, Constants.JOURNAL_RECORDS_PER_SEGMENT);
+        } catch (IOException e) {
+            e.printStackTrace();
+            return disabled();
+        }
+    }
+
+    /**
+     * Creates a disabled journal, which ignores all events.
+     *
+     * @return A disabled journal.
+     */
+    public static EventJournal disabled() {
+        return new EventJournal();
+    }
+
+    /**
+     * Check if this journal records events.
+     *
+     * @return This journal is enabled.
+     */
+    public boolean isEnabled() {
+        return this.enabled;
+    }
+
+    /**
+     * Stops recording events, forces the current segment to disk and shuts down the segment preparing thread once
+     * it has forced the segments before it. The segment mapped ahead, if any, is left without records, which marks
+     * the end of the journal. A record being appended while the journal closes has no type yet, so it is not read.
+     */
+    public void close() {
+        synchronized (this.segmentLock) {
+            if (!this.enabled) {
+                return;
+            }
+            this.enabled = false;
+            this.segment.force();
+            this.segmentPreparer.shutdown();
+        }
+        try {
+            if (!this.segmentPreparer.awaitTermination(1, TimeUnit.SECONDS)) {
+                System.err.println("The event journal could not finish preparing its segments");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Appends an event to the journal. Must only be called from the game tick thread. Ignored once the journal is
+     * closed.
+     *
+     * @param type The type of the event.
+     * @param tick The game tick the event occurred on.
+     * @param subject The subject of the event, such as a ball type, a paddle number or a level.
+     * @param x The X position of the event.
+     * @param y The Y position of the event.
+     * @param xVelocity The X velocity of the ball involved in the event.
+     * @param yVelocity The Y velocity of the ball involved in the event.
+     */
+    public void append(final EventType type, final long tick, final int subject, final int x, final int y,
+                       final int xVelocity, final int yVelocity) {
+        if (!this.enabled) {
+            return;
+        }
+
+        if (this.recordOffset == this.segmentEnd) {
+            rotateSegment();
+            if (!this.enabled) {
+                return;
+            }
+        }
+
+        int offset = this.recordOffset;
+        MappedByteBuffer buffer = this.segment;
+        buffer.putLong(offset, tick);
+        buffer.putInt(offset + 8, x);
+        buffer.putInt(offset + 12, y);
+        buffer.putInt(offset + 16, xVelocity);
+        buffer.putInt(offset + 20, yVelocity);
+        buffer.putInt(offset + 24, subject);
+        buffer.putInt(offset + 28, type.getCode());
+        this.recordOffset = offset + RECORD_SIZE;
+    }
+
+    /**
+     * Switches to the segment mapped in the background, forces the full segment to disk and starts mapping the one
+     * after it, both in the background. Disables the journal if the segment could not be mapped. Does nothing if
+     * the journal was closed meanwhile.
+     */
+    private void rotateSegment() {
+        synchronized (this.segmentLock) {
+            if (!this.enabled) {
+                return;
+            }
+            MappedByteBuffer fullSegment = this.segment;
+            try {
+                this.segment = this.nextSegment.join();
+            } catch (CompletionException e) {
+                e.printStackTrace();
+                this.enabled = false;
+                this.segmentPreparer.shutdown();
+                return;
+            }
+
+            this.segmentPreparer.execute(fullSegment::force);
+            this.segmentIndex++;
+            this.recordOffset = HEADER_SIZE;
+            prepareNextSegment();
+        }
+    }
+
+    /**
+     * Maps the segment following the current one on the segment preparing thread.
+     */
+    private void prepareNextSegment() {
+        int index = this.segmentIndex + 1;
+        this.nextSegment = CompletableFuture.supplyAsync(() -> {
+            try {
+                return mapSegment(index);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }, this.segmentPreparer);
+    }
+
+    /**
+     * Creates a segment file of full size, maps it into memory and writes its header.
+     *
+     * @param index The index of the segment.
+     * @return The mapped segment.
+     * @throws IOException If the segment file cannot be created or mapped.
+     */
+    private MappedByteBuffer mapSegment(final int index) throws IOException {
+        Path segmentPath = this.directory.resolve(String.format(SEGMENT_NAME_FORMAT, index));
+        long segmentSize = HEADER_SIZE + (long) this.recordsPerSegment * RECORD_SIZE;
+
+        try (FileChannel channel = FileChannel.open(segmentPath, StandardOpenOption.CREATE_NEW,
+                StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+            buffer.order(ByteOrder.LITTLE_ENDIAN);
+            buffer.putInt(0, MAGIC);
+            buffer.putInt(4, VERSION);
+            buffer.putInt(8, RECORD_SIZE);
+            buffer.putInt(12, this.recordsPerSegment);
+            buffer.putLong(16, System.currentTimeMillis());
+            touchPages(buffer);
+            return buffer;
+        }
+    }
+
+    /**
+     * Touches every page of a mapped segment, so the page faults happen on the segment preparing thread
+     * instead of on the first append to each page.
+     *
+     * @param buffer The mapped segment.
+     */
+    private static void touchPages(final MappedByteBuffer buffer) {
+        for (int offset = HEADER_SIZE; offset < buffer.limit(); offset += PAGE_SIZE) {
+            buffer.put(offset, (byte) 0);
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package models.journal;
+
+/**
+ * The types of gameplay events recorded in the EventJournal. Each type is stored in the journal as its code,
+ * the code 0 is reserved for unwritten records.
+ *
+ * @author Samuel Thand
+ */
+public enum EventType {
+    SPAWN(1),
+    PADDLE_HIT(2),
+    WALL_BOUNCE(3),
+    MISS(4),
+    LEVEL_CHANGE(5);
+
+    private static final EventType[] BY_CODE = new EventType[values().length + 1];
+
+    static {
+        for (EventType type : values()) {
+            BY_CODE[type.code] = type;
+        }
+    }
+
+    private final int code;
+
+    /**
+     * Constructor. Initializes the code of the event type.
+     *
+     * @param code The code stored in the journal.
+     */
+    EventType(final int code) {
+        this.code = code;
+    }
+
+    /**
+     * Get the code stored in the journal for this event type.
+     *
+     * @return The code.
+     */
+    public int getCode() {
+        return this.code;
+    }
+
+    /**
+     * Get the event type of a code stored in the journal.
+     *
+     * @param code The code stored in the journal.
+     * @return The event type, or null if the code is unknown or marks an unwritten record.
+     */
+    public static EventType fromCode(final int code) {
+        if (code <= 0 || code >= BY_CODE.length) {
+            return null;
+        }
+        return BY_CODE[code];
+    }
+}
@@ -0,0 +1,138 @@
+package models.journal;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Streams the records of an EventJournal back, segment by segment in the order they were written.
+ * Can be run as a tool printing a journal directory as text.
+ *
+ * @author Samuel Thand
+ */
+public final class JournalReader {
+
+    /**
+     * Receives the records read from a journal.
+     */
+    @FunctionalInterface
+    public interface RecordHandler {
+
+        /**
+         * Handle a record read from the journal.
+         *
+         * @param tick The game tick the event occurred on.
+         * @param type The type of the event.
+         * @param subject The subject of the event.
+         * @param x The X position of the event.
+         * @param y The Y position of the event.
+         * @param xVelocity The X velocity of the ball involved in the event.
+         * @param yVelocity The Y velocity of the ball involved in the event.
+         */
+        void onRecord(long tick, EventType type, int subject, int x, int y, int xVelocity, int yVelocity);
+    }
+
+    /**
+     * Constructor.
+     */
+    private JournalReader() { }
+
+    /**
+     * Prints all records of a journal directory to standard out.
+     *
+     * @param args The journal directory of a single run of the game.
+     * @throws IOException If the journal cannot be read.
+     */
+    public static void main(final String[] args) throws IOException {
+        if (args.length != 1) {
+            System.err.println("Usage: JournalReader <journal directory>");
+            return;
+        }
+
+        long records = read(Path.of(args[0]), (tick, type, subject, x, y, xVelocity, yVelocity) ->
+                System.out.println(tick + " " + type + " subject=" + subject + " x=" + x + " y=" + y
+                        + " xVelocity=" + xVelocity + " yVelocity=" + yVelocity));
+        System.out.println(records + " records");
+    }
+
+    /**
+     * Reads all records of a journal directory, passing them to a handler in the order they were written.
+     *
+     * @param directory The journal directory of a single run of the game.
+     * @param handler The handler receiving the records.
+     * @return The amount of records read.
+     * @throws IOException If a segment cannot be read, or is not a journal segment.
+     */
+    public static long read(final Path directory, final RecordHandler handler) throws IOException {
+        List<Path> segments;
+        try (Stream<Path> files = Files.list(directory)) {
+            segments = files
+                    .filter(path -> path.getFileName().toString().endsWith(".jnl"))
+                    .sorted()
+                    .collect(Collectors.toList());
+        }
+
+        long records = 0;
+        for (Path segment : segments) {
+            records += readSegment(segment, handler);
+        }
+
+        return records;
+    }
+
+    /**
+     * Reads the records of a single segment, until the end of the segment or the first unwritten record.
+     *
+     * @param segment The segment file.
+     * @param handler The handler receiving the records.
+     * @return The amount of records read.
+     * @throws IOException If the segment cannot be read, or is not a journal segment.
+     */
+    private static long readSegment(final Path segment, final RecordHandler handler) throws IOException {
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.READ)) {
+            ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            buffer.order(ByteOrder.LITTLE_ENDIAN);
+            validateHeader(segment, buffer);
+
+            long records = 0;
+            for (int offset = EventJournal.HEADER_SIZE; offset + EventJournal.RECORD_SIZE <= buffer.limit();
+                 offset += EventJournal.RECORD_SIZE) {
+                EventType type = EventType.fromCode(buffer.getInt(offset + 28));
+                if (type == null) {
+                    break;
+                }
+
+                handler.onRecord(buffer.getLong(offset), type, buffer.getInt(offset + 24), buffer.getInt(offset + 8),
+                        buffer.getInt(offset + 12), buffer.getInt(offset + 16), buffer.getInt(offset + 20));
+                records++;
+            }
+
+            return records;
+        }
+    }
+
+    /**
+     * Validates that a segment starts with a journal header of a supported version.
+     *
+     * @param segment The segment file.
+     * @param buffer The mapped segment.
+     * @throws IOException If the segment is not a journal segment.
+     */
+    private static void validateHeader(final Path segment, final ByteBuffer buffer) throws IOException {
+        boolean validHeader = buffer.limit() >= EventJournal.HEADER_SIZE
+                && buffer.getInt(0) == EventJournal.MAGIC
+                && buffer.getInt(4) == EventJournal.VERSION
+                && buffer.getInt(8) == EventJournal.RECORD_SIZE;
+
+        if (!validHeader) {
+            throw new IOException("Not a supported journal segment: " + segment);
+        }
+    }
+}
@@ -0,0 +1,199 @@
+package models.particles;
+
+/**
+ * A fixed capacity particle system for visual feedback. Particles are stored in preallocated primitive arrays,
+ * one array per attribute, and updated in a single loop per tick. Dead particles are replaced by the last live
+ * particle, so the live particles always occupy the first {@link #getCount()} slots. Emitting and updating particles
+ * never allocates, and particles emitted beyond the capacity are dropped.
+ *
+ * @author Samuel Thand
+ */
+public class ParticleSystem {
+
+    private static final int DIRECTIONS = 256;
+    private static final float[] DIRECTION_X = new float[DIRECTIONS];
+    private static final float[] DIRECTION_Y = new float[DIRECTIONS];
+    private static final float GRAVITY = 0.05f;
+
+    static {
+        for (int i = 0; i < DIRECTIONS; i++) {
+            double angle = 2 * Math.PI * i / DIRECTIONS;
+            DIRECTION_X[i] = (float) Math.cos(angle);
+            DIRECTION_Y[i] = (float) Math.sin(angle);
+        }
+    }
+
+    private final int capacity;
+    private final int lifetimeTicks;
+    private final float[] x;
+    private final float[] y;
+    private final float[] xVelocity;
+    private final float[] yVelocity;
+    private final int[] life;
+    private final int[] kind;
+    private int count;
+    private long seed;
+
+    /**
+     * Constructor. Preallocates the particle attributes.
+     *
+     * @param capacity The maximum amount of live particles.
+     * @param lifetimeTicks The amount of ticks a particle lives.
+     */
+    public ParticleSystem(final int capacity, final int lifetimeTicks) {
+        this.capacity = capacity;
+        this.lifetimeTicks = lifetimeTicks;
+        this.x = new float[capacity];
+        this.y = new float[capacity];
+        this.xVelocity = new float[capacity];
+        this.yVelocity = new float[capacity];
+        this.life = new int[capacity];
+        this.kind = new int[capacity];
+        this.seed = System.nanoTime() | 1;
+    }
+
+    /**
+     * Emits a burst of particles flying out in random directions from a point.
+     *
+     * @param originX The X of the burst.
+     * @param originY The Y of the burst.
+     * @param amount The amount of particles.
+     * @param particleKind The kind of the particles, used by the view to choose their colour.
+     * @param maximumSpeed The maximum speed of the particles.
+     */
+    public void emitBurst(final int originX, final int originY, final int amount, final int particleKind,
+                          final float maximumSpeed) {
+        int end = Math.min(this.count + amount, this.capacity);
+        for (int i = this.count; i < end; i++) {
+            int random = nextRandom();
+            int direction = random & (DIRECTIONS - 1);
+            float speed = maximumSpeed * (0.25f + ((random >>> 8) & 0xFF) / 340f);
+
+            this.x[i] = originX;
+            this.y[i] = originY;
+            this.xVelocity[i] = DIRECTION_X[direction] * speed;
+            this.yVelocity[i] = DIRECTION_Y[direction] * speed;
+            this.life[i] = this.lifetimeTicks - ((random >>> 16) & 0x7);
+            this.kind[i] = particleKind;
+        }
+        this.count = end;
+    }
+
+    /**
+     * Updates all live particles, moving them, applying gravity and removing the particles that died.
+     */
+    public void update() {
+        float[] px = this.x;
+        float[] py = this.y;
+        float[] vx = this.xVelocity;
+        float[] vy = this.yVelocity;
+        int[] remainingLife = this.life;
+        int live = this.count;
+
+        int i = 0;
+        while (i < live) {
+            int nextLife = remainingLife[i] - 1;
+            if (nextLife <= 0) {
+                live--;
+                px[i] = px[live];
+                py[i] = py[live];
+                vx[i] = vx[live];
+                vy[i] = vy[live];
+                remainingLife[i] = remainingLife[live];
+                this.kind[i] = this.kind[live];
+                continue;
+            }
+
+            remainingLife[i] = nextLife;
+            px[i] += vx[i];
+            py[i] += vy[i];
+            vy[i] += GRAVITY;
+            i++;
+        }
+        this.count = live;
+    }
+
+    /**
+     * Removes all particles.
+     */
+    public void clear() {
+        this.count = 0;
+    }
+
+    /**
+     * Advances the xorshift random generator of this system.
+     *
+     * @return The next random number.
+     */
+    private int nextRandom() {
+        long next = this.seed;
+        next ^= next << 13;
+        next ^= next >>> 7;
+        next ^= next << 17;
+        this.seed = next;
+        return (int) (next >>> 32);
+    }
+
+    /**
+     * Get the amount of live particles.
+     *
+     * @return The amount of live particles.
+     */
+    public int getCount() {
+        return this.count;
+    }
+
+    /**
+     * Get the maximum amount of live particles.
+     *
+     * @return The capacity.
+     */
+    public int getCapacity() {
+        return this.capacity;
+    }
+
+    /**
+     * Get the amount of ticks a particle lives.
+     *
+     * @return The lifetime in ticks.
+     */
+    public int getLifetimeTicks() {
+        return this.lifetimeTicks;
+    }
+
+    /**
+     * Get the X positions of the particles, the first {@link #getCount()} are live.
+     *
+     * @return The X positions.
+     */
+    public float[] getX() {
+        return this.x;
+    }
+
+    /**
+     * Get the Y positions of the particles, the first {@link #getCount()} are live.
+     *
+     * @return The Y positions.
+     */
+    public float[] getY() {
+        return this.y;
+    }
+
+    /**
+     * Get the remaining life in ticks of the particles, the first {@link #getCount()} are live.
+     *
+     * @return The remaining life.
+     */
+    public int[] getLife() {
+        return this.life;
+    }
+
+    /**
+     * Get the kinds of the particles, the first {@link #getCount()} are live.
+     *
+     * @return The kinds.
+     */
+    public int[] getKind() {
+        return this.kind;
+    }
+}
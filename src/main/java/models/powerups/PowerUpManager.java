@@ -0,0 +1,274 @@
+package models.powerups;
+
+import constants.Constants;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import models.Arena;
+import models.Bound;
+import models.EntityPoolService;
+import models.PaddleModel;
+import models.PongModel;
+import models.ProducerTask;
+import models.Side;
+
+/**
+ * Manages the power-ups of the game. Spawns power-ups from their pools at a regular interval, moves them towards
+ * a goal side, applies their effect when a paddle collects them and returns them to their pools when collected or
+ * expired. The active power-ups are kept in a list of fixed capacity, so spawning and expiry allocate nothing.
+ *
+ * @author Samuel Thand
+ */
+public class PowerUpManager {
+
+    private final PongModel model;
+    private final EntityPoolService<PowerUpModel> powerUpPoolService;
+    private final ArrayList<PowerUpModel> activePowerUps;
+    private final long[] effectEndsAtTick;
+    private final Random random;
+    private final int middleX;
+    private final int middleY;
+    private PaddleModel grownPaddle;
+    private int grownPaddleBaseLength;
+    private long nextSpawnTick;
+
+    /**
+     * Constructor. Initializes instance fields and the power-up pools.
+     *
+     * @param model The model of the game.
+     */
+    public PowerUpManager(final PongModel model) {
+        this.model = model;
+        this.powerUpPoolService = new EntityPoolService<>(PowerUpType.count(), Constants.POWER_UP_POOL_CAPACITY,
+                kind -> new PowerUpModel(PowerUpType.ofKind(kind)),
+                powerUp -> powerUp.getType().ordinal());
+        this.activePowerUps = new ArrayList<>(Constants.MAX_ACTIVE_POWER_UPS);
+        this.effectEndsAtTick = new long[PowerUpType.count()];
+        this.random = model.getRandom();
+        this.middleX = model.getBounds().get(Bound.X) / 2;
+        this.middleY = model.getBounds().get(Bound.Y) / 2;
+    }
+
+    /**
+     * Ensures that there is a minimum amount of power-ups of each type in the pools, counting those already in
+     * production.
+     *
+     * @return If any producer tasks were issued.
+     */
+    public boolean ensurePowerUpSupply() {
+        boolean tasksWereIssued = false;
+        for (int kind = 0; kind < PowerUpType.count(); kind++) {
+            int missing = Constants.POWER_UP_POOL_MINIMUM - this.powerUpPoolService.getAmountAvailable(kind)
+                    - this.powerUpPoolService.getAmountInProduction(kind);
+            for (int i = 0; i < missing; i++) {
+                this.model.getThreadPoolManager().execute(new ProducerTask(this.powerUpPoolService, kind));
+                tasksWereIssued = true;
+            }
+        }
+
+        return tasksWereIssued;
+    }
+
+    /**
+     * Returns all active power-ups to their pools, ends all effects and schedules the first spawn of a new game.
+     */
+    public void reset() {
+        for (int i = this.activePowerUps.size() - 1; i >= 0; i--) {
+            recycle(i);
+        }
+        for (int kind = 0; kind < this.effectEndsAtTick.length; kind++) {
+            this.effectEndsAtTick[kind] = 0;
+        }
+        this.grownPaddle = null;
+        this.nextSpawnTick = this.model.getTick() + Constants.POWER_UP_SPAWN_INTERVAL_TICKS;
+    }
+
+    /**
+     * Updates the power-ups of the game. Spawns a power-up if one is due, moves the active power-ups, collects the ones
+     * caught by a paddle, expires the ones that left the game or timed out, and ends effects that have run out.
+     */
+    public void update() {
+        long tick = this.model.getTick();
+        if (tick >= this.nextSpawnTick) {
+            spawnPowerUp(tick);
+            this.nextSpawnTick = tick + Constants.POWER_UP_SPAWN_INTERVAL_TICKS;
+        }
+
+        Arena arena = this.model.getArena();
+        for (int i = this.activePowerUps.size() - 1; i >= 0; i--) {
+            PowerUpModel powerUp = this.activePowerUps.get(i);
+            powerUp.move();
+
+            PaddleModel collector = arena.findPaddleHit(headingSide(powerUp), powerUp.getX(), powerUp.getY(),
+                    powerUp.getSideLength());
+            if (collector != null) {
+                applyEffect(powerUp.getType(), collector, tick);
+                recycle(i);
+            } else if (tick >= powerUp.getExpiresAtTick() || isOutOfBounds(powerUp)) {
+                recycle(i);
+            }
+        }
+
+        boolean paddleGrowthEnded = this.grownPaddle != null
+                && tick >= this.effectEndsAtTick[PowerUpType.PADDLE_GROWTH.ordinal()];
+        if (paddleGrowthEnded) {
+            this.grownPaddle.setLength(this.grownPaddleBaseLength);
+            this.grownPaddle = null;
+        }
+    }
+
+    /**
+     * Spawns a power-up of a random type in the middle of the game, heading towards a random goal side.
+     * Nothing is spawned if the pool of the type is empty, or the maximum amount of power-ups are active.
+     *
+     * @param tick The current game tick.
+     */
+    private void spawnPowerUp(final long tick) {
+        if (this.activePowerUps.size() == Constants.MAX_ACTIVE_POWER_UPS) {
+            return;
+        }
+
+        PowerUpModel powerUp = this.powerUpPoolService.consume(this.random.nextInt(PowerUpType.count()));
+        if (powerUp == null) {
+            return;
+        }
+
+        Side side = randomGoalSide();
+        int speed = Constants.POWER_UP_SPEED;
+        int drift = this.random.nextInt(3) - 1;
+        int xVelocity = switch (side) {
+            case LEFT -> -speed;
+            case RIGHT -> speed;
+            case TOP, BOTTOM -> drift;
+        };
+        int yVelocity = switch (side) {
+            case TOP -> -speed;
+            case BOTTOM -> speed;
+            case LEFT, RIGHT -> drift;
+        };
+
+        int halfSideLength = powerUp.getSideLength() / 2;
+        powerUp.spawn(this.middleX - halfSideLength, this.middleY - halfSideLength, xVelocity, yVelocity,
+                tick + Constants.POWER_UP_LIFETIME_TICKS);
+        this.activePowerUps.add(powerUp);
+    }
+
+    /**
+     * Picks a random side guarded by paddles.
+     *
+     * @return The side.
+     */
+    private Side randomGoalSide() {
+        Arena arena = this.model.getArena();
+        Side[] sides = Side.values();
+        int start = this.random.nextInt(sides.length);
+        for (int i = 0; i < sides.length; i++) {
+            Side side = sides[(start + i) % sides.length];
+            if (arena.isGoal(side)) {
+                return side;
+            }
+        }
+        throw new IllegalStateException("The arena has no paddles");
+    }
+
+    /**
+     * Get the side a power-up is heading towards.
+     *
+     * @param powerUp The power-up.
+     * @return The side.
+     */
+    private static Side headingSide(final PowerUpModel powerUp) {
+        if (Math.abs(powerUp.getXvelocity()) > Math.abs(powerUp.getYvelocity())) {
+            return powerUp.getXvelocity() < 0 ? Side.LEFT : Side.RIGHT;
+        }
+        return powerUp.getYvelocity() < 0 ? Side.TOP : Side.BOTTOM;
+    }
+
+    /**
+     * Check if a power-up has left the game.
+     *
+     * @param powerUp The power-up.
+     * @return The power-up is outside the bounds of the game.
+     */
+    private boolean isOutOfBounds(final PowerUpModel powerUp) {
+        int sideLength = powerUp.getSideLength();
+        return powerUp.getX() < -sideLength || powerUp.getX() > this.model.getBounds().get(Bound.X)
+                || powerUp.getY() < -sideLength || powerUp.getY() > this.model.getBounds().get(Bound.Y);
+    }
+
+    /**
+     * Applies the effect of a collected power-up.
+     *
+     * @param type The type of the power-up.
+     * @param collector The paddle that collected the power-up.
+     * @param tick The current game tick.
+     */
+    private void applyEffect(final PowerUpType type, final PaddleModel collector, final long tick) {
+        this.effectEndsAtTick[type.ordinal()] = tick + type.getDurationTicks();
+
+        switch (type) {
+            case PADDLE_GROWTH -> {
+                if (this.grownPaddle != collector) {
+                    if (this.grownPaddle != null) {
+                        this.grownPaddle.setLength(this.grownPaddleBaseLength);
+                    }
+                    this.grownPaddle = collector;
+                    this.grownPaddleBaseLength = collector.getLength();
+                    collector.setLength(this.grownPaddleBaseLength * Constants.PADDLE_GROWTH_PERCENT / 100);
+                }
+            }
+            case MULTI_BALL -> this.model.addBonusBalls();
+            default -> { }
+        }
+    }
+
+    /**
+     * Removes an active power-up, by moving the last active power-up into its place, and returns it to its pool.
+     *
+     * @param index The index of the power-up in the active power-ups.
+     */
+    private void recycle(final int index) {
+        int lastIndex = this.activePowerUps.size() - 1;
+        PowerUpModel powerUp = this.activePowerUps.get(index);
+        this.activePowerUps.set(index, this.activePowerUps.get(lastIndex));
+        this.activePowerUps.remove(lastIndex);
+        this.powerUpPoolService.returnEntity(powerUp);
+    }
+
+    /**
+     * Get the length a paddle has without the paddle growth effect.
+     *
+     * @param paddle The paddle.
+     * @return The length of the paddle before it grew, or its length if it has not grown.
+     */
+    public int getBaseLength(final PaddleModel paddle) {
+        return paddle == this.grownPaddle ? this.grownPaddleBaseLength : paddle.getLength();
+    }
+
+    /**
+     * Check if the slow motion effect is active.
+     *
+     * @return Slow motion is active.
+     */
+    public boolean isSlowMotionActive() {
+        return this.model.getTick() < this.effectEndsAtTick[PowerUpType.SLOW_MOTION.ordinal()];
+    }
+
+    /**
+     * Get the power-ups active in the game.
+     *
+     * @return The active power-ups.
+     */
+    public List<PowerUpModel> getActivePowerUps() {
+        return this.activePowerUps;
+    }
+
+    /**
+     * Get the pool service of the power-ups.
+     *
+     * @return The power-up pool service.
+     */
+    public EntityPoolService<PowerUpModel> getPowerUpPoolService() {
+        return this.powerUpPoolService;
+    }
+}
@@ -0,0 +1,132 @@
+package models.powerups;
+
+import constants.Constants;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The model of a power-up. Contains all information about a power-up drifting through the game, on its way to be
+ * collected by a paddle. Power-ups are pooled and reused, so all state is reset when one is spawned.
+ *
+ * @author Samuel Thand
+ */
+public class PowerUpModel {
+
+    private static final AtomicInteger NEXT_ID = new AtomicInteger();
+
+    private final int id;
+    private final PowerUpType type;
+    private final int sideLength;
+    private int x;
+    private int y;
+    private int xVelocity;
+    private int yVelocity;
+    private long expiresAtTick;
+
+    /**
+     * Constructor. Initializes instance fields, and gives this power-up the next free id.
+     *
+     * @param type The type of this power-up.
+     */
+    public PowerUpModel(final PowerUpType type) {
+        this.id = NEXT_ID.getAndIncrement();
+        this.type = type;
+        this.sideLength = Constants.POWER_UP_SIDE_LENGTH;
+    }
+
+    /**
+     * Places this power-up in the game and sets it moving.
+     *
+     * @param x The X to spawn at.
+     * @param y The Y to spawn at.
+     * @param xVelocity The X velocity.
+     * @param yVelocity The Y velocity.
+     * @param expiresAtTick The game tick at which this power-up disappears if it was not collected.
+     */
+    public void spawn(final int x, final int y, final int xVelocity, final int yVelocity, final long expiresAtTick) {
+        this.x = x;
+        this.y = y;
+        this.xVelocity = xVelocity;
+        this.yVelocity = yVelocity;
+        this.expiresAtTick = expiresAtTick;
+    }
+
+    /**
+     * Moves this power-up.
+     */
+    public void move() {
+        this.x += this.xVelocity;
+        this.y += this.yVelocity;
+    }
+
+    /**
+     * Get the id of this power-up, unique among all power-ups and kept while it is pooled and reused.
+     *
+     * @return The id.
+     */
+    public int getId() {
+        return id;
+    }
+
+    /**
+     * Get the type of this power-up.
+     *
+     * @return The type.
+     */
+    public PowerUpType getType() {
+        return type;
+    }
+
+    /**
+     * Get the X of this power-up.
+     *
+     * @return X of this power-up.
+     */
+    public int getX() {
+        return x;
+    }
+
+    /**
+     * Get the Y of this power-up.
+     *
+     * @return Y of this power-up.
+     */
+    public int getY() {
+        return y;
+    }
+
+    /**
+     * Get the side length of this power-up.
+     *
+     * @return The side length.
+     */
+    public int getSideLength() {
+        return sideLength;
+    }
+
+    /**
+     * Get the X velocity of this power-up.
+     *
+     * @return X velocity of this power-up.
+     */
+    public int getXvelocity() {
+        return xVelocity;
+    }
+
+    /**
+     * Get the Y velocity of this power-up.
+     *
+     * @return Y velocity of this power-up.
+     */
+    public int getYvelocity() {
+        return yVelocity;
+    }
+
+    /**
+     * Get the game tick at which this power-up disappears if it was not collected.
+     *
+     * @return The expiry tick.
+     */
+    public long getExpiresAtTick() {
+        return expiresAtTick;
+    }
+}
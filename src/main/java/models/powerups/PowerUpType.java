@@ -0,0 +1,54 @@
+package models.powerups;
+
+/**
+ * The kinds of power-ups in the game. A power-up is collected by catching it with a paddle, and its effect lasts
+ * for a duration given in game ticks.
+ *
+ * @author Samuel Thand
+ */
+public enum PowerUpType {
+    PADDLE_GROWTH(600),
+    SLOW_MOTION(300),
+    MULTI_BALL(0);
+
+    private static final PowerUpType[] KINDS = values();
+
+    private final int durationTicks;
+
+    /**
+     * Constructor. Initializes the duration of the effect.
+     *
+     * @param durationTicks The amount of ticks the effect lasts, 0 for instant effects.
+     */
+    PowerUpType(final int durationTicks) {
+        this.durationTicks = durationTicks;
+    }
+
+    /**
+     * Get the amount of ticks the effect of this power-up lasts.
+     *
+     * @return The duration in ticks, 0 for instant effects.
+     */
+    public int getDurationTicks() {
+        return this.durationTicks;
+    }
+
+    /**
+     * Get the power-up type of a pool kind, its ordinal.
+     *
+     * @param kind The pool kind.
+     * @return The power-up type.
+     */
+    public static PowerUpType ofKind(final int kind) {
+        return KINDS[kind];
+    }
+
+    /**
+     * Get the amount of power-up types.
+     *
+     * @return The amount of power-up types.
+     */
+    public static int count() {
+        return KINDS.length;
+    }
+}
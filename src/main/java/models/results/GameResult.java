@@ -0,0 +1,213 @@
+package models.results;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * The result of a played game: when it ended, how long it was survived, the level reached and who played it.
+ * Stored as a fixed-width record of {@value #RECORD_SIZE} bytes: the end time in epoch milliseconds, the seconds
+ * survived, the level, and the name of the player as at most {@value #PLAYER_SIZE} bytes of UTF-8, zero padded.
+ *
+ * @author Samuel Thand
+ */
+public final class GameResult {
+
+    /**
+     * The size of a stored result.
+     */
+    public static final int RECORD_SIZE = 32;
+
+    /**
+     * The most bytes of the name of the player stored.
+     */
+    public static final int PLAYER_SIZE = 16;
+
+    private final long timestamp;
+    private final int secondsSurvived;
+    private final int level;
+    private final String player;
+
+    /**
+     * Constructor. Initializes instance fields. A name of the player longer than {@value #PLAYER_SIZE} bytes is
+     * shortened.
+     *
+     * @param timestamp The time the game ended, in epoch milliseconds, or 0 if not known.
+     * @param secondsSurvived The time survived.
+     * @param level The level reached.
+     * @param player The name of the player.
+     */
+    public GameResult(final long timestamp, final int secondsSurvived, final int level, final String player) {
+        this(timestamp, secondsSurvived, level, new String(encodePlayer(player), StandardCharsets.UTF_8), true);
+    }
+
+    /**
+     * Constructor. Initializes instance fields with a name of the player known to fit.
+     *
+     * @param timestamp The time the game ended, in epoch milliseconds, or 0 if not known.
+     * @param secondsSurvived The time survived.
+     * @param level The level reached.
+     * @param storedPlayer The name of the player, at most {@value #PLAYER_SIZE} bytes.
+     * @param stored Marks this constructor apart from the public one.
+     */
+    private GameResult(final long timestamp, final int secondsSurvived, final int level, final String storedPlayer,
+                       final boolean stored) {
+        this.timestamp = timestamp;
+        this.secondsSurvived = secondsSurvived;
+        this.level = level;
+        this.player = storedPlayer;
+    }
+
+    /**
+     * Reads a stored result.
+     *
+     * @param buffer The buffer holding the result.
+     * @param offset The offset of the result in the buffer.
+     * @return The result.
+     */
+    public static GameResult readFrom(final ByteBuffer buffer, final int offset) {
+        byte[] playerBytes = new byte[PLAYER_SIZE];
+        buffer.get(offset + 16, playerBytes);
+        int length = 0;
+        while (length < PLAYER_SIZE && playerBytes[length] != 0) {
+            length++;
+        }
+        return new GameResult(buffer.getLong(offset), buffer.getInt(offset + 8), buffer.getInt(offset + 12),
+                new String(playerBytes, 0, length, StandardCharsets.UTF_8), true);
+    }
+
+    /**
+     * Writes this result as a stored record at the position of a buffer, and advances the position.
+     *
+     * @param buffer The buffer to write to.
+     */
+    public void writeTo(final ByteBuffer buffer) {
+        buffer.putLong(this.timestamp);
+        buffer.putInt(this.secondsSurvived);
+        buffer.putInt(this.level);
+        buffer.put(Arrays.copyOf(encodePlayer(this.player), PLAYER_SIZE));
+    }
+
+    /**
+     * Get the key results are ranked by, higher for better results: the seconds survived, then the level.
+     *
+     * @return The rank key.
+     */
+    public long getRankKey() {
+        return rankKey(this.secondsSurvived, this.level);
+    }
+
+    /**
+     * Get the key of the player of this result, a hash of the stored name of the player.
+     *
+     * @return The player key.
+     */
+    public long getPlayerKey() {
+        return playerKey(this.player);
+    }
+
+    /**
+     * Computes the key results are ranked by.
+     *
+     * @param secondsSurvived The time survived.
+     * @param level The level reached.
+     * @return The rank key, higher for better results.
+     */
+    static long rankKey(final int secondsSurvived, final int level) {
+        return (long) secondsSurvived << 32 | level & 0xFFFFFFFFL;
+    }
+
+    /**
+     * Computes the key of a player, a 64 bit FNV-1a hash of the stored name.
+     *
+     * @param player The name of the player.
+     * @return The player key.
+     */
+    static long playerKey(final String player) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : encodePlayer(player)) {
+            hash = (hash ^ (b & 0xFF)) * 0x100000001b3L;
+        }
+        return hash;
+    }
+
+    /**
+     * Computes the key of the player of a stored result, without decoding the name.
+     *
+     * @param buffer The buffer holding the result.
+     * @param offset The offset of the result in the buffer.
+     * @return The player key.
+     */
+    static long playerKey(final ByteBuffer buffer, final int offset) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = offset + 16; i < offset + 16 + PLAYER_SIZE; i++) {
+            byte b = buffer.get(i);
+            if (b == 0) {
+                break;
+            }
+            hash = (hash ^ (b & 0xFF)) * 0x100000001b3L;
+        }
+        return hash;
+    }
+
+    /**
+     * Encodes the name of a player as UTF-8, shortened to at most {@value #PLAYER_SIZE} bytes without splitting
+     * a character.
+     *
+     * @param player The name of the player.
+     * @return The stored bytes of the name.
+     */
+    private static byte[] encodePlayer(final String player) {
+        String shortened = player;
+        byte[] bytes = shortened.getBytes(StandardCharsets.UTF_8);
+        while (bytes.length > PLAYER_SIZE) {
+            shortened = shortened.substring(0, shortened.offsetByCodePoints(shortened.length(), -1));
+            bytes = shortened.getBytes(StandardCharsets.UTF_8);
+        }
+        return bytes;
+    }
+
+    /**
+     * Get the time the game ended.
+     *
+     * @return The end time in epoch milliseconds, or 0 if not known.
+     */
+    public long getTimestamp() {
+        return this.timestamp;
+    }
+
+    /**
+     * Get the time survived.
+     *
+     * @return The seconds survived.
+     */
+    public int getSecondsSurvived() {
+        return this.secondsSurvived;
+    }
+
+    /**
+     * Get the level reached.
+     *
+     * @return The level.
+     */
+    public int getLevel() {
+        return this.level;
+    }
+
+    /**
+     * Get the name of the player.
+     *
+     * @return The player.
+     */
+    public String getPlayer() {
+        return this.player;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        return this.player + " Level " + this.level + " Time survived: " + this.secondsSurvived + " seconds";
+    }
+}
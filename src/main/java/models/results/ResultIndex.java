@@ -0,0 +1,232 @@
+package models.results;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * A memory mapped index file over the results in a ResultStore. Each entry holds a primary and a secondary key and
+ * the number of a result, and the entries are sorted by primary key, then secondary key, then result number, so
+ * the entries for a primary key are found with a binary search. The header records how many results of the data
+ * file the index covers.
+ *
+ * @author Samuel Thand
+ */
+final class ResultIndex {
+
+    private static final int MAGIC = 0x50524958;
+    private static final int HEADER_SIZE = 16;
+    private static final int ENTRY_SIZE = 24;
+    private static final int WRITE_BUFFER_SIZE = 1 << 20;
+
+    private final MappedByteBuffer entries;
+    private final int size;
+    private final long coveredResults;
+
+    /**
+     * Constructor. Initializes instance fields.
+     *
+     * @param entries The mapped index file.
+     * @param size The amount of entries.
+     * @param coveredResults The amount of results of the data file covered.
+     */
+    private ResultIndex(final MappedByteBuffer entries, final int size, final long coveredResults) {
+        this.entries = entries;
+        this.size = size;
+        this.coveredResults = coveredResults;
+    }
+
+    /**
+     * Maps an index file.
+     *
+     * @param file The index file.
+     * @return The index, or null if the file does not exist or is not a complete index.
+     * @throws IOException If the index file cannot be read.
+     */
+    static ResultIndex open(final Path file) throws IOException {
+        if (!Files.exists(file)) {
+            return null;
+        }
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long fileSize = channel.size();
+            if (fileSize < HEADER_SIZE || (fileSize - HEADER_SIZE) % ENTRY_SIZE != 0) {
+                return null;
+            }
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, fileSize);
+            mapped.order(ByteOrder.BIG_ENDIAN);
+            if (mapped.getInt(0) != MAGIC) {
+                return null;
+            }
+            return new ResultIndex(mapped, (int) ((fileSize - HEADER_SIZE) / ENTRY_SIZE), mapped.getLong(8));
+        }
+    }
+
+    /**
+     * Writes an index file, sorting the entries. The file is written next to its final place and then moved there,
+     * so a crash never leaves a partly written index.
+     *
+     * @param file The index file.
+     * @param primary The primary key of each result, indexed by result number.
+     * @param secondary The secondary key of each result, indexed by result number.
+     * @param count The amount of results.
+     * @return The index.
+     * @throws IOException If the index file cannot be written.
+     */
+    static ResultIndex write(final Path file, final long[] primary, final long[] secondary, final int count)
+            throws IOException {
+        int[] order = sortedOrder(primary, secondary, count);
+        Path temporary = file.resolveSibling(file.getFileName() + ".tmp");
+
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer buffer = ByteBuffer.allocateDirect(WRITE_BUFFER_SIZE);
+            buffer.putInt(MAGIC).putInt(ENTRY_SIZE).putLong(count);
+            for (int i = 0; i < count; i++) {
+                if (buffer.remaining() < ENTRY_SIZE) {
+                    writeFully(channel, buffer);
+                }
+                int result = order[i];
+                buffer.putLong(primary[result]).putLong(secondary[result]).putLong(result);
+            }
+            writeFully(channel, buffer);
+            channel.force(true);
+        }
+
+        Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return open(file);
+    }
+
+    /**
+     * Finds the first entry with a primary key of at least a value.
+     *
+     * @param key The primary key searched for.
+     * @return The index of the entry, or the amount of entries if all are lower.
+     */
+    int lowerBound(final long key) {
+        int low = 0;
+        int high = this.size;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (getPrimary(middle) < key) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Get the primary key of an entry.
+     *
+     * @param entry The index of the entry.
+     * @return The primary key.
+     */
+    long getPrimary(final int entry) {
+        return this.entries.getLong(HEADER_SIZE + entry * ENTRY_SIZE);
+    }
+
+    /**
+     * Get the secondary key of an entry.
+     *
+     * @param entry The index of the entry.
+     * @return The secondary key.
+     */
+    long getSecondary(final int entry) {
+        return this.entries.getLong(HEADER_SIZE + entry * ENTRY_SIZE + 8);
+    }
+
+    /**
+     * Get the result number of an entry.
+     *
+     * @param entry The index of the entry.
+     * @return The number of the result in the data file.
+     */
+    int getResult(final int entry) {
+        return (int) this.entries.getLong(HEADER_SIZE + entry * ENTRY_SIZE + 16);
+    }
+
+    /**
+     * Get the amount of entries.
+     *
+     * @return The size of the index.
+     */
+    int size() {
+        return this.size;
+    }
+
+    /**
+     * Get how many results of the data file this index covers.
+     *
+     * @return The amount of covered results.
+     */
+    long getCoveredResults() {
+        return this.coveredResults;
+    }
+
+    /**
+     * Writes the contents of a buffer to a channel, and clears the buffer.
+     *
+     * @param channel The channel.
+     * @param buffer The buffer.
+     * @throws IOException If writing fails.
+     */
+    private static void writeFully(final FileChannel channel, final ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    /**
+     * Sorts result numbers by their keys with a bottom-up merge sort, which is stable, so results with equal keys
+     * stay in result number order.
+     *
+     * @param primary The primary key of each result.
+     * @param secondary The secondary key of each result.
+     * @param count The amount of results.
+     * @return The result numbers in key order.
+     */
+    private static int[] sortedOrder(final long[] primary, final long[] secondary, final int count) {
+        int[] order = new int[count];
+        for (int i = 0; i < count; i++) {
+            order[i] = i;
+        }
+
+        int[] merged = new int[count];
+        for (int width = 1; width < count; width *= 2) {
+            for (int left = 0; left < count; left += 2 * width) {
+                int middle = Math.min(left + width, count);
+                int right = Math.min(left + 2 * width, count);
+                int a = left;
+                int b = middle;
+                int out = left;
+                while (a < middle && b < right) {
+                    int first = order[a];
+                    int second = order[b];
+                    boolean secondIsLower = primary[second] < primary[first]
+                            || primary[second] == primary[first] && secondary[second] < secondary[first];
+                    merged[out++] = secondIsLower ? order[b++] : order[a++];
+                }
+                while (a < middle) {
+                    merged[out++] = order[a++];
+                }
+                while (b < right) {
+                    merged[out++] = order[b++];
+                }
+            }
+            int[] swap = order;
+            order = merged;
+            merged = swap;
+        }
+        return order;
+    }
+}
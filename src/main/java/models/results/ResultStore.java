@@ -0,0 +1,493 @@
+package models.results;
+
+import constants.Constants;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+
+/**
+ * A binary store of game results, answering leaderboard queries without reading all results. Results are appended
+ * as fixed-width GameResult records to a data file, and three memory mapped ResultIndex files sort them by rank,
+ * by end time and by player. Results appended after the indexes were built are kept in memory as a delta and
+ * merged into every query, until the delta grows past {@link Constants#RESULT_STORE_DELTA_LIMIT} results and the
+ * indexes are rebuilt. Since the data file and indexes are mapped whole, a store holds at most
+ * {@value #MAX_RESULTS} results.
+ * <p>
+ * Results imported from text files are appended together with how many bytes of their source file they cover, so
+ * importing a file again only appends the results added to it since. The amount of results and the imported bytes
+ * of each source are saved to a sources file after the data file is forced to the disk. Results appended after
+ * the sources file was last saved are cut off when the store is opened, to be imported again, so no result is
+ * stored twice.
+ *
+ * @author Samuel Thand
+ */
+public class ResultStore implements AutoCloseable {
+
+    /**
+     * The most results a store holds.
+     */
+    public static final int MAX_RESULTS = Integer.MAX_VALUE / GameResult.RECORD_SIZE;
+
+    private static final String DATA_FILE = "results.dat";
+    private static final String RANK_INDEX_FILE = "rank.idx";
+    private static final String TIME_INDEX_FILE = "time.idx";
+    private static final String PLAYER_INDEX_FILE = "player.idx";
+    private static final String SOURCES_FILE = "sources.properties";
+    private static final String RESULTS_KEY = "results";
+    private static final String SOURCE_KEY_PREFIX = "source.";
+    private static final Comparator<GameResult> BY_TIMESTAMP = Comparator.comparingLong(GameResult::getTimestamp);
+
+    private final Path directory;
+    private final FileChannel dataChannel;
+    private final List<GameResult> delta;
+    private final Map<String, Long> importedBytes;
+    private MappedByteBuffer indexedData;
+    private ResultIndex rankIndex;
+    private ResultIndex timeIndex;
+    private ResultIndex playerIndex;
+    private int indexedCount;
+    private long resultCount;
+    private boolean deltaIsComplete;
+
+    /**
+     * Constructor. Initializes instance fields.
+     *
+     * @param directory The directory of the store.
+     * @param dataChannel The channel of the data file.
+     * @param resultCount The amount of whole results in the data file.
+     */
+    private ResultStore(final Path directory, final FileChannel dataChannel, final long resultCount) {
+        this.directory = directory;
+        this.dataChannel = dataChannel;
+        this.resultCount = resultCount;
+        this.delta = new ArrayList<>();
+        this.importedBytes = new TreeMap<>();
+    }
+
+    /**
+     * Opens the store in a directory, creating it if it doesn't exist. A partly written result at the end of the
+     * data file is cut off, and so are results appended after the sources file was last saved. The indexes are
+     * rebuilt if they are missing, do not match each other, or leave more results than fit in the delta uncovered,
+     * else the uncovered results are read into the delta.
+     *
+     * @param directory The directory of the store.
+     * @return The store.
+     * @throws IOException If the store cannot be opened.
+     */
+    public static ResultStore open(final Path directory) throws IOException {
+        Files.createDirectories(directory);
+        FileChannel dataChannel = FileChannel.open(directory.resolve(DATA_FILE), StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+        ResultStore store;
+        try {
+            Properties sources = readSources(directory.resolve(SOURCES_FILE));
+            long resultCount = dataChannel.size() / GameResult.RECORD_SIZE;
+            String savedCount = sources.getProperty(RESULTS_KEY);
+            if (savedCount != null) {
+                resultCount = Math.min(resultCount, Long.parseLong(savedCount));
+            }
+            if (dataChannel.size() != resultCount * GameResult.RECORD_SIZE) {
+                dataChannel.truncate(resultCount * GameResult.RECORD_SIZE);
+            }
+
+            store = new ResultStore(directory, dataChannel, resultCount);
+            for (String key : sources.stringPropertyNames()) {
+                if (key.startsWith(SOURCE_KEY_PREFIX)) {
+                    store.importedBytes.put(key.substring(SOURCE_KEY_PREFIX.length()),
+                            Long.parseLong(sources.getProperty(key)));
+                }
+            }
+            store.openIndexes();
+        } catch (IOException | RuntimeException e) {
+            dataChannel.close();
+            throw e;
+        }
+        return store;
+    }
+
+    /**
+     * Appends a result.
+     *
+     * @param result The result.
+     * @throws IOException If the result cannot be written.
+     */
+    public synchronized void append(final GameResult result) throws IOException {
+        appendAll(List.of(result));
+    }
+
+    /**
+     * Appends results with a single write. If they make the delta grow too large, the indexes are rebuilt by the
+     * next query, so a bulk load of many batches only rebuilds them once.
+     *
+     * @param results The results.
+     * @throws IOException If the results cannot be written.
+     */
+    public synchronized void appendAll(final List<GameResult> results) throws IOException {
+        appendAll(results, null, 0);
+    }
+
+    /**
+     * Appends results imported from a text file, and notes how many bytes of the file they cover.
+     *
+     * @param results The results, which may be none if the bytes held no results.
+     * @param source The name of the text file, or null if the results are not imported.
+     * @param sourceBytes The bytes of the text file imported with these results.
+     * @throws IOException If the results cannot be written.
+     */
+    public synchronized void appendAll(final List<GameResult> results, final String source, final long sourceBytes)
+            throws IOException {
+        if (this.resultCount + results.size() > MAX_RESULTS) {
+            throw new IOException("The result store is full");
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate(results.size() * GameResult.RECORD_SIZE);
+        for (GameResult result : results) {
+            result.writeTo(buffer);
+        }
+        buffer.flip();
+        long position = this.resultCount * GameResult.RECORD_SIZE;
+        while (buffer.hasRemaining()) {
+            position += this.dataChannel.write(buffer, position);
+        }
+        this.dataChannel.force(false);
+        this.resultCount += results.size();
+        if (source != null) {
+            this.importedBytes.put(source, sourceBytes);
+        }
+        saveSources();
+
+        if (this.deltaIsComplete && this.delta.size() + results.size() <= Constants.RESULT_STORE_DELTA_LIMIT) {
+            this.delta.addAll(results);
+        } else {
+            this.deltaIsComplete = false;
+            this.delta.clear();
+        }
+    }
+
+    /**
+     * Get how many bytes of a text file are imported.
+     *
+     * @param source The name of the text file.
+     * @return The imported bytes, 0 if nothing of the file is imported.
+     */
+    public synchronized long getImportedBytes(final String source) {
+        return this.importedBytes.getOrDefault(source, 0L);
+    }
+
+    /**
+     * Notes that a text file was renamed, so its imported bytes are kept.
+     *
+     * @param source The old name of the text file.
+     * @param renamed The new name of the text file.
+     * @throws IOException If the sources file cannot be saved.
+     */
+    public synchronized void renameSource(final String source, final String renamed) throws IOException {
+        Long bytes = this.importedBytes.remove(source);
+        if (bytes != null) {
+            this.importedBytes.put(renamed, bytes);
+            saveSources();
+        }
+    }
+
+    /**
+     * Get the best results, by time survived and then level reached. Equal results are ordered by end time.
+     *
+     * @param count The amount of results.
+     * @return At most count results, best first.
+     * @throws IOException If the indexes have to be rebuilt and that fails.
+     */
+    public synchronized List<GameResult> topResults(final int count) throws IOException {
+        ensureIndexed();
+        List<GameResult> top = new ArrayList<>(count + 1);
+        for (int i = 0; i < Math.min(count, this.rankIndex.size()); i++) {
+            top.add(readIndexed(this.rankIndex.getResult(i)));
+        }
+
+        for (GameResult result : this.delta) {
+            int position = top.size();
+            while (position > 0 && ranksAbove(result, top.get(position - 1))) {
+                position--;
+            }
+            if (position < count) {
+                top.add(position, result);
+                if (top.size() > count) {
+                    top.remove(count);
+                }
+            }
+        }
+        return top;
+    }
+
+    /**
+     * Get the results of games that ended on a day.
+     *
+     * @param day The day.
+     * @param zone The time zone of the day.
+     * @return The results, in order of end time.
+     * @throws IOException If the indexes have to be rebuilt and that fails.
+     */
+    public synchronized List<GameResult> resultsOn(final LocalDate day, final ZoneId zone) throws IOException {
+        ensureIndexed();
+        long start = day.atStartOfDay(zone).toInstant().toEpochMilli();
+        long end = day.plusDays(1).atStartOfDay(zone).toInstant().toEpochMilli();
+
+        List<GameResult> results = new ArrayList<>();
+        for (int i = this.timeIndex.lowerBound(start); i < this.timeIndex.size(); i++) {
+            if (this.timeIndex.getPrimary(i) >= end) {
+                break;
+            }
+            results.add(readIndexed(this.timeIndex.getResult(i)));
+        }
+
+        boolean deltaHasDay = false;
+        for (GameResult result : this.delta) {
+            if (result.getTimestamp() >= start && result.getTimestamp() < end) {
+                results.add(result);
+                deltaHasDay = true;
+            }
+        }
+        if (deltaHasDay) {
+            results.sort(BY_TIMESTAMP);
+        }
+        return results;
+    }
+
+    /**
+     * Get the best result of a player.
+     *
+     * @param player The name of the player.
+     * @return The best result, or null if the player has no results.
+     * @throws IOException If the indexes have to be rebuilt and that fails.
+     */
+    public synchronized GameResult personalBest(final String player) throws IOException {
+        ensureIndexed();
+        GameResult probe = new GameResult(0, 0, 0, player);
+        long key = probe.getPlayerKey();
+
+        GameResult best = null;
+        for (int i = this.playerIndex.lowerBound(key); i < this.playerIndex.size(); i++) {
+            if (this.playerIndex.getPrimary(i) != key) {
+                break;
+            }
+            GameResult result = readIndexed(this.playerIndex.getResult(i));
+            if (result.getPlayer().equals(probe.getPlayer())) {
+                best = result;
+                break;
+            }
+        }
+
+        for (GameResult result : this.delta) {
+            if (result.getPlayer().equals(probe.getPlayer()) && (best == null || ranksAbove(result, best))) {
+                best = result;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Get the amount of results in the store.
+     *
+     * @return The amount of results.
+     */
+    public synchronized long size() {
+        return this.resultCount;
+    }
+
+    /**
+     * Rebuilds the indexes over all results in the data file, and empties the delta. The data file is forced to
+     * the disk first, so an index never covers results that could still be lost.
+     *
+     * @throws IOException If the indexes cannot be written.
+     */
+    public synchronized void rebuildIndexes() throws IOException {
+        this.dataChannel.force(false);
+        int count = (int) this.resultCount;
+        MappedByteBuffer data = mapData(count);
+
+        long[] primary = new long[count];
+        long[] secondary = new long[count];
+        for (int i = 0; i < count; i++) {
+            int offset = i * GameResult.RECORD_SIZE;
+            primary[i] = -GameResult.rankKey(data.getInt(offset + 8), data.getInt(offset + 12));
+            secondary[i] = data.getLong(offset);
+        }
+        ResultIndex rank = ResultIndex.write(this.directory.resolve(RANK_INDEX_FILE), primary, secondary, count);
+
+        for (int i = 0; i < count; i++) {
+            primary[i] = data.getLong(i * GameResult.RECORD_SIZE);
+            secondary[i] = 0;
+        }
+        ResultIndex time = ResultIndex.write(this.directory.resolve(TIME_INDEX_FILE), primary, secondary, count);
+
+        for (int i = 0; i < count; i++) {
+            int offset = i * GameResult.RECORD_SIZE;
+            primary[i] = GameResult.playerKey(data, offset);
+            secondary[i] = -GameResult.rankKey(data.getInt(offset + 8), data.getInt(offset + 12));
+        }
+        ResultIndex player = ResultIndex.write(this.directory.resolve(PLAYER_INDEX_FILE), primary, secondary, count);
+
+        this.rankIndex = rank;
+        this.timeIndex = time;
+        this.playerIndex = player;
+        this.indexedData = data;
+        this.indexedCount = count;
+        this.delta.clear();
+        this.deltaIsComplete = true;
+    }
+
+    /**
+     * Closes the data file. The mapped indexes are released once no longer referenced.
+     *
+     * @throws IOException If closing fails.
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        this.dataChannel.close();
+    }
+
+    /**
+     * Reads the sources file of a store.
+     *
+     * @param file The sources file.
+     * @return The amount of results and the imported bytes of each source, empty if the file doesn't exist.
+     * @throws IOException If the file cannot be read.
+     */
+    private static Properties readSources(final Path file) throws IOException {
+        Properties sources = new Properties();
+        if (Files.exists(file)) {
+            try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+                sources.load(reader);
+            }
+        }
+        return sources;
+    }
+
+    /**
+     * Saves the amount of results and the imported bytes of each source. The sources file is written under a
+     * temporary name, forced to the disk and renamed, so it is either the old or the new one.
+     *
+     * @throws IOException If the sources file cannot be written.
+     */
+    private void saveSources() throws IOException {
+        Properties sources = new Properties();
+        sources.setProperty(RESULTS_KEY, Long.toString(this.resultCount));
+        for (Map.Entry<String, Long> source : this.importedBytes.entrySet()) {
+            sources.setProperty(SOURCE_KEY_PREFIX + source.getKey(), source.getValue().toString());
+        }
+        Writer text = new StringWriter();
+        sources.store(text, null);
+
+        Path file = this.directory.resolve(SOURCES_FILE);
+        Path temporary = file.resolveSibling(SOURCES_FILE + ".tmp");
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer buffer = StandardCharsets.UTF_8.encode(text.toString());
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(false);
+        }
+        Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Maps the indexes, and reads the results they don't cover into the delta, or rebuilds them.
+     *
+     * @throws IOException If the indexes cannot be read or rebuilt.
+     */
+    private void openIndexes() throws IOException {
+        ResultIndex rank = ResultIndex.open(this.directory.resolve(RANK_INDEX_FILE));
+        ResultIndex time = ResultIndex.open(this.directory.resolve(TIME_INDEX_FILE));
+        ResultIndex player = ResultIndex.open(this.directory.resolve(PLAYER_INDEX_FILE));
+        boolean indexesMatch = rank != null && time != null && player != null
+                && rank.getCoveredResults() == time.getCoveredResults()
+                && rank.getCoveredResults() == player.getCoveredResults()
+                && rank.getCoveredResults() <= this.resultCount
+                && this.resultCount - rank.getCoveredResults() <= Constants.RESULT_STORE_DELTA_LIMIT;
+        if (!indexesMatch) {
+            rebuildIndexes();
+            return;
+        }
+
+        this.rankIndex = rank;
+        this.timeIndex = time;
+        this.playerIndex = player;
+        this.indexedCount = (int) rank.getCoveredResults();
+        this.indexedData = mapData(this.indexedCount);
+
+        int uncovered = (int) (this.resultCount - this.indexedCount);
+        ByteBuffer buffer = ByteBuffer.allocate(uncovered * GameResult.RECORD_SIZE);
+        long position = (long) this.indexedCount * GameResult.RECORD_SIZE;
+        while (buffer.hasRemaining()) {
+            int read = this.dataChannel.read(buffer, position + buffer.position());
+            if (read < 0) {
+                throw new IOException("The data file ended early");
+            }
+        }
+        for (int i = 0; i < uncovered; i++) {
+            this.delta.add(GameResult.readFrom(buffer, i * GameResult.RECORD_SIZE));
+        }
+        this.deltaIsComplete = true;
+    }
+
+    /**
+     * Rebuilds the indexes if results were appended that are neither indexed nor in the delta.
+     *
+     * @throws IOException If the indexes cannot be rebuilt.
+     */
+    private void ensureIndexed() throws IOException {
+        if (!this.deltaIsComplete) {
+            rebuildIndexes();
+        }
+    }
+
+    /**
+     * Maps the first results of the data file.
+     *
+     * @param count The amount of results.
+     * @return The mapped results.
+     * @throws IOException If mapping fails.
+     */
+    private MappedByteBuffer mapData(final int count) throws IOException {
+        return this.dataChannel.map(FileChannel.MapMode.READ_ONLY, 0, (long) count * GameResult.RECORD_SIZE);
+    }
+
+    /**
+     * Reads an indexed result.
+     *
+     * @param result The number of the result.
+     * @return The result.
+     */
+    private GameResult readIndexed(final int result) {
+        return GameResult.readFrom(this.indexedData, result * GameResult.RECORD_SIZE);
+    }
+
+    /**
+     * Check if a result ranks above another: it survived longer, reached a higher level, or ended earlier.
+     *
+     * @param result The result.
+     * @param other The other result.
+     * @return The result ranks above the other.
+     */
+    private static boolean ranksAbove(final GameResult result, final GameResult other) {
+        return result.getRankKey() > other.getRankKey()
+                || result.getRankKey() == other.getRankKey() && result.getTimestamp() < other.getTimestamp();
+    }
+}
@@ -0,0 +1,228 @@
+package models.results;
+
+import controllers.writers.ResultWriterService;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Imports the text results file written by ResultWriter and ResultAndDateWriter into a ResultStore. Each line is
+ * "Result: Level X Time survived: Y seconds", optionally preceded by the day as yyyy_MM_dd and followed by the
+ * statistics of the game, which are not imported. Dated results are stored as ending at the start of their day,
+ * undated results with an unknown end time. Lines that are not results are skipped and counted.
+ * <p>
+ * Importing is incremental: the store notes how many bytes of each file are imported, and a file is read from there
+ * on, so importing a file again only imports the lines added since. A last line without its line break is still
+ * being written, and is left for the next import. Rolled segments compressed to .gz files are read uncompressed,
+ * and count as the segment they were compressed from.
+ *
+ * @author Samuel Thand
+ */
+public final class ResultTextImporter {
+
+    private static final Pattern RESULT_LINE = Pattern.compile(
+            "(?:(\\d{4}_\\d{2}_\\d{2}) )?Result: Level (\\d+) Time survived: (\\d+) seconds(?: .*)?");
+    private static final DateTimeFormatter DAY = DateTimeFormatter.ofPattern("yyyy_MM_dd");
+    private static final int BATCH_SIZE = 65536;
+    private static final int CHUNK_SIZE = 65536;
+    private static final int LINE_CAPACITY = 256;
+    private static final String COMPRESSED_SUFFIX = ".gz";
+
+    private final String player;
+    private final ZoneId zone;
+    private long skippedLines;
+
+    /**
+     * Constructor. Initializes instance fields.
+     *
+     * @param player The name of the player of the imported results.
+     * @param zone The time zone of the days of dated results.
+     */
+    public ResultTextImporter(final String player, final ZoneId zone) {
+        this.player = player;
+        this.zone = zone;
+    }
+
+    /**
+     * Imports the lines of a results file that the store does not hold yet. The results are appended in batches,
+     * each together with the bytes of the file it covers. A file shorter than what the store has imported of it is
+     * not the file that was imported, and is skipped rather than imported twice.
+     *
+     * @param textFile The text results file, or a .gz segment of it.
+     * @param store The store to import into.
+     * @return The amount of imported results.
+     * @throws IOException If the file cannot be read or the store cannot be written.
+     */
+    public long importFile(final Path textFile, final ResultStore store) throws IOException {
+        String source = sourceName(textFile);
+        long position = store.getImportedBytes(source);
+        long imported = 0;
+        List<GameResult> batch = new ArrayList<>(BATCH_SIZE);
+        byte[] chunk = new byte[CHUNK_SIZE];
+        byte[] line = new byte[LINE_CAPACITY];
+        int lineLength = 0;
+        try (InputStream in = openText(textFile)) {
+            if (!skipImported(in, position)) {
+                System.err.println("Skipping " + textFile + ", it is shorter than the " + position
+                        + " bytes imported from " + source);
+                return 0;
+            }
+            int read;
+            while ((read = in.read(chunk)) >= 0) {
+                for (int i = 0; i < read; i++) {
+                    if (chunk[i] != '\n') {
+                        if (lineLength == line.length) {
+                            line = Arrays.copyOf(line, line.length * 2);
+                        }
+                        line[lineLength++] = chunk[i];
+                        continue;
+                    }
+
+                    position += lineLength + 1;
+                    GameResult result = parse(new String(line, 0, lineLength, StandardCharsets.UTF_8));
+                    lineLength = 0;
+                    if (result == null) {
+                        this.skippedLines++;
+                        continue;
+                    }
+                    batch.add(result);
+                    if (batch.size() == BATCH_SIZE) {
+                        store.appendAll(batch, source, position);
+                        imported += batch.size();
+                        batch.clear();
+                    }
+                }
+            }
+        }
+        if (position != store.getImportedBytes(source)) {
+            store.appendAll(batch, source, position);
+            imported += batch.size();
+        }
+        return imported;
+    }
+
+    /**
+     * Get the name a results file is imported under: its file name, without the .gz suffix of a compressed
+     * segment.
+     *
+     * @param textFile The results file.
+     * @return The name of the source.
+     */
+    public static String sourceName(final Path textFile) {
+        String name = textFile.getFileName().toString();
+        return name.endsWith(COMPRESSED_SUFFIX) ? name.substring(0, name.length() - COMPRESSED_SUFFIX.length()) : name;
+    }
+
+    /**
+     * Opens a results file for reading, decompressing a .gz segment.
+     *
+     * @param textFile The results file.
+     * @return The stream of the text of the file.
+     * @throws IOException If the file cannot be opened.
+     */
+    private static InputStream openText(final Path textFile) throws IOException {
+        InputStream in = Files.newInputStream(textFile);
+        if (!textFile.getFileName().toString().endsWith(COMPRESSED_SUFFIX)) {
+            return in;
+        }
+        try {
+            return new GZIPInputStream(in, CHUNK_SIZE);
+        } catch (IOException e) {
+            in.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Skips the bytes of a results file that are imported already.
+     *
+     * @param in The stream of the text of the file.
+     * @param bytes The amount of imported bytes.
+     * @return The bytes were skipped, false if the file ended first.
+     * @throws IOException If the file cannot be read.
+     */
+    private static boolean skipImported(final InputStream in, final long bytes) throws IOException {
+        long remaining = bytes;
+        while (remaining > 0) {
+            long skipped = in.skip(remaining);
+            if (skipped <= 0) {
+                if (in.read() < 0) {
+                    return false;
+                }
+                skipped = 1;
+            }
+            remaining -= skipped;
+        }
+        return true;
+    }
+
+    /**
+     * Parses a line of the results file.
+     *
+     * @param line The line.
+     * @return The result, or null if the line is not a result.
+     */
+    public GameResult parse(final String line) {
+        Matcher matcher = RESULT_LINE.matcher(line.trim());
+        if (!matcher.matches()) {
+            return null;
+        }
+
+        try {
+            long timestamp = 0;
+            if (matcher.group(1) != null) {
+                timestamp = LocalDate.parse(matcher.group(1), DAY).atStartOfDay(this.zone).toInstant().toEpochMilli();
+            }
+            return new GameResult(timestamp, Integer.parseInt(matcher.group(3)), Integer.parseInt(matcher.group(2)),
+                    this.player);
+        } catch (DateTimeParseException | NumberFormatException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Get the amount of lines skipped since this importer was created.
+     *
+     * @return The skipped lines.
+     */
+    public long getSkippedLines() {
+        return this.skippedLines;
+    }
+
+    /**
+     * Imports the rolled segments of a results file, oldest first, and then the results file, into a result store
+     * as results of the current user. Only what the store does not hold yet is imported, so the game, which
+     * imports the same files when it starts, does not store any result twice either.
+     *
+     * @param args Optionally the path of the results file, by default _Resources/PongResults.txt, and the
+     *             directory of the store, by default _Resources/results.
+     * @throws IOException If the files cannot be read or the store cannot be written.
+     */
+    public static void main(final String[] args) throws IOException {
+        Path textFile = args.length > 0 ? Paths.get(args[0]) : ResultWriterService.defaultResultsFile();
+        Path storeDirectory = args.length > 1 ? Paths.get(args[1]) : ResultWriterService.defaultStoreDirectory();
+
+        ResultTextImporter importer = new ResultTextImporter(System.getProperty("user.name"), ZoneId.systemDefault());
+        try (ResultStore store = ResultStore.open(storeDirectory)) {
+            long imported = 0;
+            for (Path file : ResultWriterService.listResultFiles(textFile)) {
+                imported += importer.importFile(file, store);
+            }
+            System.out.printf("Imported %d results into %s, skipped %d lines, the store holds %d results%n",
+                    imported, storeDirectory, importer.getSkippedLines(), store.size());
+        }
+    }
+}
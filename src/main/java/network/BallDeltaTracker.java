@@ -0,0 +1,114 @@
+package network;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.BitSet;
+import java.util.List;
+import models.BallListener;
+import models.balls.BallModel;
+
+/**
+ * Keeps track of the balls a client has to be sent again, the balls added, bounced or removed since they were last
+ * sent. Told about them by the model as they happen, so finding them costs nothing per ball in play, and a ball
+ * changing many times before it is sent is queued once. Only used on the game tick thread.
+ *
+ * @author Samuel Thand
+ */
+final class BallDeltaTracker implements BallListener {
+
+    private final ArrayDeque<BallModel> changedBalls;
+    private final BitSet queuedIds;
+    private final BitSet inPlayIds;
+
+    /**
+     * Constructor. Initializes instance fields.
+     */
+    BallDeltaTracker() {
+        this.changedBalls = new ArrayDeque<>();
+        this.queuedIds = new BitSet();
+        this.inPlayIds = new BitSet();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @param ball The ball.
+     */
+    @Override
+    public void ballChanged(final BallModel ball) {
+        this.inPlayIds.set(ball.getId());
+        enqueue(ball);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @param ball The ball.
+     */
+    @Override
+    public void ballRemoved(final BallModel ball) {
+        this.inPlayIds.clear(ball.getId());
+        enqueue(ball);
+    }
+
+    /**
+     * Queues a ball to be sent, unless it already is.
+     *
+     * @param ball The ball.
+     */
+    private void enqueue(final BallModel ball) {
+        if (!this.queuedIds.get(ball.getId())) {
+            this.queuedIds.set(ball.getId());
+            this.changedBalls.add(ball);
+        }
+    }
+
+    /**
+     * Forgets what was queued, and queues every ball in play. Called for a client that has not been sent anything.
+     *
+     * @param balls The balls in play.
+     */
+    void resynchronize(final List<BallModel> balls) {
+        this.changedBalls.clear();
+        this.queuedIds.clear();
+        this.inPlayIds.clear();
+        for (BallModel ball : balls) {
+            ballChanged(ball);
+        }
+    }
+
+    /**
+     * Writes records of queued balls into a state message, as many as fit, in the order they were queued.
+     *
+     * @param state The state message, its position at the first record.
+     * @param maxRecords The most records to write.
+     * @return The amount of records written.
+     */
+    int writeRecords(final ByteBuffer state, final int maxRecords) {
+        int records = 0;
+        BallModel ball;
+        while (records < maxRecords && (ball = this.changedBalls.poll()) != null) {
+            this.queuedIds.clear(ball.getId());
+            boolean removed = !this.inPlayIds.get(ball.getId());
+            state.putInt(ball.getId());
+            state.put((byte) ball.getType().getId());
+            state.put((byte) (removed ? NetworkProtocol.REMOVED_FLAG : 0));
+            state.putShort((short) ball.getX());
+            state.putShort((short) ball.getY());
+            state.putShort((short) ball.getXvelocity());
+            state.putShort((short) ball.getYvelocity());
+            state.putShort((short) 0);
+            records++;
+        }
+        return records;
+    }
+
+    /**
+     * Get the amount of balls queued to be sent.
+     *
+     * @return The pending records.
+     */
+    int getPendingRecords() {
+        return this.changedBalls.size();
+    }
+}
@@ -0,0 +1,336 @@
+package network;
+
+import constants.Constants;
+import java.awt.Dimension;
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Joins a game hosted by a GameHost as the remote player. Sends the keys pressed for the remote paddle, and
+ * receives the state of the game every tick, which is applied to a GameMirror on the game tick thread.
+ * <p>
+ * All networking happens on one thread with a selector over a non-blocking channel. Received states are handed to
+ * the game tick thread in a few fixed buffers. If the game tick thread falls behind and no buffer is free, the
+ * network thread stops reading until one is, so the host sees a full connection and skips states rather than this
+ * client buffering without bound.
+ *
+ * @author Samuel Thand
+ */
+public final class GameClient implements AutoCloseable {
+
+    private final Selector selector;
+    private final SocketChannel channel;
+    private final Thread thread;
+    private final ArrayBlockingQueue<ByteBuffer> freeStates;
+    private final ArrayBlockingQueue<ByteBuffer> receivedStates;
+    private final ByteBuffer input;
+    private final AtomicInteger keys;
+    private final CountDownLatch welcomed;
+    private volatile boolean closed;
+    private volatile boolean connected;
+    private volatile boolean readingIsPaused;
+    private volatile IOException failure;
+    private Dimension bounds;
+    private int ballTypeCount;
+    private int remotePaddleNumber;
+    private SelectionKey key;
+    private ByteBuffer incoming;
+    private int sentKeys;
+    private int inputSequence;
+
+    /**
+     * Constructor. Initializes instance fields and starts connecting to the host, without waiting for it.
+     *
+     * @param address The address of the host.
+     * @throws IOException If connecting cannot be started.
+     */
+    private GameClient(final InetSocketAddress address) throws IOException {
+        this.freeStates = new ArrayBlockingQueue<>(Constants.NETWORK_FRAME_QUEUE_CAPACITY);
+        this.receivedStates = new ArrayBlockingQueue<>(Constants.NETWORK_FRAME_QUEUE_CAPACITY);
+        for (int i = 0; i < Constants.NETWORK_FRAME_QUEUE_CAPACITY; i++) {
+            this.freeStates.add(ByteBuffer.allocate(NetworkProtocol.STATE_SIZE));
+        }
+        this.input = ByteBuffer.allocate(NetworkProtocol.INPUT_SIZE);
+        this.input.limit(0);
+        this.keys = new AtomicInteger();
+        this.welcomed = new CountDownLatch(1);
+
+        this.selector = Selector.open();
+        this.channel = SocketChannel.open();
+        try {
+            this.channel.configureBlocking(false);
+            this.channel.socket().setTcpNoDelay(true);
+            boolean connectedAtOnce = this.channel.connect(address);
+            this.key = this.channel.register(this.selector,
+                    connectedAtOnce ? SelectionKey.OP_READ : SelectionKey.OP_CONNECT);
+        } catch (IOException e) {
+            this.channel.close();
+            this.selector.close();
+            throw e;
+        }
+        this.connected = true;
+
+        this.thread = new Thread(this::run, "network-client");
+        this.thread.setDaemon(true);
+        this.thread.start();
+    }
+
+    /**
+     * Connects to a host and waits for its welcome.
+     *
+     * @param address The address of the host.
+     * @param timeoutMillis The longest time to wait for the welcome.
+     * @return The connected client.
+     * @throws IOException If the host cannot be connected to, or does not welcome this client in time.
+     */
+    public static GameClient connect(final InetSocketAddress address, final long timeoutMillis) throws IOException {
+        GameClient client = new GameClient(address);
+        try {
+            if (!client.welcomed.await(timeoutMillis, TimeUnit.MILLISECONDS)) {
+                throw new IOException("The host at " + address + " did not answer in " + timeoutMillis + " ms");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            client.close();
+            throw new IOException("Interrupted while connecting to " + address, e);
+        } catch (IOException e) {
+            client.close();
+            throw e;
+        }
+        if (client.failure != null) {
+            client.close();
+            throw client.failure;
+        }
+        return client;
+    }
+
+    /**
+     * Connects to the host at the address and port given by the network system properties, by default this machine.
+     *
+     * @return The connected client.
+     * @throws IOException If the host cannot be connected to, or does not welcome this client in time.
+     */
+    public static GameClient fromSystemProperties() throws IOException {
+        int port = Integer.getInteger(Constants.NETWORK_PORT_PROPERTY, Constants.DEFAULT_NETWORK_PORT);
+        String address = System.getProperty(Constants.NETWORK_ADDRESS_PROPERTY);
+        InetSocketAddress hostAddress = address == null ? new InetSocketAddress(InetAddress.getLoopbackAddress(), port)
+                : new InetSocketAddress(address, port);
+        return connect(hostAddress, Constants.NETWORK_CONNECT_TIMEOUT_MS);
+    }
+
+    /**
+     * Sets the keys pressed for the remote paddle, and sends them to the host if they changed. Pressing both keys
+     * stops the paddle.
+     *
+     * @param decreaseIsPressed The key moving the paddle towards the start of its side is pressed.
+     * @param increaseIsPressed The key moving the paddle towards the end of its side is pressed.
+     */
+    public void setKeys(final boolean decreaseIsPressed, final boolean increaseIsPressed) {
+        int pressed = (decreaseIsPressed ? NetworkProtocol.DECREASE_KEY : 0)
+                | (increaseIsPressed ? NetworkProtocol.INCREASE_KEY : 0);
+        if (this.keys.getAndSet(pressed) != pressed) {
+            this.selector.wakeup();
+        }
+    }
+
+    /**
+     * Applies the states received so far to a mirror of the game, in the order they were sent. Called on the game
+     * tick thread.
+     *
+     * @param mirror The mirror of the game.
+     * @return The amount of states applied.
+     */
+    public int applyReceivedStates(final GameMirror mirror) {
+        int applied = 0;
+        ByteBuffer state;
+        while ((state = this.receivedStates.poll()) != null) {
+            mirror.apply(state);
+            state.clear();
+            this.freeStates.add(state);
+            applied++;
+        }
+        if (this.readingIsPaused) {
+            this.selector.wakeup();
+        }
+        return applied;
+    }
+
+    /**
+     * Get the width and height of the hosted game.
+     *
+     * @return The bounds.
+     */
+    public Dimension getBounds() {
+        return this.bounds;
+    }
+
+    /**
+     * Get the amount of ball types of the hosted game.
+     *
+     * @return The amount of ball types.
+     */
+    public int getBallTypeCount() {
+        return this.ballTypeCount;
+    }
+
+    /**
+     * Get the number of the paddle this client controls.
+     *
+     * @return The number of the remote paddle.
+     */
+    public int getRemotePaddleNumber() {
+        return this.remotePaddleNumber;
+    }
+
+    /**
+     * Check if the connection to the host is still open.
+     *
+     * @return The client is connected.
+     */
+    public boolean isConnected() {
+        return this.connected;
+    }
+
+    /**
+     * Closes the connection and waits for the network thread to finish.
+     */
+    @Override
+    public void close() {
+        this.closed = true;
+        this.selector.wakeup();
+        try {
+            this.thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * The network thread. Finishes connecting, then reads states and writes input until the client is closed or the
+     * connection fails.
+     */
+    private void run() {
+        try {
+            while (!this.closed) {
+                this.selector.select();
+                boolean selected = this.selector.selectedKeys().remove(this.key);
+                if (selected && this.key.isConnectable() && this.channel.finishConnect()) {
+                    this.key.interestOps(SelectionKey.OP_READ);
+                }
+                if (this.readingIsPaused && !this.freeStates.isEmpty()) {
+                    this.readingIsPaused = false;
+                    this.key.interestOps(this.key.interestOps() | SelectionKey.OP_READ);
+                }
+                if (selected && this.key.isReadable()) {
+                    readStates();
+                }
+                if (this.channel.isConnected()) {
+                    writeInput();
+                }
+            }
+        } catch (IOException e) {
+            if (!this.closed) {
+                System.err.println("The connection to the host was lost: " + e.getMessage());
+            }
+            this.failure = e;
+        } finally {
+            this.connected = false;
+            this.welcomed.countDown();
+            try {
+                this.channel.close();
+                this.selector.close();
+            } catch (IOException e) {
+                System.err.println("Closing the network client failed: " + e);
+            }
+        }
+    }
+
+    /**
+     * Reads whole messages from the host while there are free buffers. The welcome is read into this client, states
+     * are handed to the game tick thread. Pauses reading when no buffer is free.
+     *
+     * @throws IOException If the connection is closed or fails, or the host is not a compatible game.
+     */
+    private void readStates() throws IOException {
+        while (true) {
+            if (this.incoming == null) {
+                this.incoming = this.freeStates.poll();
+                if (this.incoming == null) {
+                    this.readingIsPaused = true;
+                    this.key.interestOps(this.key.interestOps() & ~SelectionKey.OP_READ);
+                    return;
+                }
+            }
+            if (this.channel.read(this.incoming) < 0) {
+                throw new EOFException("The host closed the connection");
+            }
+            if (this.incoming.hasRemaining()) {
+                return;
+            }
+
+            this.incoming.flip();
+            if (this.welcomed.getCount() > 0) {
+                readWelcome(this.incoming);
+                this.incoming.clear();
+                this.freeStates.add(this.incoming);
+                this.welcomed.countDown();
+            } else if (this.incoming.get(0) == NetworkProtocol.STATE) {
+                this.receivedStates.add(this.incoming);
+            } else {
+                throw new IOException("Unexpected message of type " + this.incoming.get(0));
+            }
+            this.incoming = null;
+        }
+    }
+
+    /**
+     * Reads the welcome of the host.
+     *
+     * @param message The welcome.
+     * @throws IOException If the message is not a welcome of a compatible host.
+     */
+    private void readWelcome(final ByteBuffer message) throws IOException {
+        if (message.get(0) != NetworkProtocol.WELCOME) {
+            throw new IOException("The host did not welcome this client");
+        }
+        if (message.get(1) != NetworkProtocol.VERSION) {
+            throw new IOException("Unsupported protocol version " + message.get(1));
+        }
+        this.bounds = new Dimension(message.getInt(4), message.getInt(8));
+        this.ballTypeCount = message.getInt(12);
+        this.remotePaddleNumber = message.getInt(16);
+    }
+
+    /**
+     * Writes the keys to the host if they changed since they were last sent, or the rest of a partly written input
+     * message, waiting for the connection to take more if it is full.
+     *
+     * @throws IOException If the connection fails.
+     */
+    private void writeInput() throws IOException {
+        if (!this.input.hasRemaining()) {
+            int pressed = this.keys.get();
+            if (pressed == this.sentKeys) {
+                return;
+            }
+            this.input.clear();
+            this.input.put(NetworkProtocol.INPUT).put((byte) pressed).putShort((short) 0).putInt(++this.inputSequence);
+            this.input.flip();
+            this.sentKeys = pressed;
+        }
+
+        this.channel.write(this.input);
+        int interest = this.key.interestOps() & ~SelectionKey.OP_WRITE;
+        this.key.interestOps(this.input.hasRemaining() ? interest | SelectionKey.OP_WRITE : interest);
+    }
+}
@@ -0,0 +1,439 @@
+package network;
+
+import constants.Constants;
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import models.Bound;
+import models.PaddleModel;
+import models.PongModel;
+import models.Side;
+
+/**
+ * Hosts a game for a remote player, who controls the paddle numbered {@link #REMOTE_PADDLE_NUMBER}. The game runs
+ * here and is authoritative: the client only sends the keys pressed for its paddle, and is sent the state of the
+ * game every tick. One client at a time is served, further connections are closed.
+ * <p>
+ * The connection is non-blocking, so a slow or stalled client never holds up the game tick. A thread with a selector
+ * accepts the client, reads its input and finishes writing what the connection could not take at once. The game
+ * tick thread encodes the state into one of a few fixed buffers and writes it itself when nothing is waiting to be
+ * written, which saves waking the network thread every tick; otherwise the state waits for the network thread.
+ * Writes are serialized by a lock, only contended while the connection is full. If the client falls behind and no
+ * buffer is free, the state of the tick is skipped: the
+ * balls that changed stay queued for the next state, and the client extrapolates the others by the ball moves, so
+ * skipping costs the client smoothness but not correctness. The state of a tick is a fixed amount of bytes, and
+ * takes a bounded amount of work to encode, however many balls are in play.
+ *
+ * @author Samuel Thand
+ */
+public final class GameHost implements AutoCloseable {
+
+    public static final int REMOTE_PADDLE_NUMBER = 2;
+
+    private final Selector selector;
+    private final ServerSocketChannel serverChannel;
+    private final Thread thread;
+    private final BallDeltaTracker ballDeltaTracker;
+    private final ArrayBlockingQueue<ByteBuffer> freeStates;
+    private final ArrayBlockingQueue<ByteBuffer> queuedStates;
+    private final ByteBuffer welcome;
+    private final ByteBuffer input;
+    private final Object writeLock;
+    private volatile boolean closed;
+    private volatile boolean clientIsConnected;
+    private volatile boolean resynchronizationIsDue;
+    private volatile int remoteKeys;
+    private volatile long bytesSent;
+    private long skippedStates;
+    private SocketChannel client;
+    private SelectionKey clientKey;
+    private ByteBuffer outgoing;
+    private boolean writeIsPending;
+
+    /**
+     * Constructor. Initializes instance fields, tells the model to report balls changing course to this host and
+     * starts listening for a client.
+     *
+     * @param address The address to listen on, port 0 for any free port.
+     * @param model The model of the game.
+     * @throws IOException If the address cannot be listened on.
+     */
+    public GameHost(final InetSocketAddress address, final PongModel model) throws IOException {
+        this.ballDeltaTracker = new BallDeltaTracker();
+        this.freeStates = new ArrayBlockingQueue<>(Constants.NETWORK_FRAME_QUEUE_CAPACITY);
+        this.queuedStates = new ArrayBlockingQueue<>(Constants.NETWORK_FRAME_QUEUE_CAPACITY);
+        for (int i = 0; i < Constants.NETWORK_FRAME_QUEUE_CAPACITY; i++) {
+            this.freeStates.add(ByteBuffer.allocateDirect(NetworkProtocol.STATE_SIZE));
+        }
+        this.welcome = ByteBuffer.allocateDirect(NetworkProtocol.STATE_SIZE);
+        this.welcome.put(0, NetworkProtocol.WELCOME);
+        this.welcome.put(1, NetworkProtocol.VERSION);
+        this.welcome.putInt(4, model.getBounds().get(Bound.X));
+        this.welcome.putInt(8, model.getBounds().get(Bound.Y));
+        this.welcome.putInt(12, model.getBallTypeRegistry().size());
+        this.welcome.putInt(16, REMOTE_PADDLE_NUMBER);
+        this.input = ByteBuffer.allocate(NetworkProtocol.INPUT_SIZE);
+        this.writeLock = new Object();
+
+        this.selector = Selector.open();
+        this.serverChannel = ServerSocketChannel.open();
+        try {
+            this.serverChannel.bind(address);
+            this.serverChannel.configureBlocking(false);
+            this.serverChannel.register(this.selector, SelectionKey.OP_ACCEPT);
+        } catch (IOException e) {
+            this.serverChannel.close();
+            this.selector.close();
+            throw e;
+        }
+        model.setBallListener(this.ballDeltaTracker);
+
+        this.thread = new Thread(this::run, "network-host");
+        this.thread.setDaemon(true);
+        this.thread.start();
+    }
+
+    /**
+     * Hosts the game on the address and port given by the network system properties, if the network mode is host.
+     * Listens on all addresses unless one is given.
+     *
+     * @param model The model of the game.
+     * @return The host, or null if the network mode is not host or the port cannot be listened on.
+     */
+    public static GameHost fromSystemProperties(final PongModel model) {
+        if (NetworkMode.fromSystemProperties() != NetworkMode.HOST) {
+            return null;
+        }
+        int port = Integer.getInteger(Constants.NETWORK_PORT_PROPERTY, Constants.DEFAULT_NETWORK_PORT);
+        String address = System.getProperty(Constants.NETWORK_ADDRESS_PROPERTY);
+        try {
+            GameHost host = new GameHost(address == null ? new InetSocketAddress(port)
+                    : new InetSocketAddress(address, port), model);
+            System.out.println("Hosting the game on port " + host.getPort() + ", the remote player controls paddle "
+                    + REMOTE_PADDLE_NUMBER);
+            return host;
+        } catch (IOException e) {
+            System.err.println("Hosting the game on port " + port + " failed: " + e);
+            return null;
+        }
+    }
+
+    /**
+     * Moves the remote paddle the way the keys last sent by the client say. The paddle stands still while no client
+     * is connected. Called on the game tick thread, before the paddles move.
+     *
+     * @param paddles The paddles of the game.
+     */
+    public void applyRemoteInput(final List<PaddleModel> paddles) {
+        int keys = this.remoteKeys;
+        for (PaddleModel paddle : paddles) {
+            if (paddle.getNumber() == REMOTE_PADDLE_NUMBER) {
+                switch (keys) {
+                    case NetworkProtocol.DECREASE_KEY -> paddle.setVelocity(-paddle.getPaddleSpeed());
+                    case NetworkProtocol.INCREASE_KEY -> paddle.setVelocity(paddle.getPaddleSpeed());
+                    default -> paddle.setVelocity(0);
+                }
+            }
+        }
+    }
+
+    /**
+     * Sends the state of the game after a tick to the client, if one is connected. Called on the game tick thread
+     * once the tick is done. Skips the state if the client has not taken the states sent before. If the connection
+     * fails, it is closed and the network thread disconnects the client.
+     *
+     * @param model The model of the game.
+     */
+    public void publishState(final PongModel model) {
+        if (!this.clientIsConnected) {
+            return;
+        }
+        if (this.resynchronizationIsDue) {
+            this.resynchronizationIsDue = false;
+            this.ballDeltaTracker.resynchronize(model.getBalls());
+        }
+        ByteBuffer state = this.freeStates.poll();
+        if (state == null) {
+            this.skippedStates++;
+            return;
+        }
+
+        state.clear();
+        state.put(0, NetworkProtocol.STATE);
+        for (Side side : Side.values()) {
+            state.put(1 + side.ordinal(), (byte) model.getArena().getLayout().getPaddleCount(side));
+        }
+        state.putLong(8, model.getTick());
+        state.putLong(16, model.getBallMoves());
+        state.putInt(24, model.getCurrentLevel());
+        state.putInt(28, (int) model.getElapsedSeconds());
+        state.putInt(32, model.getBalls().size());
+        List<PaddleModel> paddles = model.getPaddles();
+        for (int i = 0; i < Math.min(paddles.size(), NetworkProtocol.MAX_PADDLES); i++) {
+            PaddleModel paddle = paddles.get(i);
+            int offset = NetworkProtocol.PADDLE_OFFSET + i * NetworkProtocol.PADDLE_SIZE;
+            state.putShort(offset, (short) paddle.getX());
+            state.putShort(offset + 2, (short) paddle.getY());
+            state.putShort(offset + 4, (short) paddle.getWidth());
+            state.putShort(offset + 6, (short) paddle.getHeight());
+        }
+        state.position(NetworkProtocol.STATE_HEADER_SIZE);
+        int records = this.ballDeltaTracker.writeRecords(state, NetworkProtocol.MAX_BALL_RECORDS);
+        state.putShort(6, (short) records);
+        state.putInt(36, this.ballDeltaTracker.getPendingRecords());
+        state.clear();
+
+        synchronized (this.writeLock) {
+            if (this.client == null) {
+                recycle(state);
+                return;
+            }
+            this.queuedStates.add(state);
+            try {
+                writeStates();
+            } catch (IOException e) {
+                closeQuietly(this.client);
+                this.selector.wakeup();
+            }
+        }
+    }
+
+    /**
+     * Check if a client is connected.
+     *
+     * @return A client is connected.
+     */
+    public boolean isClientConnected() {
+        return this.clientIsConnected;
+    }
+
+    /**
+     * Get the port listened on.
+     *
+     * @return The port.
+     */
+    public int getPort() {
+        return this.serverChannel.socket().getLocalPort();
+    }
+
+    /**
+     * Get the bytes sent to clients so far.
+     *
+     * @return The bytes sent.
+     */
+    public long getBytesSent() {
+        return this.bytesSent;
+    }
+
+    /**
+     * Get the states skipped so far because the client had not taken the states sent before. Only read on the game
+     * tick thread.
+     *
+     * @return The skipped states.
+     */
+    public long getSkippedStates() {
+        return this.skippedStates;
+    }
+
+    /**
+     * Stops listening, disconnects the client and waits for the network thread to finish.
+     */
+    @Override
+    public void close() {
+        this.closed = true;
+        this.selector.wakeup();
+        try {
+            this.thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * The network thread. Accepts clients, reads their input and writes what the connection could not take at once,
+     * until the host is closed. Disconnects a client whose connection failed or was closed.
+     */
+    private void run() {
+        try {
+            while (!this.closed) {
+                this.selector.select();
+                for (SelectionKey key : this.selector.selectedKeys()) {
+                    if (key.isValid() && key.isAcceptable()) {
+                        accept();
+                    }
+                    if (key.isValid() && key.isReadable()) {
+                        readInput();
+                    }
+                    if (key.isValid() && key.isWritable()) {
+                        writePendingStates();
+                    }
+                }
+                this.selector.selectedKeys().clear();
+                if (this.client != null && !this.client.isOpen()) {
+                    System.err.println("The remote player disconnected: the connection failed");
+                    disconnect();
+                }
+            }
+        } catch (IOException e) {
+            System.err.println("The network host stopped: " + e);
+        } finally {
+            disconnect();
+            try {
+                this.serverChannel.close();
+                this.selector.close();
+            } catch (IOException e) {
+                System.err.println("Closing the network host failed: " + e);
+            }
+        }
+    }
+
+    /**
+     * Accepts a connection. Welcomes it as the client if there is none, else closes it.
+     *
+     * @throws IOException If the server channel fails.
+     */
+    private void accept() throws IOException {
+        SocketChannel channel = this.serverChannel.accept();
+        if (channel == null) {
+            return;
+        }
+        if (this.client != null) {
+            channel.close();
+            return;
+        }
+
+        channel.configureBlocking(false);
+        channel.socket().setTcpNoDelay(true);
+        this.input.clear();
+        this.welcome.clear();
+        synchronized (this.writeLock) {
+            this.client = channel;
+            this.clientKey = channel.register(this.selector, SelectionKey.OP_READ);
+            this.outgoing = this.welcome;
+            this.resynchronizationIsDue = true;
+            this.clientIsConnected = true;
+            writePendingStates();
+        }
+    }
+
+    /**
+     * Reads the input messages the client has sent, and keeps the keys of the last. Disconnects the client if the
+     * connection is closed or fails.
+     */
+    private void readInput() {
+        try {
+            int read;
+            while ((read = this.client.read(this.input)) > 0) {
+                if (!this.input.hasRemaining()) {
+                    if (this.input.get(0) == NetworkProtocol.INPUT) {
+                        this.remoteKeys = this.input.get(1);
+                    }
+                    this.input.clear();
+                }
+            }
+            if (read < 0) {
+                throw new EOFException("The client closed the connection");
+            }
+        } catch (IOException e) {
+            System.err.println("The remote player disconnected: " + e.getMessage());
+            disconnect();
+        }
+    }
+
+    /**
+     * Writes the states the connection could not take before, now that it can take more. Disconnects the client if
+     * the connection fails.
+     */
+    private void writePendingStates() {
+        synchronized (this.writeLock) {
+            try {
+                writeStates();
+            } catch (IOException e) {
+                System.err.println("The remote player disconnected: " + e.getMessage());
+                disconnect();
+            }
+        }
+    }
+
+    /**
+     * Writes the outgoing state and the queued states after it, until they are written or the connection is full.
+     * When it is full, the network thread is asked to write the rest once the connection can take more. Called
+     * holding the write lock, with a client connected.
+     *
+     * @throws IOException If the connection fails.
+     */
+    private void writeStates() throws IOException {
+        while (this.outgoing != null || (this.outgoing = this.queuedStates.poll()) != null) {
+            this.bytesSent += this.client.write(this.outgoing);
+            if (this.outgoing.hasRemaining()) {
+                if (!this.writeIsPending) {
+                    this.writeIsPending = true;
+                    this.clientKey.interestOps(SelectionKey.OP_READ | SelectionKey.OP_WRITE);
+                    this.selector.wakeup();
+                }
+                return;
+            }
+            recycle(this.outgoing);
+            this.outgoing = null;
+        }
+        if (this.writeIsPending) {
+            this.writeIsPending = false;
+            this.clientKey.interestOps(SelectionKey.OP_READ);
+        }
+    }
+
+    /**
+     * Closes the connection to the client, if any, stops the remote paddle and frees the states not yet sent.
+     */
+    private void disconnect() {
+        this.clientIsConnected = false;
+        this.remoteKeys = 0;
+        synchronized (this.writeLock) {
+            if (this.client != null) {
+                closeQuietly(this.client);
+                this.client = null;
+                this.clientKey = null;
+            }
+            if (this.outgoing != null) {
+                recycle(this.outgoing);
+                this.outgoing = null;
+            }
+            ByteBuffer state;
+            while ((state = this.queuedStates.poll()) != null) {
+                recycle(state);
+            }
+            this.writeIsPending = false;
+        }
+    }
+
+    /**
+     * Closes a connection, reporting rather than throwing if closing fails.
+     *
+     * @param channel The connection.
+     */
+    private static void closeQuietly(final SocketChannel channel) {
+        try {
+            channel.close();
+        } catch (IOException e) {
+            System.err.println("Closing the connection to the remote player failed: " + e);
+        }
+    }
+
+    /**
+     * Returns a written or discarded state to the free states. The welcome is not one of them.
+     *
+     * @param state The state.
+     */
+    private void recycle(final ByteBuffer state) {
+        if (state != this.welcome) {
+            this.freeStates.add(state);
+        }
+    }
+}
@@ -0,0 +1,244 @@
+package network;
+
+import java.awt.Dimension;
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import models.ArenaLayout;
+import models.PaddleModel;
+import models.PongModel;
+import models.Side;
+import models.balls.BallModel;
+import models.balls.BallType;
+import models.particles.ParticleSystem;
+
+/**
+ * The game of a host as seen by a client, built from the states the host sends. The paddles, level and time are
+ * copied from every state. Balls are only in a state when they were added, bounced or removed, so every ball is
+ * first moved by its velocity for each ball move since the previous state, then the balls in the state are set.
+ * The balls don't move on their own and don't collide, which the host already did; removed balls are kept for
+ * reuse. Only used on the game tick thread of the client.
+ *
+ * @author Samuel Thand
+ */
+public final class GameMirror {
+
+    private final PongModel model;
+    private final List<BallModel> balls;
+    private final Map<Integer, BallModel> ballsById;
+    private final Set<BallModel> removedBalls;
+    private final List<ArrayDeque<BallModel>> spareBalls;
+    private boolean hasState;
+    private long tick;
+    private long ballMoves;
+    private int level;
+    private int elapsedSeconds;
+    private int ballsInPlay;
+    private int pendingRecords;
+
+    /**
+     * Constructor. Initializes instance fields.
+     *
+     * @param bounds The width and height of the hosted game.
+     * @param ballTypeCount The amount of ball types of the hosted game.
+     */
+    public GameMirror(final Dimension bounds, final int ballTypeCount) {
+        this.model = new PongModel(bounds);
+        if (ballTypeCount != this.model.getBallTypeRegistry().size()) {
+            throw new IllegalArgumentException("The host has " + ballTypeCount + " ball types, this game has "
+                    + this.model.getBallTypeRegistry().size());
+        }
+        this.balls = new ArrayList<>();
+        this.ballsById = new HashMap<>();
+        this.removedBalls = Collections.newSetFromMap(new IdentityHashMap<>());
+        this.spareBalls = new ArrayList<>();
+        for (int i = 0; i < ballTypeCount; i++) {
+            this.spareBalls.add(new ArrayDeque<>());
+        }
+        this.level = 1;
+    }
+
+    /**
+     * Applies a state sent by the host.
+     *
+     * @param state The state.
+     */
+    void apply(final ByteBuffer state) {
+        applyLayout(state);
+        List<PaddleModel> paddles = this.model.getPaddles();
+        for (int i = 0; i < Math.min(paddles.size(), NetworkProtocol.MAX_PADDLES); i++) {
+            PaddleModel paddle = paddles.get(i);
+            int offset = NetworkProtocol.PADDLE_OFFSET + i * NetworkProtocol.PADDLE_SIZE;
+            paddle.setX(state.getShort(offset));
+            paddle.setY(state.getShort(offset + 2));
+            paddle.setWidth(state.getShort(offset + 4));
+            paddle.setHeight(state.getShort(offset + 6));
+        }
+
+        long stateBallMoves = state.getLong(16);
+        long moves = this.hasState ? stateBallMoves - this.ballMoves : 0;
+        if (moves != 0) {
+            for (BallModel ball : this.balls) {
+                ball.setX((int) (ball.getX() + ball.getXvelocity() * moves));
+                ball.setY((int) (ball.getY() + ball.getYvelocity() * moves));
+            }
+        }
+        this.hasState = true;
+        this.tick = state.getLong(8);
+        this.ballMoves = stateBallMoves;
+        this.level = state.getInt(24);
+        this.elapsedSeconds = state.getInt(28);
+        this.ballsInPlay = state.getInt(32);
+        this.pendingRecords = state.getInt(36);
+
+        int records = state.getShort(6);
+        for (int i = 0; i < records; i++) {
+            applyBallRecord(state, NetworkProtocol.STATE_HEADER_SIZE + i * NetworkProtocol.BALL_RECORD_SIZE);
+        }
+        if (!this.removedBalls.isEmpty()) {
+            this.balls.removeIf(this.removedBalls::contains);
+            for (BallModel ball : this.removedBalls) {
+                this.spareBalls.get(ball.getType().getId()).push(ball);
+            }
+            this.removedBalls.clear();
+        }
+    }
+
+    /**
+     * Rebuilds the arena if the paddle counts of a state differ from those of the current layout.
+     *
+     * @param state The state.
+     */
+    private void applyLayout(final ByteBuffer state) {
+        ArenaLayout layout = this.model.getArena().getLayout();
+        for (Side side : Side.values()) {
+            if (state.get(1 + side.ordinal()) != layout.getPaddleCount(side)) {
+                this.model.setArenaLayout(ArenaLayout.of(state.get(1 + Side.LEFT.ordinal()),
+                        state.get(1 + Side.RIGHT.ordinal()), state.get(1 + Side.TOP.ordinal()),
+                        state.get(1 + Side.BOTTOM.ordinal())));
+                return;
+            }
+        }
+    }
+
+    /**
+     * Sets, adds or removes the ball of a ball record.
+     *
+     * @param state The state.
+     * @param offset The offset of the record in the state.
+     */
+    private void applyBallRecord(final ByteBuffer state, final int offset) {
+        int id = state.getInt(offset);
+        boolean removed = (state.get(offset + 5) & NetworkProtocol.REMOVED_FLAG) != 0;
+        BallModel ball = this.ballsById.get(id);
+        if (removed) {
+            if (ball != null) {
+                this.ballsById.remove(id);
+                this.removedBalls.add(ball);
+            }
+            return;
+        }
+
+        if (ball == null) {
+            BallType ballType = this.model.getBallTypeRegistry().getBallType(state.get(offset + 4));
+            ball = this.spareBalls.get(ballType.getId()).poll();
+            if (ball == null) {
+                ball = new BallModel(this.model, ballType);
+            }
+            this.ballsById.put(id, ball);
+            this.balls.add(ball);
+        }
+        ball.setX(state.getShort(offset + 6));
+        ball.setY(state.getShort(offset + 8));
+        ball.setXvelocity(state.getShort(offset + 10));
+        ball.setYvelocity(state.getShort(offset + 12));
+    }
+
+    /**
+     * Get the ball with an id given by the host.
+     *
+     * @param id The id of the ball in the hosted game.
+     * @return The ball, or null if it is not in play.
+     */
+    public BallModel getBall(final int id) {
+        return this.ballsById.get(id);
+    }
+
+    /**
+     * Get the balls in play.
+     *
+     * @return The balls.
+     */
+    public List<BallModel> getBalls() {
+        return this.balls;
+    }
+
+    /**
+     * Get the paddles of the game, ordered by number.
+     *
+     * @return The paddles.
+     */
+    public List<PaddleModel> getPaddles() {
+        return this.model.getPaddles();
+    }
+
+    /**
+     * Get the particle system drawn with the game, which stays empty.
+     *
+     * @return The particle system.
+     */
+    public ParticleSystem getParticleSystem() {
+        return this.model.getParticleSystem();
+    }
+
+    /**
+     * Get the tick of the last state applied.
+     *
+     * @return The tick.
+     */
+    public long getTick() {
+        return this.tick;
+    }
+
+    /**
+     * Get the current level of the game.
+     *
+     * @return The level.
+     */
+    public int getLevel() {
+        return this.level;
+    }
+
+    /**
+     * Get the elapsed seconds of the game.
+     *
+     * @return The elapsed seconds.
+     */
+    public int getElapsedSeconds() {
+        return this.elapsedSeconds;
+    }
+
+    /**
+     * Get the amount of balls in play in the hosted game.
+     *
+     * @return The balls in play.
+     */
+    public int getBallsInPlay() {
+        return this.ballsInPlay;
+    }
+
+    /**
+     * Get the balls the host still had to send when it sent the last state.
+     *
+     * @return The pending ball records.
+     */
+    public int getPendingRecords() {
+        return this.pendingRecords;
+    }
+}
@@ -0,0 +1,42 @@
+package network;
+
+import constants.Constants;
+
+/**
+ * Whether the game is played on one machine, hosted for a remote player or joined as the remote player.
+ *
+ * @author Samuel Thand
+ */
+public enum NetworkMode {
+
+    /**
+     * All paddles are controlled from the keyboard of this machine.
+     */
+    OFF,
+
+    /**
+     * This machine runs the game, and a remote client controls the remote paddle.
+     */
+    HOST,
+
+    /**
+     * This machine shows the game run by a host, and controls the remote paddle.
+     */
+    CLIENT;
+
+    /**
+     * Reads the network mode from the system property named by {@link Constants#NETWORK_MODE_PROPERTY}, either
+     * "off", "host" or "client". Defaults to off.
+     *
+     * @return The network mode.
+     */
+    public static NetworkMode fromSystemProperties() {
+        String mode = System.getProperty(Constants.NETWORK_MODE_PROPERTY, OFF.name());
+        try {
+            return valueOf(mode.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            System.err.println("Unknown network mode " + mode + ", using " + OFF);
+            return OFF;
+        }
+    }
+}
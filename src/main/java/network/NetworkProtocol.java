@@ -0,0 +1,46 @@
+package network;
+
+/**
+ * The messages between a GameHost and a GameClient. Every message has a fixed size, so a connection is read and
+ * written in whole messages without any framing, and the bandwidth of a game does not depend on what is in it.
+ * All values are big endian.
+ *
+ * <p>The client sends input messages of {@link #INPUT_SIZE} bytes whenever the keys of the remote paddle change:
+ * the message type, the pressed keys as {@link #DECREASE_KEY} and {@link #INCREASE_KEY} bits and a sequence number.
+ *
+ * <p>The host sends messages of {@link #STATE_SIZE} bytes. The first is a welcome (message type, version, width and
+ * height of the game, amount of ball types and the number of the remote paddle), the rest are states, one per tick.
+ * A state has a header of {@link #STATE_HEADER_SIZE} bytes (message type, the paddle counts of the left, right, top
+ * and bottom sides, the amount of ball records, tick, ball moves, level, elapsed seconds, balls in play, ball records
+ * still pending, and x, y, width and height of up to {@link #MAX_PADDLES} paddles), followed by ball records of
+ * {@link #BALL_RECORD_SIZE} bytes (id, type id, flags, x, y, x velocity and y velocity). Balls are delta compressed:
+ * only balls added, bounced or removed since they were last sent get a record, and a ball without one has moved by
+ * its velocity for every ball move since. Records that don't fit a state are sent with the next.
+ *
+ * @author Samuel Thand
+ */
+final class NetworkProtocol {
+
+    static final byte WELCOME = 1;
+    static final byte STATE = 2;
+    static final byte INPUT = 3;
+    static final byte VERSION = 1;
+
+    static final int INPUT_SIZE = 8;
+    static final int DECREASE_KEY = 1;
+    static final int INCREASE_KEY = 2;
+
+    static final int STATE_SIZE = 2048;
+    static final int STATE_HEADER_SIZE = 80;
+    static final int MAX_PADDLES = 4;
+    static final int PADDLE_OFFSET = 48;
+    static final int PADDLE_SIZE = 8;
+    static final int BALL_RECORD_SIZE = 16;
+    static final int MAX_BALL_RECORDS = (STATE_SIZE - STATE_HEADER_SIZE) / BALL_RECORD_SIZE;
+    static final int REMOVED_FLAG = 1;
+
+    /**
+     * Constructor.
+     */
+    private NetworkProtocol() { }
+}
@@ -0,0 +1,125 @@
+package views;
+
+import java.awt.AWTException;
+import java.awt.BufferCapabilities;
+import java.awt.Canvas;
+import java.awt.Dimension;
+import java.awt.Graphics;
+import java.awt.ImageCapabilities;
+import java.awt.Toolkit;
+import java.awt.image.BufferStrategy;
+
+/**
+ * The game visualization when actively rendered. Instead of waiting for Swing to paint, each frame is drawn into the
+ * back buffer of a BufferStrategy and presented right away. The back buffers are requested as accelerated images,
+ * which Java2D backs with VolatileImages in video memory, falling back to whatever double buffering the platform
+ * offers. Buffer contents lost to the system are redrawn before presenting.
+ *
+ * @author Samuel Thand
+ */
+public class ActiveGameCanvas extends Canvas {
+
+    private static final long serialVersionUID = 1L;
+    private static final int BUFFER_COUNT = 2;
+
+    private final GameFrame gameFrame;
+    private final GameRenderer gameRenderer;
+    private final FrameStatistics frameStatistics;
+    private volatile BufferStrategy bufferStrategy;
+
+    /**
+     * Constructor. Initializes instance fields, and tells AWT to leave painting to this canvas.
+     *
+     * @param gameFrame The frame of the application.
+     * @param gameRenderer The renderer drawing the game.
+     * @param frameStatistics The statistics of the presented frames.
+     */
+    ActiveGameCanvas(final GameFrame gameFrame, final GameRenderer gameRenderer,
+                     final FrameStatistics frameStatistics) {
+        this.gameFrame = gameFrame;
+        this.gameRenderer = gameRenderer;
+        this.frameStatistics = frameStatistics;
+        this.setIgnoreRepaint(true);
+    }
+
+    /**
+     * Provides a preferred size for the component.
+     *
+     * @return The preferred size dimension
+     */
+    @Override
+    public Dimension getPreferredSize() {
+        return this.gameFrame.getFrameSize();
+    }
+
+    /**
+     * Creates the buffer strategy once the canvas is displayable.
+     */
+    @Override
+    public void addNotify() {
+        super.addNotify();
+        createBuffers();
+    }
+
+    /**
+     * Releases the buffer strategy when the canvas stops being displayable.
+     */
+    @Override
+    public void removeNotify() {
+        if (this.bufferStrategy != null) {
+            this.bufferStrategy.dispose();
+            this.bufferStrategy = null;
+        }
+        super.removeNotify();
+    }
+
+    /**
+     * Creates a buffer strategy with accelerated back buffers, or the best available strategy if the platform
+     * cannot accelerate them.
+     */
+    private void createBuffers() {
+        BufferCapabilities accelerated = new BufferCapabilities(
+                new ImageCapabilities(true), new ImageCapabilities(true), null);
+        try {
+            createBufferStrategy(BUFFER_COUNT, accelerated);
+        } catch (AWTException e) {
+            createBufferStrategy(BUFFER_COUNT);
+        }
+        this.bufferStrategy = getBufferStrategy();
+    }
+
+    /**
+     * Draws a frame of the game and presents it. Does nothing until the canvas is displayable. Called by the
+     * RenderLoop, off the event dispatch thread.
+     */
+    public void renderFrame() {
+        BufferStrategy strategy = this.bufferStrategy;
+        if (strategy == null) {
+            return;
+        }
+
+        do {
+            do {
+                Graphics g = strategy.getDrawGraphics();
+                try {
+                    this.gameRenderer.render(g);
+                } finally {
+                    g.dispose();
+                }
+            } while (strategy.contentsRestored());
+            strategy.show();
+        } while (strategy.contentsLost());
+        Toolkit.getDefaultToolkit().sync();
+        this.frameStatistics.recordFrame(System.nanoTime());
+    }
+
+    /**
+     * Check if the back buffers of this canvas are accelerated.
+     *
+     * @return The back buffers are accelerated.
+     */
+    public boolean isAccelerated() {
+        BufferStrategy strategy = this.bufferStrategy;
+        return strategy != null && strategy.getCapabilities().getBackBufferCapabilities().isAccelerated();
+    }
+}
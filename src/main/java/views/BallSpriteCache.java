@@ -0,0 +1,86 @@
+package views;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.Transparency;
+import java.awt.image.BufferedImage;
+
+/**
+ * A cache of pre-rendered ball sprites, one per side length and colour, so drawing a ball is a single image blit
+ * instead of rasterizing an oval. The sprites are created compatible with the graphics configuration they are drawn
+ * to, letting Java2D keep them in accelerated memory, and are all rebuilt if that configuration changes, for example
+ * when the window moves to another screen. Sprites are looked up by array index, without allocating.
+ *
+ * @author Samuel Thand
+ */
+public class BallSpriteCache {
+
+    private final Color[] colors;
+    private BufferedImage[][] sprites;
+    private GraphicsConfiguration graphicsConfiguration;
+
+    /**
+     * Constructor. Initializes instance fields.
+     *
+     * @param colors The colours balls can be drawn in.
+     */
+    public BallSpriteCache(final Color[] colors) {
+        this.colors = colors.clone();
+        this.sprites = new BufferedImage[colors.length][0];
+    }
+
+    /**
+     * Get the sprite of a ball, creating it the first time it is asked for.
+     *
+     * @param graphicsConfiguration The configuration of the graphics the sprite will be drawn to.
+     * @param colorIndex The index of the colour of the ball.
+     * @param sideLength The side length of the ball.
+     * @return The sprite.
+     */
+    public BufferedImage getSprite(final GraphicsConfiguration graphicsConfiguration, final int colorIndex,
+                                   final int sideLength) {
+        if (graphicsConfiguration != this.graphicsConfiguration) {
+            this.sprites = new BufferedImage[this.colors.length][0];
+            this.graphicsConfiguration = graphicsConfiguration;
+        }
+
+        BufferedImage[] spritesOfColor = this.sprites[colorIndex];
+        if (sideLength >= spritesOfColor.length) {
+            BufferedImage[] grown = new BufferedImage[sideLength + 1];
+            System.arraycopy(spritesOfColor, 0, grown, 0, spritesOfColor.length);
+            spritesOfColor = grown;
+            this.sprites[colorIndex] = grown;
+        }
+
+        BufferedImage sprite = spritesOfColor[sideLength];
+        if (sprite == null) {
+            sprite = createSprite(graphicsConfiguration, this.colors[colorIndex], sideLength);
+            spritesOfColor[sideLength] = sprite;
+        }
+        return sprite;
+    }
+
+    /**
+     * Creates the sprite of a ball. The sprite has a bitmask background, fully transparent or opaque per pixel,
+     * which Java2D blits as a plain masked copy rather than blending it.
+     *
+     * @param graphicsConfiguration The configuration of the graphics the sprite will be drawn to.
+     * @param color The colour of the ball.
+     * @param sideLength The side length of the ball.
+     * @return The sprite.
+     */
+    private static BufferedImage createSprite(final GraphicsConfiguration graphicsConfiguration, final Color color,
+                                              final int sideLength) {
+        BufferedImage sprite = graphicsConfiguration.createCompatibleImage(sideLength, sideLength,
+                Transparency.BITMASK);
+        Graphics2D g = sprite.createGraphics();
+        try {
+            g.setColor(color);
+            g.fillOval(0, 0, sideLength, sideLength);
+        } finally {
+            g.dispose();
+        }
+        return sprite;
+    }
+}
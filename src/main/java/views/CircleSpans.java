@@ -0,0 +1,61 @@
+package views;
+
+/**
+ * The horizontal spans covering a filled circle of a given diameter, one span per row. A ball is drawn by filling
+ * the span of each of its rows, without any per-pixel distance test.
+ *
+ * @author Samuel Thand
+ */
+final class CircleSpans {
+
+    private final int diameter;
+    private final int[] start;
+    private final int[] end;
+
+    /**
+     * Constructor. Computes the span of each row, measuring the circle at the centre of the row.
+     *
+     * @param diameter The diameter of the circle.
+     */
+    CircleSpans(final int diameter) {
+        this.diameter = diameter;
+        this.start = new int[diameter];
+        this.end = new int[diameter];
+        double radius = diameter / 2.0;
+        for (int row = 0; row < diameter; row++) {
+            double offset = row + 0.5 - radius;
+            double halfWidth = Math.sqrt(Math.max(0, radius * radius - offset * offset));
+            this.start[row] = (int) Math.round(radius - halfWidth);
+            this.end[row] = (int) Math.round(radius + halfWidth);
+        }
+    }
+
+    /**
+     * Get the diameter of the circle.
+     *
+     * @return The diameter, which is also the amount of rows.
+     */
+    int getDiameter() {
+        return this.diameter;
+    }
+
+    /**
+     * Get the first column covered in a row, relative to the left edge of the circle.
+     *
+     * @param row The row, from the top of the circle.
+     * @return The first column.
+     */
+    int getStart(final int row) {
+        return this.start[row];
+    }
+
+    /**
+     * Get the column after the last one covered in a row, relative to the left edge of the circle.
+     *
+     * @param row The row, from the top of the circle.
+     * @return The end column, exclusive.
+     */
+    int getEnd(final int row) {
+        return this.end[row];
+    }
+}
@@ -0,0 +1,188 @@
+package views;
+
+/**
+ * The parts of the game field that changed since the last frame, as a small set of rectangles. A rectangle
+ * overlapping one already in the set is joined with it. When the rectangles grow too many, or cover too much of the
+ * field, the whole field is marked dirty instead, since repainting it in one go is then cheaper. The rectangles are
+ * kept in preallocated arrays, so collecting them allocates nothing.
+ *
+ * @author Samuel Thand
+ */
+public class DirtyRegion {
+
+    private final int width;
+    private final int height;
+    private final long fullRepaintArea;
+    private final int[] left;
+    private final int[] top;
+    private final int[] right;
+    private final int[] bottom;
+    private int count;
+    private long area;
+    private boolean full;
+
+    /**
+     * Constructor. Initializes instance fields. The region starts out fully dirty.
+     *
+     * @param width The width of the field.
+     * @param height The height of the field.
+     * @param maxRectangles The maximum amount of rectangles before the whole field is marked dirty.
+     * @param fullRepaintPercent The percentage of the field the rectangles may cover before the whole field
+     *                           is marked dirty.
+     */
+    public DirtyRegion(final int width, final int height, final int maxRectangles, final int fullRepaintPercent) {
+        this.width = width;
+        this.height = height;
+        this.fullRepaintArea = (long) width * height * fullRepaintPercent / 100;
+        this.left = new int[maxRectangles];
+        this.top = new int[maxRectangles];
+        this.right = new int[maxRectangles];
+        this.bottom = new int[maxRectangles];
+        this.full = true;
+    }
+
+    /**
+     * Marks a rectangle as dirty. The part outside the field is ignored.
+     *
+     * @param x The X of the rectangle.
+     * @param y The Y of the rectangle.
+     * @param rectangleWidth The width of the rectangle.
+     * @param rectangleHeight The height of the rectangle.
+     */
+    public void add(final int x, final int y, final int rectangleWidth, final int rectangleHeight) {
+        if (this.full) {
+            return;
+        }
+
+        int addedLeft = Math.max(x, 0);
+        int addedTop = Math.max(y, 0);
+        int addedRight = Math.min(x + rectangleWidth, this.width);
+        int addedBottom = Math.min(y + rectangleHeight, this.height);
+        if (addedLeft >= addedRight || addedTop >= addedBottom) {
+            return;
+        }
+
+        for (int i = 0; i < this.count; i++) {
+            boolean overlaps = addedLeft < this.right[i] && this.left[i] < addedRight
+                    && addedTop < this.bottom[i] && this.top[i] < addedBottom;
+            if (overlaps) {
+                this.area -= areaOf(i);
+                this.left[i] = Math.min(this.left[i], addedLeft);
+                this.top[i] = Math.min(this.top[i], addedTop);
+                this.right[i] = Math.max(this.right[i], addedRight);
+                this.bottom[i] = Math.max(this.bottom[i], addedBottom);
+                this.area += areaOf(i);
+                checkFullRepaintArea();
+                return;
+            }
+        }
+
+        if (this.count == this.left.length) {
+            markFull();
+            return;
+        }
+
+        this.left[this.count] = addedLeft;
+        this.top[this.count] = addedTop;
+        this.right[this.count] = addedRight;
+        this.bottom[this.count] = addedBottom;
+        this.area += areaOf(this.count);
+        this.count++;
+        checkFullRepaintArea();
+    }
+
+    /**
+     * Marks the whole field as dirty if the rectangles cover too much of it.
+     */
+    private void checkFullRepaintArea() {
+        if (this.area > this.fullRepaintArea) {
+            markFull();
+        }
+    }
+
+    /**
+     * Get the area of a rectangle.
+     *
+     * @param index The index of the rectangle.
+     * @return The area.
+     */
+    private long areaOf(final int index) {
+        return (long) (this.right[index] - this.left[index]) * (this.bottom[index] - this.top[index]);
+    }
+
+    /**
+     * Marks the whole field as dirty.
+     */
+    public void markFull() {
+        this.full = true;
+        this.count = 0;
+        this.area = 0;
+    }
+
+    /**
+     * Marks the whole field as clean, starting the collection of a new frame.
+     */
+    public void clear() {
+        this.full = false;
+        this.count = 0;
+        this.area = 0;
+    }
+
+    /**
+     * Check if the whole field is dirty.
+     *
+     * @return The whole field is dirty.
+     */
+    public boolean isFull() {
+        return this.full;
+    }
+
+    /**
+     * Get the amount of dirty rectangles. Only meaningful if the whole field is not dirty.
+     *
+     * @return The amount of rectangles.
+     */
+    public int getCount() {
+        return this.count;
+    }
+
+    /**
+     * Get the X of a dirty rectangle.
+     *
+     * @param index The index of the rectangle.
+     * @return The X.
+     */
+    public int getX(final int index) {
+        return this.left[index];
+    }
+
+    /**
+     * Get the Y of a dirty rectangle.
+     *
+     * @param index The index of the rectangle.
+     * @return The Y.
+     */
+    public int getY(final int index) {
+        return this.top[index];
+    }
+
+    /**
+     * Get the width of a dirty rectangle.
+     *
+     * @param index The index of the rectangle.
+     * @return The width.
+     */
+    public int getWidth(final int index) {
+        return this.right[index] - this.left[index];
+    }
+
+    /**
+     * Get the height of a dirty rectangle.
+     *
+     * @param index The index of the rectangle.
+     * @return The height.
+     */
+    public int getHeight(final int index) {
+        return this.bottom[index] - this.top[index];
+    }
+}
@@ -0,0 +1,116 @@
+package views;
+
+import java.util.Arrays;
+
+/**
+ * Tracks the bounds of one kind of drawn object between frames, by the id of each object, and marks what changed in
+ * a DirtyRegion. An object that moved or changed size marks the join of its old and new bounds, a new object marks
+ * its bounds and an object that is gone marks where it was. The bounds are kept in primitive arrays indexed by id,
+ * grown when a larger id shows up.
+ *
+ * @author Samuel Thand
+ */
+public class DirtyRegionTracker {
+
+    private static final int INITIAL_CAPACITY = 64;
+
+    private final DirtyRegion dirtyRegion;
+    private int[] x;
+    private int[] y;
+    private int[] width;
+    private int[] height;
+    private int[] trackedInFrame;
+    private int[] trackedIds;
+    private int trackedCount;
+    private int[] previousIds;
+    private int previousCount;
+    private int frame;
+
+    /**
+     * Constructor. Initializes instance fields.
+     *
+     * @param dirtyRegion The region to mark changes in.
+     */
+    public DirtyRegionTracker(final DirtyRegion dirtyRegion) {
+        this.dirtyRegion = dirtyRegion;
+        this.x = new int[INITIAL_CAPACITY];
+        this.y = new int[INITIAL_CAPACITY];
+        this.width = new int[INITIAL_CAPACITY];
+        this.height = new int[INITIAL_CAPACITY];
+        this.trackedInFrame = new int[INITIAL_CAPACITY];
+        this.trackedIds = new int[INITIAL_CAPACITY];
+        this.previousIds = new int[INITIAL_CAPACITY];
+        this.frame = 2;
+    }
+
+    /**
+     * Tracks the bounds of an object in the current frame. Each object may be tracked once per frame.
+     *
+     * @param id The id of the object, not negative.
+     * @param objectX The X of the object.
+     * @param objectY The Y of the object.
+     * @param objectWidth The width of the object.
+     * @param objectHeight The height of the object.
+     */
+    public void track(final int id, final int objectX, final int objectY, final int objectWidth,
+                      final int objectHeight) {
+        if (id >= this.trackedInFrame.length) {
+            growIdCapacity(id + 1);
+        }
+        if (this.trackedCount == this.trackedIds.length) {
+            this.trackedIds = Arrays.copyOf(this.trackedIds, this.trackedIds.length * 2);
+        }
+
+        boolean wasTracked = this.trackedInFrame[id] == this.frame - 1;
+        if (!wasTracked) {
+            this.dirtyRegion.add(objectX, objectY, objectWidth, objectHeight);
+        } else if (this.x[id] != objectX || this.y[id] != objectY
+                || this.width[id] != objectWidth || this.height[id] != objectHeight) {
+            int left = Math.min(this.x[id], objectX);
+            int top = Math.min(this.y[id], objectY);
+            int right = Math.max(this.x[id] + this.width[id], objectX + objectWidth);
+            int bottom = Math.max(this.y[id] + this.height[id], objectY + objectHeight);
+            this.dirtyRegion.add(left, top, right - left, bottom - top);
+        }
+
+        this.x[id] = objectX;
+        this.y[id] = objectY;
+        this.width[id] = objectWidth;
+        this.height[id] = objectHeight;
+        this.trackedInFrame[id] = this.frame;
+        this.trackedIds[this.trackedCount++] = id;
+    }
+
+    /**
+     * Ends the current frame. Marks the old bounds of every object tracked in the previous frame, but not in this one.
+     */
+    public void endFrame() {
+        for (int i = 0; i < this.previousCount; i++) {
+            int id = this.previousIds[i];
+            if (this.trackedInFrame[id] != this.frame) {
+                this.dirtyRegion.add(this.x[id], this.y[id], this.width[id], this.height[id]);
+            }
+        }
+
+        int[] swap = this.previousIds;
+        this.previousIds = this.trackedIds;
+        this.previousCount = this.trackedCount;
+        this.trackedIds = swap.length >= this.previousIds.length ? swap : new int[this.previousIds.length];
+        this.trackedCount = 0;
+        this.frame++;
+    }
+
+    /**
+     * Grows the arrays indexed by id.
+     *
+     * @param minimumCapacity The smallest capacity needed.
+     */
+    private void growIdCapacity(final int minimumCapacity) {
+        int capacity = Math.max(minimumCapacity, this.trackedInFrame.length * 2);
+        this.x = Arrays.copyOf(this.x, capacity);
+        this.y = Arrays.copyOf(this.y, capacity);
+        this.width = Arrays.copyOf(this.width, capacity);
+        this.height = Arrays.copyOf(this.height, capacity);
+        this.trackedInFrame = Arrays.copyOf(this.trackedInFrame, capacity);
+    }
+}
@@ -0,0 +1,38 @@
+package views;
+
+import constants.Constants;
+
+/**
+ * How the GameRenderer draws the game field into its retained image.
+ *
+ * @author Samuel Thand
+ */
+public enum FieldRenderer {
+
+    /**
+     * Java2D calls draw only the regions of the field that changed.
+     */
+    JAVA2D,
+
+    /**
+     * A RasterRenderer writes the whole field straight into the pixels of the retained image every frame, for game
+     * fields swarming with balls.
+     */
+    RASTER;
+
+    /**
+     * Reads the field renderer from the system property named by {@link Constants#FIELD_RENDERER_PROPERTY}, either
+     * "java2d" or "raster". Defaults to Java2D.
+     *
+     * @return The field renderer.
+     */
+    public static FieldRenderer fromSystemProperties() {
+        String renderer = System.getProperty(Constants.FIELD_RENDERER_PROPERTY, JAVA2D.name());
+        try {
+            return valueOf(renderer.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            System.err.println("Unknown field renderer " + renderer + ", using " + JAVA2D);
+            return JAVA2D;
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package views;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Hands frame snapshots from the simulation to the renderer without locks, using three snapshots. The simulation
+ * captures into its own snapshot and publishes it by swapping it with the ready snapshot. The renderer takes the
+ * ready snapshot by swapping it with the one it drew last, but only if a newer one was published. Neither side ever
+ * waits for the other, and the renderer always gets the latest published frame, skipping any it was too slow for.
+ *
+ * @author Samuel Thand
+ */
+public class FrameExchange {
+
+    private final AtomicReference<FrameSnapshot> ready;
+    private FrameSnapshot writing;
+    private FrameSnapshot reading;
+    private long sequence;
+
+    /**
+     * Constructor. Creates the three snapshots.
+     */
+    public FrameExchange() {
+        this.writing = new FrameSnapshot();
+        this.ready = new AtomicReference<>(new FrameSnapshot());
+        this.reading = new FrameSnapshot();
+    }
+
+    /**
+     * Get the snapshot to capture the next frame into. Must only be called by the simulation.
+     *
+     * @return The snapshot owned by the simulation.
+     */
+    public FrameSnapshot getWritableSnapshot() {
+        return this.writing;
+    }
+
+    /**
+     * Publishes the snapshot captured by the simulation. Must only be called by the simulation.
+     */
+    public void publish() {
+        this.writing.setSequence(++this.sequence);
+        this.writing = this.ready.getAndSet(this.writing);
+    }
+
+    /**
+     * Get the latest published snapshot. Must only be called by the renderer, and the snapshot stays valid until
+     * the next call.
+     *
+     * @return The latest published snapshot.
+     */
+    public FrameSnapshot acquire() {
+        if (this.ready.get().getSequence() > this.reading.getSequence()) {
+            this.reading = this.ready.getAndSet(this.reading);
+        }
+        return this.reading;
+    }
+}
@@ -0,0 +1,364 @@
+package views;
+
+import java.util.Arrays;
+import java.util.List;
+import models.PaddleModel;
+import models.balls.BallModel;
+import models.particles.ParticleSystem;
+import models.powerups.PowerUpModel;
+
+/**
+ * A copy of everything drawn in a frame of the game, captured from the model at the end of a tick. The copy is held
+ * in primitive arrays that are reused between captures and only grow, so the renderer can draw it on its own thread
+ * while the simulation keeps changing the model.
+ *
+ * @author Samuel Thand
+ */
+public class FrameSnapshot {
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private long sequence;
+    private long tick;
+    private int paddleCount;
+    private int[] paddleX = new int[INITIAL_CAPACITY];
+    private int[] paddleY = new int[INITIAL_CAPACITY];
+    private int[] paddleWidth = new int[INITIAL_CAPACITY];
+    private int[] paddleHeight = new int[INITIAL_CAPACITY];
+    private int ballCount;
+    private int[] ballId = new int[INITIAL_CAPACITY];
+    private int[] ballX = new int[INITIAL_CAPACITY];
+    private int[] ballY = new int[INITIAL_CAPACITY];
+    private int[] ballSideLength = new int[INITIAL_CAPACITY];
+    private int powerUpCount;
+    private int[] powerUpId = new int[INITIAL_CAPACITY];
+    private int[] powerUpX = new int[INITIAL_CAPACITY];
+    private int[] powerUpY = new int[INITIAL_CAPACITY];
+    private int[] powerUpSideLength = new int[INITIAL_CAPACITY];
+    private int[] powerUpType = new int[INITIAL_CAPACITY];
+    private int particleCount;
+    private int particleLifetimeTicks = 1;
+    private float[] particleX = new float[0];
+    private float[] particleY = new float[0];
+    private int[] particleLife = new int[0];
+    private int[] particleKind = new int[0];
+
+    /**
+     * Copies the state of the game drawn in a frame into this snapshot.
+     *
+     * @param currentTick The tick of the game.
+     * @param paddles The paddles of the game.
+     * @param balls The balls in the game.
+     * @param powerUps The active power-ups.
+     * @param particles The particle system of the game.
+     */
+    public void capture(final long currentTick, final List<PaddleModel> paddles, final List<BallModel> balls,
+                        final List<PowerUpModel> powerUps, final ParticleSystem particles) {
+        this.tick = currentTick;
+
+        this.paddleCount = paddles.size();
+        if (this.paddleCount > this.paddleX.length) {
+            int capacity = Math.max(this.paddleCount, this.paddleX.length * 2);
+            this.paddleX = Arrays.copyOf(this.paddleX, capacity);
+            this.paddleY = Arrays.copyOf(this.paddleY, capacity);
+            this.paddleWidth = Arrays.copyOf(this.paddleWidth, capacity);
+            this.paddleHeight = Arrays.copyOf(this.paddleHeight, capacity);
+        }
+        for (int i = 0; i < this.paddleCount; i++) {
+            PaddleModel paddle = paddles.get(i);
+            this.paddleX[i] = paddle.getX();
+            this.paddleY[i] = paddle.getY();
+            this.paddleWidth[i] = paddle.getWidth();
+            this.paddleHeight[i] = paddle.getHeight();
+        }
+
+        synchronized (balls) {
+            this.ballCount = balls.size();
+            if (this.ballCount > this.ballId.length) {
+                int capacity = Math.max(this.ballCount, this.ballId.length * 2);
+                this.ballId = Arrays.copyOf(this.ballId, capacity);
+                this.ballX = Arrays.copyOf(this.ballX, capacity);
+                this.ballY = Arrays.copyOf(this.ballY, capacity);
+                this.ballSideLength = Arrays.copyOf(this.ballSideLength, capacity);
+            }
+            int i = 0;
+            for (BallModel ball : balls) {
+                this.ballId[i] = ball.getId();
+                this.ballX[i] = ball.getX();
+                this.ballY[i] = ball.getY();
+                this.ballSideLength[i] = ball.getSideLength();
+                i++;
+            }
+        }
+
+        this.powerUpCount = powerUps.size();
+        if (this.powerUpCount > this.powerUpId.length) {
+            int capacity = Math.max(this.powerUpCount, this.powerUpId.length * 2);
+            this.powerUpId = Arrays.copyOf(this.powerUpId, capacity);
+            this.powerUpX = Arrays.copyOf(this.powerUpX, capacity);
+            this.powerUpY = Arrays.copyOf(this.powerUpY, capacity);
+            this.powerUpSideLength = Arrays.copyOf(this.powerUpSideLength, capacity);
+            this.powerUpType = Arrays.copyOf(this.powerUpType, capacity);
+        }
+        for (int i = 0; i < this.powerUpCount; i++) {
+            PowerUpModel powerUp = powerUps.get(i);
+            this.powerUpId[i] = powerUp.getId();
+            this.powerUpX[i] = powerUp.getX();
+            this.powerUpY[i] = powerUp.getY();
+            this.powerUpSideLength[i] = powerUp.getSideLength();
+            this.powerUpType[i] = powerUp.getType().ordinal();
+        }
+
+        this.particleCount = particles.getCount();
+        this.particleLifetimeTicks = particles.getLifetimeTicks();
+        if (this.particleCount > this.particleX.length) {
+            int capacity = particles.getCapacity();
+            this.particleX = new float[capacity];
+            this.particleY = new float[capacity];
+            this.particleLife = new int[capacity];
+            this.particleKind = new int[capacity];
+        }
+        System.arraycopy(particles.getX(), 0, this.particleX, 0, this.particleCount);
+        System.arraycopy(particles.getY(), 0, this.particleY, 0, this.particleCount);
+        System.arraycopy(particles.getLife(), 0, this.particleLife, 0, this.particleCount);
+        System.arraycopy(particles.getKind(), 0, this.particleKind, 0, this.particleCount);
+    }
+
+    /**
+     * Get the sequence number of this snapshot, increasing with every published snapshot.
+     *
+     * @return The sequence number.
+     */
+    public long getSequence() {
+        return sequence;
+    }
+
+    /**
+     * Set the sequence number of this snapshot.
+     *
+     * @param sequence The sequence number.
+     */
+    void setSequence(final long sequence) {
+        this.sequence = sequence;
+    }
+
+    /**
+     * Get the tick of the game this snapshot was captured on.
+     *
+     * @return The tick.
+     */
+    public long getTick() {
+        return tick;
+    }
+
+    /**
+     * Get the amount of paddles.
+     *
+     * @return The amount of paddles.
+     */
+    public int getPaddleCount() {
+        return paddleCount;
+    }
+
+    /**
+     * Get the X of a paddle.
+     *
+     * @param index The index of the paddle.
+     * @return The X.
+     */
+    public int getPaddleX(final int index) {
+        return paddleX[index];
+    }
+
+    /**
+     * Get the Y of a paddle.
+     *
+     * @param index The index of the paddle.
+     * @return The Y.
+     */
+    public int getPaddleY(final int index) {
+        return paddleY[index];
+    }
+
+    /**
+     * Get the width of a paddle.
+     *
+     * @param index The index of the paddle.
+     * @return The width.
+     */
+    public int getPaddleWidth(final int index) {
+        return paddleWidth[index];
+    }
+
+    /**
+     * Get the height of a paddle.
+     *
+     * @param index The index of the paddle.
+     * @return The height.
+     */
+    public int getPaddleHeight(final int index) {
+        return paddleHeight[index];
+    }
+
+    /**
+     * Get the amount of balls.
+     *
+     * @return The amount of balls.
+     */
+    public int getBallCount() {
+        return ballCount;
+    }
+
+    /**
+     * Get the id of a ball.
+     *
+     * @param index The index of the ball.
+     * @return The id.
+     */
+    public int getBallId(final int index) {
+        return ballId[index];
+    }
+
+    /**
+     * Get the X of a ball.
+     *
+     * @param index The index of the ball.
+     * @return The X.
+     */
+    public int getBallX(final int index) {
+        return ballX[index];
+    }
+
+    /**
+     * Get the Y of a ball.
+     *
+     * @param index The index of the ball.
+     * @return The Y.
+     */
+    public int getBallY(final int index) {
+        return ballY[index];
+    }
+
+    /**
+     * Get the side length of a ball.
+     *
+     * @param index The index of the ball.
+     * @return The side length.
+     */
+    public int getBallSideLength(final int index) {
+        return ballSideLength[index];
+    }
+
+    /**
+     * Get the amount of power-ups.
+     *
+     * @return The amount of power-ups.
+     */
+    public int getPowerUpCount() {
+        return powerUpCount;
+    }
+
+    /**
+     * Get the id of a power-up.
+     *
+     * @param index The index of the power-up.
+     * @return The id.
+     */
+    public int getPowerUpId(final int index) {
+        return powerUpId[index];
+    }
+
+    /**
+     * Get the X of a power-up.
+     *
+     * @param index The index of the power-up.
+     * @return The X.
+     */
+    public int getPowerUpX(final int index) {
+        return powerUpX[index];
+    }
+
+    /**
+     * Get the Y of a power-up.
+     *
+     * @param index The index of the power-up.
+     * @return The Y.
+     */
+    public int getPowerUpY(final int index) {
+        return powerUpY[index];
+    }
+
+    /**
+     * Get the side length of a power-up.
+     *
+     * @param index The index of the power-up.
+     * @return The side length.
+     */
+    public int getPowerUpSideLength(final int index) {
+        return powerUpSideLength[index];
+    }
+
+    /**
+     * Get the type of a power-up.
+     *
+     * @param index The index of the power-up.
+     * @return The ordinal of the PowerUpType.
+     */
+    public int getPowerUpType(final int index) {
+        return powerUpType[index];
+    }
+
+    /**
+     * Get the amount of live particles.
+     *
+     * @return The amount of particles.
+     */
+    public int getParticleCount() {
+        return particleCount;
+    }
+
+    /**
+     * Get the amount of ticks a particle lives.
+     *
+     * @return The lifetime in ticks.
+     */
+    public int getParticleLifetimeTicks() {
+        return particleLifetimeTicks;
+    }
+
+    /**
+     * Get the X positions of the particles, the first {@link #getParticleCount()} are live.
+     *
+     * @return The X positions.
+     */
+    public float[] getParticleX() {
+        return particleX;
+    }
+
+    /**
+     * Get the Y positions of the particles, the first {@link #getParticleCount()} are live.
+     *
+     * @return The Y positions.
+     */
+    public float[] getParticleY() {
+        return particleY;
+    }
+
+    /**
+     * Get the remaining life of the particles, the first {@link #getParticleCount()} are live.
+     *
+     * @return The remaining life.
+     */
+    public int[] getParticleLife() {
+        return particleLife;
+    }
+
+    /**
+     * Get the kinds of the particles, the first {@link #getParticleCount()} are live.
+     *
+     * @return The kinds.
+     */
+    public int[] getParticleKind() {
+        return particleKind;
+    }
+}
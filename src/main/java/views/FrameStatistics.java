@@ -0,0 +1,100 @@
+package views;
+
+/**
+ * Counts the frames presented by the view, and how well they keep to the frame interval of the game. A frame is late
+ * if it follows the previous frame by more than one and a quarter intervals, and every whole interval passing without
+ * any frame being presented counts as a dropped frame.
+ * <p>
+ * The statistics are recorded and read on the thread presenting the frames. Other threads only request a reset,
+ * which that thread carries out before recording its next frame.
+ *
+ * @author Samuel Thand
+ */
+public class FrameStatistics {
+
+    private final long targetIntervalNanos;
+    private volatile boolean resetIsRequested;
+    private long lastPresentedNanos;
+    private long frames;
+    private long lateFrames;
+    private long droppedFrames;
+
+    /**
+     * Constructor. Initializes instance fields.
+     *
+     * @param targetIntervalMillis The wanted time between two frames.
+     */
+    public FrameStatistics(final long targetIntervalMillis) {
+        this.targetIntervalNanos = targetIntervalMillis * 1_000_000L;
+    }
+
+    /**
+     * Records a presented frame.
+     *
+     * @param presentedNanos The System.nanoTime() the frame was presented at.
+     */
+    public void recordFrame(final long presentedNanos) {
+        if (this.resetIsRequested) {
+            this.resetIsRequested = false;
+            clear();
+        }
+
+        if (this.frames > 0) {
+            long interval = presentedNanos - this.lastPresentedNanos;
+            if (interval > this.targetIntervalNanos + this.targetIntervalNanos / 4) {
+                this.lateFrames++;
+            }
+            long missedIntervals = (interval + this.targetIntervalNanos / 2) / this.targetIntervalNanos - 1;
+            if (missedIntervals > 0) {
+                this.droppedFrames += missedIntervals;
+            }
+        }
+
+        this.lastPresentedNanos = presentedNanos;
+        this.frames++;
+    }
+
+    /**
+     * Requests clearing all statistics, starting a new measurement with the next frame. May be called from any
+     * thread.
+     */
+    public void reset() {
+        this.resetIsRequested = true;
+    }
+
+    /**
+     * Clears all statistics. Called on the thread presenting the frames.
+     */
+    private void clear() {
+        this.frames = 0;
+        this.lateFrames = 0;
+        this.droppedFrames = 0;
+    }
+
+    /**
+     * Get the amount of presented frames.
+     *
+     * @return The amount of frames.
+     */
+    public long getFrames() {
+        return this.frames;
+    }
+
+    /**
+     * Get the amount of frames presented late.
+     *
+     * @return The amount of late frames.
+     */
+    public long getLateFrames() {
+        return this.lateFrames;
+    }
+
+    /**
+     * Get the amount of frame intervals that passed without a frame being presented.
+     *
+     * @return The amount of dropped frames.
+     */
+    public long getDroppedFrames() {
+        return this.droppedFrames;
+    }
+}
@@ -1,16 +1,17 @@
 package views;
 
 import constants.Constants;
+import controllers.TickView;
 import java.awt.BorderLayout;
 import java.awt.Color;
+import java.awt.Component;
 import java.awt.Dimension;
 import java.awt.FlowLayout;
 import java.awt.GridLayout;
-import java.awt.Rectangle;
 import java.awt.event.ActionListener;
 import java.awt.event.KeyListener;
-import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import javax.swing.BorderFactory;
 import javax.swing.BoxLayout;
 import javax.swing.JButton;
@@ -19,17 +20,31 @@ import javax.swing.JFrame;
 import javax.swing.JLabel;
 import javax.swing.JOptionPane;
 import javax.swing.JPanel;
-import models.balls.AbstractBallModel;
+import metrics.PerformanceMetrics;
+import models.PaddleModel;
+import models.balls.BallModel;
+import models.balls.BallType;
+import models.particles.ParticleSystem;
+import models.powerups.PowerUpModel;
 
 /**
  * The view of the application. Provides a graphical interface which takes user input and visualizes the game.
  *
  * @author Samuel Thand
  */
-public final class GameFrame extends JFrame {
+public final class GameFrame extends JFrame implements TickView {
 
     private final Dimension frameSize;
-    private JPanel gamePanel;
+    private final RenderMode renderMode;
+    private final FrameStatistics frameStatistics;
+    private Component gamePanel;
+    private GameRenderer gameRenderer;
+    private ActiveGameCanvas activeGameCanvas;
+    private RenderLoop renderLoop;
+    private final FrameExchange frameExchange;
+    private final PerformanceMetrics performanceMetrics;
+    private final PerformanceHud performanceHud;
+    private final RenderScale renderScale;
     private JPanel scorePanel;
     private JPanel infoPanel;
     private JPanel levelPanel;
@@ -41,9 +56,7 @@ public final class GameFrame extends JFrame {
     private JLabel timeNumber;
     private JButton playButton;
     private JCheckBox redundantCheckbox;
-    private Rectangle paddle1;
-    private Rectangle paddle2;
-    private List<AbstractBallModel> balls;
+    private JCheckBox fourPlayerCheckbox;
     private final int scorePanelPadding = 20;
     private final int playButtonWidth = 100;
     private final int playButtonHeight = 40;
@@ -53,13 +66,25 @@ public final class GameFrame extends JFrame {
      * Constructor. Initializes instance fields and calls initUI.
      *
      * @param frameSize The dimensions of the frame.
+     * @param performanceMetrics The performance measurements of the game.
      */
-    public GameFrame(final Dimension frameSize) {
+    public GameFrame(final Dimension frameSize, final PerformanceMetrics performanceMetrics) {
         this.frameSize = frameSize;
-        this.paddle1 = new Rectangle();
-        this.paddle2 = new Rectangle();
-        this.balls = new ArrayList<>();
+        this.performanceMetrics = performanceMetrics;
+        this.renderMode = RenderMode.fromSystemProperties();
+        this.frameExchange = new FrameExchange();
+        int targetFps = RenderLoop.targetFpsFromSystemProperties();
+        boolean cappedActiveRendering = this.renderMode == RenderMode.ACTIVE && targetFps > 0;
+        long frameBudgetMillis = cappedActiveRendering ? 1000 / targetFps : Constants.GAME_TICK_DELAY_MS;
+        this.frameStatistics = new FrameStatistics(frameBudgetMillis);
+        this.renderScale = RenderScale.fromSystemProperties(frameBudgetMillis * 1_000_000L);
+        this.performanceHud = new PerformanceHud(performanceMetrics, this.renderScale, this.frameStatistics);
         initUI();
+        if (this.activeGameCanvas != null) {
+            this.renderLoop = new RenderLoop(this.frameExchange, this.gameRenderer, this.activeGameCanvas, targetFps,
+                    performanceMetrics.getFrameNanos());
+            this.renderLoop.start();
+        }
     }
 
     /**
@@ -98,7 +123,18 @@ public final class GameFrame extends JFrame {
         this.levelPanel = new JPanel();
         this.levelPanel.setLayout(new BoxLayout(this.levelPanel, BoxLayout.Y_AXIS));
 
-        this.gamePanel = new GamePanel(this);
+        RasterRenderer rasterRenderer = null;
+        if (FieldRenderer.fromSystemProperties() == FieldRenderer.RASTER) {
+            rasterRenderer = new RasterRenderer(RasterRenderer.bandsFromSystemProperties());
+        }
+        this.gameRenderer = new GameRenderer(this.frameSize.width, this.frameSize.height, this.performanceHud,
+                this.renderScale, rasterRenderer);
+        if (this.renderMode == RenderMode.ACTIVE) {
+            this.activeGameCanvas = new ActiveGameCanvas(this, this.gameRenderer, this.frameStatistics);
+            this.gamePanel = this.activeGameCanvas;
+        } else {
+            this.gamePanel = new GamePanel(this, this.gameRenderer, this.frameStatistics);
+        }
         this.gamePanel.setFocusable(true);
         this.gamePanel.requestFocus();
     }
@@ -110,13 +146,17 @@ public final class GameFrame extends JFrame {
         this.infoText = new JLabel("<html><p>This is a survival version of the classic pong.<br>"
                 + "To survive - you need to stop the balls from exiting the frame.<br>"
                 + "If the frame is empty of balls: YOU LOSE!<br><br>"
-                + "Controls:<br> Red (Up - W | Down - S)<br> Blue (Up - Up arrow | Down - Down arrow)</p></html>");
+                + "Controls:<br> Red (Up - W | Down - S)<br> Blue (Up - Up arrow | Down - Down arrow)<br>"
+                + " Green (Left - Z | Right - X)<br> Orange (Left - N | Right - M)<br>"
+                + " Performance overlay - F3</p></html>");
         this.playButton = new JButton("Play");
         this.playButton.setPreferredSize(new Dimension(this.playButtonWidth, this.playButtonHeight));
         this.playButton.setBorder(BorderFactory.createLineBorder(Color.black, this.playButtonBorderThickness, true));
         this.playButton.setFocusable(false);
         this.redundantCheckbox = new JCheckBox("I agree to play this game");
         this.redundantCheckbox.setFocusable(false);
+        this.fourPlayerCheckbox = new JCheckBox("Four players");
+        this.fourPlayerCheckbox.setFocusable(false);
 
         this.time = new JLabel("Time survived");
         this.timeNumber = new JLabel("");
@@ -135,6 +175,7 @@ public final class GameFrame extends JFrame {
     private void buildFrame() {
         this.infoPanel.add(this.infoText);
         this.infoPanel.add(this.redundantCheckbox);
+        this.infoPanel.add(this.fourPlayerCheckbox);
         this.infoPanel.add(this.playButton);
 
         this.scorePanel.add(this.timePanel);
@@ -151,88 +192,99 @@ public final class GameFrame extends JFrame {
     }
 
     /**
-     * Creates a Rectangle object for paddle1.
+     * Publishes a frame of the game to be drawn. The state is copied into a snapshot, so the game may change
+     * as soon as this returns.
      *
-     * @param paddleInfo The X, Y, width and height for the paddle.
+     * @param tick The tick of the game.
+     * @param paddles The paddles of the game.
+     * @param balls The balls in the game.
+     * @param powerUps The active power-ups.
+     * @param particles The particle system of the game.
      */
-    public void createPaddle1(final ArrayList<Integer> paddleInfo) {
-        int x = paddleInfo.get(0);
-        int y = paddleInfo.get(1);
-        int width = paddleInfo.get(2);
-        int height = paddleInfo.get(3);
-
-        this.paddle1 = new Rectangle(x, y, width, height);
+    @Override
+    public void publishFrame(final long tick, final List<PaddleModel> paddles, final List<BallModel> balls,
+                             final List<PowerUpModel> powerUps, final ParticleSystem particles) {
+        this.frameExchange.getWritableSnapshot().capture(tick, paddles, balls, powerUps, particles);
+        this.frameExchange.publish();
     }
 
     /**
-     * Creates a Rectangle object for paddle2.
+     * Update the game time counter.
      *
-     * @param paddleInfo The X, Y, width and height for the paddle.
+     * @param seconds The elapsed seconds in the game.
      */
-    public void createPaddle2(final ArrayList<Integer> paddleInfo) {
-        int x = paddleInfo.get(0);
-        int y = paddleInfo.get(1);
-        int width = paddleInfo.get(2);
-        int height = paddleInfo.get(3);
-
-        this.paddle2 = new Rectangle(x, y, width, height);
+    public void updateGameTime(final long seconds) {
+        this.timeNumber.setText(String.valueOf(seconds));
     }
 
     /**
-     * Updates the positions of the paddles.
+     * Update the level counter.
      *
-     * @param paddle1x X for paddle 1.
-     * @param paddle1y Y for paddle 1.
-     * @param paddle2x X for paddle 2.
-     * @param paddle2y Y for paddle 2.
+     * @param level The current level.
      */
-    public void updatePaddles(final int paddle1x, final int paddle1y, final int paddle2x, final int paddle2y) {
-        if (this.paddle1.x != paddle1x) {
-            this.paddle1.x = paddle1x;
-        }
-        if (this.paddle1.y != paddle1y) {
-            this.paddle1.y = paddle1y;
-        }
-        if (this.paddle2.x != paddle2x) {
-            this.paddle2.x = paddle2x;
-        }
-        if (this.paddle2.y != paddle2y) {
-            this.paddle2.y = paddle2y;
-        }
+    public void updateCurrentLevel(final int level) {
+        this.levelNumber.setText(String.valueOf(level));
     }
 
     /**
-     * Update the list of balls active in the game.
-     *
-     * @param updatedBalls The balls active in the game.
+     * Repaint the game panel with the latest published frame. When actively rendering, the RenderLoop draws frames
+     * on its own, so nothing is done. Else the changed regions of the field are redrawn, and a repaint of only those
+     * regions, and the performance overlay if visible, is requested from Swing.
      */
-    public void updateBalls(final List<AbstractBallModel> updatedBalls) {
-        this.balls = updatedBalls;
+    @Override
+    public void repaintGamePanel() {
+        if (this.activeGameCanvas != null) {
+            return;
+        }
+
+        long start = System.nanoTime();
+        DirtyRegion dirtyRegion = this.gameRenderer.updateFrame(this.frameExchange.acquire(),
+                this.gamePanel.getGraphicsConfiguration());
+        long frameNanos = System.nanoTime() - start;
+        this.performanceMetrics.getFrameNanos().record(frameNanos);
+        this.renderScale.frameRendered(frameNanos);
+
+        if (dirtyRegion.isFull()) {
+            this.gamePanel.repaint();
+        } else {
+            for (int i = 0; i < dirtyRegion.getCount(); i++) {
+                this.gamePanel.repaint(dirtyRegion.getX(i), dirtyRegion.getY(i), dirtyRegion.getWidth(i),
+                        dirtyRegion.getHeight(i));
+            }
+            if (this.performanceHud.isVisible()) {
+                this.gamePanel.repaint(this.performanceHud.getX(), this.performanceHud.getY(),
+                        this.performanceHud.getWidth(), this.performanceHud.getHeight());
+            }
+        }
     }
 
     /**
-     * Update the game time counter.
-     *
-     * @param seconds The elapsed seconds in the game.
+     * Shows the performance overlay if hidden, else hides it.
      */
-    public void updateGameTime(final long seconds) {
-        this.timeNumber.setText(String.valueOf(seconds));
+    public void togglePerformanceHud() {
+        this.performanceHud.toggle();
+        this.gamePanel.repaint();
     }
 
     /**
-     * Update the level counter.
+     * Check if the performance overlay is shown.
      *
-     * @param level The current level.
+     * @return The performance overlay is visible.
      */
-    public void updateCurrentLevel(final int level) {
-        this.levelNumber.setText(String.valueOf(level));
+    @Override
+    public boolean isPerformanceHudVisible() {
+        return this.performanceHud.isVisible();
     }
 
     /**
-     * Repaint the game panel.
+     * Updates the ball count and pool levels shown by the performance overlay.
+     *
+     * @param balls The amount of balls in the game.
+     * @param availableBalls The amount of balls available in the pool of each ball type.
      */
-    public void repaintGamePanel() {
-        this.gamePanel.repaint();
+    @Override
+    public void updatePerformanceGauges(final int balls, final Map<BallType, Integer> availableBalls) {
+        this.performanceHud.updateGauges(balls, availableBalls);
     }
 
     /**
@@ -253,6 +305,15 @@ public final class GameFrame extends JFrame {
         this.gamePanel.addKeyListener(listener);
     }
 
+    /**
+     * Check if the four player arena is selected.
+     *
+     * @return The four player checkbox is selected.
+     */
+    public boolean isFourPlayerSelected() {
+        return this.fourPlayerCheckbox.isSelected();
+    }
+
     /**
      * Set if the play button is clickable.
      *
@@ -272,30 +333,35 @@ public final class GameFrame extends JFrame {
     }
 
     /**
-     * Get the rectangle for paddle1.
+     * Get the statistics of the frames presented by the game panel.
      *
-     * @return paddle1
+     * @return The frame statistics.
      */
-    public Rectangle getPaddle1() {
-        return this.paddle1;
+    public FrameStatistics getFrameStatistics() {
+        return frameStatistics;
     }
 
     /**
-     * Get the rectangle for paddle2.
+     * Display an error message.
      *
-     * @return paddle2
+     * @param message The message.
      */
-    public Rectangle getPaddle2() {
-        return this.paddle2;
+    public void displayErrorMessage(final String message) {
+        JOptionPane.showMessageDialog(this, message, "Error", JOptionPane.ERROR_MESSAGE);
     }
 
     /**
-     * Get the list of balls.
+     * Display the message offering to resume an unfinished game.
      *
-     * @return The list of balls.
+     * @param level The level of the unfinished game.
+     * @param elapsedSeconds The time survived in the unfinished game.
+     * @return The user chose to resume the game.
      */
-    public List<AbstractBallModel> getBalls() {
-        return balls;
+    public boolean displayResumeMessage(final int level, final int elapsedSeconds) {
+        int choice = JOptionPane.showConfirmDialog(this,
+                "Resume the unfinished game at level " + level + ", " + elapsedSeconds + " seconds survived?",
+                "RESUME GAME", JOptionPane.YES_NO_OPTION, JOptionPane.QUESTION_MESSAGE);
+        return choice == JOptionPane.YES_OPTION;
     }
 
     /**
@@ -1,28 +1,31 @@
 package views;
 
-import java.awt.Color;
 import java.awt.Dimension;
 import java.awt.Graphics;
-import java.awt.Rectangle;
 import javax.swing.JPanel;
-import models.balls.AbstractBallModel;
 
 /**
- * The panel containing the game visualization.
+ * The panel containing the game visualization. Painted passively by Swing whenever a repaint is requested.
  *
  * @author Samuel Thand
  */
 public class GamePanel extends JPanel {
 
     private final GameFrame gameFrame;
+    private final GameRenderer gameRenderer;
+    private final FrameStatistics frameStatistics;
 
     /**
      * Constructor. Initializes instance fields.
      *
      * @param gameFrame The frame of the application.
+     * @param gameRenderer The renderer drawing the game.
+     * @param frameStatistics The statistics of the presented frames.
      */
-    GamePanel(final GameFrame gameFrame) {
+    GamePanel(final GameFrame gameFrame, final GameRenderer gameRenderer, final FrameStatistics frameStatistics) {
         this.gameFrame = gameFrame;
+        this.gameRenderer = gameRenderer;
+        this.frameStatistics = frameStatistics;
     }
 
     /**
@@ -40,22 +43,7 @@ public class GamePanel extends JPanel {
      */
     @Override
     public void paint(final Graphics g) {
-        Dimension frameSize = this.gameFrame.getFrameSize();
-        Rectangle paddle1 = this.gameFrame.getPaddle1();
-        Rectangle paddle2 = this.gameFrame.getPaddle2();
-
-        g.setColor(Color.white);
-        g.fillRect(0, 0, frameSize.width, frameSize.height);
-
-        g.setColor(Color.red);
-        g.fillRect(paddle1.x, paddle1.y, paddle1.width, paddle1.height);
-
-        g.setColor(Color.blue);
-        g.fillRect(paddle2.x, paddle2.y, paddle2.width, paddle2.height);
-
-        g.setColor(Color.black);
-        for (AbstractBallModel ball : this.gameFrame.getBalls()) {
-            g.fillOval(ball.getX(), ball.getY(), ball.getSideLength(), ball.getSideLength());
-        }
+        this.gameRenderer.render(g);
+        this.frameStatistics.recordFrame(System.nanoTime());
     }
 }
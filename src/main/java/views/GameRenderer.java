@@ -0,0 +1,293 @@
+package views;
+
+import constants.Constants;
+import java.awt.Color;
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.RenderingHints;
+import java.awt.Transparency;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+
+/**
+ * Draws the game field. Shared by the passive Swing GamePanel and the actively rendered ActiveGameCanvas, so both
+ * render modes draw the same frame from the FrameSnapshots published by the simulation.
+ * The field is kept in a retained image between frames. Each frame only the regions where paddles, balls, power-ups
+ * or particles changed are redrawn into it, and the retained image is then copied to the screen. The retained image
+ * may have a lower resolution than the field, as given by the RenderScale, and is then scaled up when copied.
+ * With a RasterRenderer the whole field is instead written straight into the pixels of the retained image each frame.
+ *
+ * @author Samuel Thand
+ */
+public class GameRenderer {
+
+    static final Color[] PADDLE_COLORS = {Color.red, Color.blue, Color.green, Color.orange};
+    static final Color[] POWER_UP_COLORS = {Color.green.darker(), Color.cyan.darker(), Color.magenta};
+    static final Color[] PARTICLE_COLORS = {Color.darkGray, Color.red, Color.blue, Color.green, Color.orange};
+    static final Color[] BALL_COLORS = {Color.black};
+    private static final int BALL_COLOR = 0;
+    private static final int PARTICLES_ID = 0;
+    private final int width;
+    private final int height;
+    private final ParticleRenderer particleRenderer;
+    private final BallSpriteCache ballSpriteCache;
+    private final PerformanceHud performanceHud;
+    private final RenderScale renderScale;
+    private final RasterRenderer rasterRenderer;
+    private int fieldScalePercent;
+    private final DirtyRegion dirtyRegion;
+    private final DirtyRegionTracker paddleTracker;
+    private final DirtyRegionTracker ballTracker;
+    private final DirtyRegionTracker powerUpTracker;
+    private final DirtyRegionTracker particleTracker;
+    private BufferedImage fieldImage;
+    private GraphicsConfiguration graphicsConfiguration;
+
+    /**
+     * Constructor. Initializes instance fields.
+     *
+     * @param width The width of the game field.
+     * @param height The height of the game field.
+     * @param performanceHud The performance overlay drawn over the field.
+     * @param renderScale The resolution to render the field at.
+     * @param rasterRenderer The renderer writing the field into the pixels of the retained image, or null to draw
+     *                       the dirty regions with Java2D.
+     */
+    GameRenderer(final int width, final int height, final PerformanceHud performanceHud,
+                 final RenderScale renderScale, final RasterRenderer rasterRenderer) {
+        this.performanceHud = performanceHud;
+        this.renderScale = renderScale;
+        this.rasterRenderer = rasterRenderer;
+        this.width = width;
+        this.height = height;
+        this.particleRenderer = new ParticleRenderer(this.width, this.height, PARTICLE_COLORS);
+        this.ballSpriteCache = new BallSpriteCache(BALL_COLORS);
+        this.dirtyRegion = new DirtyRegion(this.width, this.height, Constants.DIRTY_REGION_MAX_RECTANGLES,
+                Constants.DIRTY_REGION_FULL_REPAINT_PERCENT);
+        this.paddleTracker = new DirtyRegionTracker(this.dirtyRegion);
+        this.ballTracker = new DirtyRegionTracker(this.dirtyRegion);
+        this.powerUpTracker = new DirtyRegionTracker(this.dirtyRegion);
+        this.particleTracker = new DirtyRegionTracker(this.dirtyRegion);
+    }
+
+    /**
+     * Brings the retained image of the field up to date with a snapshot, redrawing only the dirty regions.
+     * The whole field is redrawn when the dirty regions cover too much of it, or the retained image had to be
+     * created for a new graphics configuration or render scale. A RasterRenderer always redraws the whole field.
+     *
+     * @param snapshot The snapshot of the frame.
+     * @param configuration The configuration of the graphics the field is drawn to, or null if not yet known.
+     * @return The regions of the field that changed.
+     */
+    public DirtyRegion updateFrame(final FrameSnapshot snapshot, final GraphicsConfiguration configuration) {
+        int scalePercent = this.renderScale.getPercent();
+        boolean fieldImageIsValid = this.fieldImage != null && configuration == this.graphicsConfiguration
+                && scalePercent == this.fieldScalePercent;
+        if (!fieldImageIsValid) {
+            this.fieldImage = createFieldImage(configuration, scalePercent);
+            this.graphicsConfiguration = configuration;
+            this.fieldScalePercent = scalePercent;
+        }
+
+        if (this.rasterRenderer != null) {
+            this.dirtyRegion.markFull();
+            this.rasterRenderer.draw(this.fieldImage, snapshot, scalePercent);
+            return this.dirtyRegion;
+        }
+
+        if (fieldImageIsValid) {
+            this.dirtyRegion.clear();
+        } else {
+            this.dirtyRegion.markFull();
+        }
+        trackChanges(snapshot);
+
+        Graphics2D g = this.fieldImage.createGraphics();
+        GraphicsConfiguration fieldConfiguration = g.getDeviceConfiguration();
+        if (scalePercent != 100) {
+            g.scale(scalePercent / 100.0, scalePercent / 100.0);
+        }
+        try {
+            if (this.dirtyRegion.isFull()) {
+                drawField(g, snapshot, fieldConfiguration, 0, 0, this.width, this.height);
+            } else {
+                for (int i = 0; i < this.dirtyRegion.getCount(); i++) {
+                    drawField(g, snapshot, fieldConfiguration, this.dirtyRegion.getX(i), this.dirtyRegion.getY(i),
+                            this.dirtyRegion.getWidth(i), this.dirtyRegion.getHeight(i));
+                }
+            }
+        } finally {
+            g.dispose();
+        }
+
+        return this.dirtyRegion;
+    }
+
+    /**
+     * Draws the retained image of the field, or an empty field if no frame has been drawn yet, and the performance
+     * overlay if visible. Only the part within the clip of the graphics is copied.
+     *
+     * @param g The graphics to draw on.
+     */
+    public void render(final Graphics g) {
+        BufferedImage image = this.fieldImage;
+        if (image == null) {
+            g.setColor(Color.white);
+            g.fillRect(0, 0, this.width, this.height);
+        } else if (image.getWidth() == this.width) {
+            g.drawImage(image, 0, 0, null);
+        } else {
+            ((Graphics2D) g).setRenderingHint(RenderingHints.KEY_INTERPOLATION,
+                    RenderingHints.VALUE_INTERPOLATION_NEAREST_NEIGHBOR);
+            g.drawImage(image, 0, 0, this.width, this.height, null);
+        }
+        this.performanceHud.draw(g);
+    }
+
+    /**
+     * Creates the retained image of the field.
+     *
+     * @param configuration The configuration of the graphics the field is drawn to, or null if not yet known.
+     * @param scalePercent The resolution of the image, as a percentage of the field size.
+     * @return An opaque image compatible with the configuration, or backed by an int array of RGB pixels for a
+     *         RasterRenderer.
+     */
+    private BufferedImage createFieldImage(final GraphicsConfiguration configuration, final int scalePercent) {
+        int imageWidth = Math.max(1, this.width * scalePercent / 100);
+        int imageHeight = Math.max(1, this.height * scalePercent / 100);
+        if (configuration == null || this.rasterRenderer != null) {
+            return new BufferedImage(imageWidth, imageHeight, BufferedImage.TYPE_INT_RGB);
+        }
+        return configuration.createCompatibleImage(imageWidth, imageHeight, Transparency.OPAQUE);
+    }
+
+    /**
+     * Get the render scale of the field.
+     *
+     * @return The render scale.
+     */
+    public RenderScale getRenderScale() {
+        return this.renderScale;
+    }
+
+    /**
+     * Plots the particles and tracks the bounds of everything drawn, marking what changed in the dirty region.
+     *
+     * @param snapshot The snapshot of the frame.
+     */
+    private void trackChanges(final FrameSnapshot snapshot) {
+        for (int i = 0; i < snapshot.getPaddleCount(); i++) {
+            this.paddleTracker.track(i, snapshot.getPaddleX(i), snapshot.getPaddleY(i), snapshot.getPaddleWidth(i),
+                    snapshot.getPaddleHeight(i));
+        }
+        this.paddleTracker.endFrame();
+
+        for (int i = 0; i < snapshot.getPowerUpCount(); i++) {
+            int sideLength = snapshot.getPowerUpSideLength(i);
+            this.powerUpTracker.track(snapshot.getPowerUpId(i), snapshot.getPowerUpX(i), snapshot.getPowerUpY(i),
+                    sideLength, sideLength);
+        }
+        this.powerUpTracker.endFrame();
+
+        for (int i = 0; i < snapshot.getBallCount(); i++) {
+            int sideLength = snapshot.getBallSideLength(i);
+            this.ballTracker.track(snapshot.getBallId(i), snapshot.getBallX(i), snapshot.getBallY(i),
+                    sideLength, sideLength);
+        }
+        this.ballTracker.endFrame();
+
+        this.particleRenderer.plot(snapshot.getParticleCount(), snapshot.getParticleX(), snapshot.getParticleY(),
+                snapshot.getParticleLife(), snapshot.getParticleKind(), snapshot.getParticleLifetimeTicks());
+        if (!this.particleRenderer.isEmpty()) {
+            this.particleTracker.track(PARTICLES_ID, this.particleRenderer.getCoveredX(),
+                    this.particleRenderer.getCoveredY(), this.particleRenderer.getCoveredWidth(),
+                    this.particleRenderer.getCoveredHeight());
+        }
+        this.particleTracker.endFrame();
+    }
+
+    /**
+     * Redraws an area of the field. Only the objects overlapping the area are drawn. When the field is rendered at a
+     * lower resolution, the area is widened by a pixel of the retained image on each side, so rounding never leaves
+     * stale pixels at its edges, and balls are drawn from sprites of their scaled size.
+     *
+     * @param g The graphics of the retained image.
+     * @param snapshot The snapshot of the frame.
+     * @param fieldConfiguration The configuration of the graphics of the retained image.
+     * @param x The X of the area.
+     * @param y The Y of the area.
+     * @param areaWidth The width of the area.
+     * @param areaHeight The height of the area.
+     */
+    private void drawField(final Graphics2D g, final FrameSnapshot snapshot,
+                           final GraphicsConfiguration fieldConfiguration, final int x, final int y,
+                           final int areaWidth, final int areaHeight) {
+        int scalePercent = this.fieldScalePercent;
+        int margin = scalePercent == 100 ? 0 : (100 + scalePercent - 1) / scalePercent;
+        int left = x - margin;
+        int top = y - margin;
+        int right = x + areaWidth + margin;
+        int bottom = y + areaHeight + margin;
+        g.setClip(left, top, right - left, bottom - top);
+
+        g.setColor(Color.white);
+        g.fillRect(left, top, right - left, bottom - top);
+
+        for (int i = 0; i < snapshot.getPaddleCount(); i++) {
+            int paddleX = snapshot.getPaddleX(i);
+            int paddleY = snapshot.getPaddleY(i);
+            int paddleWidth = snapshot.getPaddleWidth(i);
+            int paddleHeight = snapshot.getPaddleHeight(i);
+            if (overlaps(paddleX, paddleY, paddleWidth, paddleHeight, left, top, right, bottom)) {
+                g.setColor(PADDLE_COLORS[i % PADDLE_COLORS.length]);
+                g.fillRect(paddleX, paddleY, paddleWidth, paddleHeight);
+            }
+        }
+
+        for (int i = 0; i < snapshot.getPowerUpCount(); i++) {
+            int powerUpX = snapshot.getPowerUpX(i);
+            int powerUpY = snapshot.getPowerUpY(i);
+            int sideLength = snapshot.getPowerUpSideLength(i);
+            if (overlaps(powerUpX, powerUpY, sideLength, sideLength, left, top, right, bottom)) {
+                g.setColor(POWER_UP_COLORS[snapshot.getPowerUpType(i)]);
+                g.fillRect(powerUpX, powerUpY, sideLength, sideLength);
+            }
+        }
+
+        this.particleRenderer.draw(g);
+
+        AffineTransform fieldTransform = g.getTransform();
+        g.setTransform(new AffineTransform());
+        for (int i = 0; i < snapshot.getBallCount(); i++) {
+            int ballX = snapshot.getBallX(i);
+            int ballY = snapshot.getBallY(i);
+            int sideLength = snapshot.getBallSideLength(i);
+            if (overlaps(ballX, ballY, sideLength, sideLength, left, top, right, bottom)) {
+                int scaledSideLength = Math.max(1, sideLength * scalePercent / 100);
+                g.drawImage(this.ballSpriteCache.getSprite(fieldConfiguration, BALL_COLOR, scaledSideLength),
+                        ballX * scalePercent / 100, ballY * scalePercent / 100, null);
+            }
+        }
+        g.setTransform(fieldTransform);
+    }
+
+    /**
+     * Check if an object overlaps an area.
+     *
+     * @param objectX The X of the object.
+     * @param objectY The Y of the object.
+     * @param objectWidth The width of the object.
+     * @param objectHeight The height of the object.
+     * @param left The left edge of the area.
+     * @param top The top edge of the area.
+     * @param right The right edge of the area, exclusive.
+     * @param bottom The bottom edge of the area, exclusive.
+     * @return The object overlaps the area.
+     */
+    private static boolean overlaps(final int objectX, final int objectY, final int objectWidth,
+                                    final int objectHeight, final int left, final int top, final int right,
+                                    final int bottom) {
+        return objectX < right && left < objectX + objectWidth && objectY < bottom && top < objectY + objectHeight;
+    }
+}
@@ -0,0 +1,187 @@
+package views;
+
+import java.awt.Color;
+import java.awt.Graphics;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.util.Arrays;
+
+/**
+ * Draws particles in a single batched pass. The particles are plotted straight into the pixel array of a translucent
+ * image covering the game, which is then drawn with one image blit, instead of issuing a Java2D call per particle.
+ * Only the area covered by the particles of the previous frame is cleared. Plotting and drawing can be done
+ * separately, so the covered area is known before anything is drawn.
+ *
+ * @author Samuel Thand
+ */
+public class ParticleRenderer {
+
+    private static final int PARTICLE_SIZE = 2;
+
+    private final BufferedImage image;
+    private final int[] pixels;
+    private final int width;
+    private final int height;
+    private final int[] palette;
+    private int dirtyMinX;
+    private int dirtyMinY;
+    private int dirtyMaxX;
+    private int dirtyMaxY;
+
+    /**
+     * Constructor. Creates the particle image covering the game.
+     *
+     * @param width The width of the game.
+     * @param height The height of the game.
+     * @param palette The colour of each kind of particle.
+     */
+    public ParticleRenderer(final int width, final int height, final Color[] palette) {
+        this.width = width;
+        this.height = height;
+        this.image = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+        this.pixels = ((DataBufferInt) this.image.getRaster().getDataBuffer()).getData();
+        this.palette = new int[palette.length];
+        for (int i = 0; i < palette.length; i++) {
+            this.palette[i] = palette[i].getRGB() & 0xFFFFFF;
+        }
+        this.dirtyMaxX = -1;
+    }
+
+    /**
+     * Plots the live particles into the particle image and draws the image covering them.
+     *
+     * @param g The graphics to draw on.
+     * @param count The amount of live particles.
+     * @param x The X positions of the particles.
+     * @param y The Y positions of the particles.
+     * @param life The remaining life of the particles.
+     * @param kind The kinds of the particles.
+     * @param lifetimeTicks The full lifetime of a particle.
+     */
+    public void render(final Graphics g, final int count, final float[] x, final float[] y, final int[] life,
+                       final int[] kind, final int lifetimeTicks) {
+        plot(count, x, y, life, kind, lifetimeTicks);
+        draw(g);
+    }
+
+    /**
+     * Plots the live particles into the particle image, fading them out over their lifetime, and updates the area
+     * covered by them.
+     *
+     * @param count The amount of live particles.
+     * @param x The X positions of the particles.
+     * @param y The Y positions of the particles.
+     * @param life The remaining life of the particles.
+     * @param kind The kinds of the particles.
+     * @param lifetimeTicks The full lifetime of a particle.
+     */
+    public void plot(final int count, final float[] x, final float[] y, final int[] life, final int[] kind,
+                     final int lifetimeTicks) {
+        clearDirtyArea();
+
+        int minX = this.width;
+        int minY = this.height;
+        int maxX = -1;
+        int maxY = -1;
+        int lastX = this.width - PARTICLE_SIZE;
+        int lastY = this.height - PARTICLE_SIZE;
+
+        for (int i = 0; i < count; i++) {
+            int px = (int) x[i];
+            int py = (int) y[i];
+            if (px < 0 || py < 0 || px > lastX || py > lastY) {
+                continue;
+            }
+
+            int alpha = life[i] * 255 / lifetimeTicks;
+            int argb = alpha << 24 | this.palette[kind[i] % this.palette.length];
+            int offset = py * this.width + px;
+            this.pixels[offset] = argb;
+            this.pixels[offset + 1] = argb;
+            this.pixels[offset + this.width] = argb;
+            this.pixels[offset + this.width + 1] = argb;
+
+            minX = Math.min(minX, px);
+            minY = Math.min(minY, py);
+            maxX = Math.max(maxX, px + PARTICLE_SIZE);
+            maxY = Math.max(maxY, py + PARTICLE_SIZE);
+        }
+
+        this.dirtyMinX = minX;
+        this.dirtyMinY = minY;
+        this.dirtyMaxX = maxX;
+        this.dirtyMaxY = maxY;
+    }
+
+    /**
+     * Draws the part of the particle image covered by the plotted particles.
+     *
+     * @param g The graphics to draw on.
+     */
+    public void draw(final Graphics g) {
+        if (!isEmpty()) {
+            g.drawImage(this.image, this.dirtyMinX, this.dirtyMinY, this.dirtyMaxX, this.dirtyMaxY,
+                    this.dirtyMinX, this.dirtyMinY, this.dirtyMaxX, this.dirtyMaxY, null);
+        }
+    }
+
+    /**
+     * Check if no particles were plotted.
+     *
+     * @return No particles are covered.
+     */
+    public boolean isEmpty() {
+        return this.dirtyMaxX < 0;
+    }
+
+    /**
+     * Get the left edge of the area covered by the plotted particles.
+     *
+     * @return The X of the area.
+     */
+    public int getCoveredX() {
+        return this.dirtyMinX;
+    }
+
+    /**
+     * Get the top edge of the area covered by the plotted particles.
+     *
+     * @return The Y of the area.
+     */
+    public int getCoveredY() {
+        return this.dirtyMinY;
+    }
+
+    /**
+     * Get the width of the area covered by the plotted particles.
+     *
+     * @return The width of the area.
+     */
+    public int getCoveredWidth() {
+        return this.dirtyMaxX - this.dirtyMinX;
+    }
+
+    /**
+     * Get the height of the area covered by the plotted particles.
+     *
+     * @return The height of the area.
+     */
+    public int getCoveredHeight() {
+        return this.dirtyMaxY - this.dirtyMinY;
+    }
+
+    /**
+     * Clears the area of the particle image covered by the particles of the previous frame.
+     */
+    private void clearDirtyArea() {
+        if (isEmpty()) {
+            return;
+        }
+
+        for (int row = this.dirtyMinY; row < this.dirtyMaxY; row++) {
+            int rowOffset = row * this.width;
+            Arrays.fill(this.pixels, rowOffset + this.dirtyMinX, rowOffset + this.dirtyMaxX, 0);
+        }
+        this.dirtyMaxX = -1;
+    }
+}
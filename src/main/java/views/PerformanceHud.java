@@ -0,0 +1,208 @@
+package views;
+
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.Graphics;
+import java.util.Map;
+import metrics.HistogramWindow;
+import metrics.PerformanceMetrics;
+import models.balls.BallType;
+
+/**
+ * An overlay showing how the game performs: simulation ticks and frames per second, the render scale, the p50, p99
+ * and maximum of tick and frame durations, the frames presented, late and dropped since the game started, the amount
+ * of balls in the game and the balls left in each pool. The numbers are refreshed twice a second from windows over
+ * the histograms of the PerformanceMetrics. While hidden the overlay reads nothing, and the histograms only pay for
+ * recording.
+ *
+ * @author Samuel Thand
+ */
+public class PerformanceHud {
+
+    private static final long REFRESH_INTERVAL_NANOS = 500_000_000L;
+    private static final int X = 8;
+    private static final int Y = 8;
+    private static final int WIDTH = 380;
+    private static final int PADDING = 6;
+    private static final int LINE_HEIGHT = 15;
+    private static final int POOLS_PER_LINE = 3;
+    private static final int FIXED_LINES = 5;
+    private static final String[] MEASURING = {"measuring..."};
+    private static final Font FONT = new Font(Font.MONOSPACED, Font.PLAIN, 12);
+    private static final Color BACKGROUND = new Color(0, 0, 0, 160);
+
+    private final HistogramWindow tickWindow;
+    private final HistogramWindow frameWindow;
+    private final RenderScale renderScale;
+    private final FrameStatistics frameStatistics;
+    private volatile boolean visible;
+    private volatile int ballCount;
+    private volatile String[] poolLevels;
+    private volatile boolean restartWindows;
+    private long lastRefreshNanos;
+    private volatile String[] lines;
+
+    /**
+     * Constructor. Initializes instance fields. The overlay starts hidden.
+     *
+     * @param metrics The performance metrics to show.
+     * @param renderScale The resolution the field is rendered at.
+     * @param frameStatistics The statistics of the presented frames, recorded on the thread drawing the overlay.
+     */
+    public PerformanceHud(final PerformanceMetrics metrics, final RenderScale renderScale,
+                          final FrameStatistics frameStatistics) {
+        this.renderScale = renderScale;
+        this.frameStatistics = frameStatistics;
+        this.tickWindow = new HistogramWindow(metrics.getTickNanos());
+        this.frameWindow = new HistogramWindow(metrics.getFrameNanos());
+        this.poolLevels = new String[0];
+        this.lines = MEASURING;
+    }
+
+    /**
+     * Shows the overlay if hidden, else hides it. When shown, the numbers are measured from that moment on.
+     */
+    public void toggle() {
+        this.restartWindows = true;
+        this.visible = !this.visible;
+    }
+
+    /**
+     * Check if the overlay is shown.
+     *
+     * @return The overlay is visible.
+     */
+    public boolean isVisible() {
+        return this.visible;
+    }
+
+    /**
+     * Updates the ball count and pool levels shown.
+     *
+     * @param balls The amount of balls in the game.
+     * @param availableBalls The amount of balls available in the pool of each ball type.
+     */
+    public void updateGauges(final int balls, final Map<BallType, Integer> availableBalls) {
+        String[] levels = new String[(availableBalls.size() + POOLS_PER_LINE - 1) / POOLS_PER_LINE];
+        StringBuilder line = new StringBuilder("pools");
+        int pool = 0;
+        for (Map.Entry<BallType, Integer> entry : availableBalls.entrySet()) {
+            line.append(String.format(" %-11s%3d", entry.getKey().getName(), entry.getValue()));
+            pool++;
+            if (pool % POOLS_PER_LINE == 0 || pool == availableBalls.size()) {
+                levels[(pool - 1) / POOLS_PER_LINE] = line.toString();
+                line.setLength(0);
+                line.append("     ");
+            }
+        }
+        this.ballCount = balls;
+        this.poolLevels = levels;
+    }
+
+    /**
+     * Draws the overlay if it is visible, refreshing its numbers if due.
+     *
+     * @param g The graphics to draw on.
+     */
+    public void draw(final Graphics g) {
+        if (!this.visible) {
+            return;
+        }
+
+        long now = System.nanoTime();
+        if (this.restartWindows) {
+            this.restartWindows = false;
+            this.tickWindow.advance();
+            this.frameWindow.advance();
+            this.lastRefreshNanos = now;
+            this.lines = MEASURING;
+        }
+
+        long elapsed = now - this.lastRefreshNanos;
+        if (elapsed >= REFRESH_INTERVAL_NANOS) {
+            refresh(elapsed);
+            this.lastRefreshNanos = now;
+        }
+
+        String[] shownLines = this.lines;
+        g.setColor(BACKGROUND);
+        g.fillRect(X, Y, WIDTH, getHeight());
+        g.setColor(Color.white);
+        g.setFont(FONT);
+        for (int i = 0; i < shownLines.length; i++) {
+            g.drawString(shownLines[i], X + PADDING, Y + PADDING + (i + 1) * LINE_HEIGHT - 3);
+        }
+    }
+
+    /**
+     * Reads the histogram windows since the last refresh and formats the lines to show.
+     *
+     * @param elapsedNanos The time since the last refresh.
+     */
+    private void refresh(final long elapsedNanos) {
+        this.tickWindow.advance();
+        this.frameWindow.advance();
+        double seconds = elapsedNanos / 1e9;
+
+        String[] pools = this.poolLevels;
+        String[] refreshed = new String[FIXED_LINES + pools.length];
+        refreshed[0] = String.format("TPS %5.1f   FPS %5.1f   scale %3d%%%s", this.tickWindow.getCount() / seconds,
+                this.frameWindow.getCount() / seconds, this.renderScale.getPercent(),
+                this.renderScale.isAutomatic() ? " auto" : "");
+        refreshed[1] = formatDurations("tick ", this.tickWindow);
+        refreshed[2] = formatDurations("frame", this.frameWindow);
+        refreshed[3] = String.format("frames %d  late %d  dropped %d", this.frameStatistics.getFrames(),
+                this.frameStatistics.getLateFrames(), this.frameStatistics.getDroppedFrames());
+        refreshed[4] = "balls " + this.ballCount;
+        System.arraycopy(pools, 0, refreshed, FIXED_LINES, pools.length);
+        this.lines = refreshed;
+    }
+
+    /**
+     * Formats the p50, p99 and maximum of a window of durations.
+     *
+     * @param name The name of the durations.
+     * @param window The window.
+     * @return The formatted durations.
+     */
+    private static String formatDurations(final String name, final HistogramWindow window) {
+        return String.format("%s p50 %6.2f  p99 %6.2f  max %6.2f ms", name, window.getPercentile(50) / 1e6,
+                window.getPercentile(99) / 1e6, window.getMax() / 1e6);
+    }
+
+    /**
+     * Get the X of the overlay.
+     *
+     * @return The X.
+     */
+    public int getX() {
+        return X;
+    }
+
+    /**
+     * Get the Y of the overlay.
+     *
+     * @return The Y.
+     */
+    public int getY() {
+        return Y;
+    }
+
+    /**
+     * Get the width of the overlay.
+     *
+     * @return The width.
+     */
+    public int getWidth() {
+        return WIDTH;
+    }
+
+    /**
+     * Get the height of the overlay, fitting all lines it shows once measured.
+     *
+     * @return The height.
+     */
+    public int getHeight() {
+        return 2 * PADDING + (FIXED_LINES + this.poolLevels.length) * LINE_HEIGHT;
+    }
+}
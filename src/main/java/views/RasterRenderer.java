@@ -0,0 +1,326 @@
+package views;
+
+import constants.Constants;
+import java.awt.Color;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.util.Arrays;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Draws the whole game field by writing pixels straight into the int array of an opaque image, without a Java2D
+ * call per object, for game fields swarming with balls. Balls are filled row by row from the precomputed
+ * CircleSpans of their size. The field may be split into horizontal bands drawn in parallel, each band drawing
+ * every object overlapping its rows, so no two threads ever write the same pixel.
+ *
+ * @author Samuel Thand
+ */
+public class RasterRenderer {
+
+    private static final int PARTICLE_SIZE = 2;
+    private static final int INITIAL_CAPACITY = 16;
+
+    private final int bands;
+    private final ExecutorService bandPool;
+    private final Future<?>[] pendingBands;
+    private final int background;
+    private final int ballColor;
+    private final int[] paddleColors;
+    private final int[] powerUpColors;
+    private final int[] particleColors;
+    private CircleSpans[] spansByDiameter = new CircleSpans[0];
+    private int ballCount;
+    private int[] ballX = new int[INITIAL_CAPACITY];
+    private int[] ballY = new int[INITIAL_CAPACITY];
+    private CircleSpans[] ballSpans = new CircleSpans[INITIAL_CAPACITY];
+    private int[] pixels;
+    private int imageWidth;
+    private FrameSnapshot snapshot;
+    private int scalePercent;
+
+    /**
+     * Constructor. Initializes instance fields, and starts a thread for every band but the first, which is drawn by
+     * the calling thread.
+     *
+     * @param bands The amount of horizontal bands to draw in parallel, at least 1.
+     */
+    public RasterRenderer(final int bands) {
+        this.bands = Math.max(1, bands);
+        this.pendingBands = new Future<?>[this.bands];
+        if (this.bands > 1) {
+            AtomicInteger threadNumber = new AtomicInteger(1);
+            this.bandPool = Executors.newFixedThreadPool(this.bands - 1, task -> {
+                Thread thread = new Thread(task, "raster-band-" + threadNumber.getAndIncrement());
+                thread.setDaemon(true);
+                return thread;
+            });
+        } else {
+            this.bandPool = null;
+        }
+        this.background = Color.white.getRGB();
+        this.ballColor = GameRenderer.BALL_COLORS[0].getRGB();
+        this.paddleColors = toRgb(GameRenderer.PADDLE_COLORS);
+        this.powerUpColors = toRgb(GameRenderer.POWER_UP_COLORS);
+        this.particleColors = toRgb(GameRenderer.PARTICLE_COLORS);
+    }
+
+    /**
+     * Reads the amount of bands from the system property named by {@link Constants#RASTER_BANDS_PROPERTY}.
+     *
+     * @return The amount of bands, one per available processor if the property is not set or not positive.
+     */
+    public static int bandsFromSystemProperties() {
+        int bands = Integer.getInteger(Constants.RASTER_BANDS_PROPERTY, 0);
+        return bands > 0 ? bands : Runtime.getRuntime().availableProcessors();
+    }
+
+    /**
+     * Draws a frame, replacing everything in the image. Returns once all bands are drawn.
+     *
+     * @param image The image to draw in, of type {@link BufferedImage#TYPE_INT_RGB}.
+     * @param frame The snapshot of the frame.
+     * @param percent The resolution of the image, as a percentage of the field size.
+     */
+    public void draw(final BufferedImage image, final FrameSnapshot frame, final int percent) {
+        if (image.getType() != BufferedImage.TYPE_INT_RGB) {
+            throw new IllegalArgumentException("Unsupported image type: " + image.getType());
+        }
+
+        this.pixels = ((DataBufferInt) image.getRaster().getDataBuffer()).getData();
+        this.imageWidth = image.getWidth();
+        this.snapshot = frame;
+        this.scalePercent = percent;
+        prepareBalls();
+
+        int imageHeight = image.getHeight();
+        for (int band = 1; band < this.bands; band++) {
+            int top = imageHeight * band / this.bands;
+            int bottom = imageHeight * (band + 1) / this.bands;
+            this.pendingBands[band] = this.bandPool.submit(() -> drawBand(top, bottom));
+        }
+        drawBand(0, imageHeight / this.bands);
+        awaitBands();
+    }
+
+    /**
+     * Get the amount of bands drawn in parallel.
+     *
+     * @return The amount of bands.
+     */
+    public int getBands() {
+        return this.bands;
+    }
+
+    /**
+     * Scales the positions of the balls to the image, and looks up the spans of their scaled sizes, once for all
+     * bands. Spans of sizes not seen before are computed here, so the bands only ever read them.
+     */
+    private void prepareBalls() {
+        this.ballCount = this.snapshot.getBallCount();
+        if (this.ballCount > this.ballX.length) {
+            int capacity = Math.max(this.ballCount, this.ballX.length * 2);
+            this.ballX = Arrays.copyOf(this.ballX, capacity);
+            this.ballY = Arrays.copyOf(this.ballY, capacity);
+            this.ballSpans = Arrays.copyOf(this.ballSpans, capacity);
+        }
+
+        for (int i = 0; i < this.ballCount; i++) {
+            int diameter = Math.max(1, this.snapshot.getBallSideLength(i) * this.scalePercent / 100);
+            if (diameter >= this.spansByDiameter.length) {
+                this.spansByDiameter = Arrays.copyOf(this.spansByDiameter, diameter + 1);
+            }
+            CircleSpans spans = this.spansByDiameter[diameter];
+            if (spans == null) {
+                spans = new CircleSpans(diameter);
+                this.spansByDiameter[diameter] = spans;
+            }
+            this.ballX[i] = scale(this.snapshot.getBallX(i));
+            this.ballY[i] = scale(this.snapshot.getBallY(i));
+            this.ballSpans[i] = spans;
+        }
+    }
+
+    /**
+     * Waits for the bands drawn by the band threads.
+     */
+    private void awaitBands() {
+        for (int band = 1; band < this.bands; band++) {
+            try {
+                this.pendingBands[band].get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("Drawing a band of the field failed", e.getCause());
+            } finally {
+                this.pendingBands[band] = null;
+            }
+        }
+    }
+
+    /**
+     * Draws the rows of a band: the background, paddles, power-ups, particles and balls, in that order.
+     *
+     * @param top The first row of the band.
+     * @param bottom The row after the last row of the band.
+     */
+    private void drawBand(final int top, final int bottom) {
+        Arrays.fill(this.pixels, top * this.imageWidth, bottom * this.imageWidth, this.background);
+
+        FrameSnapshot frame = this.snapshot;
+        for (int i = 0; i < frame.getPaddleCount(); i++) {
+            int x = frame.getPaddleX(i);
+            int y = frame.getPaddleY(i);
+            fillRect(scale(x), scale(y), scale(x + frame.getPaddleWidth(i)), scale(y + frame.getPaddleHeight(i)),
+                    this.paddleColors[i % this.paddleColors.length], top, bottom);
+        }
+
+        for (int i = 0; i < frame.getPowerUpCount(); i++) {
+            int x = frame.getPowerUpX(i);
+            int y = frame.getPowerUpY(i);
+            int sideLength = frame.getPowerUpSideLength(i);
+            fillRect(scale(x), scale(y), scale(x + sideLength), scale(y + sideLength),
+                    this.powerUpColors[frame.getPowerUpType(i)], top, bottom);
+        }
+
+        drawParticles(top, bottom);
+        drawBalls(top, bottom);
+    }
+
+    /**
+     * Fills the part of a rectangle within the rows of a band.
+     *
+     * @param left The left edge of the rectangle.
+     * @param rectTop The top edge of the rectangle.
+     * @param right The right edge of the rectangle, exclusive.
+     * @param rectBottom The bottom edge of the rectangle, exclusive.
+     * @param rgb The colour of the rectangle.
+     * @param top The first row of the band.
+     * @param bottom The row after the last row of the band.
+     */
+    private void fillRect(final int left, final int rectTop, final int right, final int rectBottom, final int rgb,
+                          final int top, final int bottom) {
+        int fromX = Math.max(0, left);
+        int toX = Math.min(this.imageWidth, right);
+        if (fromX >= toX) {
+            return;
+        }
+
+        for (int row = Math.max(top, rectTop); row < Math.min(bottom, rectBottom); row++) {
+            int rowOffset = row * this.imageWidth;
+            Arrays.fill(this.pixels, rowOffset + fromX, rowOffset + toX, rgb);
+        }
+    }
+
+    /**
+     * Blends the particles within the rows of a band over the field, fading them out over their lifetime.
+     *
+     * @param top The first row of the band.
+     * @param bottom The row after the last row of the band.
+     */
+    private void drawParticles(final int top, final int bottom) {
+        FrameSnapshot frame = this.snapshot;
+        float[] x = frame.getParticleX();
+        float[] y = frame.getParticleY();
+        int[] life = frame.getParticleLife();
+        int[] kind = frame.getParticleKind();
+        int lifetimeTicks = frame.getParticleLifetimeTicks();
+        int size = Math.max(1, PARTICLE_SIZE * this.scalePercent / 100);
+        int lastX = this.imageWidth - size;
+
+        for (int i = 0; i < frame.getParticleCount(); i++) {
+            int py = (int) (y[i] * this.scalePercent / 100);
+            if (py + size <= top || py >= bottom) {
+                continue;
+            }
+            int px = (int) (x[i] * this.scalePercent / 100);
+            if (px < 0 || px > lastX) {
+                continue;
+            }
+
+            int alpha = life[i] * 255 / lifetimeTicks;
+            int rgb = this.particleColors[kind[i] % this.particleColors.length];
+            for (int row = Math.max(top, py); row < Math.min(bottom, py + size); row++) {
+                int offset = row * this.imageWidth + px;
+                for (int column = 0; column < size; column++) {
+                    this.pixels[offset + column] = blend(rgb, this.pixels[offset + column], alpha);
+                }
+            }
+        }
+    }
+
+    /**
+     * Fills the rows of the balls within the rows of a band.
+     *
+     * @param top The first row of the band.
+     * @param bottom The row after the last row of the band.
+     */
+    private void drawBalls(final int top, final int bottom) {
+        int[] rgb = this.pixels;
+        int width = this.imageWidth;
+        int color = this.ballColor;
+
+        for (int i = 0; i < this.ballCount; i++) {
+            int y = this.ballY[i];
+            CircleSpans spans = this.ballSpans[i];
+            int diameter = spans.getDiameter();
+            if (y + diameter <= top || y >= bottom) {
+                continue;
+            }
+
+            int x = this.ballX[i];
+            int lastRow = Math.min(bottom, y + diameter);
+            for (int row = Math.max(top, y); row < lastRow; row++) {
+                int from = Math.max(0, x + spans.getStart(row - y));
+                int to = Math.min(width, x + spans.getEnd(row - y));
+                int rowOffset = row * width;
+                for (int column = from; column < to; column++) {
+                    rgb[rowOffset + column] = color;
+                }
+            }
+        }
+    }
+
+    /**
+     * Scales a coordinate of the field to the image.
+     *
+     * @param coordinate The coordinate in the field.
+     * @return The coordinate in the image.
+     */
+    private int scale(final int coordinate) {
+        return coordinate * this.scalePercent / 100;
+    }
+
+    /**
+     * Blends a colour over another.
+     *
+     * @param source The colour blended over.
+     * @param destination The colour blended onto.
+     * @param alpha The opacity of the source, from 0 to 255.
+     * @return The blended colour.
+     */
+    private static int blend(final int source, final int destination, final int alpha) {
+        int inverse = 255 - alpha;
+        int redBlue = ((source & 0xFF00FF) * alpha + (destination & 0xFF00FF) * inverse) >>> 8 & 0xFF00FF;
+        int green = ((source & 0xFF00) * alpha + (destination & 0xFF00) * inverse) >>> 8 & 0xFF00;
+        return 0xFF000000 | redBlue | green;
+    }
+
+    /**
+     * Converts colours to packed RGB values.
+     *
+     * @param colors The colours.
+     * @return The RGB value of each colour.
+     */
+    private static int[] toRgb(final Color[] colors) {
+        int[] rgb = new int[colors.length];
+        for (int i = 0; i < colors.length; i++) {
+            rgb[i] = colors[i].getRGB();
+        }
+        return rgb;
+    }
+}
@@ -0,0 +1,110 @@
+package views;
+
+import constants.Constants;
+import metrics.LatencyHistogram;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Renders frames on a thread of its own, so drawing never holds up the simulation on the event dispatch thread.
+ * Each frame the latest snapshot published by the simulation is drawn, if it is new, and presented. The loop runs
+ * at a target frame rate, or as fast as it can when uncapped.
+ *
+ * @author Samuel Thand
+ */
+public class RenderLoop implements Runnable {
+
+    private final FrameExchange frameExchange;
+    private final GameRenderer gameRenderer;
+    private final ActiveGameCanvas canvas;
+    private final long frameIntervalNanos;
+    private final LatencyHistogram frameNanos;
+    private volatile boolean running;
+    private Thread thread;
+
+    /**
+     * Constructor. Initializes instance fields.
+     *
+     * @param frameExchange The exchange the simulation publishes snapshots to.
+     * @param gameRenderer The renderer drawing the game.
+     * @param canvas The canvas presenting the frames.
+     * @param targetFps The wanted frames per second, or 0 for uncapped.
+     * @param frameNanos The histogram to record the time spent on each frame in.
+     */
+    public RenderLoop(final FrameExchange frameExchange, final GameRenderer gameRenderer,
+                      final ActiveGameCanvas canvas, final int targetFps, final LatencyHistogram frameNanos) {
+        this.frameNanos = frameNanos;
+        this.frameExchange = frameExchange;
+        this.gameRenderer = gameRenderer;
+        this.canvas = canvas;
+        this.frameIntervalNanos = targetFps > 0 ? 1_000_000_000L / targetFps : 0;
+    }
+
+    /**
+     * Reads the target frame rate from the system property named by {@link Constants#TARGET_FPS_PROPERTY}.
+     *
+     * @return The target frames per second, 0 meaning uncapped.
+     */
+    public static int targetFpsFromSystemProperties() {
+        return Integer.getInteger(Constants.TARGET_FPS_PROPERTY, Constants.DEFAULT_TARGET_FPS);
+    }
+
+    /**
+     * Starts rendering on a new daemon thread.
+     */
+    public void start() {
+        this.running = true;
+        this.thread = new Thread(this, "render");
+        this.thread.setDaemon(true);
+        this.thread.start();
+    }
+
+    /**
+     * Stops rendering, and waits for the current frame to finish.
+     */
+    public void stop() {
+        this.running = false;
+        if (this.thread != null) {
+            LockSupport.unpark(this.thread);
+            try {
+                this.thread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * The render loop. Draws and presents frames until stopped. Frames are scheduled on a fixed cadence, and if
+     * rendering falls behind by more than a frame the schedule restarts from now instead of rendering a burst of
+     * frames to catch up.
+     */
+    @Override
+    public void run() {
+        long lastSequence = -1;
+        long nextFrameNanos = System.nanoTime();
+
+        while (this.running) {
+            long frameStart = System.nanoTime();
+            FrameSnapshot snapshot = this.frameExchange.acquire();
+            if (snapshot.getSequence() != lastSequence) {
+                this.gameRenderer.updateFrame(snapshot, this.canvas.getGraphicsConfiguration());
+                lastSequence = snapshot.getSequence();
+            }
+            this.canvas.renderFrame();
+            long frameTime = System.nanoTime() - frameStart;
+            this.frameNanos.record(frameTime);
+            this.gameRenderer.getRenderScale().frameRendered(frameTime);
+
+            if (this.frameIntervalNanos > 0) {
+                nextFrameNanos += this.frameIntervalNanos;
+                long now = System.nanoTime();
+                if (nextFrameNanos < now - this.frameIntervalNanos) {
+                    nextFrameNanos = now;
+                }
+                while (this.running && (now = System.nanoTime()) < nextFrameNanos) {
+                    LockSupport.parkNanos(nextFrameNanos - now);
+                }
+            }
+        }
+    }
+}
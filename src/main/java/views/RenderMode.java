@@ -0,0 +1,37 @@
+package views;
+
+import constants.Constants;
+
+/**
+ * How the game field is drawn.
+ *
+ * @author Samuel Thand
+ */
+public enum RenderMode {
+
+    /**
+     * Swing paints the GamePanel whenever it gets to a requested repaint.
+     */
+    PASSIVE,
+
+    /**
+     * Every tick draws into accelerated back buffers of an ActiveGameCanvas and presents them immediately.
+     */
+    ACTIVE;
+
+    /**
+     * Reads the render mode from the system property named by {@link Constants#RENDER_MODE_PROPERTY}, either
+     * "passive" or "active". Defaults to passive.
+     *
+     * @return The render mode.
+     */
+    public static RenderMode fromSystemProperties() {
+        String mode = System.getProperty(Constants.RENDER_MODE_PROPERTY, PASSIVE.name());
+        try {
+            return valueOf(mode.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            System.err.println("Unknown render mode " + mode + ", using " + PASSIVE);
+            return PASSIVE;
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package views;
+
+import constants.Constants;
+
+/**
+ * The resolution the game field is rendered at, as a percentage of the size of the field. The field is drawn at that
+ * resolution and scaled to the screen in one blit, trading sharpness for fill rate on large displays. The scale is
+ * either fixed, or automatic: lowered step by step while frames take longer than the frame budget, and raised again
+ * once they comfortably fit. The model keeps its own coordinates whatever the scale.
+ *
+ * @author Samuel Thand
+ */
+public class RenderScale {
+
+    private static final int WINDOW_FRAMES = 30;
+    private static final int LOWER_ABOVE_BUDGET_PERCENT = 85;
+    private static final int RAISE_BELOW_BUDGET_PERCENT = 40;
+
+    private final boolean automatic;
+    private final int maximumPercent;
+    private final long frameBudgetNanos;
+    private volatile int percent;
+    private long windowNanos;
+    private int windowFrames;
+
+    /**
+     * Constructor. Initializes instance fields.
+     *
+     * @param percent The scale to render at, or to start at if automatic, between
+     *                {@link Constants#MIN_RENDER_SCALE_PERCENT} and 100.
+     * @param automatic If the scale follows the frame time.
+     * @param frameBudgetNanos The time a frame may take.
+     */
+    public RenderScale(final int percent, final boolean automatic, final long frameBudgetNanos) {
+        this.percent = Math.max(Constants.MIN_RENDER_SCALE_PERCENT, Math.min(percent, 100));
+        this.maximumPercent = this.percent;
+        this.automatic = automatic;
+        this.frameBudgetNanos = frameBudgetNanos;
+    }
+
+    /**
+     * Reads the render scale from the system property named by {@link Constants#RENDER_SCALE_PROPERTY}. The
+     * property is either a fraction such as 0.75, or "auto" for an automatic scale starting at full resolution.
+     * Defaults to full resolution.
+     *
+     * @param frameBudgetNanos The time a frame may take.
+     * @return The render scale.
+     */
+    public static RenderScale fromSystemProperties(final long frameBudgetNanos) {
+        String scale = System.getProperty(Constants.RENDER_SCALE_PROPERTY, "1").trim();
+        if (scale.equalsIgnoreCase("auto")) {
+            return new RenderScale(100, true, frameBudgetNanos);
+        }
+
+        try {
+            return new RenderScale((int) Math.round(Double.parseDouble(scale) * 100), false, frameBudgetNanos);
+        } catch (NumberFormatException e) {
+            System.err.println("Unknown render scale " + scale + ", rendering at full resolution");
+            return new RenderScale(100, false, frameBudgetNanos);
+        }
+    }
+
+    /**
+     * Records the time a frame took. When automatic, every {@value #WINDOW_FRAMES} frames the mean frame time is
+     * compared with the budget, and the scale is lowered or raised a step if needed. Must only be called by the
+     * thread rendering the frames.
+     *
+     * @param frameNanos The time the frame took.
+     */
+    public void frameRendered(final long frameNanos) {
+        if (!this.automatic) {
+            return;
+        }
+
+        this.windowNanos += frameNanos;
+        this.windowFrames++;
+        if (this.windowFrames < WINDOW_FRAMES) {
+            return;
+        }
+
+        long meanNanos = this.windowNanos / this.windowFrames;
+        this.windowNanos = 0;
+        this.windowFrames = 0;
+
+        int current = this.percent;
+        if (meanNanos > this.frameBudgetNanos * LOWER_ABOVE_BUDGET_PERCENT / 100) {
+            this.percent = Math.max(Constants.MIN_RENDER_SCALE_PERCENT, current - Constants.RENDER_SCALE_STEP_PERCENT);
+        } else if (meanNanos < this.frameBudgetNanos * RAISE_BELOW_BUDGET_PERCENT / 100) {
+            this.percent = Math.min(this.maximumPercent, current + Constants.RENDER_SCALE_STEP_PERCENT);
+        }
+    }
+
+    /**
+     * Get the current render scale.
+     *
+     * @return The scale as a percentage of the field size.
+     */
+    public int getPercent() {
+        return this.percent;
+    }
+
+    /**
+     * Check if the scale follows the frame time.
+     *
+     * @return The scale is automatic.
+     */
+    public boolean isAutomatic() {
+        return this.automatic;
+    }
+}